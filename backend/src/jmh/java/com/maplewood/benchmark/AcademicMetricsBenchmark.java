@@ -0,0 +1,49 @@
+package com.maplewood.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.service.AcademicMetricsService;
+import com.maplewood.student.service.AcademicMetricsService.AcademicMetrics;
+
+/**
+ * Academic metrics of the seeded students, one student per call in round-robin
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AcademicMetricsBenchmark {
+
+    private AcademicMetricsService metricsService;
+    private List<Student> students;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkSchool school) {
+        metricsService = school.bean(AcademicMetricsService.class);
+        students = school.seededStudents;
+    }
+
+    @Benchmark
+    public AcademicMetrics getMetrics() {
+        Student student = students.get(next);
+        next = (next + 1) % students.size();
+        return metricsService.getMetrics(student);
+    }
+}
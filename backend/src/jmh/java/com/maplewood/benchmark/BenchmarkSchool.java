@@ -0,0 +1,295 @@
+package com.maplewood.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maplewood.BackendApplication;
+import com.maplewood.common.enums.CourseHistoryStatus;
+import com.maplewood.common.enums.CourseType;
+import com.maplewood.common.enums.EnrollmentStatus;
+import com.maplewood.common.enums.SemesterName;
+import com.maplewood.common.enums.StudentStatus;
+import com.maplewood.course.entity.Course;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.course.repository.CourseRepository;
+import com.maplewood.course.repository.CourseSectionMeetingRepository;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.course.service.PrerequisiteGraph;
+import com.maplewood.course.service.ScheduleOccupancyIndex;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.school.entity.Classroom;
+import com.maplewood.school.entity.RoomType;
+import com.maplewood.school.entity.Semester;
+import com.maplewood.school.entity.Specialization;
+import com.maplewood.school.entity.Teacher;
+import com.maplewood.school.repository.ClassroomRepository;
+import com.maplewood.school.repository.RoomTypeRepository;
+import com.maplewood.school.repository.SemesterRepository;
+import com.maplewood.school.repository.SpecializationRepository;
+import com.maplewood.school.repository.TeacherRepository;
+import com.maplewood.school.service.ActiveSemesterHolder;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.entity.StudentCourseHistory;
+import com.maplewood.student.repository.StudentCourseHistoryRepository;
+import com.maplewood.student.repository.StudentRepository;
+import com.maplewood.student.service.AcademicMetricsCache;
+
+/**
+ * The application on an in-memory SQLite database, seeded once per trial
+ *
+ * Schema comes from the Flyway migrations, data is saved through the repositories so it goes
+ * through the same mappings as production. Sizes are JMH parameters (-p students=2000 ...)
+ *
+ * Seeded data:
+ * - a prerequisite chain of prerequisiteDepth courses, the last one is taught by the "target" section
+ * - sections-1 other sections without prerequisite, two 1h meetings each
+ * - students that passed every chain course except the last one, two enrollments each while seats last
+ *
+ * Subclasses can run it differently (web server, database file, profiles) through
+ * webApplicationType() and applicationArguments()
+ */
+@State(Scope.Benchmark)
+public class BenchmarkSchool {
+
+    private static final String DATABASE_URL = "jdbc:sqlite:file:maplewood-jmh?mode=memory&cache=shared";
+
+    @Param("400")
+    public int students;
+
+    @Param("50")
+    public int sections;
+
+    @Param("16")
+    public int prerequisiteDepth;
+
+    public ConfigurableApplicationContext context;
+
+    public Course deepestCourse;
+    public CourseSection targetSection;
+    public List<Student> seededStudents;
+    public List<CourseSectionMeeting> meetings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(BackendApplication.class)
+            .web(webApplicationType())
+            .run(applicationArguments().toArray(String[]::new));
+        seed();
+
+        // Startup caches were built from the empty database
+        context.getBean(PrerequisiteGraph.class).rebuild();
+        context.getBean(AcademicMetricsCache.class).warmUp();
+        context.getBean(ActiveSemesterHolder.class).refresh();
+        context.getBean(ScheduleOccupancyIndex.class).rebuild();
+
+        targetSection = context.getBean(CourseSectionRepository.class).findWithDetailsById(targetSection.getId()).orElseThrow();
+        deepestCourse = targetSection.getCourse();
+        seededStudents = context.getBean(StudentRepository.class).findAll();
+        meetings = context.getBean(CourseSectionMeetingRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    protected List<String> applicationArguments() {
+        List<String> arguments = new ArrayList<>(quietLogging());
+        arguments.add("--spring.datasource.url=" + DATABASE_URL);
+        // One connection for the whole trial: the in-memory database lives as long as it does
+        arguments.add("--spring.datasource.hikari.maximum-pool-size=1");
+        arguments.add("--spring.datasource.hikari.max-lifetime=0");
+        return arguments;
+    }
+
+    protected static List<String> quietLogging() {
+        return List.of(
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.com.maplewood=WARN");
+    }
+
+    /**
+     * Student with enrollments in the active semester but none in the target section
+     */
+    public Student enrolledStudent() {
+        return seededStudents.get(0);
+    }
+
+    private void seed() {
+        // Never seed into a real database
+        if (bean(StudentRepository.class).count() > 0) {
+            throw new IllegalStateException("Benchmark database is not empty, expected a new one");
+        }
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Classroom");
+        roomType = bean(RoomTypeRepository.class).save(roomType);
+
+        Specialization specialization = new Specialization();
+        specialization.setName("Mathematics");
+        specialization.setRoomType(roomType);
+        specialization = bean(SpecializationRepository.class).save(specialization);
+
+        Semester pastSemester = bean(SemesterRepository.class).save(semester(SemesterName.FALL, 2023, false));
+        Semester activeSemester = bean(SemesterRepository.class).save(semester(SemesterName.FALL, 2024, true));
+
+        // Prerequisite chain C0000 <- C0001 <- ... (each course requires the previous one)
+        List<Course> chain = new ArrayList<>();
+        Course previous = null;
+        for (int i = 0; i < prerequisiteDepth; i++) {
+            previous = bean(CourseRepository.class).save(course("C" + String.format("%04d", i), specialization, previous));
+            chain.add(previous);
+        }
+
+        List<Student> savedStudents = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            Student student = new Student();
+            student.setFirstName("Student");
+            student.setLastName(String.valueOf(i));
+            student.setEmail("student" + i + "@bench.maplewood.edu");
+            student.setGradeLevel(9 + i % 4);
+            student.setEnrollmentYear(2021 + i % 4);
+            student.setStatus(StudentStatus.ACTIVE);
+            savedStudents.add(student);
+        }
+        savedStudents = bean(StudentRepository.class).saveAll(savedStudents);
+
+        // History in chain order, the prerequisite trigger checks each insert
+        List<StudentCourseHistory> history = new ArrayList<>();
+        for (Student student : savedStudents) {
+            for (Course course : chain.subList(0, chain.size() - 1)) {
+                StudentCourseHistory record = new StudentCourseHistory();
+                record.setStudent(student);
+                record.setCourse(course);
+                record.setSemester(pastSemester);
+                record.setStatus(CourseHistoryStatus.PASSED);
+                history.add(record);
+            }
+        }
+        bean(StudentCourseHistoryRepository.class).saveAll(history);
+
+        // Target section meets at 14:00, the others in the morning, so enrolling in it never conflicts
+        List<CourseSection> savedSections = new ArrayList<>();
+        List<CourseSectionMeeting> sectionMeetings = new ArrayList<>();
+        for (int i = 0; i < sections; i++) {
+            Course course = i == 0 ? chain.get(chain.size() - 1)
+                : bean(CourseRepository.class).save(course("S" + String.format("%04d", i), specialization, null));
+            CourseSection section = new CourseSection();
+            section.setCourse(course);
+            section.setTeacher(teacher(i, specialization));
+            section.setClassroom(classroom(i, roomType));
+            section.setSemester(activeSemester);
+            section.setCapacity(10);
+            section.setEnrollmentCount(0);
+            section = bean(CourseSectionRepository.class).save(section);
+            savedSections.add(section);
+
+            LocalTime start = i == 0 ? LocalTime.of(14, 0) : LocalTime.of(8 + i % 3, 0);
+            int day = 1 + i % 4;
+            sectionMeetings.add(meeting(section, day, start));
+            sectionMeetings.add(meeting(section, day + 1, start));
+        }
+        bean(CourseSectionMeetingRepository.class).saveAll(sectionMeetings);
+        targetSection = savedSections.get(0);
+
+        // Up to two enrollments per student in two different sections, never in the target section
+        List<CurrentEnrollment> enrollments = new ArrayList<>();
+        int otherSections = savedSections.size() - 1;
+        for (int s = 0; s < savedStudents.size() && otherSections > 1; s++) {
+            for (int k = 0; k < 2; k++) {
+                CourseSection section = savedSections.get(1 + (2 * s + k) % otherSections);
+                if (section.getEnrollmentCount() >= section.getCapacity()) {
+                    continue;
+                }
+                CurrentEnrollment enrollment = new CurrentEnrollment();
+                enrollment.setStudent(savedStudents.get(s));
+                enrollment.setCourseSection(section);
+                enrollment.setSemester(activeSemester);
+                enrollment.setStatus(EnrollmentStatus.ENROLLED);
+                enrollments.add(enrollment);
+                section.setEnrollmentCount(section.getEnrollmentCount() + 1);
+            }
+        }
+        bean(CurrentEnrollmentRepository.class).saveAll(enrollments);
+        // Counts only: saving the sections again would orphan-remove their meetings
+        bean(TransactionTemplate.class).executeWithoutResult(status -> savedSections.forEach(section ->
+            bean(CourseSectionRepository.class).adjustEnrollmentCount(section.getId(), section.getEnrollmentCount())));
+    }
+
+    private static Semester semester(SemesterName name, int year, boolean active) {
+        Semester semester = new Semester();
+        semester.setName(name);
+        semester.setYear(year);
+        semester.setOrderInYear(name == SemesterName.FALL ? 1 : 2);
+        semester.setIsActive(active);
+        return semester;
+    }
+
+    private static Course course(String code, Specialization specialization, Course prerequisite) {
+        Course course = new Course();
+        course.setCode(code);
+        course.setName("Course " + code);
+        course.setCredits(new BigDecimal("3.0"));
+        course.setHoursPerWeek(4);
+        course.setSpecialization(specialization);
+        course.setPrerequisite(prerequisite);
+        course.setCourseType(CourseType.CORE);
+        course.setGradeLevelMin(9);
+        course.setGradeLevelMax(12);
+        course.setSemesterOrder(1);
+        return course;
+    }
+
+    private Teacher teacher(int index, Specialization specialization) {
+        Teacher teacher = new Teacher();
+        teacher.setFirstName("Teacher");
+        teacher.setLastName(String.valueOf(index));
+        teacher.setEmail("teacher" + index + "@bench.maplewood.edu");
+        teacher.setSpecialization(specialization);
+        teacher.setMaxDailyHours(4);
+        return bean(TeacherRepository.class).save(teacher);
+    }
+
+    private Classroom classroom(int index, RoomType roomType) {
+        Classroom classroom = new Classroom();
+        classroom.setName("Room " + index);
+        classroom.setRoomType(roomType);
+        classroom.setCapacity(10);
+        return bean(ClassroomRepository.class).save(classroom);
+    }
+
+    private static CourseSectionMeeting meeting(CourseSection section, int dayOfWeek, LocalTime start) {
+        CourseSectionMeeting meeting = new CourseSectionMeeting();
+        meeting.setSection(section);
+        meeting.setDayOfWeek(dayOfWeek);
+        meeting.setStartTime(start);
+        meeting.setEndTime(start.plusHours(1));
+        return meeting;
+    }
+}
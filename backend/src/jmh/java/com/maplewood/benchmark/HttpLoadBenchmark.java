@@ -0,0 +1,113 @@
+package com.maplewood.benchmark;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.maplewood.student.entity.Student;
+
+/**
+ * Concurrent HTTP clients against a running server, platform vs virtual request threads
+ *
+ * Each JMH thread is one client (-t, default 256: more than Tomcat's 200 platform threads)
+ * Throughput is reported in ops/ms, SampleTime gives the latency percentiles (p0.99 = p99)
+ * Only -p requestThreads=virtual changes between the two runs, see LoadTestServer
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class HttpLoadBenchmark {
+
+    private static final Pattern ENROLLMENT_ID = Pattern.compile("^\\{\"id\":(\\d+)");
+
+    /**
+     * One client: its own student, and the enrollment to drop after each call
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        Student student;
+        String enrollmentId;
+
+        @Setup(Level.Trial)
+        public void setUp(LoadTestServer server) {
+            student = server.nextStudent();
+        }
+
+        /**
+         * Drop the enrollment so the next call enrolls again (not measured)
+         */
+        @TearDown(Level.Invocation)
+        public void drop(LoadTestServer server) throws IOException, InterruptedException {
+            if (enrollmentId != null) {
+                send(server, HttpRequest.newBuilder(server.uri("/api/v1/enrollments/" + enrollmentId))
+                    .DELETE().build(), 204);
+                enrollmentId = null;
+            }
+        }
+    }
+
+    /**
+     * Catalog search as the course browser issues it
+     */
+    @Benchmark
+    public String searchCourses(LoadTestServer server) throws IOException, InterruptedException {
+        return send(server, HttpRequest.newBuilder(
+            server.uri("/api/v1/courses/search?gradeLevel=10&activeOnly=true&page=0&size=20")).GET().build(), 200);
+    }
+
+    /**
+     * Registration burst: every client enrolls in the same 10-seat target section
+     * Clients holding a seat get 201 and drop it after the call, the others get 409 (section full)
+     */
+    @Benchmark
+    public String enroll(LoadTestServer server, Client client) throws IOException, InterruptedException {
+        String body = "{\"studentId\":" + client.student.getId() + ",\"sectionId\":" + server.targetSection.getId() + "}";
+        HttpResponse<String> response = server.http.send(HttpRequest.newBuilder(server.uri("/api/v1/enrollments"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 201) {
+            Matcher id = ENROLLMENT_ID.matcher(response.body());
+            if (!id.find()) {
+                throw new IllegalStateException("No enrollment ID in " + response.body());
+            }
+            client.enrollmentId = id.group(1);
+        } else if (response.statusCode() != 409) {
+            throw new IllegalStateException("Enrollment answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    /**
+     * Send a request, any other status than the expected one fails the run
+     */
+    private static String send(LoadTestServer server, HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = server.http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,82 @@
+package com.maplewood.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+
+import com.maplewood.student.entity.Student;
+
+/**
+ * BenchmarkSchool served over HTTP on a random port, for the load benchmarks
+ *
+ * Both request thread modes run the wal profile on a temporary database file, so they differ only
+ * in how requests are executed:
+ * - platform: Tomcat's fixed pool of platform threads (200 by default)
+ * - virtual: the virtual profile, one virtual thread per request
+ */
+@State(Scope.Benchmark)
+public class LoadTestServer extends BenchmarkSchool {
+
+    @Param({"platform", "virtual"})
+    public String requestThreads;
+
+    public final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .build();
+
+    private final AtomicInteger nextClient = new AtomicInteger();
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected List<String> applicationArguments() {
+        List<String> arguments = new ArrayList<>(quietLogging());
+        arguments.add("--spring.datasource.url=jdbc:sqlite:" + temporaryDatabase());
+        arguments.add("--spring.profiles.active=" + ("virtual".equals(requestThreads) ? "virtual" : "wal"));
+        arguments.add("--server.port=0");
+        return arguments;
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path);
+    }
+
+    /**
+     * A different seeded student for each client thread
+     */
+    public Student nextStudent() {
+        int index = nextClient.getAndIncrement();
+        if (index >= seededStudents.size()) {
+            throw new IllegalStateException("More client threads than students, raise -p students=...");
+        }
+        return seededStudents.get(index);
+    }
+
+    private static String temporaryDatabase() {
+        try {
+            Path database = Files.createTempFile("maplewood-load-", ".sqlite");
+            // WAL mode adds -wal and -shm files next to the database
+            for (String suffix : List.of("", "-wal", "-shm")) {
+                new File(database + suffix).deleteOnExit();
+            }
+            return database.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.maplewood.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.maplewood.common.dto.CourseDTO;
+import com.maplewood.common.dto.CourseSectionDTO;
+import com.maplewood.common.mapper.CourseMapper;
+import com.maplewood.common.mapper.CourseSectionMapper;
+
+/**
+ * Entity to DTO mapping of the last course of the prerequisite chain
+ * The prerequisite is mapped one level deep, so prerequisiteDepth no longer changes the cost
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    @Benchmark
+    public CourseDTO courseToDTO(BenchmarkSchool school) {
+        return CourseMapper.toDTO(school.deepestCourse);
+    }
+
+    @Benchmark
+    public CourseSectionDTO courseSectionToDTO(BenchmarkSchool school) {
+        return CourseSectionMapper.toDTO(school.targetSection);
+    }
+}
@@ -0,0 +1,97 @@
+package com.maplewood.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.maplewood.course.service.TimetableSolver;
+import com.maplewood.course.service.TimetableSolver.SectionDemand;
+import com.maplewood.course.service.TimetableSolver.Solution;
+
+/**
+ * Timetable generation for a whole semester, one fresh solver per call
+ * Sections follow the catalog's hour mix (core 4-6h, elective 2-4h), teachers get at most teacherHours a week
+ * and classrooms at most classroomHours; each invocation draws a different semester
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+public class TimetableSolverBenchmark {
+
+    private static final int[] HOUR_MIX = {2, 3, 3, 4, 4, 4, 4, 5, 5, 6, 6};
+    private static final int MAX_DAILY_HOURS = 4;
+    private static final long NODE_LIMIT = 2_000_000;
+
+    @Param({"200"})
+    public int sections;
+
+    @Param({"50"})
+    public int teachers;
+
+    @Param({"60"})
+    public int classrooms;
+
+    @Param({"18"})
+    public int teacherHours;
+
+    @Param({"30"})
+    public int classroomHours;
+
+    private final Random random = new Random(42);
+    private TimetableSolver solver;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        solver = new TimetableSolver();
+        for (SectionDemand demand : semester()) {
+            solver.limitTeacher(demand.teacherId(), MAX_DAILY_HOURS);
+            solver.addSection(demand);
+        }
+    }
+
+    @Benchmark
+    public Solution solve() {
+        return solver.solve(NODE_LIMIT);
+    }
+
+    private List<SectionDemand> semester() {
+        int[] teacherLoad = new int[teachers];
+        int[] classroomLoad = new int[classrooms];
+        List<SectionDemand> demands = new ArrayList<>(sections);
+        for (int i = 0; i < sections; i++) {
+            int hours = HOUR_MIX[random.nextInt(HOUR_MIX.length)];
+            int teacher = next(random.nextInt(teachers), teacherLoad, hours, teacherHours);
+            int classroom = next(random.nextInt(classrooms), classroomLoad, hours, classroomHours);
+            demands.add(new SectionDemand((long) i + 1, (long) teacher + 1, (long) classroom + 1, hours));
+        }
+        return demands;
+    }
+
+    /**
+     * First owner from the given one on with room for the hours (the given one if none has)
+     */
+    private static int next(int owner, int[] load, int hours, int cap) {
+        for (int tries = 0; tries < load.length && load[owner] + hours > cap; tries++) {
+            owner = (owner + 1) % load.length;
+        }
+        load[owner] += hours;
+        return owner;
+    }
+}
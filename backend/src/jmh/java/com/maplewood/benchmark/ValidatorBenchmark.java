@@ -0,0 +1,107 @@
+package com.maplewood.benchmark;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.maplewood.common.enums.EnrollmentStatus;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.course.validator.CourseSectionMeetingValidator;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
+import com.maplewood.enrollment.validator.EnrollmentValidationContextLoader;
+
+/**
+ * Enrollment and meeting validation, every benchmarked call passes all rules
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidatorBenchmark {
+
+    private CurrentEnrollmentValidator enrollmentValidator;
+    private EnrollmentValidationContextLoader contextLoader;
+    private CourseSectionMeetingValidator meetingValidator;
+
+    private CurrentEnrollment enrollment;
+    private EnrollmentValidationContext context;
+    private CourseSectionMeeting newMeeting;
+    private List<CourseSectionMeeting> meetings;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkSchool school) {
+        enrollmentValidator = school.bean(CurrentEnrollmentValidator.class);
+        contextLoader = school.bean(EnrollmentValidationContextLoader.class);
+        meetingValidator = school.bean(CourseSectionMeetingValidator.class);
+
+        enrollment = new CurrentEnrollment();
+        enrollment.setStudent(school.enrolledStudent());
+        enrollment.setCourseSection(school.targetSection);
+        enrollment.setSemester(school.targetSection.getSemester());
+        enrollment.setStatus(EnrollmentStatus.ENROLLED);
+        context = contextLoader.load(enrollment);
+
+        // Third weekly hour of the target section, on a day it does not meet yet
+        newMeeting = new CourseSectionMeeting();
+        newMeeting.setSection(school.targetSection);
+        newMeeting.setDayOfWeek(5);
+        newMeeting.setStartTime(LocalTime.of(14, 0));
+        newMeeting.setEndTime(LocalTime.of(15, 0));
+
+        meetings = school.meetings;
+    }
+
+    /**
+     * Validation rules only, context already loaded (batch enrollment path)
+     */
+    @Benchmark
+    public CurrentEnrollment currentEnrollmentValidate() {
+        enrollmentValidator.validate(enrollment, context);
+        return enrollment;
+    }
+
+    /**
+     * Context loading plus validation (single enrollment path)
+     */
+    @Benchmark
+    public CurrentEnrollment currentEnrollmentValidateWithLoad() {
+        enrollmentValidator.validate(enrollment);
+        return enrollment;
+    }
+
+    @Benchmark
+    public CourseSectionMeeting courseSectionMeetingValidate() {
+        meetingValidator.validate(newMeeting);
+        return newMeeting;
+    }
+
+    /**
+     * New meeting against every seeded meeting
+     */
+    @Benchmark
+    public int meetingOverlaps() {
+        int overlapping = 0;
+        for (CourseSectionMeeting meeting : meetings) {
+            if (newMeeting.overlaps(meeting)) {
+                overlapping++;
+            }
+        }
+        return overlapping;
+    }
+}
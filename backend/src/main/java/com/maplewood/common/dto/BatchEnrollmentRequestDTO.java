@@ -0,0 +1,17 @@
+package com.maplewood.common.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for bulk enrollment (cohort registration, nightly import)
+ */
+public record BatchEnrollmentRequestDTO(
+    @NotEmpty(message = "Enrollments cannot be empty")
+    @Size(max = 10000, message = "At most 10000 enrollments per batch")
+    List<@Valid @NotNull CreateEnrollmentDTO> enrollments
+) {}
@@ -0,0 +1,13 @@
+package com.maplewood.common.dto;
+
+import java.util.List;
+
+/**
+ * Response of a bulk enrollment: one result per request item, in request order
+ */
+public record BatchEnrollmentResponseDTO(
+    int total,
+    int created,
+    int failed,
+    List<BatchEnrollmentResultDTO> results
+) {}
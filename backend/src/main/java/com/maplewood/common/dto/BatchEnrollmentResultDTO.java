@@ -0,0 +1,29 @@
+package com.maplewood.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single item of a bulk enrollment
+ * errorType matches the "error" field of ErrorResponse for the same failure on POST /api/v1/enrollments
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchEnrollmentResultDTO(
+    int index,
+    Long studentId,
+    Long sectionId,
+    String status,
+    Long enrollmentId,
+    String errorType,
+    String message
+) {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+    
+    public static BatchEnrollmentResultDTO created(int index, CreateEnrollmentDTO item, Long enrollmentId) {
+        return new BatchEnrollmentResultDTO(index, item.studentId(), item.sectionId(), CREATED, enrollmentId, null, null);
+    }
+    
+    public static BatchEnrollmentResultDTO failed(int index, CreateEnrollmentDTO item, String errorType, String message) {
+        return new BatchEnrollmentResultDTO(index, item.studentId(), item.sectionId(), FAILED, null, errorType, message);
+    }
+}
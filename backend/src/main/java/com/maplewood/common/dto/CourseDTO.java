@@ -2,25 +2,22 @@ package com.maplewood.common.dto;
 
 import java.math.BigDecimal;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class CourseDTO {
-    private Long id;
-    private String code;
-    private String name;
-    private String description;
-    private BigDecimal credits;
-    private Integer hoursPerWeek;
-    private SpecializationDTO specialization;
-    private CourseDTO prerequisite;
-    private String courseType;
-    private Integer gradeLevelMin;
-    private Integer gradeLevelMax;
-    private Integer semesterOrder;
-    private String createdAt;
-}
+/**
+ * DTO for course requests and responses
+ * Immutable: the course catalog snapshot shares one instance per course across all responses
+ */
+public record CourseDTO(
+    Long id,
+    String code,
+    String name,
+    String description,
+    BigDecimal credits,
+    Integer hoursPerWeek,
+    SpecializationDTO specialization,
+    CourseDTO prerequisite,
+    String courseType,
+    Integer gradeLevelMin,
+    Integer gradeLevelMax,
+    Integer semesterOrder,
+    String createdAt
+) {}
@@ -0,0 +1,13 @@
+package com.maplewood.common.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing, without total count
+ * nextCursor is the ?after= value of the following page, null on the last page
+ */
+public record CursorPageDTO<T>(
+    List<T> content,
+    int size,
+    String nextCursor
+) {}
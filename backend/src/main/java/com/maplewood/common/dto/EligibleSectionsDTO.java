@@ -0,0 +1,13 @@
+package com.maplewood.common.dto;
+
+import java.util.List;
+
+/**
+ * Active-semester sections split into those a student can enroll in and those they cannot
+ */
+public record EligibleSectionsDTO(
+    Long studentId,
+    Long semesterId,
+    List<CourseSectionDTO> eligible,
+    List<IneligibleSectionDTO> ineligible
+) {}
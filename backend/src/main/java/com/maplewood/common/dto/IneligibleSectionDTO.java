@@ -0,0 +1,12 @@
+package com.maplewood.common.dto;
+
+/**
+ * Section a student cannot enroll in, with the first rule it breaks
+ * reasonCode: ALREADY_ENROLLED_IN_COURSE, COURSE_ALREADY_COMPLETED, GRADE_LEVEL_NOT_ALLOWED,
+ * SECTION_FULL, COURSE_LIMIT_REACHED, PREREQUISITE_NOT_MET or SCHEDULE_CONFLICT
+ */
+public record IneligibleSectionDTO(
+    CourseSectionDTO section,
+    String reasonCode,
+    String message
+) {}
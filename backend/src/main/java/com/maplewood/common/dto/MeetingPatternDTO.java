@@ -0,0 +1,16 @@
+package com.maplewood.common.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Whole weekly meeting pattern of a section, replacing its current meetings (empty: no meetings)
+ */
+public record MeetingPatternDTO(
+    @NotNull(message = "Meetings cannot be null")
+    @Size(max = 50, message = "At most 50 meetings per week")
+    List<@Valid @NotNull MeetingSlotDTO> meetings
+) {}
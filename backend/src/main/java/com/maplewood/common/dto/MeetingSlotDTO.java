@@ -0,0 +1,21 @@
+package com.maplewood.common.dto;
+
+import java.time.LocalTime;
+
+import com.maplewood.common.enums.DayOfWeek;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One weekly meeting of a section's pattern (PUT /course-sections/{id}/meetings)
+ */
+public record MeetingSlotDTO(
+    @NotNull(message = "Day of week cannot be null")
+    DayOfWeek dayOfWeek,
+    
+    @NotNull(message = "Start time cannot be null")
+    LocalTime startTime,
+    
+    @NotNull(message = "End time cannot be null")
+    LocalTime endTime
+) {}
@@ -1,14 +1,10 @@
 package com.maplewood.common.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class RoomTypeDTO {
-    private Long id;
-    private String name;
-    private String description;
-}
+/**
+ * DTO for room type requests and responses (embedded in classrooms and specializations)
+ */
+public record RoomTypeDTO(
+    Long id,
+    String name,
+    String description
+) {}
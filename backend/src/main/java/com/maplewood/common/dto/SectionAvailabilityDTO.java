@@ -0,0 +1,11 @@
+package com.maplewood.common.dto;
+
+/**
+ * DTO for one entry of the live seat availability stream
+ * Latest enrollment count and capacity of a section
+ */
+public record SectionAvailabilityDTO(
+    Long sectionId,
+    Integer enrollmentCount,
+    Integer capacity
+) {}
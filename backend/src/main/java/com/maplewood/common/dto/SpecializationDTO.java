@@ -1,15 +1,11 @@
 package com.maplewood.common.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class SpecializationDTO {
-    private Long id;
-    private String name;
-    private RoomTypeDTO roomType;
-    private String description;
-}
+/**
+ * DTO for specialization requests and responses (embedded in courses and teachers)
+ */
+public record SpecializationDTO(
+    Long id,
+    String name,
+    RoomTypeDTO roomType,
+    String description
+) {}
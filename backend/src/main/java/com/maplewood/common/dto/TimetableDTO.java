@@ -0,0 +1,12 @@
+package com.maplewood.common.dto;
+
+import java.util.List;
+
+/**
+ * Meetings generated for the active semester and the sections that could not be scheduled
+ */
+public record TimetableDTO(
+    Long semesterId,
+    List<CourseSectionMeetingDTO> meetings,
+    List<UnscheduledSectionDTO> unscheduled
+) {}
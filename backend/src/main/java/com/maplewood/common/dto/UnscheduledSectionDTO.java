@@ -0,0 +1,9 @@
+package com.maplewood.common.dto;
+
+/**
+ * Section the timetable generator left alone, with the reason
+ */
+public record UnscheduledSectionDTO(
+    CourseSectionDTO section,
+    String message
+) {}
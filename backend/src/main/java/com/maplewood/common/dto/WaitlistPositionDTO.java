@@ -0,0 +1,12 @@
+package com.maplewood.common.dto;
+
+/**
+ * DTO for a student's place in a section waitlist
+ * Position 1 is the next student to get a seat
+ */
+public record WaitlistPositionDTO(
+    Long sectionId,
+    Long studentId,
+    int position,
+    int waitlistSize
+) {}
@@ -7,6 +7,14 @@ import com.maplewood.course.entity.Course;
 public class CourseMapper {
     
     public static CourseDTO toDTO(Course entity) {
+        return toDTO(entity, true);
+    }
+    
+    /**
+     * The prerequisite is mapped without its own prerequisite: that is the depth the entity graphs fetch,
+     * the whole chain is served by GET /courses/{id}/prerequisite-chain
+     */
+    private static CourseDTO toDTO(Course entity, boolean withPrerequisite) {
         if (entity == null) return null;
         return new CourseDTO(
             entity.getId(),
@@ -16,7 +24,7 @@ public class CourseMapper {
             entity.getCredits(),
             entity.getHoursPerWeek(),
             entity.getSpecialization() != null ? SpecializationMapper.toDTO(entity.getSpecialization()) : null,
-            entity.getPrerequisite() != null ? toDTO(entity.getPrerequisite()) : null,
+            withPrerequisite && entity.getPrerequisite() != null ? toDTO(entity.getPrerequisite(), false) : null,
             entity.getCourseType() != null ? entity.getCourseType().name() : null,
             entity.getGradeLevelMin(),
             entity.getGradeLevelMax(),
@@ -28,18 +36,18 @@ public class CourseMapper {
     public static Course toEntity(CourseDTO dto) {
         if (dto == null) return null;
         Course entity = new Course();
-        entity.setId(dto.getId());
-        entity.setCode(dto.getCode());
-        entity.setName(dto.getName());
-        entity.setDescription(dto.getDescription());
-        entity.setCredits(dto.getCredits());
-        entity.setHoursPerWeek(dto.getHoursPerWeek());
-        entity.setSpecialization(dto.getSpecialization() != null ? SpecializationMapper.toEntity(dto.getSpecialization()) : null);
-        entity.setPrerequisite(dto.getPrerequisite() != null ? toEntity(dto.getPrerequisite()) : null);
-        entity.setCourseType(dto.getCourseType() != null ? CourseType.valueOf(dto.getCourseType()) : null);
-        entity.setGradeLevelMin(dto.getGradeLevelMin());
-        entity.setGradeLevelMax(dto.getGradeLevelMax());
-        entity.setSemesterOrder(dto.getSemesterOrder());
+        entity.setId(dto.id());
+        entity.setCode(dto.code());
+        entity.setName(dto.name());
+        entity.setDescription(dto.description());
+        entity.setCredits(dto.credits());
+        entity.setHoursPerWeek(dto.hoursPerWeek());
+        entity.setSpecialization(dto.specialization() != null ? SpecializationMapper.toEntity(dto.specialization()) : null);
+        entity.setPrerequisite(dto.prerequisite() != null ? toEntity(dto.prerequisite()) : null);
+        entity.setCourseType(dto.courseType() != null ? CourseType.valueOf(dto.courseType()) : null);
+        entity.setGradeLevelMin(dto.gradeLevelMin());
+        entity.setGradeLevelMax(dto.gradeLevelMax());
+        entity.setSemesterOrder(dto.semesterOrder());
         return entity;
     }
 }
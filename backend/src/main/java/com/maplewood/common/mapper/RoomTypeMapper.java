@@ -17,9 +17,9 @@ public class RoomTypeMapper {
     public static RoomType toEntity(RoomTypeDTO dto) {
         if (dto == null) return null;
         RoomType entity = new RoomType();
-        entity.setId(dto.getId());
-        entity.setName(dto.getName());
-        entity.setDescription(dto.getDescription());
+        entity.setId(dto.id());
+        entity.setName(dto.name());
+        entity.setDescription(dto.description());
         return entity;
     }
 }
@@ -18,10 +18,10 @@ public class SpecializationMapper {
     public static Specialization toEntity(SpecializationDTO dto) {
         if (dto == null) return null;
         Specialization entity = new Specialization();
-        entity.setId(dto.getId());
-        entity.setName(dto.getName());
-        entity.setRoomType(dto.getRoomType() != null ? RoomTypeMapper.toEntity(dto.getRoomType()) : null);
-        entity.setDescription(dto.getDescription());
+        entity.setId(dto.id());
+        entity.setName(dto.name());
+        entity.setRoomType(dto.roomType() != null ? RoomTypeMapper.toEntity(dto.roomType()) : null);
+        entity.setDescription(dto.description());
         return entity;
     }
 }
@@ -0,0 +1,59 @@
+package com.maplewood.common.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.exception.DuplicateResourceException;
+import com.maplewood.common.exception.EnrollmentValidationException;
+import com.maplewood.common.exception.ScheduleConflictException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timer around each rule of a validation chain
+ *
+ * maplewood.validator{chain, validator, outcome}
+ * - outcome=passed: the rule accepted the input
+ * - outcome=rejected: the rule threw one of the business exceptions validators use
+ * - outcome=error: anything else
+ */
+@Component
+public class ValidatorMetrics {
+    
+    public static final String TIMER_NAME = "maplewood.validator";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /**
+     * Run one rule and record its duration, exceptions are rethrown unchanged
+     */
+    public void time(String chain, String validator, Runnable rule) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            rule.run();
+            outcome = "passed";
+        } catch (RuntimeException e) {
+            if (isRejection(e)) {
+                outcome = "rejected";
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                .description("Duration of one validation rule")
+                .tag("chain", chain)
+                .tag("validator", validator)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+    
+    private static boolean isRejection(RuntimeException e) {
+        return e instanceof EnrollmentValidationException
+            || e instanceof ScheduleConflictException
+            || e instanceof DuplicateResourceException
+            || e instanceof IllegalArgumentException;
+    }
+}
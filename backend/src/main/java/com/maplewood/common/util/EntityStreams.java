@@ -0,0 +1,26 @@
+package com.maplewood.common.util;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Utility class for entities read through a forward-only cursor (repository methods returning Stream)
+ */
+public class EntityStreams {
+    
+    /**
+     * Hand each entity to the action, then clear the persistence context so the heap stays flat
+     * however many rows there are; closes the stream (and its cursor)
+     * Must run inside a transaction, which keeps the cursor open
+     */
+    public static <E> void forEachCleared(Stream<E> entities, EntityManager entityManager, Consumer<? super E> action) {
+        try (entities) {
+            entities.forEach(entity -> {
+                action.accept(entity);
+                entityManager.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.maplewood.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import com.maplewood.common.dto.CursorPageDTO;
+
+/**
+ * Position in a keyset listing: sort key and ID of the last row already returned
+ * Listings order by (sort key, id) and seek past this position instead of skipping an offset,
+ * so a page costs the same however deep it is and no COUNT(*) runs
+ * Clients only see it as an opaque URL-safe token (?after=...)
+ */
+public record KeysetCursor(String key, long id) {
+    
+    /**
+     * Largest page a cursor listing returns
+     */
+    public static final int MAX_SIZE = 1000;
+    
+    /**
+     * Opaque token for ?after=
+     */
+    public String encode() {
+        // ID first: it never contains the separator, the key may
+        String raw = id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode an ?after= token, null for an empty token (first page)
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+    
+    /**
+     * Sort key of a listing ordered by a numeric column
+     */
+    public long keyAsLong() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor for this listing");
+        }
+    }
+    
+    /**
+     * Build a page: fetch is asked for one row more than the page size, that row only tells there is a next page
+     * @param fetch rows after the requested position, given a row limit
+     * @param position cursor of a row (its sort key and ID)
+     */
+    public static <E, D> CursorPageDTO<D> page(int size, IntFunction<List<E>> fetch,
+                                               Function<E, KeysetCursor> position, Function<E, D> mapper) {
+        int pageSize = Math.clamp(size, 1, MAX_SIZE);
+        List<E> rows = fetch.apply(pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? position.apply(content.get(pageSize - 1)).encode() : null;
+        return new CursorPageDTO<>(DTOConverter.convertList(content, mapper), pageSize, nextCursor);
+    }
+}
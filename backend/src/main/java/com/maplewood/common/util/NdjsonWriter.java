@@ -0,0 +1,45 @@
+package com.maplewood.common.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * application/x-ndjson responses: one JSON document per line, written while the rows are read
+ * Nothing is collected, so memory use does not grow with the number of rows
+ */
+@Component
+public class NdjsonWriter {
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    /**
+     * Response whose body is everything the producer hands to its sink
+     * The producer runs when the body is written (on an async request thread), not in the controller
+     */
+    public ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<Object>> producer) {
+        StreamingResponseBody body = out -> producer.accept(item -> writeLine(out, item));
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    private void writeLine(OutputStream out, Object item) {
+        try {
+            out.write(jsonMapper.writeValueAsBytes(item));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
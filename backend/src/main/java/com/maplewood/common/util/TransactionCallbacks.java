@@ -0,0 +1,27 @@
+package com.maplewood.common.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for in-memory state that must only follow committed changes
+ */
+public class TransactionCallbacks {
+    
+    /**
+     * Run the action once the current transaction commits (now if there is none)
+     * A rolled-back transaction never runs it
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
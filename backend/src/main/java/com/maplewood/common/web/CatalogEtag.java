@@ -0,0 +1,23 @@
+package com.maplewood.common.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serve a GET handler conditionally: ETag from the versions of the catalog collections it reads,
+ * If-None-Match answered with 304 before the handler runs (see CatalogEtagInterceptor)
+ * Only for handlers whose response depends on nothing else than these collections and the request URL
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CatalogEtag {
+    
+    /**
+     * Collections the response is built from (embedded collections are included automatically)
+     */
+    CatalogResource[] value();
+}
@@ -0,0 +1,40 @@
+package com.maplewood.common.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for handlers annotated with @CatalogEtag
+ *
+ * The ETag is computed from CatalogVersions alone, so a matching If-None-Match gets its 304
+ * before the handler runs: no repository call, no JSON serialization
+ * Responses are marked Cache-Control: no-cache, clients keep them but revalidate on every use
+ */
+@Component
+public class CatalogEtagInterceptor implements HandlerInterceptor {
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        CatalogEtag catalogEtag = method.getMethodAnnotation(CatalogEtag.class);
+        if (catalogEtag == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        // Sets the ETag header, and the 304 status if If-None-Match matches
+        return !new ServletWebRequest(request, response).checkNotModified(catalogVersions.etag(catalogEtag.value()));
+    }
+}
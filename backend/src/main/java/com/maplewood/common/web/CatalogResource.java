@@ -0,0 +1,31 @@
+package com.maplewood.common.web;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Catalog collections served with an ETag, each with its own version counter
+ * A collection also depends on the collections its DTOs embed: a section shows its course, teacher and classroom
+ */
+public enum CatalogResource {
+    
+    COURSES,
+    TEACHERS,
+    CLASSROOMS,
+    SECTIONS(COURSES, TEACHERS, CLASSROOMS);
+    
+    private final Set<CatalogResource> embedded;
+    
+    CatalogResource(CatalogResource... embedded) {
+        this.embedded = Set.of(embedded);
+    }
+    
+    /**
+     * This collection and the collections its DTOs embed
+     */
+    public Set<CatalogResource> withEmbedded() {
+        EnumSet<CatalogResource> resources = EnumSet.of(this);
+        resources.addAll(embedded);
+        return resources;
+    }
+}
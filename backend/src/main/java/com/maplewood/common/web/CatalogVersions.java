@@ -0,0 +1,47 @@
+package com.maplewood.common.web;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.util.TransactionCallbacks;
+
+/**
+ * In-process version counter of each catalog collection, the source of the catalog ETags
+ *
+ * Services that change a collection call bump(); inside a transaction the counter moves once it commits:
+ * moving it earlier would let a concurrent GET tag the old rows with the new version, and clients would
+ * keep that stale copy until the next change
+ *
+ * ETags also carry the startup time, counters restart at 0 with the application
+ */
+@Component
+public class CatalogVersions {
+    
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    
+    private final AtomicLongArray versions = new AtomicLongArray(CatalogResource.values().length);
+    
+    /**
+     * Record a change to a collection, effective when the current transaction commits (now if there is none)
+     */
+    public void bump(CatalogResource resource) {
+        TransactionCallbacks.afterCommit(() -> versions.incrementAndGet(resource.ordinal()));
+    }
+    
+    /**
+     * Strong ETag of a response built from these collections and the ones they embed
+     */
+    public String etag(CatalogResource... resources) {
+        EnumSet<CatalogResource> covered = EnumSet.noneOf(CatalogResource.class);
+        for (CatalogResource resource : resources) {
+            covered.addAll(resource.withEmbedded());
+        }
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (CatalogResource resource : covered) {
+            etag.append('-').append(versions.get(resource.ordinal()));
+        }
+        return etag.append('"').toString();
+    }
+}
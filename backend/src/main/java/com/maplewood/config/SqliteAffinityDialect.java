@@ -0,0 +1,67 @@
+package com.maplewood.config;
+
+import java.sql.Types;
+
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+/**
+ * SQLite dialect whose schema validation compares column types by SQLite type affinity
+ *
+ * SQLite only knows the storage classes INTEGER, REAL, TEXT, BLOB and NUMERIC: a column declared
+ * "integer" holds a Long id just as well as "bigint", and the original tables were created by hand
+ * with such declarations. Dates and times have no storage class of their own (SQLite date functions
+ * read TEXT, REAL or INTEGER), so temporal types match any non-BLOB column.
+ * Without this, ddl-auto=validate rejects every hand-written table
+ */
+public class SqliteAffinityDialect extends SQLiteDialect {
+
+    private enum Affinity { INTEGER, REAL, NUMERIC, TEXT, BLOB }
+
+    public SqliteAffinityDialect() {
+        super();
+    }
+
+    public SqliteAffinityDialect(DialectResolutionInfo info) {
+        super(info);
+    }
+
+    @Override
+    public boolean equivalentTypes(int typeCode1, int typeCode2) {
+        if (super.equivalentTypes(typeCode1, typeCode2)) {
+            return true;
+        }
+        Affinity affinity1 = affinityOf(typeCode1);
+        Affinity affinity2 = affinityOf(typeCode2);
+        if (isTemporal(typeCode1) || isTemporal(typeCode2)) {
+            return affinity1 != Affinity.BLOB && affinity2 != Affinity.BLOB;
+        }
+        return affinity1 == affinity2 || (isNumeric(affinity1) && isNumeric(affinity2));
+    }
+
+    private static boolean isTemporal(int typeCode) {
+        return switch (typeCode) {
+            case Types.DATE, Types.TIME, Types.TIMESTAMP,
+                 Types.TIME_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isNumeric(Affinity affinity) {
+        return affinity == Affinity.INTEGER || affinity == Affinity.REAL || affinity == Affinity.NUMERIC;
+    }
+
+    /**
+     * Affinity of a JDBC type code, following https://www.sqlite.org/datatype3.html#determination_of_column_affinity
+     */
+    private static Affinity affinityOf(int typeCode) {
+        return switch (typeCode) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Affinity.INTEGER;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> Affinity.REAL;
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.CLOB,
+                 Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.NCLOB -> Affinity.TEXT;
+            case Types.BLOB, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> Affinity.BLOB;
+            default -> Affinity.NUMERIC;
+        };
+    }
+}
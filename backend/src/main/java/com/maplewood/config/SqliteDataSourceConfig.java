@@ -0,0 +1,107 @@
+package com.maplewood.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * SQLite WAL storage profile (spring.profiles.active=wal)
+ *
+ * - Writer pool: one connection in WAL mode, BEGIN IMMEDIATE, so writers queue in the pool
+ *   instead of failing with SQLITE_BUSY on lock upgrade
+ * - Reader pool: read-only connections (one per core by default); in WAL mode readers never
+ *   block behind the writer
+ * - Routing: @Transactional(readOnly = true) marks the connection read-only before first use,
+ *   LazyConnectionDataSourceProxy then takes it from the reader pool; everything else goes to the writer
+ *
+ * With virtual threads (virtual profile) a thread inside a sqlite-jdbc call is pinned to its carrier
+ * (the driver's native methods are synchronized). The default reader pool is then one smaller than the
+ * carrier count, so reads can never take every carrier away from the thread holding the writer; waiting
+ * for a pooled connection parks without pinning
+ */
+@Configuration
+@Profile("wal")
+public class SqliteDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${maplewood.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${maplewood.sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Value("${maplewood.sqlite.reader-pool-size:0}")
+    private int readerPoolSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriterDataSource() {
+        SQLiteConfig config = baseConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        return pool("sqlite-writer", config, 1, false);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReaderDataSource(@Qualifier("sqliteWriterDataSource") HikariDataSource writer) {
+        // Writer is created first: it switches the database file to WAL before readers open it
+        SQLiteConfig config = baseConfig();
+        config.setReadOnly(true);
+        int size = readerPoolSize > 0 ? readerPoolSize : defaultReaderPoolSize();
+        return pool("sqlite-reader", config, size, true);
+    }
+
+    private int defaultReaderPoolSize() {
+        if (!virtualThreads) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+            Runtime.getRuntime().availableProcessors());
+        return Math.max(1, carriers - 1);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWriterDataSource") HikariDataSource writer,
+                                 @Qualifier("sqliteReaderDataSource") HikariDataSource reader) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writer);
+        routing.setReadOnlyDataSource(reader);
+        return routing;
+    }
+
+    private SQLiteConfig baseConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout(busyTimeoutMs);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        return config;
+    }
+
+    private HikariDataSource pool(String name, SQLiteConfig config, int size, boolean readOnly) {
+        SQLiteDataSource sqlite = new SQLiteDataSource(config);
+        sqlite.setUrl(url);
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(name);
+        hikari.setDataSource(sqlite);
+        hikari.setMaximumPoolSize(size);
+        hikari.setMinimumIdle(size);
+        hikari.setReadOnly(readOnly);
+        return new HikariDataSource(hikari);
+    }
+}
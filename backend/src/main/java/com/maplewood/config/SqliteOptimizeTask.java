@@ -0,0 +1,31 @@
+package com.maplewood.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Periodic PRAGMA optimize on the writer connection (WAL profile)
+ * Lets SQLite refresh query planner statistics for tables whose usage changed
+ */
+@Configuration
+@Profile("wal")
+@EnableScheduling
+public class SqliteOptimizeTask {
+
+    @Autowired
+    @Qualifier("sqliteWriterDataSource")
+    private HikariDataSource writerDataSource;
+
+    @Scheduled(initialDelayString = "${maplewood.sqlite.optimize-interval:PT1H}",
+               fixedDelayString = "${maplewood.sqlite.optimize-interval:PT1H}")
+    public void optimize() {
+        new JdbcTemplate(writerDataSource).execute("PRAGMA optimize");
+    }
+}
@@ -1,15 +1,23 @@
 package com.maplewood.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.maplewood.common.web.CatalogEtagInterceptor;
+
 /**
  * Web configuration to enable CORS for frontend communication
+ * and conditional GET on the catalog endpoints
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private CatalogEtagInterceptor catalogEtagInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -18,4 +26,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(false);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogEtagInterceptor).addPathPatterns("/api/**");
+    }
 }
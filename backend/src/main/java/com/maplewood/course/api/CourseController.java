@@ -20,7 +20,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.maplewood.common.dto.CourseDTO;
 import com.maplewood.common.enums.CourseType;
 import com.maplewood.common.mapper.CourseMapper;
+import com.maplewood.common.mapper.CourseSectionMapper;
 import com.maplewood.common.util.DTOConverter;
+import com.maplewood.common.web.CatalogEtag;
+import com.maplewood.common.web.CatalogResource;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.service.CourseService;
 
@@ -40,32 +43,36 @@ public class CourseController {
      * Get all courses with pagination
      */
     @GetMapping
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<Page<CourseDTO>> getAllCourses(Pageable pageable) {
-        return ResponseEntity.ok(courseService.getAllCourses(pageable).map(CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getAllCourses(pageable));
     }
     
     /**
      * Get course by ID
      */
     @GetMapping("/{id}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
-        return ResponseEntity.ok(DTOConverter.convert(courseService.getCourseById(id), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCourse(id));
     }
     
     /**
      * Get course by code
      */
     @GetMapping("/code/{code}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<CourseDTO> getCourseByCode(@PathVariable String code) {
-        return ResponseEntity.ok(DTOConverter.convert(courseService.getCourseByCode(code), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCourseByCode(code));
     }
     
     /**
      * Get all courses by type (CORE or ELECTIVE)
      */
     @GetMapping("/type/{type}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getCoursesByType(@PathVariable CourseType type) {
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getCoursesByType(type), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCoursesByType(type));
     }
     
     /**
@@ -73,8 +80,9 @@ public class CourseController {
      * @param semesterOrder 1 for Fall, 2 for Spring
      */
     @GetMapping("/semester/{semesterOrder}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getCoursesBySemesterOrder(@PathVariable Integer semesterOrder) {
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getCoursesBySemesterOrder(semesterOrder), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCoursesBySemesterOrder(semesterOrder));
     }
     
     /**
@@ -82,6 +90,7 @@ public class CourseController {
      * Provides string-based filtering for better frontend UX
      */
     @GetMapping("/semester-name/{semesterName}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getCoursesBySemesterName(@PathVariable String semesterName) {
         Integer semesterOrder;
         if ("FALL".equalsIgnoreCase(semesterName)) {
@@ -91,39 +100,43 @@ public class CourseController {
         } else {
             throw new IllegalArgumentException("Invalid semester name. Must be FALL or SPRING");
         }
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getCoursesBySemesterOrder(semesterOrder), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCoursesBySemesterOrder(semesterOrder));
     }
     
     /**
      * Get all courses available for a specific grade level
      */
     @GetMapping("/grade-level/{gradeLevel}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getCoursesByGradeLevel(@PathVariable Integer gradeLevel) {
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getCoursesByGradeLevel(gradeLevel), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCoursesByGradeLevel(gradeLevel));
     }
     
     /**
      * Get all courses with prerequisites
      */
     @GetMapping("/with-prerequisites")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getCoursesWithPrerequisites() {
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getCoursesWithPrerequisites(), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getCoursesWithPrerequisites());
     }
     
     /**
      * Get the prerequisite chain for a course
      */
     @GetMapping("/{id}/prerequisite-chain")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getPrerequisiteChain(@PathVariable Long id) {
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getPrerequisiteChain(id), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getPrerequisiteChain(id));
     }
     
     /**
      * Get all courses that depend on this course as prerequisite
      */
     @GetMapping("/{id}/dependents")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getDependentCourses(@PathVariable Long id) {
-        return ResponseEntity.ok(DTOConverter.convertList(courseService.getDependentCourses(id), CourseMapper::toDTO));
+        return ResponseEntity.ok(courseService.getDependentCourses(id));
     }
     
     /**
@@ -137,6 +150,7 @@ public class CourseController {
      * 
      */
     @GetMapping("/search")
+    @CatalogEtag({CatalogResource.COURSES, CatalogResource.SECTIONS})
     public ResponseEntity<Page<CourseDTO>> searchCourses(
             @RequestParam(required = false) Long specialization,
             @RequestParam(required = false) CourseType type,
@@ -148,7 +162,6 @@ public class CourseController {
         // Use overloaded method that combines all filters including activeOnly
         return ResponseEntity.ok(
             courseService.searchCourses(specialization, type, gradeLevel, semesterOrder, activeOnly, pageable)
-                .map(CourseMapper::toDTO)
         );
     }
     
@@ -176,34 +189,40 @@ public class CourseController {
      * Get courses by specialization
      */
     @GetMapping("/specialization/{specializationId}")
+    @CatalogEtag(CatalogResource.COURSES)
     public ResponseEntity<List<CourseDTO>> getCoursesBySpecialization(@PathVariable Long specializationId) {
-        return ResponseEntity.ok(DTOConverter.convertList(
-            courseService.getCoursesBySpecialization(specializationId),
-            CourseMapper::toDTO
-        ));
+        return ResponseEntity.ok(courseService.getCoursesBySpecialization(specializationId));
     }
     
     /**
      * Get available sections for a course in the active semester
      */
     @GetMapping("/{courseId}/available-sections")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<?> getAvailableSectionsForCourse(@PathVariable Long courseId) {
-        return ResponseEntity.ok(courseService.getAvailableSectionsForCourse(courseId));
+        return ResponseEntity.ok(DTOConverter.convertList(
+            courseService.getAvailableSectionsForCourse(courseId),
+            CourseSectionMapper::toDTO
+        ));
     }
-
+    
     /**
      * Get available courses for a student for the active semester (Fall)
      * Filters by student's grade level
      */
     @GetMapping("/available-for-student/{studentId}")
     public ResponseEntity<List<CourseDTO>> getAvailableCoursesForStudent(@PathVariable Long studentId) {
-        List<CourseDTO> courses = courseService.getAvailableCoursesForStudent(studentId)
-            .stream()
-            .map(CourseMapper::toDTO)
-            .toList();
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(courseService.getAvailableCoursesForStudent(studentId));
     }
-
+    
+    /**
+     * Get courses a student has unlocked (prerequisite passed, course not passed yet)
+     */
+    @GetMapping("/unlocked-for-student/{studentId}")
+    public ResponseEntity<List<CourseDTO>> getCoursesUnlockedForStudent(@PathVariable Long studentId) {
+        return ResponseEntity.ok(courseService.getCoursesUnlockedForStudent(studentId));
+    }
+    
     /**
      * Delete course
      */
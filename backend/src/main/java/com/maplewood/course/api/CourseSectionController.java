@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,16 +18,26 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.maplewood.common.dto.CourseSectionDTO;
+import com.maplewood.common.dto.CourseSectionMeetingDTO;
 import com.maplewood.common.dto.CreateCourseSectionDTO;
+import com.maplewood.common.dto.CursorPageDTO;
+import com.maplewood.common.dto.MeetingPatternDTO;
 import com.maplewood.common.dto.UpdateCourseSectionDTO;
 import com.maplewood.common.mapper.CourseSectionMapper;
+import com.maplewood.common.mapper.CourseSectionMeetingMapper;
 import com.maplewood.common.util.DTOConverter;
+import com.maplewood.common.util.KeysetCursor;
+import com.maplewood.common.web.CatalogEtag;
+import com.maplewood.common.web.CatalogResource;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.service.CourseSectionMeetingService;
 import com.maplewood.course.service.CourseSectionService;
 import com.maplewood.course.service.CourseService;
+import com.maplewood.course.service.SectionAvailabilityStream;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.school.entity.Teacher;
@@ -48,6 +59,9 @@ public class CourseSectionController {
     @Autowired
     private CourseSectionService courseSectionService;
     
+    @Autowired
+    private CourseSectionMeetingService meetingService;
+    
     @Autowired
     private CourseService courseService;
     
@@ -60,14 +74,35 @@ public class CourseSectionController {
     @Autowired
     private SemesterService semesterService;
     
+    @Autowired
+    private SectionAvailabilityStream availabilityStream;
+    
     /**
      * Get all course sections with pagination
      */
     @GetMapping
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<Page<CourseSectionDTO>> getAllCourseSections(Pageable pageable) {
         return ResponseEntity.ok(courseSectionService.getAllCourseSections(pageable).map(CourseSectionMapper::toDTO));
     }
     
+    /**
+     * Get course sections by keyset pagination, ordered by semester (no total count)
+     * Start with an empty after= and pass each page's nextCursor until it is null
+     */
+    @GetMapping(params = "after")
+    @CatalogEtag(CatalogResource.SECTIONS)
+    public ResponseEntity<CursorPageDTO<CourseSectionDTO>> getCourseSectionsAfter(
+        @RequestParam String after,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        KeysetCursor position = KeysetCursor.decode(after);
+        return ResponseEntity.ok(KeysetCursor.page(size,
+            limit -> courseSectionService.getCourseSectionsAfter(position, limit),
+            section -> new KeysetCursor(String.valueOf(section.getSemester().getId()), section.getId()),
+            CourseSectionMapper::toDTO));
+    }
+    
     /**
      * Search/filter course sections with multiple optional filters
      * Query parameters:
@@ -78,6 +113,7 @@ public class CourseSectionController {
      * - available: true/false (only show available sections)
      */
     @GetMapping("/search")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<Page<CourseSectionDTO>> searchCourseSections(
         @RequestParam(required = false) Long specialization,
         @RequestParam(required = false) Long teacher,
@@ -96,6 +132,7 @@ public class CourseSectionController {
      * Get course section by ID
      */
     @GetMapping("/{id}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<CourseSectionDTO> getCourseSectionById(@PathVariable Long id) {
         return ResponseEntity.ok(DTOConverter.convert(courseSectionService.getCourseSectionById(id), CourseSectionMapper::toDTO));
     }
@@ -104,6 +141,7 @@ public class CourseSectionController {
      * Get all sections for a specific course
      */
     @GetMapping("/search/course/{courseId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsByCourse(@PathVariable Long courseId) {
         Course course = courseService.getCourseById(courseId);
         return ResponseEntity.ok(DTOConverter.convertList(courseSectionService.getSectionsByCourse(course), CourseSectionMapper::toDTO));
@@ -113,6 +151,7 @@ public class CourseSectionController {
      * Get all sections taught by a specific teacher
      */
     @GetMapping("/search/teacher/{teacherId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsByTeacher(@PathVariable Long teacherId) {
         Teacher teacher = teacherService.getTeacherById(teacherId);
         return ResponseEntity.ok(DTOConverter.convertList(courseSectionService.getSectionsByTeacher(teacher), CourseSectionMapper::toDTO));
@@ -122,6 +161,7 @@ public class CourseSectionController {
      * Get all sections in a specific classroom
      */
     @GetMapping("/search/classroom/{classroomId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsByClassroom(@PathVariable Long classroomId) {
         Classroom classroom = classroomService.getClassroomById(classroomId);
         return ResponseEntity.ok(DTOConverter.convertList(courseSectionService.getSectionsByClassroom(classroom), CourseSectionMapper::toDTO));
@@ -131,6 +171,7 @@ public class CourseSectionController {
      * Get all sections for a specific semester
      */
     @GetMapping("/search/semester/{semesterId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsBySemester(@PathVariable Long semesterId) {
         Semester semester = semesterService.getSemesterById(semesterId);
         return ResponseEntity.ok(DTOConverter.convertList(courseSectionService.getSectionsBySemester(semester), CourseSectionMapper::toDTO));
@@ -140,6 +181,7 @@ public class CourseSectionController {
      * Get all sections of a course in a specific semester
      */
     @GetMapping("/search/course/{courseId}/semester/{semesterId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsByCourseAndSemester(@PathVariable Long courseId, @PathVariable Long semesterId) {
         Course course = courseService.getCourseById(courseId);
         Semester semester = semesterService.getSemesterById(semesterId);
@@ -150,6 +192,7 @@ public class CourseSectionController {
      * Get all sections taught by a teacher in a specific semester
      */
     @GetMapping("/search/teacher/{teacherId}/semester/{semesterId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsByTeacherAndSemester(@PathVariable Long teacherId, @PathVariable Long semesterId) {
         Teacher teacher = teacherService.getTeacherById(teacherId);
         Semester semester = semesterService.getSemesterById(semesterId);
@@ -160,6 +203,7 @@ public class CourseSectionController {
      * Get all sections in a classroom for a specific semester
      */
     @GetMapping("/search/classroom/{classroomId}/semester/{semesterId}")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getSectionsByClassroomAndSemester(@PathVariable Long classroomId, @PathVariable Long semesterId) {
         Classroom classroom = classroomService.getClassroomById(classroomId);
         Semester semester = semesterService.getSemesterById(semesterId);
@@ -170,10 +214,21 @@ public class CourseSectionController {
      * Get available sections (with enrollment below capacity)
      */
     @GetMapping("/search/available")
+    @CatalogEtag(CatalogResource.SECTIONS)
     public ResponseEntity<List<CourseSectionDTO>> getAvailableSections() {
         return ResponseEntity.ok(DTOConverter.convertList(courseSectionService.getAvailableSections(), CourseSectionMapper::toDTO));
     }
     
+    /**
+     * Live seat availability (Server-Sent Events)
+     * Pushes "availability" events, JSON arrays of {sectionId, enrollmentCount, capacity} for the sections
+     * whose count or capacity changed; load the section list first, then apply the events on top
+     */
+    @GetMapping(path = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability() {
+        return availabilityStream.subscribe();
+    }
+    
     /**
      * Create new course section
      */
@@ -192,6 +247,17 @@ public class CourseSectionController {
         return ResponseEntity.ok(CourseSectionMapper.toDTO(updated));
     }
     
+    /**
+     * Replace the whole weekly meeting pattern of a section
+     * The pattern is validated as a whole (same rules as POST /course-section-meetings) and saved in one
+     * transaction: either every meeting is replaced or nothing changes. An empty list removes all meetings
+     */
+    @PutMapping("/{id}/meetings")
+    public ResponseEntity<List<CourseSectionMeetingDTO>> replaceMeetings(@PathVariable Long id, @Valid @RequestBody MeetingPatternDTO patternDTO) {
+        return ResponseEntity.ok(DTOConverter.convertList(
+            meetingService.replaceSectionMeetings(id, patternDTO.meetings()), CourseSectionMeetingMapper::toDTO));
+    }
+    
     /**
      * Delete course section
      */
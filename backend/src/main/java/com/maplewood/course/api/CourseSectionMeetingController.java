@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.maplewood.common.dto.CourseSectionMeetingDTO;
 import com.maplewood.common.dto.CreateCourseSectionMeetingDTO;
+import com.maplewood.common.dto.TimetableDTO;
 import com.maplewood.common.dto.UpdateCourseSectionMeetingDTO;
 import com.maplewood.common.mapper.CourseSectionMeetingMapper;
 import com.maplewood.common.util.DTOConverter;
+import com.maplewood.common.util.NdjsonWriter;
 import com.maplewood.course.entity.CourseSectionMeeting;
 import com.maplewood.course.service.CourseSectionMeetingService;
 import com.maplewood.course.service.CourseSectionService;
+import com.maplewood.course.service.TimetableService;
 
 import jakarta.validation.Valid;
 
@@ -44,6 +49,12 @@ public class CourseSectionMeetingController {
     @Autowired
     private CourseSectionService sectionService;
     
+    @Autowired
+    private TimetableService timetableService;
+    
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    
     /**
      * Get all meetings
      */
@@ -52,6 +63,15 @@ public class CourseSectionMeetingController {
         return ResponseEntity.ok(DTOConverter.convertList(meetingService.getAllMeetings(), CourseSectionMeetingMapper::toDTO));
     }
     
+    /**
+     * Stream all meetings as NDJSON (Accept: application/x-ndjson), one meeting per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMeetings() {
+        return ndjsonWriter.stream(sink -> meetingService.forEachMeeting(
+            meeting -> sink.accept(CourseSectionMeetingMapper.toDTO(meeting))));
+    }
+    
     /**
      * Get meeting by ID
      */
@@ -131,6 +151,16 @@ public class CourseSectionMeetingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(CourseSectionMeetingMapper.toDTO(created));
     }
     
+    /**
+     * Generate the meetings of every active-semester section that has none yet
+     * Same rules as createMeeting; either every section is placed or none is (409 when no timetable fits)
+     * Sections whose course hours break a rule are listed in unscheduled
+     */
+    @PostMapping("/timetable")
+    public ResponseEntity<TimetableDTO> generateTimetable() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(timetableService.generateForActiveSemester());
+    }
+    
     /**
      * Update existing meeting
      * Enforces all validations on update
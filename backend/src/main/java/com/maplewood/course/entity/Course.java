@@ -3,13 +3,17 @@ package com.maplewood.course.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NamedEntityGraph;
 
 import com.maplewood.common.enums.CourseType;
 import com.maplewood.school.entity.Specialization;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -25,8 +29,11 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "Course.withDetails", graph = "specialization(roomType), prerequisite(specialization(roomType))")
 @Table(name = "courses")
 @Data
 @NoArgsConstructor
@@ -57,11 +64,13 @@ public class Course {
     @Max(6)
     private Integer hoursPerWeek;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "specialization_id", nullable = false)
     private Specialization specialization;
     
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "prerequisite_id")
     private Course prerequisite; // Self-reference for prerequisites
     
@@ -96,4 +105,17 @@ public class Course {
         }
         return gradeLevelMax >= gradeLevelMin;
     }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Course other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Course.class.hashCode();
+    }
 }
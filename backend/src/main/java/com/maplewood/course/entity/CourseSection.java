@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NamedEntityGraph;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.maplewood.enrollment.entity.CurrentEnrollment;
@@ -15,6 +16,7 @@ import com.maplewood.school.entity.Teacher;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -27,8 +29,13 @@ import jakarta.validation.constraints.Max;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@NamedEntityGraph(name = "CourseSection.withDetails", graph =
+    "course(specialization(roomType), prerequisite(specialization(roomType))), " +
+    "teacher(specialization(roomType)), classroom(roomType), semester")
+@NamedEntityGraph(name = "CourseSection.forValidation", graph = "course(prerequisite), semester")
 @Table(name = "course_sections")
 @Data
 @NoArgsConstructor
@@ -43,19 +50,23 @@ public class CourseSection {
     @Column(name = "version", nullable = false)
     private Long version;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "teacher_id", nullable = false)
     private Teacher teacher;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "classroom_id", nullable = false)
     private Classroom classroom;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "semester_id", nullable = false)
     private Semester semester;
     
@@ -67,9 +78,11 @@ public class CourseSection {
     @Column(name = "enrollment_count", nullable = false)
     private Integer enrollmentCount;
     
+    @ToString.Exclude
     @OneToMany(mappedBy = "section", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CourseSectionMeeting> meetings;
     
+    @ToString.Exclude
     @OneToMany(mappedBy = "courseSection", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CurrentEnrollment> enrollments;
     
@@ -80,4 +93,17 @@ public class CourseSection {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CourseSection other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return CourseSection.class.hashCode();
+    }
 }
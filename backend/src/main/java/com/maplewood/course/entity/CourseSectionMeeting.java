@@ -4,12 +4,14 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NamedEntityGraph;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.maplewood.common.enums.DayOfWeek;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -23,8 +25,13 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@NamedEntityGraph(name = "CourseSectionMeeting.withDetails", graph =
+    "section(course(specialization(roomType), prerequisite(specialization(roomType))), " +
+    "teacher(specialization(roomType)), classroom(roomType), semester)")
+@NamedEntityGraph(name = "CourseSectionMeeting.withSection", graph = "section")
 @Table(name = "course_section_meetings",
     uniqueConstraints = @UniqueConstraint(
         columnNames = {"section_id", "day_of_week", "start_time"}
@@ -39,7 +46,8 @@ public class CourseSectionMeeting {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "section_id", nullable = false)
     private CourseSection section;
     
@@ -92,4 +100,17 @@ public class CourseSectionMeeting {
         // Overlap if: this.start < other.end AND this.end > other.start
         return this.startTime.isBefore(other.endTime) && this.endTime.isAfter(other.startTime);
     }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CourseSectionMeeting other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return CourseSectionMeeting.class.hashCode();
+    }
 }
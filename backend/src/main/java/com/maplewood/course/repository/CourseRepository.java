@@ -3,86 +3,59 @@ package com.maplewood.course.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.maplewood.common.enums.CourseType;
 import com.maplewood.course.entity.Course;
-import com.maplewood.school.entity.Specialization;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for Course entity
- * Provides database operations for courses with complex filtering queries
+ * Course reads are served by CourseCatalog; these queries load it and back writes
+ * Finders returning courses fetch the Course.withDetails graph (what CourseMapper reads) in the same query
  */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
-    
-    /**
-     * Find course by unique code (e.g., "MATH-101", "ENG-201")
-     */
-    Optional<Course> findByCode(String code);
-    
-    /**
-     * Check if course exists by code
-     */
-    boolean existsByCode(String code);
-    
-    /**
-     * Find all courses for a specific specialization
-     */
-    List<Course> findBySpecialization(Specialization specialization);
-    
-    /**
-     * Find all courses of a specific type (CORE or ELECTIVE)
-     */
-    List<Course> findByCourseType(CourseType courseType);
+public interface CourseRepository extends JpaRepository<Course, Long> {
     
     /**
-     * Find all courses offered in a specific semester (semester_order: 1=Fall, 2=Spring)
+     * All courses (query result cached)
      */
-    List<Course> findBySemesterOrder(Integer semesterOrder);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Course.withDetails")
+    List<Course> findAll();
     
     /**
-     * Find all courses that have prerequisites
+     * Course by ID
+     * A query rather than find(): find() answered from the second-level cache ignores the entity graph
      */
-    @Query("SELECT c FROM Course c WHERE c.prerequisite IS NOT NULL")
-    List<Course> findCoursesWithPrerequisites();
+    @Override
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    @EntityGraph("Course.withDetails")
+    Optional<Course> findById(@Param("id") Long id);
     
     /**
-     * Find all courses that have a specific course as prerequisite
+     * Courses by IDs (no particular order)
      */
-    List<Course> findByPrerequisite(Course prerequisite);
+    @Override
+    @EntityGraph("Course.withDetails")
+    List<Course> findAllById(Iterable<Long> ids);
     
     /**
-     * Find courses available for a specific grade level
-     * A course is available if the student's grade is within the course's grade level range
-     */
-    @Query("SELECT c FROM Course c WHERE c.gradeLevelMin <= :studentGrade AND c.gradeLevelMax >= :studentGrade")
-    List<Course> findCoursesForGradeLevel(@Param("studentGrade") Integer studentGrade);
-    
-    /**
-     * Find core courses available for a specific grade level
-     */
-    @Query("SELECT c FROM Course c WHERE c.courseType = :courseType AND c.gradeLevelMin <= :studentGrade AND c.gradeLevelMax >= :studentGrade")
-    List<Course> findByCourseTypeAndGradeLevel(@Param("courseType") CourseType courseType, @Param("studentGrade") Integer studentGrade);
-    
-    /**
-     * Find courses by specialization and grade level
-     */
-    @Query("SELECT c FROM Course c WHERE c.specialization = :specialization AND c.gradeLevelMin <= :studentGrade AND c.gradeLevelMax >= :studentGrade")
-    List<Course> findBySpecializationAndGradeLevel(@Param("specialization") Specialization specialization, @Param("studentGrade") Integer studentGrade);
-    
-    /**
-     * Find courses offered in a specific semester and grade level
+     * Check if course exists by code
      */
-    @Query("SELECT c FROM Course c WHERE c.semesterOrder = :semesterOrder AND c.gradeLevelMin <= :studentGrade AND c.gradeLevelMax >= :studentGrade")
-    List<Course> findBySemesterAndGradeLevel(@Param("semesterOrder") Integer semesterOrder, @Param("studentGrade") Integer studentGrade);
+    boolean existsByCode(String code);
     
     /**
-     * Find all courses for a specific specialization by ID
+     * Get (courseId, prerequisiteId) pairs of all courses, prerequisiteId null if none
+     * Used to build the prerequisite graph in one query
      */
-    List<Course> findBySpecialization_Id(Long specializationId);
+    @Query("SELECT c.id, p.id FROM Course c LEFT JOIN c.prerequisite p")
+    List<Object[]> findPrerequisiteLinks();
 }
@@ -1,10 +1,17 @@
 package com.maplewood.course.repository;
 
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,28 +20,72 @@ import com.maplewood.course.entity.CourseSectionMeeting;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Teacher;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for CourseSectionMeeting entity
  * Provides database operations for specific meeting times of course sections
  * Critical for schedule conflict detection during enrollment
+ * Listing finders fetch the CourseSectionMeeting.withDetails graph, validation finders load meetings alone
  */
 @Repository
 public interface CourseSectionMeetingRepository extends JpaRepository<CourseSectionMeeting, Long> {
     
+    /**
+     * All meetings
+     */
+    @Override
+    @EntityGraph("CourseSectionMeeting.withDetails")
+    List<CourseSectionMeeting> findAll();
+    
+    /**
+     * Meeting by ID
+     */
+    @Override
+    @EntityGraph("CourseSectionMeeting.withDetails")
+    Optional<CourseSectionMeeting> findById(Long id);
+    
+    /**
+     * All meetings through a forward-only cursor, for streamed exports
+     * Read-only and not collected: the caller iterates inside a transaction and closes the stream
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT csm FROM CourseSectionMeeting csm ORDER BY csm.id")
+    @EntityGraph("CourseSectionMeeting.withDetails")
+    Stream<CourseSectionMeeting> streamAll();
+    
+    /**
+     * All meetings with their section only (semester, teacher and classroom IDs, for the occupancy index)
+     */
+    @EntityGraph("CourseSectionMeeting.withSection")
+    @Query("SELECT csm FROM CourseSectionMeeting csm")
+    List<CourseSectionMeeting> findAllWithSection();
+    
     /**
      * Find all meetings for a specific course section
      */
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findBySection(CourseSection section);
     
+    /**
+     * Find all meetings for several sections at once (avoids one query per section)
+     */
+    List<CourseSectionMeeting> findBySection_IdIn(Collection<Long> sectionIds);
+    
     /**
      * Find all meetings on a specific day of week
      */
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findByDayOfWeek(Integer dayOfWeek);
     
     /**
      * Find all meetings on a specific day (DayOfWeek enum)
      */
     @Query("SELECT csm FROM CourseSectionMeeting csm WHERE csm.dayOfWeek = :dayOfWeek")
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findByDay(@Param("dayOfWeek") Integer dayOfWeek);
     
     /**
@@ -42,6 +93,7 @@ public interface CourseSectionMeetingRepository extends JpaRepository<CourseSect
      * Used for schedule conflict detection
      */
     @Query("SELECT csm FROM CourseSectionMeeting csm WHERE csm.dayOfWeek = :dayOfWeek AND csm.startTime < :endTime AND csm.endTime > :startTime")
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findConflictingMeetings(
         @Param("dayOfWeek") Integer dayOfWeek,
         @Param("startTime") LocalTime startTime,
@@ -52,6 +104,7 @@ public interface CourseSectionMeetingRepository extends JpaRepository<CourseSect
      * Find all meetings between two times on a specific day
      */
     @Query("SELECT csm FROM CourseSectionMeeting csm WHERE csm.dayOfWeek = :dayOfWeek AND csm.startTime >= :startTime AND csm.endTime <= :endTime")
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findMeetingsByTimeRange(
         @Param("dayOfWeek") Integer dayOfWeek,
         @Param("startTime") LocalTime startTime,
@@ -71,11 +124,13 @@ public interface CourseSectionMeetingRepository extends JpaRepository<CourseSect
     /**
      * Find all meetings taught by a specific teacher (for schedule conflict detection)
      */
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findBySection_Teacher(Teacher teacher);
     
     /**
      * Find all meetings in a specific classroom (for schedule conflict detection)
      */
+    @EntityGraph("CourseSectionMeeting.withDetails")
     List<CourseSectionMeeting> findBySection_Classroom(Classroom classroom);
     
     /**
@@ -83,9 +138,21 @@ public interface CourseSectionMeetingRepository extends JpaRepository<CourseSect
      */
     List<CourseSectionMeeting> findBySection_TeacherAndDayOfWeek(Teacher teacher, Integer dayOfWeek);
     
+    /**
+     * Find all meetings of a teacher outside one section (for validating that section's whole weekly pattern)
+     */
+    List<CourseSectionMeeting> findBySection_TeacherAndSection_IdNot(Teacher teacher, Long sectionId);
+    
     /**
      * Find meetings for a specific section at a specific day/time (for uniqueness check)
      * Used to exclude current meeting during updates
      */
     List<CourseSectionMeeting> findBySection_IdAndDayOfWeekAndStartTime(Long sectionId, Integer dayOfWeek, LocalTime startTime);
+    
+    /**
+     * Delete all meetings of a section in one statement (weekly pattern replaced)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CourseSectionMeeting csm WHERE csm.section.id = :sectionId")
+    int deleteBySectionId(@Param("sectionId") Long sectionId);
 }
@@ -1,14 +1,21 @@
 package com.maplewood.course.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.maplewood.common.dto.SectionAvailabilityDTO;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.school.entity.Classroom;
@@ -19,43 +26,99 @@ import com.maplewood.school.entity.Teacher;
  * Repository for CourseSection entity
  * Provides database operations for course sections with specific times and teachers
  * Sections are specific instances of a course (e.g., Physics I Section A vs Section B)
+ * Listing finders fetch the CourseSection.withDetails graph, findById loads the section alone
  */
 @Repository
 public interface CourseSectionRepository extends JpaRepository<CourseSection, Long> {
     
+    /**
+     * All sections
+     */
+    @Override
+    @EntityGraph("CourseSection.withDetails")
+    List<CourseSection> findAll();
+    
+    /**
+     * Page of sections
+     */
+    @Override
+    @EntityGraph("CourseSection.withDetails")
+    Page<CourseSection> findAll(Pageable pageable);
+    
+    /**
+     * First keyset page of sections, ordered by (semester, id), no count query
+     */
+    @Query("SELECT cs FROM CourseSection cs ORDER BY cs.semester.id, cs.id")
+    @EntityGraph("CourseSection.withDetails")
+    List<CourseSection> findFirstPage(Limit limit);
+    
+    /**
+     * Next keyset page: sections after (semesterId, id), seeking on idx_course_sections_semester
+     */
+    @Query("SELECT cs FROM CourseSection cs " +
+           "WHERE cs.semester.id > :semesterId OR (cs.semester.id = :semesterId AND cs.id > :id) " +
+           "ORDER BY cs.semester.id, cs.id")
+    @EntityGraph("CourseSection.withDetails")
+    List<CourseSection> findPageAfter(@Param("semesterId") Long semesterId, @Param("id") Long id, Limit limit);
+    
+    /**
+     * Section with everything CourseSectionMapper reads (single section endpoints, meeting creation)
+     */
+    @EntityGraph("CourseSection.withDetails")
+    Optional<CourseSection> findWithDetailsById(Long id);
+    
+    /**
+     * Section with what enrollment validation reads: course, its prerequisite and semester
+     */
+    @EntityGraph("CourseSection.forValidation")
+    Optional<CourseSection> findForValidationById(Long id);
+    
+    /**
+     * Sections with what enrollment validation reads, for a whole batch
+     */
+    @EntityGraph("CourseSection.forValidation")
+    List<CourseSection> findForValidationByIdIn(Collection<Long> ids);
+    
     /**
      * Find all sections for a specific course
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findByCourse(Course course);
     
     /**
      * Find all sections taught by a specific teacher
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findByTeacher(Teacher teacher);
     
     /**
      * Find all sections in a specific classroom
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findByClassroom(Classroom classroom);
     
     /**
      * Find all sections for a specific semester
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findBySemester(Semester semester);
     
     /**
      * Find all sections of a course in a specific semester
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findByCourseAndSemester(Course course, Semester semester);
     
     /**
      * Find all sections taught by a teacher in a specific semester
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findByTeacherAndSemester(Teacher teacher, Semester semester);
     
     /**
      * Find all sections in a classroom for a specific semester (for room availability)
      */
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findByClassroomAndSemester(Classroom classroom, Semester semester);
     
     /**
@@ -68,10 +131,46 @@ public interface CourseSectionRepository extends JpaRepository<CourseSection, Lo
      */
     long countByCourse(Course course);
     
+    /**
+     * Atomically adjust the enrollment count (no read-modify-write, no optimistic lock failure)
+     * Bumps version so optimistic readers of the section still see the change
+     * Never lets the count go below zero, nor an increase go above capacity (last check behind SectionSeatAllocator)
+     *
+     * @return 0 if the section is missing or the change was refused
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CourseSection cs SET cs.enrollmentCount = cs.enrollmentCount + :delta, cs.version = cs.version + 1 " +
+           "WHERE cs.id = :id AND cs.enrollmentCount + :delta >= 0 " +
+           "AND (:delta <= 0 OR cs.enrollmentCount + :delta <= cs.capacity)")
+    int adjustEnrollmentCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    /**
+     * Enrollment count and capacity of many sections (SectionAvailabilityStream, one query per flush)
+     */
+    @Query("SELECT new com.maplewood.common.dto.SectionAvailabilityDTO(cs.id, cs.enrollmentCount, cs.capacity) " +
+           "FROM CourseSection cs WHERE cs.id IN :ids")
+    List<SectionAvailabilityDTO> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * IDs of the courses with at least one section in the semester that still has free seats
+     * (CourseService filters the catalog snapshot with them)
+     */
+    @Query("SELECT DISTINCT cs.course.id FROM CourseSection cs " +
+           "WHERE cs.semester.id = :semesterId AND cs.enrollmentCount < cs.capacity")
+    Set<Long> findCourseIdsWithFreeSeatsBySemesterId(@Param("semesterId") Long semesterId);
+    
+    /**
+     * Find all sections of a semester with everything CourseSectionMapper reads fetched in the same query
+     */
+    @EntityGraph("CourseSection.withDetails")
+    @Query("SELECT cs FROM CourseSection cs WHERE cs.semester.id = :semesterId")
+    List<CourseSection> findWithDetailsBySemesterId(@Param("semesterId") Long semesterId);
+    
     /**
      * Get sections with enrollment below capacity (for availability)
      */
     @Query("SELECT cs FROM CourseSection cs WHERE cs.enrollmentCount < cs.course.credits * 10")
+    @EntityGraph("CourseSection.withDetails")
     List<CourseSection> findAvailableSections();
     
     /**
@@ -85,6 +184,7 @@ public interface CourseSectionRepository extends JpaRepository<CourseSection, Lo
            "AND (:semesterId IS NULL OR cs.semester.id = :semesterId) " +
            "AND (:courseId IS NULL OR cs.course.id = :courseId) " +
            "AND (:availableOnly = false OR cs.enrollmentCount < cs.capacity)")
+    @EntityGraph("CourseSection.withDetails")
     Page<CourseSection> searchSections(
         @Param("specializationId") Long specializationId,
         @Param("teacherId") Long teacherId,
@@ -0,0 +1,299 @@
+package com.maplewood.course.service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.maplewood.common.dto.CourseDTO;
+import com.maplewood.common.enums.CourseType;
+
+/**
+ * Immutable view of the whole course catalog, as the DTOs the API returns
+ * - courses in ID order, by ID and by code
+ * - indexes by type, specialization, semester order and grade level (every grade in a course's range)
+ *
+ * DTOs are immutable records, mapped once when the snapshot is built and shared by every response
+ * A change never touches a snapshot: with() and without() return a new one (copy-on-write)
+ */
+public final class CatalogSnapshot {
+    
+    private final List<CourseDTO> courses;
+    private final Map<Long, CourseDTO> byId;
+    private final Map<String, CourseDTO> byCode;
+    private final Map<String, List<CourseDTO>> byType;
+    private final Map<Long, List<CourseDTO>> bySpecialization;
+    private final Map<Integer, List<CourseDTO>> bySemesterOrder;
+    private final Map<Integer, List<CourseDTO>> byGradeLevel;
+    private final List<CourseDTO> withPrerequisites;
+    
+    /**
+     * Build a snapshot from mapped courses, in any order
+     */
+    public CatalogSnapshot(Collection<CourseDTO> courses) {
+        TreeMap<Long, CourseDTO> sorted = new TreeMap<>();
+        courses.forEach(course -> sorted.put(course.id(), course));
+        
+        Map<String, CourseDTO> codes = new HashMap<>();
+        Map<String, List<CourseDTO>> types = new HashMap<>();
+        Map<Long, List<CourseDTO>> specializations = new HashMap<>();
+        Map<Integer, List<CourseDTO>> semesters = new HashMap<>();
+        Map<Integer, List<CourseDTO>> grades = new HashMap<>();
+        List<CourseDTO> prerequisites = new ArrayList<>();
+        for (CourseDTO course : sorted.values()) {
+            codes.put(course.code(), course);
+            if (course.courseType() != null) {
+                types.computeIfAbsent(course.courseType(), k -> new ArrayList<>()).add(course);
+            }
+            if (course.specialization() != null) {
+                specializations.computeIfAbsent(course.specialization().id(), k -> new ArrayList<>()).add(course);
+            }
+            if (course.semesterOrder() != null) {
+                semesters.computeIfAbsent(course.semesterOrder(), k -> new ArrayList<>()).add(course);
+            }
+            if (course.gradeLevelMin() != null && course.gradeLevelMax() != null) {
+                for (int grade = course.gradeLevelMin(); grade <= course.gradeLevelMax(); grade++) {
+                    grades.computeIfAbsent(grade, k -> new ArrayList<>()).add(course);
+                }
+            }
+            if (course.prerequisite() != null) {
+                prerequisites.add(course);
+            }
+        }
+        
+        this.courses = List.copyOf(sorted.values());
+        this.byId = Map.copyOf(sorted);
+        this.byCode = Map.copyOf(codes);
+        this.byType = freeze(types);
+        this.bySpecialization = freeze(specializations);
+        this.bySemesterOrder = freeze(semesters);
+        this.byGradeLevel = freeze(grades);
+        this.withPrerequisites = List.copyOf(prerequisites);
+    }
+    
+    /**
+     * New snapshot with a course added or replaced
+     * Its dependents get a fresh copy of it as their prerequisite
+     */
+    public CatalogSnapshot with(CourseDTO course) {
+        Map<Long, CourseDTO> changed = new TreeMap<>(byId);
+        changed.put(course.id(), course);
+        CourseDTO asPrerequisite = asPrerequisite(course);
+        for (CourseDTO dependent : byId.values()) {
+            if (dependent.prerequisite() != null && course.id().equals(dependent.prerequisite().id())) {
+                changed.put(dependent.id(), withPrerequisite(dependent, asPrerequisite));
+            }
+        }
+        return new CatalogSnapshot(changed.values());
+    }
+    
+    /**
+     * New snapshot without a course; its dependents lose their prerequisite
+     */
+    public CatalogSnapshot without(Long courseId) {
+        Map<Long, CourseDTO> changed = new TreeMap<>(byId);
+        changed.remove(courseId);
+        for (CourseDTO dependent : byId.values()) {
+            if (dependent.prerequisite() != null && courseId.equals(dependent.prerequisite().id())) {
+                changed.put(dependent.id(), withPrerequisite(dependent, null));
+            }
+        }
+        return new CatalogSnapshot(changed.values());
+    }
+    
+    public List<CourseDTO> getAll() {
+        return courses;
+    }
+    
+    public CourseDTO getById(Long id) {
+        return byId.get(id);
+    }
+    
+    public CourseDTO getByCode(String code) {
+        return byCode.get(code);
+    }
+    
+    public List<CourseDTO> getByType(CourseType courseType) {
+        return byType.getOrDefault(courseType.name(), List.of());
+    }
+    
+    public List<CourseDTO> getBySpecialization(Long specializationId) {
+        return bySpecialization.getOrDefault(specializationId, List.of());
+    }
+    
+    public List<CourseDTO> getBySemesterOrder(Integer semesterOrder) {
+        return bySemesterOrder.getOrDefault(semesterOrder, List.of());
+    }
+    
+    public List<CourseDTO> getByGradeLevel(Integer gradeLevel) {
+        return byGradeLevel.getOrDefault(gradeLevel, List.of());
+    }
+    
+    public List<CourseDTO> getWithPrerequisites() {
+        return withPrerequisites;
+    }
+    
+    /**
+     * Courses by ID, keeping the order of the IDs and skipping unknown ones
+     */
+    public List<CourseDTO> getAllById(Collection<Long> ids) {
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
+    /**
+     * Courses matching every given filter (null filters are ignored)
+     * Starts from the smallest matching index and checks the other filters on its entries
+     */
+    public List<CourseDTO> search(Long specializationId, CourseType courseType, Integer gradeLevel, Integer semesterOrder) {
+        if (specializationId == null && courseType == null && gradeLevel == null && semesterOrder == null) {
+            return courses;
+        }
+        List<CourseDTO> candidates = courses;
+        Predicate<CourseDTO> filter = course -> true;
+        if (specializationId != null) {
+            candidates = smallest(candidates, getBySpecialization(specializationId));
+            filter = filter.and(course -> course.specialization() != null
+                && specializationId.equals(course.specialization().id()));
+        }
+        if (courseType != null) {
+            candidates = smallest(candidates, getByType(courseType));
+            filter = filter.and(course -> courseType.name().equals(course.courseType()));
+        }
+        if (gradeLevel != null) {
+            candidates = smallest(candidates, getByGradeLevel(gradeLevel));
+            filter = filter.and(course -> course.gradeLevelMin() != null && course.gradeLevelMax() != null
+                && course.gradeLevelMin() <= gradeLevel && gradeLevel <= course.gradeLevelMax());
+        }
+        if (semesterOrder != null) {
+            candidates = smallest(candidates, getBySemesterOrder(semesterOrder));
+            filter = filter.and(course -> semesterOrder.equals(course.semesterOrder()));
+        }
+        return candidates.stream().filter(filter).toList();
+    }
+    
+    /**
+     * One page of a course list, sorted by the pageable's sort (ID order when unsorted)
+     */
+    public static Page<CourseDTO> page(List<CourseDTO> courses, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sort(courses, pageable.getSort()), pageable, courses.size());
+        }
+        List<CourseDTO> sorted = sort(courses, pageable.getSort());
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+    
+    private static List<CourseDTO> sort(List<CourseDTO> courses, Sort sort) {
+        if (sort.isUnsorted()) {
+            return courses;
+        }
+        Comparator<CourseDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<CourseDTO> next = comparatorFor(order);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return courses.stream().sorted(comparator).toList();
+    }
+    
+    /**
+     * Comparator on a property path of the DTO ("name", "specialization.name"), following record accessors
+     * Unknown or non-comparable properties are rejected with an IllegalArgumentException (400)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<CourseDTO> comparatorFor(Sort.Order order) {
+        List<Method> accessors = accessors(order.getProperty());
+        // Nulls first ascending, last descending, as SQLite orders them
+        Comparator<Comparable> values = order.isAscending()
+            ? Comparator.nullsFirst(Comparator.<Comparable>naturalOrder())
+            : Comparator.nullsLast(Comparator.<Comparable>reverseOrder());
+        return Comparator.comparing(course -> {
+            Object value = read(course, accessors);
+            return (Comparable) (order.isIgnoreCase() && value instanceof String text ? text.toLowerCase() : value);
+        }, values);
+    }
+    
+    private static List<Method> accessors(String path) {
+        List<Method> accessors = new ArrayList<>();
+        Class<?> type = CourseDTO.class;
+        for (String name : path.split("\\.")) {
+            RecordComponent component = type.isRecord()
+                ? Arrays.stream(type.getRecordComponents()).filter(c -> c.getName().equals(name)).findFirst().orElse(null)
+                : null;
+            if (component == null) {
+                throw new IllegalArgumentException("Cannot sort courses by " + path);
+            }
+            accessors.add(component.getAccessor());
+            type = component.getType();
+        }
+        if (!Comparable.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("Cannot sort courses by " + path);
+        }
+        return accessors;
+    }
+    
+    private static Object read(Object value, List<Method> accessors) {
+        for (Method accessor : accessors) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                value = accessor.invoke(value);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return value;
+    }
+    
+    private static List<CourseDTO> smallest(List<CourseDTO> current, List<CourseDTO> candidate) {
+        return candidate.size() < current.size() ? candidate : current;
+    }
+    
+    private static <K> Map<K, List<CourseDTO>> freeze(Map<K, List<CourseDTO>> index) {
+        Map<K, List<CourseDTO>> frozen = new HashMap<>();
+        index.forEach((key, list) -> frozen.put(key, List.copyOf(list)));
+        return Map.copyOf(frozen);
+    }
+    
+    /**
+     * Copy of a course as it is embedded as a prerequisite (without its own prerequisite, like CourseMapper)
+     */
+    private static CourseDTO asPrerequisite(CourseDTO course) {
+        return withPrerequisite(course, null);
+    }
+    
+    private static CourseDTO withPrerequisite(CourseDTO course, CourseDTO prerequisite) {
+        return new CourseDTO(
+            course.id(),
+            course.code(),
+            course.name(),
+            course.description(),
+            course.credits(),
+            course.hoursPerWeek(),
+            course.specialization(),
+            prerequisite,
+            course.courseType(),
+            course.gradeLevelMin(),
+            course.gradeLevelMax(),
+            course.semesterOrder(),
+            course.createdAt()
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package com.maplewood.course.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.dto.CourseDTO;
+import com.maplewood.common.mapper.CourseMapper;
+import com.maplewood.common.util.TransactionCallbacks;
+import com.maplewood.course.entity.Course;
+import com.maplewood.course.repository.CourseRepository;
+
+/**
+ * Holder of the current CatalogSnapshot, the source of every course read of CourseService
+ *
+ * Changes are recorded when their transaction commits and applied by the next read:
+ * - a created, updated or deleted course is reloaded alone (one query) and swapped into a copy of the snapshot
+ * - a specialization or room type change reloads the whole catalog, since courses embed both
+ * Until the next change, reads return the same snapshot without touching the database
+ */
+@Component
+public class CourseCatalog {
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private volatile CatalogSnapshot snapshot;
+    
+    private volatile boolean reloadAll = true;
+    
+    private final Set<Long> changedCourseIds = ConcurrentHashMap.newKeySet();
+    
+    // Not a monitor: refresh queries while holding it (see ActiveSemesterHolder)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    
+    /**
+     * Load the catalog on startup rather than on the first request
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        get();
+    }
+    
+    /**
+     * Current snapshot, with committed changes applied
+     */
+    public CatalogSnapshot get() {
+        CatalogSnapshot current = snapshot;
+        if (current != null && !reloadAll && changedCourseIds.isEmpty()) {
+            return current;
+        }
+        return refresh();
+    }
+    
+    /**
+     * Record a created, updated or deleted course, effective when the current transaction commits
+     * (now if there is none)
+     */
+    public void courseChangedAfterCommit(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> changedCourseIds.add(courseId));
+    }
+    
+    /**
+     * Record a change to data courses embed (specializations, room types), effective when the current
+     * transaction commits (now if there is none)
+     */
+    public void reloadAfterCommit() {
+        TransactionCallbacks.afterCommit(() -> reloadAll = true);
+    }
+    
+    private CatalogSnapshot refresh() {
+        refreshLock.lock();
+        try {
+            return applyChanges();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    private CatalogSnapshot applyChanges() {
+        // Flags are cleared before the query: a change committed while it runs is applied by the next read
+        if (reloadAll) {
+            reloadAll = false;
+            changedCourseIds.clear();
+            try {
+                snapshot = new CatalogSnapshot(toDTOs(courseRepository.findAll()).values());
+            } catch (RuntimeException e) {
+                reloadAll = true;
+                throw e;
+            }
+            return snapshot;
+        }
+        
+        List<Long> courseIds = new ArrayList<>();
+        for (Long courseId : changedCourseIds) {
+            changedCourseIds.remove(courseId);
+            courseIds.add(courseId);
+        }
+        if (courseIds.isEmpty()) {
+            return snapshot;
+        }
+        Map<Long, CourseDTO> reloaded;
+        try {
+            reloaded = toDTOs(courseRepository.findAllById(courseIds));
+        } catch (RuntimeException e) {
+            changedCourseIds.addAll(courseIds);
+            throw e;
+        }
+        
+        CatalogSnapshot next = snapshot;
+        for (Long courseId : courseIds) {
+            CourseDTO course = reloaded.get(courseId);
+            next = course != null ? next.with(course) : next.without(courseId);
+        }
+        snapshot = next;
+        return next;
+    }
+    
+    private static Map<Long, CourseDTO> toDTOs(List<Course> courses) {
+        return courses.stream()
+            .map(CourseMapper::toDTO)
+            .collect(Collectors.toMap(CourseDTO::id, Function.identity()));
+    }
+}
@@ -2,19 +2,26 @@ package com.maplewood.course.service;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.maplewood.common.dto.CreateCourseSectionMeetingDTO;
+import com.maplewood.common.dto.MeetingSlotDTO;
 import com.maplewood.common.dto.UpdateCourseSectionMeetingDTO;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.util.EntityStreams;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.entity.CourseSectionMeeting;
 import com.maplewood.course.repository.CourseSectionMeetingRepository;
 import com.maplewood.course.repository.CourseSectionRepository;
 import com.maplewood.course.validator.CourseSectionMeetingValidator;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 /**
  * Service for CourseSectionMeeting entity
  */
@@ -30,6 +37,12 @@ public class CourseSectionMeetingService {
     @Autowired
     private CourseSectionMeetingValidator validator;
     
+    @Autowired
+    private ScheduleOccupancyIndex occupancyIndex;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get all meetings
      */
@@ -37,6 +50,14 @@ public class CourseSectionMeetingService {
         return meetingRepository.findAll();
     }
     
+    /**
+     * Hand every meeting to the action, one at a time from a database cursor (streamed exports)
+     */
+    @Transactional(readOnly = true)
+    public void forEachMeeting(Consumer<CourseSectionMeeting> action) {
+        EntityStreams.forEachCleared(meetingRepository.streamAll(), entityManager, action);
+    }
+    
     /**
      * Get meeting by ID
      */
@@ -87,7 +108,7 @@ public class CourseSectionMeetingService {
      */
     public CourseSectionMeeting createMeetingFromDTO(CreateCourseSectionMeetingDTO createDTO) {
         // Load section
-        CourseSection section = sectionRepository.findById(createDTO.getSectionId())
+        CourseSection section = sectionRepository.findWithDetailsById(createDTO.getSectionId())
             .orElseThrow(() -> new ResourceNotFoundException("CourseSection", createDTO.getSectionId()));
         
         // Create entity from DTO values
@@ -100,8 +121,10 @@ public class CourseSectionMeetingService {
         // Run all validations
         validator.validate(meeting);
         
-        // Save to database
-        return meetingRepository.save(meeting);
+        // Save to database and book the slots
+        CourseSectionMeeting saved = meetingRepository.save(meeting);
+        occupancyIndex.add(saved);
+        return saved;
     }
     
     /**
@@ -109,6 +132,7 @@ public class CourseSectionMeetingService {
      * Loads existing meeting, updates fields, validates, and saves
      * Only provided fields are updated (null values are skipped)
      */
+    @Transactional
     public CourseSectionMeeting updateMeetingFromDTO(Long id, UpdateCourseSectionMeetingDTO updateDTO) {
         // Load existing meeting
         CourseSectionMeeting existing = getMeetingById(id);
@@ -127,8 +151,41 @@ public class CourseSectionMeetingService {
         // Run all validations
         validator.validate(existing);
         
-        // Save to database
-        return meetingRepository.save(existing);
+        // Save to database and move the booked slots once committed
+        CourseSectionMeeting saved = meetingRepository.save(existing);
+        occupancyIndex.addAfterCommit(saved);
+        return saved;
+    }
+    
+    /**
+     * Replace the whole weekly pattern of a section
+     * The pattern is validated as a whole, then the current meetings are deleted in one statement and
+     * the new ones inserted in the same transaction, so no intermediate pattern is validated or visible
+     */
+    @Transactional
+    public List<CourseSectionMeeting> replaceSectionMeetings(Long sectionId, List<MeetingSlotDTO> slots) {
+        CourseSection section = sectionRepository.findWithDetailsById(sectionId)
+            .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+        
+        List<CourseSectionMeeting> meetings = slots.stream()
+            .map(slot -> {
+                CourseSectionMeeting meeting = new CourseSectionMeeting();
+                meeting.setSection(section);
+                meeting.setDayOfWeekEnum(slot.dayOfWeek());
+                meeting.setStartTime(slot.startTime());
+                meeting.setEndTime(slot.endTime());
+                return meeting;
+            })
+            .toList();
+        
+        // Run all validations on the final pattern
+        validator.validatePattern(section, meetings);
+        
+        // Swap the meetings and re-book the section's slots once committed
+        meetingRepository.deleteBySectionId(sectionId);
+        List<CourseSectionMeeting> saved = meetingRepository.saveAll(meetings);
+        occupancyIndex.reindexSectionAfterCommit(sectionId, saved);
+        return saved;
     }
     
     /**
@@ -137,5 +194,6 @@ public class CourseSectionMeetingService {
     public void deleteMeeting(Long id) {
         CourseSectionMeeting meeting = getMeetingById(id);
         meetingRepository.delete(meeting);
+        occupancyIndex.remove(id);
     }
 }
@@ -3,17 +3,24 @@ package com.maplewood.course.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.maplewood.common.dto.CreateCourseSectionDTO;
 import com.maplewood.common.dto.UpdateCourseSectionDTO;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.util.KeysetCursor;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionMeetingRepository;
 import com.maplewood.course.repository.CourseSectionRepository;
 import com.maplewood.course.validator.CourseSectionValidator;
+import com.maplewood.enrollment.service.SectionWaitlistService;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.school.entity.Teacher;
@@ -47,17 +54,47 @@ public class CourseSectionService {
     @Autowired
     private CourseSectionValidator courseSectionValidator;
     
+    @Autowired
+    private CourseSectionMeetingRepository meetingRepository;
+    
+    @Autowired
+    private ScheduleOccupancyIndex occupancyIndex;
+    
+    @Autowired
+    private SectionSeatAllocator seatAllocator;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private SectionAvailabilityStream availabilityStream;
+    
+    @Autowired
+    private SectionWaitlistService waitlistService;
+    
     /**
      * Get all course sections with pagination
      */
+    @Transactional(readOnly = true)
     public Page<CourseSection> getAllCourseSections(Pageable pageable) {
         return courseSectionRepository.findAll(pageable);
     }
     
+    /**
+     * Keyset page of course sections ordered by (semester, id), after a position (null: first page)
+     */
+    @Transactional(readOnly = true)
+    public List<CourseSection> getCourseSectionsAfter(KeysetCursor after, int limit) {
+        return after == null
+            ? courseSectionRepository.findFirstPage(Limit.of(limit))
+            : courseSectionRepository.findPageAfter(after.keyAsLong(), after.id(), Limit.of(limit));
+    }
+    
     /**
      * Search course sections with multiple optional filters
      * Filters: specialization, teacher, semester, course, availability
      */
+    @Transactional(readOnly = true)
     public Page<CourseSection> searchCourseSections(
         Long specializationId,
         Long teacherId,
@@ -79,6 +116,7 @@ public class CourseSectionService {
     /**
      * Get all course sections
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getAllSections() {
         return courseSectionRepository.findAll();
     }
@@ -86,14 +124,16 @@ public class CourseSectionService {
     /**
      * Get course section by ID
      */
+    @Transactional(readOnly = true)
     public CourseSection getCourseSectionById(Long id) {
-        return courseSectionRepository.findById(id)
+        return courseSectionRepository.findWithDetailsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("CourseSection", id));
     }
     
     /**
      * Get all sections for a specific course
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsByCourse(Course course) {
         return courseSectionRepository.findByCourse(course);
     }
@@ -101,6 +141,7 @@ public class CourseSectionService {
     /**
      * Get all sections taught by a specific teacher
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsByTeacher(Teacher teacher) {
         return courseSectionRepository.findByTeacher(teacher);
     }
@@ -108,6 +149,7 @@ public class CourseSectionService {
     /**
      * Get all sections in a specific classroom
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsByClassroom(Classroom classroom) {
         return courseSectionRepository.findByClassroom(classroom);
     }
@@ -115,6 +157,7 @@ public class CourseSectionService {
     /**
      * Get all sections for a specific semester
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsBySemester(Semester semester) {
         return courseSectionRepository.findBySemester(semester);
     }
@@ -122,6 +165,7 @@ public class CourseSectionService {
     /**
      * Get all sections of a course in a specific semester
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsByCourseAndSemester(Course course, Semester semester) {
         return courseSectionRepository.findByCourseAndSemester(course, semester);
     }
@@ -129,6 +173,7 @@ public class CourseSectionService {
     /**
      * Get all sections taught by a teacher in a specific semester
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsByTeacherAndSemester(Teacher teacher, Semester semester) {
         return courseSectionRepository.findByTeacherAndSemester(teacher, semester);
     }
@@ -136,6 +181,7 @@ public class CourseSectionService {
     /**
      * Get all sections in a classroom for a specific semester
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getSectionsByClassroomAndSemester(Classroom classroom, Semester semester) {
         return courseSectionRepository.findByClassroomAndSemester(classroom, semester);
     }
@@ -143,6 +189,7 @@ public class CourseSectionService {
     /**
      * Get available sections (with enrollment below capacity)
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getAvailableSections() {
         return courseSectionRepository.findAvailableSections();
     }
@@ -174,14 +221,19 @@ public class CourseSectionService {
         courseSection.setCapacity(createDTO.getCapacity());
         courseSection.setEnrollmentCount(0);
         
-        return courseSectionRepository.save(courseSection);
+        CourseSection saved = courseSectionRepository.save(courseSection);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        return saved;
     }
     
     /**
      * Update course section
+     * Seats added by a capacity increase go to the section's waitlist first
      */
+    @Transactional
     public CourseSection updateCourseSectionFromDTO(Long id, UpdateCourseSectionDTO updateDTO) {
         CourseSection existing = getCourseSectionById(id);
+        int previousCapacity = existing.getCapacity();
         
         if (updateDTO.getTeacherId() != null) {
             Teacher teacher = teacherService.getTeacherById(updateDTO.getTeacherId());
@@ -195,36 +247,65 @@ public class CourseSectionService {
             existing.setCapacity(updateDTO.getCapacity());
         }
         
-        return courseSectionRepository.save(existing);
+        CourseSection saved = courseSectionRepository.save(existing);
+        
+        // Meetings now belong to a different teacher/classroom schedule
+        if (updateDTO.getTeacherId() != null || updateDTO.getClassroomId() != null) {
+            occupancyIndex.reindexSectionAfterCommit(saved.getId(), meetingRepository.findBySection(saved));
+        }
+        if (updateDTO.getCapacity() != null) {
+            if (updateDTO.getCapacity() > previousCapacity) {
+                waitlistService.promote(saved.getId(), updateDTO.getCapacity() - previousCapacity);
+            }
+            seatAllocator.invalidate(saved.getId());
+            availabilityStream.publishAfterCommit(saved.getId());
+        }
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        return saved;
     }
     
     /**
-     * Delete course section
+     * Delete course section and its waitlist
      */
+    @Transactional
     public void deleteCourseSection(Long id) {
         if (!courseSectionRepository.existsById(id)) {
             throw new ResourceNotFoundException("CourseSection", id);
         }
+        waitlistService.removeSection(id);
         courseSectionRepository.deleteById(id);
+        occupancyIndex.removeSectionAfterCommit(id);
+        seatAllocator.invalidate(id);
+        catalogVersions.bump(CatalogResource.SECTIONS);
     }
     
     /**
      * Increment enrollment count (when student enrolls)
      */
+    @Transactional
     public CourseSection incrementEnrollmentCount(Long sectionId) {
         CourseSection section = getCourseSectionById(sectionId);
         section.setEnrollmentCount(section.getEnrollmentCount() + 1);
-        return courseSectionRepository.save(section);
+        CourseSection saved = courseSectionRepository.save(section);
+        seatAllocator.invalidate(sectionId);
+        availabilityStream.publishAfterCommit(sectionId);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        return saved;
     }
     
     /**
      * Decrement enrollment count (when student withdraws)
      */
+    @Transactional
     public CourseSection decrementEnrollmentCount(Long sectionId) {
         CourseSection section = getCourseSectionById(sectionId);
         if (section.getEnrollmentCount() > 0) {
             section.setEnrollmentCount(section.getEnrollmentCount() - 1);
-            return courseSectionRepository.save(section);
+            CourseSection saved = courseSectionRepository.save(section);
+            seatAllocator.invalidate(sectionId);
+            availabilityStream.publishAfterCommit(sectionId);
+            catalogVersions.bump(CatalogResource.SECTIONS);
+            return saved;
         }
         return section;
     }
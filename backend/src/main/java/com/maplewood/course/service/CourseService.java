@@ -1,30 +1,36 @@
 package com.maplewood.course.service;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.maplewood.common.dto.CourseDTO;
+import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.enums.CourseType;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.repository.CourseRepository;
 import com.maplewood.course.repository.CourseSectionRepository;
-import com.maplewood.course.specification.CourseSpecification;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.school.entity.Specialization;
-import com.maplewood.school.repository.SemesterRepository;
+import com.maplewood.school.service.ActiveSemesterHolder;
+import com.maplewood.student.repository.StudentCourseHistoryRepository;
 import com.maplewood.student.repository.StudentRepository;
+import com.maplewood.student.service.AcademicMetricsCache;
 
 /**
  * Service for Course operations
  * Handles CRUD operations for courses and complex course queries
+ * Course reads are served as DTOs from the CourseCatalog snapshot, only seat and student data is queried
  */
 @Service
 public class CourseService {
@@ -36,50 +42,59 @@ public class CourseService {
     private CourseSectionRepository courseSectionRepository;
     
     @Autowired
-    private SemesterRepository semesterRepository;
-
+    private ActiveSemesterHolder activeSemesterHolder;
+    
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private StudentCourseHistoryRepository courseHistoryRepository;
+    
+    @Autowired
+    private AcademicMetricsCache metricsCache;
+    
+    @Autowired
+    private PrerequisiteGraph prerequisiteGraph;
+    
+    @Autowired
+    private CourseCatalog courseCatalog;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
     /**
      * Get all courses with pagination
      */
-    public Page<Course> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable);
+    public Page<CourseDTO> getAllCourses(Pageable pageable) {
+        return CatalogSnapshot.page(courseCatalog.get().getAll(), pageable);
     }
     
     /**
      * Get all courses
      */
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public List<CourseDTO> getAllCourses() {
+        return courseCatalog.get().getAll();
     }
     
     /**
-     * Search courses with filters using Specifications
+     * Search courses with filters on the catalog indexes
      */
-    public Page<Course> searchCourses(
+    public Page<CourseDTO> searchCourses(
             Long specialization,
             CourseType type,
             Integer gradeLevel,
             Integer semesterOrder,
             Pageable pageable) {
         
-        Specification<Course> spec = CourseSpecification.withFilters(
-            specialization,
-            type,
-            gradeLevel,
-            semesterOrder
-        );
-        
-        return courseRepository.findAll(spec, pageable);
+        return CatalogSnapshot.page(
+            courseCatalog.get().search(specialization, type, gradeLevel, semesterOrder), pageable);
     }
     
     /**
      * Search courses with filters and optional activeOnly parameter
-     * If activeOnly=true, combines specification filters with availability check
+     * If activeOnly=true, keeps only courses with an open section in the active semester
      */
-    public Page<Course> searchCourses(
+    public Page<CourseDTO> searchCourses(
             Long specialization,
             CourseType type,
             Integer gradeLevel,
@@ -87,137 +102,147 @@ public class CourseService {
             Boolean activeOnly,
             Pageable pageable) {
         
-        // Get all courses matching specification filters
-        Specification<Course> spec = CourseSpecification.withFilters(
-            specialization,
-            type,
-            gradeLevel,
-            semesterOrder
-        );
-        
-        Page<Course> results = courseRepository.findAll(spec, pageable);
+        List<CourseDTO> courses = courseCatalog.get().search(specialization, type, gradeLevel, semesterOrder);
         
-        // If activeOnly, filter results to only those with available sections
+        // Seats are not part of the catalog: one query for the IDs of courses with an open section
         if (Boolean.TRUE.equals(activeOnly)) {
-            List<Course> filtered = results.getContent().stream()
-                .filter(course -> !getAvailableSectionsForCourse(course.getId()).isEmpty())
-                .toList();
-            
-            // Rebuild the page with filtered content
-            // Note: This is in-memory pagination, not ideal for large datasets
-            // but necessary because availability requires runtime checking
-            return new PageImpl<>(filtered, pageable, filtered.size());
+            Semester activeSemester = activeSemesterHolder.get().orElse(null);
+            if (activeSemester == null) {
+                return Page.empty(pageable);
+            }
+            courses = withFreeSeats(courses, activeSemester);
         }
         
-        return results;
+        return CatalogSnapshot.page(courses, pageable);
     }
     
     /**
-     * Get course by ID
+     * Get course by ID (the entity, for services that change or link it)
      */
+    @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
         return courseRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Course", id));
     }
     
+    /**
+     * Get course by ID from the catalog
+     */
+    public CourseDTO getCourse(Long id) {
+        CourseDTO course = courseCatalog.get().getById(id);
+        if (course == null) {
+            throw new ResourceNotFoundException("Course", id);
+        }
+        return course;
+    }
+    
     /**
      * Get course by code
      */
-    public Course getCourseByCode(String code) {
-        return courseRepository.findByCode(code)
-            .orElseThrow(() -> new ResourceNotFoundException("Course", "code", code));
+    public CourseDTO getCourseByCode(String code) {
+        CourseDTO course = courseCatalog.get().getByCode(code);
+        if (course == null) {
+            throw new ResourceNotFoundException("Course", "code", code);
+        }
+        return course;
     }
     
     /**
      * Get all courses for a specialization
      */
-    public List<Course> getCoursesBySpecialization(Specialization specialization) {
-        return courseRepository.findBySpecialization(specialization);
+    public List<CourseDTO> getCoursesBySpecialization(Specialization specialization) {
+        return getCoursesBySpecialization(specialization.getId());
     }
     
     /**
      * Get all courses of a specific type
      */
-    public List<Course> getCoursesByType(CourseType courseType) {
-        return courseRepository.findByCourseType(courseType);
+    public List<CourseDTO> getCoursesByType(CourseType courseType) {
+        return courseCatalog.get().getByType(courseType);
     }
     
     /**
      * Get all courses offered in a specific semester
      */
-    public List<Course> getCoursesBySemesterOrder(Integer semesterOrder) {
-        return courseRepository.findBySemesterOrder(semesterOrder);
+    public List<CourseDTO> getCoursesBySemesterOrder(Integer semesterOrder) {
+        return courseCatalog.get().getBySemesterOrder(semesterOrder);
     }
     
     /**
      * Get all courses available for a specific grade level
      */
-    public List<Course> getCoursesByGradeLevel(Integer gradeLevel) {
-        return courseRepository.findCoursesForGradeLevel(gradeLevel);
+    public List<CourseDTO> getCoursesByGradeLevel(Integer gradeLevel) {
+        return courseCatalog.get().getByGradeLevel(gradeLevel);
     }
     
     /**
      * Get all courses with prerequisites
      */
-    public List<Course> getCoursesWithPrerequisites() {
-        return courseRepository.findCoursesWithPrerequisites();
+    public List<CourseDTO> getCoursesWithPrerequisites() {
+        return courseCatalog.get().getWithPrerequisites();
     }
     
     /**
      * Get the full prerequisite chain for a course
      */
-    public List<Course> getPrerequisiteChain(Long courseId) {
-        Course course = getCourseById(courseId);
-        List<Course> chain = new ArrayList<>();
-        
-        Course current = course.getPrerequisite();
-        while (current != null) {
-            chain.add(0, current);
-            current = current.getPrerequisite();
-        }
-        
-        return chain;
+    public List<CourseDTO> getPrerequisiteChain(Long courseId) {
+        getCourse(courseId);
+        return courseCatalog.get().getAllById(prerequisiteGraph.getPrerequisiteIds(courseId));
     }
     
     /**
      * Get all courses that depend on this course as prerequisite
      */
-    public List<Course> getDependentCourses(Long courseId) {
-        Course course = getCourseById(courseId);
-        return courseRepository.findByPrerequisite(course);
+    public List<CourseDTO> getDependentCourses(Long courseId) {
+        getCourse(courseId);
+        return courseCatalog.get().getAllById(prerequisiteGraph.getDependentIds(courseId));
+    }
+    
+    /**
+     * Get courses a student has unlocked: prerequisite passed, course itself not passed yet
+     */
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getCoursesUnlockedForStudent(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new IllegalArgumentException("Student not found with ID: " + studentId);
+        }
+        List<Long> passedCourseIds = courseHistoryRepository.findCourseIdsByStudentIdAndStatus(
+            studentId, CourseHistoryStatus.PASSED);
+        return courseCatalog.get().getAllById(prerequisiteGraph.getUnlockedCourseIds(passedCourseIds));
     }
     
     /**
      * Get courses by type and grade level
      */
-    public List<Course> getCoursesByTypeAndGradeLevel(CourseType courseType, Integer gradeLevel) {
-        return courseRepository.findByCourseTypeAndGradeLevel(courseType, gradeLevel);
+    public List<CourseDTO> getCoursesByTypeAndGradeLevel(CourseType courseType, Integer gradeLevel) {
+        return courseCatalog.get().search(null, courseType, gradeLevel, null);
     }
     
     /**
      * Get courses by specialization and grade level
      */
-    public List<Course> getCoursesBySpecializationAndGradeLevel(Specialization specialization, Integer gradeLevel) {
-        return courseRepository.findBySpecializationAndGradeLevel(specialization, gradeLevel);
+    public List<CourseDTO> getCoursesBySpecializationAndGradeLevel(Specialization specialization, Integer gradeLevel) {
+        return courseCatalog.get().search(specialization.getId(), null, gradeLevel, null);
     }
     
     /**
      * Get courses by semester and grade level
      */
-    public List<Course> getCoursesBySemesterAndGradeLevel(Integer semesterOrder, Integer gradeLevel) {
-        return courseRepository.findBySemesterAndGradeLevel(semesterOrder, gradeLevel);
+    public List<CourseDTO> getCoursesBySemesterAndGradeLevel(Integer semesterOrder, Integer gradeLevel) {
+        return courseCatalog.get().search(null, null, gradeLevel, semesterOrder);
     }
-
+    
     /**
      * Get available courses for a student for the active semester
      * Filters by student's grade level and current active semester
      */
-    public List<Course> getAvailableCoursesForStudent(Long studentId) {
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getAvailableCoursesForStudent(Long studentId) {
         var student = studentRepository.findById(studentId)
             .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + studentId));
         
         // Get active semester
-        var activeSemester = semesterRepository.findByIsActive(true)
+        var activeSemester = activeSemesterHolder.get()
             .orElseThrow(() -> new IllegalArgumentException("No active semester found"));
         
         return getCoursesBySemesterAndGradeLevel(activeSemester.getOrderInYear(), student.getGradeLevel());
@@ -230,20 +255,32 @@ public class CourseService {
         if (courseRepository.existsByCode(course.getCode())) {
             throw new IllegalArgumentException("Course with code " + course.getCode() + " already exists");
         }
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        prerequisiteGraph.update(saved.getId(), prerequisiteIdOf(saved));
+        courseCatalog.courseChangedAfterCommit(saved.getId());
+        catalogVersions.bump(CatalogResource.COURSES);
+        return saved;
     }
     
     /**
      * Update course
      */
+    @Transactional
     public Course updateCourse(Long id, Course courseDetails) {
         Course course = getCourseById(id);
+        BigDecimal previousCredits = course.getCredits();
         
         // Prevent code changes if code already exists elsewhere
         if (!course.getCode().equals(courseDetails.getCode()) && courseRepository.existsByCode(courseDetails.getCode())) {
             throw new IllegalArgumentException("Course with code " + courseDetails.getCode() + " already exists");
         }
         
+        Long prerequisiteId = prerequisiteIdOf(courseDetails);
+        if (prerequisiteGraph.wouldCreateCycle(id, prerequisiteId)) {
+            throw new IllegalArgumentException(
+                "Course " + prerequisiteId + " cannot be a prerequisite of course " + id + ": it would create a prerequisite cycle");
+        }
+        
         course.setCode(courseDetails.getCode());
         course.setName(courseDetails.getName());
         course.setDescription(courseDetails.getDescription());
@@ -256,7 +293,16 @@ public class CourseService {
         course.setGradeLevelMax(courseDetails.getGradeLevelMax());
         course.setSemesterOrder(courseDetails.getSemesterOrder());
         
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        prerequisiteGraph.update(saved.getId(), prerequisiteId);
+        courseCatalog.courseChangedAfterCommit(saved.getId());
+        catalogVersions.bump(CatalogResource.COURSES);
+        
+        // Credit sums of every student who took this course are now stale
+        if (previousCredits == null || saved.getCredits() == null || previousCredits.compareTo(saved.getCredits()) != 0) {
+            metricsCache.warmUpAfterCommit();
+        }
+        return saved;
     }
     
     /**
@@ -265,49 +311,48 @@ public class CourseService {
     public void deleteCourse(Long id) {
         Course course = getCourseById(id);
         courseRepository.delete(course);
+        prerequisiteGraph.remove(id);
+        courseCatalog.courseChangedAfterCommit(id);
+        catalogVersions.bump(CatalogResource.COURSES);
     }
     
     /**
      * Get courses by specialization
      */
-    public List<Course> getCoursesBySpecialization(Long specializationId) {
-        return courseRepository.findBySpecialization_Id(specializationId);
+    public List<CourseDTO> getCoursesBySpecialization(Long specializationId) {
+        return courseCatalog.get().getBySpecialization(specializationId);
     }
     
     /**
      * Get courses with available sections in active semester
      * Returns only courses that have at least one section with available capacity
      */
-    public List<Course> getCoursesWithAvailableSections() {
-        // This will be implemented to filter courses that have sections in active semester with < capacity
-        return courseRepository.findAll().stream()
-            .filter(course -> !getAvailableSectionsForCourse(course.getId()).isEmpty())
-            .toList();
+    public List<CourseDTO> getCoursesWithAvailableSections() {
+        return activeSemesterHolder.get()
+            .map(semester -> withFreeSeats(courseCatalog.get().getAll(), semester))
+            .orElse(List.of());
     }
     
     /**
      * Get courses with available sections in active semester with pagination
      * Returns only courses that have at least one section with available capacity
      */
-    public Page<Course> getCoursesWithAvailableSections(Pageable pageable) {
-        List<Course> allAvailable = getCoursesWithAvailableSections();
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), allAvailable.size());
-        List<Course> pageContent = allAvailable.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, allAvailable.size());
+    public Page<CourseDTO> getCoursesWithAvailableSections(Pageable pageable) {
+        return activeSemesterHolder.get()
+            .map(semester -> CatalogSnapshot.page(withFreeSeats(courseCatalog.get().getAll(), semester), pageable))
+            .orElse(Page.empty(pageable));
     }
     
     /**
      * Get available sections for a specific course in the active semester
      * Returns sections with enrollment < capacity
      */
+    @Transactional(readOnly = true)
     public List<CourseSection> getAvailableSectionsForCourse(Long courseId) {
-        Course course = getCourseById(courseId);
+        getCourse(courseId);
         
         // Get active semester
-        Semester activeSemester = semesterRepository.findByIsActive(true)
+        Semester activeSemester = activeSemesterHolder.get()
             .orElse(null);
         
         if (activeSemester == null) {
@@ -316,11 +361,25 @@ public class CourseService {
         
         // Get all sections of this course in the active semester
         List<CourseSection> sections = courseSectionRepository
-            .findByCourseAndSemester(course, activeSemester);
+            .findByCourseAndSemester(courseRepository.getReferenceById(courseId), activeSemester);
         
         // Filter to only those with available capacity (enrollmentCount < capacity)
         return sections.stream()
             .filter(section -> section.getEnrollmentCount() < section.getCapacity())
             .toList();
     }
+    
+    /**
+     * Keep the courses with at least one section in the semester that still has free seats
+     */
+    private List<CourseDTO> withFreeSeats(List<CourseDTO> courses, Semester semester) {
+        Set<Long> courseIds = courseSectionRepository.findCourseIdsWithFreeSeatsBySemesterId(semester.getId());
+        return courses.stream()
+            .filter(course -> courseIds.contains(course.id()))
+            .toList();
+    }
+    
+    private static Long prerequisiteIdOf(Course course) {
+        return course.getPrerequisite() != null ? course.getPrerequisite().getId() : null;
+    }
 }
@@ -0,0 +1,193 @@
+package com.maplewood.course.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.util.TransactionCallbacks;
+import com.maplewood.course.repository.CourseRepository;
+
+/**
+ * In-memory prerequisite graph of all courses with its precomputed closure
+ * - ancestors: full prerequisite chain of each course (root first)
+ * - dependents: direct and transitive courses that require each course
+ *
+ * Built on startup from one (course, prerequisite) query and kept up to date by CourseService,
+ * so chain/dependent lookups never walk Course.prerequisite in the database
+ *
+ * Changes apply once their transaction commits, so the graph only holds committed links
+ */
+@Component
+public class PrerequisiteGraph {
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private final Map<Long, Long> prerequisiteOf = new HashMap<>();
+    private Map<Long, List<Long>> ancestors = Map.of();
+    private Map<Long, List<Long>> directDependents = Map.of();
+    private Map<Long, Set<Long>> allDependents = Map.of();
+    private long version;
+    
+    /**
+     * Rebuild the whole graph from the database
+     * The links are loaded again if a change committed while they were loading
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        while (true) {
+            long seen;
+            synchronized (this) {
+                seen = version;
+            }
+            List<Object[]> links = courseRepository.findPrerequisiteLinks();
+            synchronized (this) {
+                if (version != seen) {
+                    continue;
+                }
+                prerequisiteOf.clear();
+                links.forEach(row -> prerequisiteOf.put((Long) row[0], (Long) row[1]));
+                computeClosure();
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Add a course or change its prerequisite (null removes it), once the current transaction commits
+     */
+    public void update(Long courseId, Long prerequisiteId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                prerequisiteOf.put(courseId, prerequisiteId);
+                changed();
+            }
+        });
+    }
+    
+    /**
+     * Remove a deleted course from the graph, once the current transaction commits
+     */
+    public void remove(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                prerequisiteOf.remove(courseId);
+                prerequisiteOf.replaceAll((id, prerequisiteId) -> courseId.equals(prerequisiteId) ? null : prerequisiteId);
+                changed();
+            }
+        });
+    }
+    
+    private void changed() {
+        version++;
+        computeClosure();
+    }
+    
+    /**
+     * Full prerequisite chain of a course, root first (empty if none)
+     */
+    public synchronized List<Long> getPrerequisiteIds(Long courseId) {
+        return ancestors.getOrDefault(courseId, List.of());
+    }
+    
+    /**
+     * Courses that have this course as their direct prerequisite
+     */
+    public synchronized List<Long> getDependentIds(Long courseId) {
+        return directDependents.getOrDefault(courseId, List.of());
+    }
+    
+    /**
+     * Courses that require this course anywhere in their prerequisite chain
+     */
+    public synchronized Set<Long> getAllDependentIds(Long courseId) {
+        return allDependents.getOrDefault(courseId, Set.of());
+    }
+    
+    /**
+     * Check if making prerequisiteId the prerequisite of courseId would close a cycle
+     */
+    public synchronized boolean wouldCreateCycle(Long courseId, Long prerequisiteId) {
+        if (courseId == null || prerequisiteId == null) {
+            return false;
+        }
+        return courseId.equals(prerequisiteId) || getAllDependentIds(courseId).contains(prerequisiteId);
+    }
+    
+    /**
+     * Courses a student has unlocked: their direct prerequisite is passed and they are not passed yet
+     */
+    public synchronized Set<Long> getUnlockedCourseIds(Collection<Long> passedCourseIds) {
+        Set<Long> unlocked = new LinkedHashSet<>();
+        for (Long passedId : passedCourseIds) {
+            unlocked.addAll(getDependentIds(passedId));
+        }
+        unlocked.removeAll(passedCourseIds);
+        return unlocked;
+    }
+    
+    private void computeClosure() {
+        Map<Long, List<Long>> children = new HashMap<>();
+        prerequisiteOf.forEach((courseId, prerequisiteId) -> {
+            if (prerequisiteId != null) {
+                children.computeIfAbsent(prerequisiteId, k -> new ArrayList<>()).add(courseId);
+            }
+        });
+        
+        Map<Long, List<Long>> chains = new HashMap<>();
+        for (Long courseId : prerequisiteOf.keySet()) {
+            chains.put(courseId, chainOf(courseId));
+        }
+        
+        Map<Long, Set<Long>> closure = new HashMap<>();
+        for (Long courseId : children.keySet()) {
+            closure.put(courseId, Set.copyOf(reachableFrom(courseId, children)));
+        }
+        
+        Map<Long, List<Long>> direct = new HashMap<>();
+        children.forEach((courseId, list) -> direct.put(courseId, List.copyOf(list)));
+        
+        ancestors = chains;
+        directDependents = direct;
+        allDependents = closure;
+    }
+    
+    /**
+     * Walk prerequisite pointers up to the root (stops on a cycle already in the data)
+     */
+    private List<Long> chainOf(Long courseId) {
+        List<Long> chain = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        seen.add(courseId);
+        Long current = prerequisiteOf.get(courseId);
+        while (current != null && seen.add(current)) {
+            chain.add(0, current);
+            current = prerequisiteOf.get(current);
+        }
+        return List.copyOf(chain);
+    }
+    
+    private static Set<Long> reachableFrom(Long courseId, Map<Long, List<Long>> children) {
+        Set<Long> reached = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>(children.getOrDefault(courseId, List.of()));
+        while (!stack.isEmpty()) {
+            Long next = stack.pop();
+            if (reached.add(next)) {
+                stack.addAll(children.getOrDefault(next, List.of()));
+            }
+        }
+        return reached;
+    }
+}
@@ -0,0 +1,308 @@
+package com.maplewood.course.service;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.util.TransactionCallbacks;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.course.repository.CourseSectionMeetingRepository;
+
+/**
+ * In-memory occupancy index of teacher and classroom schedules, scoped per semester
+ * Each teacher/classroom owns one bitmap of 5-minute slots per weekday, so conflict
+ * checks are bit tests instead of loading every meeting the owner has ever had
+ *
+ * Built on startup and kept up to date by CourseSectionMeetingService and CourseSectionService
+ * - xxxAfterCommit changes read the meetings inside the transaction and apply once it commits,
+ *   so a rolled-back change never books or frees slots
+ */
+@Component
+public class ScheduleOccupancyIndex {
+    
+    static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int DAYS_PER_WEEK = 5;
+    
+    private enum OwnerType { TEACHER, CLASSROOM }
+    
+    private record OwnerKey(Long semesterId, OwnerType type, Long ownerId) {}
+    
+    /**
+     * Indexed position of a single meeting
+     */
+    private record Placement(Long meetingId, Long sectionId, Long semesterId, Long teacherId, Long classroomId,
+                             int dayOfWeek, int startMinute, int endMinute) {}
+    
+    @Autowired
+    private CourseSectionMeetingRepository meetingRepository;
+    
+    private final Map<OwnerKey, OwnerSchedule> schedules = new HashMap<>();
+    private final Map<Long, Placement> placements = new HashMap<>();
+    private long version;
+    
+    /**
+     * Rebuild the whole index from the database
+     * The meetings are loaded again if one was placed or removed while they were loading
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        while (true) {
+            long seen;
+            synchronized (this) {
+                seen = version;
+            }
+            List<CourseSectionMeeting> meetings = meetingRepository.findAllWithSection();
+            synchronized (this) {
+                if (version != seen) {
+                    continue;
+                }
+                schedules.clear();
+                placements.clear();
+                meetings.forEach(this::put);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Add or move a persisted meeting
+     */
+    public synchronized void add(CourseSectionMeeting meeting) {
+        put(meeting);
+    }
+    
+    /**
+     * Add or move a persisted meeting once the current transaction commits
+     */
+    public void addAfterCommit(CourseSectionMeeting meeting) {
+        Long meetingId = meeting.getId();
+        Placement placement = placementOf(meeting);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                remove(meetingId);
+                place(placement);
+            }
+        });
+    }
+    
+    /**
+     * Remove a meeting by ID (no-op if it was never indexed)
+     */
+    public synchronized void remove(Long meetingId) {
+        version++;
+        Placement placement = placements.remove(meetingId);
+        if (placement == null) {
+            return;
+        }
+        release(new OwnerKey(placement.semesterId(), OwnerType.TEACHER, placement.teacherId()), placement);
+        release(new OwnerKey(placement.semesterId(), OwnerType.CLASSROOM, placement.classroomId()), placement);
+    }
+    
+    /**
+     * Re-index all meetings of a section (teacher or classroom changed)
+     */
+    public synchronized void reindexSection(Long sectionId, List<CourseSectionMeeting> meetings) {
+        removeSection(sectionId);
+        meetings.forEach(this::put);
+    }
+    
+    /**
+     * Re-index all meetings of a section once the current transaction commits
+     */
+    public void reindexSectionAfterCommit(Long sectionId, List<CourseSectionMeeting> meetings) {
+        List<Placement> sectionPlacements = meetings.stream()
+            .map(ScheduleOccupancyIndex::placementOf)
+            .toList();
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                removeSection(sectionId);
+                sectionPlacements.forEach(this::place);
+            }
+        });
+    }
+    
+    /**
+     * Remove all meetings of a section (section deleted)
+     */
+    public synchronized void removeSection(Long sectionId) {
+        placements.values().stream()
+            .filter(p -> p.sectionId().equals(sectionId))
+            .map(Placement::meetingId)
+            .toList()
+            .forEach(this::remove);
+    }
+    
+    /**
+     * Remove all meetings of a section once the current transaction commits
+     */
+    public void removeSectionAfterCommit(Long sectionId) {
+        TransactionCallbacks.afterCommit(() -> removeSection(sectionId));
+    }
+    
+    /**
+     * Check if the teacher already teaches in the given window of the semester
+     * @param excludeMeetingId meeting being updated (ignored in the check), may be null
+     */
+    public synchronized boolean isTeacherBooked(Long semesterId, Long teacherId, int dayOfWeek,
+                                                LocalTime start, LocalTime end, Long excludeMeetingId) {
+        return isBooked(new OwnerKey(semesterId, OwnerType.TEACHER, teacherId), dayOfWeek, start, end,
+            p -> p.meetingId().equals(excludeMeetingId));
+    }
+    
+    /**
+     * Check if the classroom is already booked in the given window of the semester
+     * @param excludeMeetingId meeting being updated (ignored in the check), may be null
+     */
+    public synchronized boolean isClassroomBooked(Long semesterId, Long classroomId, int dayOfWeek,
+                                                  LocalTime start, LocalTime end, Long excludeMeetingId) {
+        return isBooked(new OwnerKey(semesterId, OwnerType.CLASSROOM, classroomId), dayOfWeek, start, end,
+            p -> p.meetingId().equals(excludeMeetingId));
+    }
+    
+    /**
+     * Check if the teacher teaches another section in the given window of the semester
+     * (the section's own meetings are ignored, its weekly pattern is being replaced)
+     */
+    public synchronized boolean isTeacherBookedOutsideSection(Long semesterId, Long teacherId, int dayOfWeek,
+                                                              LocalTime start, LocalTime end, Long sectionId) {
+        return isBooked(new OwnerKey(semesterId, OwnerType.TEACHER, teacherId), dayOfWeek, start, end,
+            p -> p.sectionId().equals(sectionId));
+    }
+    
+    /**
+     * Check if another section has the classroom in the given window of the semester
+     * (the section's own meetings are ignored, its weekly pattern is being replaced)
+     */
+    public synchronized boolean isClassroomBookedOutsideSection(Long semesterId, Long classroomId, int dayOfWeek,
+                                                                LocalTime start, LocalTime end, Long sectionId) {
+        return isBooked(new OwnerKey(semesterId, OwnerType.CLASSROOM, classroomId), dayOfWeek, start, end,
+            p -> p.sectionId().equals(sectionId));
+    }
+    
+    private boolean isBooked(OwnerKey key, int dayOfWeek, LocalTime start, LocalTime end, Predicate<Placement> ignored) {
+        OwnerSchedule schedule = schedules.get(key);
+        if (schedule == null || dayOfWeek < 1 || dayOfWeek > DAYS_PER_WEEK) {
+            return false;
+        }
+        int startMinute = toMinute(start);
+        int endMinute = toMinute(end);
+        
+        // Fast path: no occupied slot in the window means no conflict
+        if (!schedule.days[dayOfWeek - 1].intersects(toSlots(startMinute, endMinute))) {
+            return false;
+        }
+        
+        // Slots are coarse (5 min) and may include ignored meetings: confirm with exact times
+        return schedule.meetings.values().stream()
+            .filter(p -> p.dayOfWeek() == dayOfWeek)
+            .filter(ignored.negate())
+            .anyMatch(p -> p.startMinute() < endMinute && p.endMinute() > startMinute);
+    }
+    
+    private void put(CourseSectionMeeting meeting) {
+        if (meeting.getId() == null) {
+            return;
+        }
+        remove(meeting.getId());
+        place(placementOf(meeting));
+    }
+    
+    private void place(Placement placement) {
+        if (placement == null) {
+            return;
+        }
+        version++;
+        placements.put(placement.meetingId(), placement);
+        occupy(new OwnerKey(placement.semesterId(), OwnerType.TEACHER, placement.teacherId()), placement);
+        occupy(new OwnerKey(placement.semesterId(), OwnerType.CLASSROOM, placement.classroomId()), placement);
+    }
+    
+    /**
+     * Position of a meeting, null if it is not persisted or not fully scheduled
+     */
+    private static Placement placementOf(CourseSectionMeeting meeting) {
+        CourseSection section = meeting.getSection();
+        if (meeting.getId() == null || section == null || section.getSemester() == null
+                || meeting.getDayOfWeek() == null || meeting.getStartTime() == null || meeting.getEndTime() == null) {
+            return null;
+        }
+        return new Placement(
+            meeting.getId(),
+            section.getId(),
+            section.getSemester().getId(),
+            section.getTeacher() != null ? section.getTeacher().getId() : null,
+            section.getClassroom() != null ? section.getClassroom().getId() : null,
+            meeting.getDayOfWeek(),
+            toMinute(meeting.getStartTime()),
+            toMinute(meeting.getEndTime())
+        );
+    }
+    
+    private void occupy(OwnerKey key, Placement placement) {
+        if (key.ownerId() == null) {
+            return;
+        }
+        OwnerSchedule schedule = schedules.computeIfAbsent(key, k -> new OwnerSchedule());
+        schedule.meetings.put(placement.meetingId(), placement);
+        schedule.days[placement.dayOfWeek() - 1].or(toSlots(placement.startMinute(), placement.endMinute()));
+    }
+    
+    private void release(OwnerKey key, Placement placement) {
+        OwnerSchedule schedule = schedules.get(key);
+        if (schedule == null) {
+            return;
+        }
+        schedule.meetings.remove(placement.meetingId());
+        if (schedule.meetings.isEmpty()) {
+            schedules.remove(key);
+            return;
+        }
+        // Rebuild the day bitmap from the remaining meetings (they may share slots)
+        BitSet day = new BitSet(SLOTS_PER_DAY);
+        schedule.meetings.values().stream()
+            .filter(p -> p.dayOfWeek() == placement.dayOfWeek())
+            .forEach(p -> day.or(toSlots(p.startMinute(), p.endMinute())));
+        schedule.days[placement.dayOfWeek() - 1] = day;
+    }
+    
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+    
+    /**
+     * Slots touched by [startMinute, endMinute)
+     */
+    private static BitSet toSlots(int startMinute, int endMinute) {
+        BitSet slots = new BitSet(SLOTS_PER_DAY);
+        int fromSlot = startMinute / SLOT_MINUTES;
+        int toSlot = Math.min(SLOTS_PER_DAY, (endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        if (fromSlot < toSlot) {
+            slots.set(fromSlot, toSlot);
+        }
+        return slots;
+    }
+    
+    /**
+     * Weekly bitmap plus the exact meetings of one teacher or classroom
+     */
+    private static class OwnerSchedule {
+        private final BitSet[] days = new BitSet[DAYS_PER_WEEK];
+        private final Map<Long, Placement> meetings = new HashMap<>();
+        
+        OwnerSchedule() {
+            for (int i = 0; i < DAYS_PER_WEEK; i++) {
+                days[i] = new BitSet(SLOTS_PER_DAY);
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.maplewood.course.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.maplewood.common.dto.SectionAvailabilityDTO;
+import com.maplewood.common.util.TransactionCallbacks;
+import com.maplewood.course.repository.CourseSectionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Live seat availability over Server-Sent Events (GET /api/v1/course-sections/availability/stream)
+ *
+ * Services call publishAfterCommit() whenever a section's enrollment count or capacity changes:
+ * - the section is only marked dirty once the change commits, nothing is read or sent on the request thread
+ * - every FLUSH_INTERVAL_MS the dirty sections are read in one query and the ones whose values moved
+ *   become one "availability" event, a JSON array of (sectionId, enrollmentCount, capacity)
+ * - the event is serialized once and handed to every client
+ *
+ * Each client has at most one pending event and at most one send in flight:
+ * - a client still busy with the previous event gets the next ones merged into its pending event (latest
+ *   values win), so a slow client costs at most one entry per section and never delays the others
+ * - sends run on SENDER_THREADS threads with room for MAX_QUEUED_SENDS waiting clients; when that buffer
+ *   is full the event stays pending and goes out, merged, with the next flush
+ * An idle client holds no thread, only its emitter; a comment line every HEARTBEAT_INTERVAL_MS detects
+ * closed connections
+ */
+@Component
+public class SectionAvailabilityStream {
+    
+    static final long FLUSH_INTERVAL_MS = 250;
+    static final long HEARTBEAT_INTERVAL_MS = 15_000;
+    static final long SUBSCRIPTION_TIMEOUT_MS = 30 * 60_000;
+    static final int SENDER_THREADS = 4;
+    static final int MAX_QUEUED_SENDS = 10_000;
+    
+    @Autowired
+    private CourseSectionRepository sectionRepository;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    private final Set<Long> dirtySectionIds = ConcurrentHashMap.newKeySet();
+    
+    // Last values sent per section, only touched by the flush thread; forgotten when a client connects,
+    // since that client may have read the section list after a change that was never sent
+    private final Map<Long, SectionAvailabilityDTO> lastSent = new HashMap<>();
+    private final AtomicBoolean lastSentStale = new AtomicBoolean();
+    
+    private final Batch heartbeat = new Batch(Map.of());
+    
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("section-availability-flush").daemon().factory());
+    
+    private final ThreadPoolExecutor senders = new ThreadPoolExecutor(SENDER_THREADS, SENDER_THREADS,
+        0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_SENDS),
+        Thread.ofPlatform().name("section-availability-send-", 0).daemon().factory());
+    
+    @PostConstruct
+    void start() {
+        meterRegistry.gaugeCollectionSize("maplewood.sections.availability.subscribers", Tags.empty(), subscribers);
+        ticker.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+    
+    /**
+     * Open a stream for one client
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(SUBSCRIPTION_TIMEOUT_MS));
+    }
+    
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        lastSentStale.set(true);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+    
+    /**
+     * Announce that a section's enrollment count or capacity changed, once the current transaction commits
+     * (now if there is none); ignored if nobody listens at that point
+     */
+    public void publishAfterCommit(Long sectionId) {
+        TransactionCallbacks.afterCommit(() -> markDirty(sectionId));
+    }
+    
+    private void markDirty(Long sectionId) {
+        if (!subscribers.isEmpty()) {
+            dirtySectionIds.add(sectionId);
+        }
+    }
+    
+    void flush() {
+        if (lastSentStale.getAndSet(false)) {
+            lastSent.clear();
+        }
+        if (dirtySectionIds.isEmpty()) {
+            return;
+        }
+        List<Long> sectionIds = new ArrayList<>();
+        for (Long sectionId : dirtySectionIds) {
+            dirtySectionIds.remove(sectionId);
+            sectionIds.add(sectionId);
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        
+        List<SectionAvailabilityDTO> rows;
+        try {
+            rows = sectionRepository.findAvailabilityByIdIn(sectionIds);
+        } catch (RuntimeException e) {
+            // Database busy: try again on the next flush (an exception would cancel the schedule)
+            dirtySectionIds.addAll(sectionIds);
+            return;
+        }
+        
+        Map<Long, SectionAvailabilityDTO> deltas = new LinkedHashMap<>();
+        for (SectionAvailabilityDTO row : rows) {
+            if (!row.equals(lastSent.put(row.sectionId(), row))) {
+                deltas.put(row.sectionId(), row);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            Batch batch = new Batch(deltas);
+            subscribers.forEach(subscriber -> subscriber.offer(batch));
+        }
+    }
+    
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+    
+    /**
+     * Deltas of one flush, or several merged for a client that fell behind
+     * Serialized on first send and shared by every client that gets the same batch
+     */
+    private final class Batch {
+        
+        private final Map<Long, SectionAvailabilityDTO> deltas;
+        private String json;
+        
+        Batch(Map<Long, SectionAvailabilityDTO> deltas) {
+            this.deltas = deltas;
+        }
+        
+        Batch merge(Batch newer) {
+            if (newer.deltas.isEmpty()) {
+                return this;
+            }
+            if (deltas.isEmpty()) {
+                return newer;
+            }
+            Map<Long, SectionAvailabilityDTO> merged = new LinkedHashMap<>(deltas);
+            merged.putAll(newer.deltas);
+            return new Batch(merged);
+        }
+        
+        synchronized String json() {
+            if (json == null) {
+                json = jsonMapper.writeValueAsString(deltas.values());
+            }
+            return json;
+        }
+        
+        SseEmitter.SseEventBuilder event() {
+            return deltas.isEmpty()
+                ? SseEmitter.event().comment("heartbeat")
+                : SseEmitter.event().name("availability").data(json());
+        }
+    }
+    
+    /**
+     * One open stream: a pending batch and a flag for the send in flight
+     */
+    private final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private Batch pending;
+        
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        void offer(Batch batch) {
+            synchronized (this) {
+                pending = pending == null ? batch : pending.merge(batch);
+            }
+            schedule();
+        }
+        
+        private void schedule() {
+            if (!sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Fan-out buffer full: the batch stays pending and goes out with the next offer
+                sending.set(false);
+                meterRegistry.counter("maplewood.sections.availability.deferred").increment();
+            }
+        }
+        
+        private void drain() {
+            boolean owner = true;
+            try {
+                while (true) {
+                    Batch batch = take();
+                    if (batch == null) {
+                        sending.set(false);
+                        owner = false;
+                        // An offer made after take() but before the flag was cleared did not schedule a send
+                        if (!hasPending() || !sending.compareAndSet(false, true)) {
+                            return;
+                        }
+                        owner = true;
+                        continue;
+                    }
+                    try {
+                        emitter.send(batch.event());
+                    } catch (IOException | IllegalStateException e) {
+                        // Client gone: the container completes the emitter
+                        subscribers.remove(this);
+                        return;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Anything else (serialization, a broken emitter): close this stream rather than leave it stuck
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                if (owner) {
+                    sending.set(false);
+                }
+            }
+        }
+        
+        private synchronized Batch take() {
+            Batch batch = pending;
+            pending = null;
+            return batch;
+        }
+        
+        private synchronized boolean hasPending() {
+            return pending != null;
+        }
+    }
+}
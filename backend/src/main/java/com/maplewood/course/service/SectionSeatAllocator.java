@@ -0,0 +1,252 @@
+package com.maplewood.course.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process seat allocator, one atomic counter of free seats per section
+ *
+ * Enrollment claims a seat before writing; once seats run out every further request
+ * gets an immediate "section full" answer instead of racing on CourseSection.version
+ *
+ * Counters are loaded lazily from capacity - enrollment_count and reconciled with the database:
+ * - a seat can only be reserved inside a transaction, it is given back if that transaction rolls back
+ * - a seat freed by a drop is given back once the drop commits
+ * - invalidate() drops the counter when capacity or enrollment_count change by other means
+ *
+ * Reloading while reservations and drops are in flight (nothing blocks, SQLite readers may hold locks a commit waits for):
+ * - enrollment_count does not include reservations whose transaction has not completed: a load subtracts them
+ * - a drop between its commit and its release is subtracted too, its release would free the seat a second time
+ * - in-flight counts are read around the database read in an order that can only under-count; if a commit
+ *   completed during the load, the counter is marked stale and reloaded once no commit is in progress
+ * - a capacity change is seen once it commits; adjustEnrollmentCount refuses to go above capacity in the meantime
+ *
+ * Contention metrics (the allocator replaced optimistic-lock retries on CourseSection.version):
+ * - maplewood.enrollment.seat.reservations{outcome=granted|full}
+ * - maplewood.enrollment.seat.retries: compare-and-set attempts lost to a concurrent request
+ * - maplewood.enrollment.seat.rollbacks: reserved seats given back because the enrollment rolled back
+ */
+@Component
+public class SectionSeatAllocator {
+    
+    @Autowired
+    private CourseSectionRepository courseSectionRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final ConcurrentHashMap<Long, AtomicInteger> freeSeats = new ConcurrentHashMap<>();
+    
+    private final ConcurrentHashMap<Long, InFlight> inFlight = new ConcurrentHashMap<>();
+    
+    /**
+     * Try to claim one seat in a section, inside the enrollment's transaction
+     * @return false if the section is full
+     * @throws IllegalStateException without an active transaction (the seat could never be given back on failure)
+     */
+    public boolean tryReserve(Long sectionId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Seats can only be reserved inside a transaction");
+        }
+        InFlight state = inFlight(sectionId);
+        if (!reserve(sectionId, state)) {
+            return false;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                state.committing.incrementAndGet();
+                committing = true;
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    meterRegistry.counter("maplewood.enrollment.seat.rollbacks").increment();
+                    release(sectionId);
+                }
+                state.reserved.decrementAndGet();
+                if (committing) {
+                    state.committing.decrementAndGet();
+                }
+                state.version.incrementAndGet();
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Claim a seat from the current counter, counted as in flight before the decrement
+     * If the counter was replaced meanwhile, the claim is undone and made again on the new one
+     */
+    private boolean reserve(Long sectionId, InFlight state) {
+        while (true) {
+            AtomicInteger seats = counter(sectionId, state);
+            state.reserved.incrementAndGet();
+            boolean granted = false;
+            int current;
+            int retries = -1;
+            do {
+                retries++;
+                current = seats.get();
+                if (current <= 0) {
+                    break;
+                }
+                granted = seats.compareAndSet(current, current - 1);
+            } while (!granted);
+            
+            if (freeSeats.get(sectionId) == seats) {
+                if (!granted) {
+                    state.reserved.decrementAndGet();
+                    state.version.incrementAndGet();
+                }
+                recordReservation(granted ? "granted" : "full", retries);
+                return granted;
+            }
+            // Invalidated meanwhile: a load may not have counted this claim, take it from the new counter
+            if (granted) {
+                seats.incrementAndGet();
+            }
+            state.reserved.decrementAndGet();
+            state.version.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Give a seat back immediately
+     */
+    public void release(Long sectionId) {
+        AtomicInteger seats = freeSeats.get(sectionId);
+        if (seats != null) {
+            seats.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Give a seat back once the current transaction commits (student dropped the section)
+     */
+    public void releaseAfterCommit(Long sectionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(sectionId);
+            return;
+        }
+        InFlight state = inFlight(sectionId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                state.releasing.incrementAndGet();
+                state.committing.incrementAndGet();
+                committing = true;
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (!committing) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    release(sectionId);
+                }
+                state.releasing.decrementAndGet();
+                state.committing.decrementAndGet();
+                state.version.incrementAndGet();
+            }
+        });
+    }
+    
+    /**
+     * Forget the counter of a section, it is reloaded from the database on next use
+     * Inside a transaction it is forgotten again once the transaction ends, so a reload in between
+     * (from uncommitted or not yet written values) does not stay around
+     */
+    public void invalidate(Long sectionId) {
+        freeSeats.remove(sectionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    freeSeats.remove(sectionId);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Current number of free seats (loads the counter if needed)
+     */
+    public int getFreeSeats(Long sectionId) {
+        return counter(sectionId, inFlight(sectionId)).get();
+    }
+    
+    private void recordReservation(String outcome, int retries) {
+        meterRegistry.counter("maplewood.enrollment.seat.reservations", "outcome", outcome).increment();
+        if (retries > 0) {
+            meterRegistry.counter("maplewood.enrollment.seat.retries").increment(retries);
+        }
+    }
+    
+    private InFlight inFlight(Long sectionId) {
+        return inFlight.computeIfAbsent(sectionId, id -> new InFlight());
+    }
+    
+    /**
+     * Counter of a section, reloaded first if the last load was not exact and no commit is in progress anymore
+     */
+    private AtomicInteger counter(Long sectionId, InFlight state) {
+        if (state.stale && state.committing.get() == 0) {
+            state.stale = false;
+            freeSeats.remove(sectionId);
+        }
+        return freeSeats.computeIfAbsent(sectionId, id -> loadFreeSeats(id, state));
+    }
+    
+    /**
+     * Free seats from the committed counts minus what is still in flight
+     * Reservations are read before enrollment_count and drops after it: a commit racing the read is then
+     * counted twice (fewer free seats) but never missed; the version tells whether that may have happened
+     */
+    private AtomicInteger loadFreeSeats(Long sectionId, InFlight state) {
+        long version = state.version.get();
+        boolean quiet = state.committing.get() == 0;
+        int reserved = state.reserved.get();
+        CourseSection section = courseSectionRepository.findById(sectionId)
+            .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+        int releasing = state.releasing.get();
+        state.stale = !quiet || state.committing.get() != 0 || state.version.get() != version;
+        int free = section.getCapacity() - section.getEnrollmentCount() - reserved - releasing;
+        return new AtomicInteger(Math.max(0, free));
+    }
+    
+    /**
+     * Reservations and drops of a section whose transaction has not completed
+     * - reserved: granted seats not yet committed or rolled back
+     * - releasing / committing: drops, and drops or reservations, between beforeCommit and afterCompletion
+     * - version: bumped whenever one of them leaves, so a load can tell it raced with a commit
+     */
+    private static final class InFlight {
+        
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicInteger releasing = new AtomicInteger();
+        private final AtomicInteger committing = new AtomicInteger();
+        private final AtomicLong version = new AtomicLong();
+        private volatile boolean stale;
+    }
+}
@@ -0,0 +1,212 @@
+package com.maplewood.course.service;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maplewood.common.dto.TimetableDTO;
+import com.maplewood.common.dto.UnscheduledSectionDTO;
+import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.common.mapper.CourseSectionMapper;
+import com.maplewood.common.mapper.CourseSectionMeetingMapper;
+import com.maplewood.common.util.DTOConverter;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.course.repository.CourseSectionMeetingRepository;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.course.service.TimetableSolver.PlacedMeeting;
+import com.maplewood.course.service.TimetableSolver.SectionDemand;
+import com.maplewood.course.service.TimetableSolver.Solution;
+import com.maplewood.course.validator.courseSectionMeeting.CourseHoursTypeValidator;
+import com.maplewood.school.entity.Classroom;
+import com.maplewood.school.entity.Semester;
+import com.maplewood.school.entity.Teacher;
+import com.maplewood.school.service.SemesterService;
+
+/**
+ * Service generating the meetings of the active semester (TimetableSolver)
+ *
+ * - Only sections without any meeting are scheduled, existing meetings stay where they are
+ * - The search runs outside any transaction, on a snapshot of the semester's sections and of all meetings
+ * - The meetings are saved in one transaction, all of them or none, and only if that snapshot is still current:
+ *   the solver already enforces every meeting rule, so they are not validated one by one
+ */
+@Service
+public class TimetableService {
+    
+    static final long NODE_LIMIT = 2_000_000;
+    
+    @Autowired
+    private CourseSectionRepository sectionRepository;
+    
+    @Autowired
+    private CourseSectionMeetingRepository meetingRepository;
+    
+    @Autowired
+    private SemesterService semesterService;
+    
+    @Autowired
+    private CourseHoursTypeValidator courseHoursTypeValidator;
+    
+    @Autowired
+    private ScheduleOccupancyIndex occupancyIndex;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    /**
+     * Schedule every unscheduled section of the active semester
+     * Sections whose course hours break a rule are returned as unscheduled, the others are all placed or,
+     * when no timetable satisfies every rule, none is (ScheduleConflictException)
+     */
+    public TimetableDTO generateForActiveSemester() {
+        Semester semester = semesterService.getActiveSemester();
+        List<CourseSection> sections = sectionRepository.findWithDetailsBySemesterId(semester.getId());
+        List<CourseSectionMeeting> existingMeetings = meetingRepository.findAllWithSection();
+        Snapshot snapshot = Snapshot.of(sections, existingMeetings);
+        
+        Set<Long> scheduledSectionIds = new HashSet<>();
+        existingMeetings.forEach(m -> scheduledSectionIds.add(m.getSection().getId()));
+        
+        TimetableSolver solver = new TimetableSolver();
+        Set<Long> toSchedule = new HashSet<>();
+        List<UnscheduledSectionDTO> unscheduled = new ArrayList<>();
+        Set<Long> teacherIds = new HashSet<>();
+        for (CourseSection section : sections) {
+            if (scheduledSectionIds.contains(section.getId())) {
+                continue;
+            }
+            String problem = hoursProblem(section);
+            if (problem != null) {
+                unscheduled.add(new UnscheduledSectionDTO(CourseSectionMapper.toDTO(section), problem));
+                continue;
+            }
+            Long teacherId = idOf(section.getTeacher());
+            if (teacherId != null) {
+                solver.limitTeacher(teacherId, section.getTeacher().getMaxDailyHours());
+                teacherIds.add(teacherId);
+            }
+            solver.addSection(new SectionDemand(section.getId(), teacherId, idOf(section.getClassroom()),
+                section.getCourse().getHoursPerWeek()));
+            toSchedule.add(section.getId());
+        }
+        if (toSchedule.isEmpty()) {
+            return new TimetableDTO(semester.getId(), List.of(), unscheduled);
+        }
+        
+        for (CourseSectionMeeting meeting : existingMeetings) {
+            CourseSection section = meeting.getSection();
+            Long teacherId = idOf(section.getTeacher());
+            // Daily hours count meetings of every semester (TeacherDailyHoursValidator), conflicts only this one
+            if (teacherIds.contains(teacherId)) {
+                solver.countTeacherMinutes(teacherId, meeting.getDayOfWeek(),
+                    Duration.between(meeting.getStartTime(), meeting.getEndTime()).toMinutes());
+            }
+            if (semester.getId().equals(section.getSemester().getId())) {
+                solver.book(teacherId, idOf(section.getClassroom()),
+                    meeting.getDayOfWeek(), meeting.getStartTime(), meeting.getEndTime());
+            }
+        }
+        
+        Solution solution = solver.solve(NODE_LIMIT);
+        if (!solution.solved()) {
+            throw new ScheduleConflictException(failureMessage(solution, toSchedule.size()));
+        }
+        
+        List<CourseSectionMeeting> saved = transactionTemplate.execute(status -> {
+            // The timetable only holds for what the solver saw: re-read it where no other write can interleave
+            List<CourseSection> current = sectionRepository.findWithDetailsBySemesterId(semester.getId());
+            if (!snapshot.equals(Snapshot.of(current, meetingRepository.findAllWithSection()))) {
+                throw new ScheduleConflictException("Sections or meetings changed while the timetable was generated, try again");
+            }
+            Map<Long, CourseSection> sectionsById = current.stream()
+                .collect(Collectors.toMap(CourseSection::getId, Function.identity()));
+            List<CourseSectionMeeting> created = new ArrayList<>(solution.meetings().size());
+            for (PlacedMeeting placed : solution.meetings()) {
+                CourseSectionMeeting meeting = new CourseSectionMeeting();
+                meeting.setSection(sectionsById.get(placed.sectionId()));
+                meeting.setDayOfWeek(placed.dayOfWeek());
+                meeting.setStartTime(placed.startTime());
+                meeting.setEndTime(placed.endTime());
+                created.add(meeting);
+            }
+            return meetingRepository.saveAll(created);
+        });
+        saved.forEach(occupancyIndex::add);
+        return new TimetableDTO(semester.getId(), DTOConverter.convertList(saved, CourseSectionMeetingMapper::toDTO), unscheduled);
+    }
+    
+    private static String failureMessage(Solution solution, int sectionCount) {
+        if (!solution.overloadedTeacherIds().isEmpty() || !solution.overloadedClassroomIds().isEmpty()) {
+            return "More weekly hours than free slots (daily limits included) for teachers "
+                + solution.overloadedTeacherIds() + " and classrooms " + solution.overloadedClassroomIds();
+        }
+        return solution.nodeLimitReached()
+            ? "No timetable found for the " + sectionCount + " unscheduled sections within the search limit"
+            : "No timetable satisfies every rule for the " + sectionCount + " unscheduled sections";
+    }
+    
+    private static Long idOf(Teacher teacher) {
+        return teacher != null ? teacher.getId() : null;
+    }
+    
+    private static Long idOf(Classroom classroom) {
+        return classroom != null ? classroom.getId() : null;
+    }
+    
+    /**
+     * Why the course hours of a section cannot be scheduled, null if they can
+     */
+    private String hoursProblem(CourseSection section) {
+        Integer hoursPerWeek = section.getCourse().getHoursPerWeek();
+        if (hoursPerWeek == null || hoursPerWeek <= 0) {
+            return "Course must have hoursPerWeek defined";
+        }
+        if (hoursPerWeek > TimetableSolver.BLOCK_HOURS * TimetableSolver.DAYS) {
+            return "Course needs more than " + TimetableSolver.BLOCK_HOURS + " hours a day";
+        }
+        CourseSectionMeeting probe = new CourseSectionMeeting();
+        probe.setSection(section);
+        try {
+            courseHoursTypeValidator.validate(probe);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+    
+    /**
+     * Every value the solver reads from sections and meetings
+     */
+    private record Snapshot(Set<SectionRow> sections, Set<MeetingRow> meetings) {
+        
+        private record SectionRow(Long id, Long teacherId, Integer maxDailyHours, Long classroomId, Integer hoursPerWeek) {}
+        
+        private record MeetingRow(Long id, Long sectionId, Long semesterId, Long teacherId, Long classroomId,
+                                  Integer dayOfWeek, LocalTime startTime, LocalTime endTime) {}
+        
+        static Snapshot of(List<CourseSection> sections, List<CourseSectionMeeting> meetings) {
+            Set<SectionRow> sectionRows = sections.stream()
+                .map(s -> new SectionRow(s.getId(), idOf(s.getTeacher()),
+                    s.getTeacher() != null ? s.getTeacher().getMaxDailyHours() : null,
+                    idOf(s.getClassroom()), s.getCourse().getHoursPerWeek()))
+                .collect(Collectors.toSet());
+            Set<MeetingRow> meetingRows = meetings.stream()
+                .map(m -> new MeetingRow(m.getId(), m.getSection().getId(), m.getSection().getSemester().getId(),
+                    idOf(m.getSection().getTeacher()), idOf(m.getSection().getClassroom()),
+                    m.getDayOfWeek(), m.getStartTime(), m.getEndTime()))
+                .collect(Collectors.toSet());
+            return new Snapshot(sectionRows, meetingRows);
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.maplewood.course.service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.maplewood.course.validator.courseSectionMeeting.NoLunchHourValidator;
+
+/**
+ * Timetable solver: places the weekly meetings of course sections on an hourly grid
+ *
+ * Grid: Monday-Friday, one-hour slots from DAY_START to DAY_END without the lunch hour (NoLunchHourValidator)
+ * 5 days x 8 slots fit in a long, so every domain and every teacher/classroom week is a bitset
+ *
+ * A section's hoursPerWeek is split into blocks of BLOCK_HOURS plus a 1h remainder, at most one block a day
+ * Constraints, as the meeting validators check them:
+ * - blocks of a section add up to hoursPerWeek (HoursValidationValidator), one meeting per day (UniquenessValidator)
+ * - a teacher or classroom is never booked twice at the same time (ScheduleConflictMeetingValidator)
+ * - a teacher's hours on a day, meetings they already have included, stay within maxDailyHours (TeacherDailyHoursValidator)
+ *
+ * Search: backtracking on the block with the smallest domain, least loaded day first
+ * Each placement is propagated to the blocks sharing its teacher, classroom or section and to the
+ * remaining weekly capacity of its teacher and classroom, so a dead end is abandoned as soon as one of them
+ * cannot be placed anymore
+ * An attempt that runs past its node cutoff restarts with randomized tie-breaking and twice the cutoff:
+ * early wrong choices are undone in one step instead of by exhausting everything below them
+ *
+ * Not thread-safe: one instance per run
+ */
+public class TimetableSolver {
+    
+    static final LocalTime DAY_START = LocalTime.of(8, 0);
+    static final LocalTime DAY_END = LocalTime.of(17, 0);
+    static final int BLOCK_HOURS = 2;
+    static final int DAYS = 5;
+    static final long FIRST_CUTOFF = 1_000;
+    
+    private static final int[] SLOT_HOURS = slotHours();
+    private static final int SLOTS_PER_DAY = SLOT_HOURS.length;
+    private static final long[] DAY_MASKS = dayMasks();
+    private static final long[] VALID_STARTS = validStarts();
+    
+    /**
+     * Section to schedule, teacher and classroom may be null (no constraint on them)
+     */
+    public record SectionDemand(Long sectionId, Long teacherId, Long classroomId, int hoursPerWeek) {}
+    
+    /**
+     * One generated meeting (dayOfWeek 1-5, Monday-Friday)
+     */
+    public record PlacedMeeting(Long sectionId, int dayOfWeek, LocalTime startTime, LocalTime endTime) {}
+    
+    /**
+     * Outcome of a run: meetings is empty unless solved
+     * nodeLimitReached tells a search that gave up from one that proved there is no timetable
+     * overloadedTeacherIds/overloadedClassroomIds: more hours to place than free slots (daily limits included),
+     * which rules out a timetable before any search
+     */
+    public record Solution(boolean solved, boolean nodeLimitReached, long nodes, List<PlacedMeeting> meetings,
+                           List<Long> overloadedTeacherIds, List<Long> overloadedClassroomIds) {}
+    
+    private final Map<Long, Resource> teachers = new HashMap<>();
+    private final Map<Long, Resource> classrooms = new HashMap<>();
+    private final List<Block> blocks = new ArrayList<>();
+    
+    private final Random random = new Random(0);
+    private final int[] dayRank = {0, 1, 2, 3, 4};
+    
+    private long nodes;
+    private long attemptLimit;
+    private boolean randomized;
+    
+    /**
+     * Set a teacher's maximum hours per day (null: no limit)
+     */
+    public void limitTeacher(Long teacherId, Integer maxDailyHours) {
+        Resource teacher = resource(teachers, teacherId);
+        if (teacher != null) {
+            teacher.maxDailyHours = maxDailyHours != null ? maxDailyHours : Integer.MAX_VALUE / 2;
+        }
+    }
+    
+    /**
+     * Book the slots an existing meeting of the semester touches for its teacher and classroom
+     */
+    public void book(Long teacherId, Long classroomId, int dayOfWeek, LocalTime start, LocalTime end) {
+        long slots = touchedSlots(dayOfWeek, start, end);
+        Resource teacher = resource(teachers, teacherId);
+        if (teacher != null) {
+            teacher.busy |= slots;
+        }
+        Resource classroom = resource(classrooms, classroomId);
+        if (classroom != null) {
+            classroom.busy |= slots;
+        }
+    }
+    
+    /**
+     * Count minutes a teacher already teaches on a day against their daily limit
+     */
+    public void countTeacherMinutes(Long teacherId, int dayOfWeek, long minutes) {
+        Resource teacher = resource(teachers, teacherId);
+        if (teacher != null && dayOfWeek >= 1 && dayOfWeek <= DAYS) {
+            teacher.existingMinutes[dayOfWeek - 1] += minutes;
+        }
+    }
+    
+    /**
+     * Add a section to schedule
+     */
+    public void addSection(SectionDemand demand) {
+        if (demand.hoursPerWeek() <= 0) {
+            throw new IllegalArgumentException("Section " + demand.sectionId() + " needs a positive number of hours");
+        }
+        SectionState section = new SectionState(demand.sectionId());
+        Resource teacher = resource(teachers, demand.teacherId());
+        Resource classroom = resource(classrooms, demand.classroomId());
+        
+        List<Integer> lengths = new ArrayList<>();
+        for (int remaining = demand.hoursPerWeek(); remaining > 0; remaining -= BLOCK_HOURS) {
+            lengths.add(Math.min(BLOCK_HOURS, remaining));
+        }
+        if (lengths.size() > DAYS) {
+            throw new IllegalArgumentException("Section " + demand.sectionId() + " needs more than one meeting a day");
+        }
+        Block previous = null;
+        for (int length : lengths) {
+            Block block = new Block(section, teacher, classroom, length);
+            // Blocks of the same length are interchangeable: keep them in day order
+            if (previous != null && previous.hours == length) {
+                block.previous = previous;
+                previous.next = block;
+            }
+            if (teacher != null) {
+                teacher.pendingHours += length;
+            }
+            if (classroom != null) {
+                classroom.pendingHours += length;
+            }
+            blocks.add(block);
+            previous = block;
+        }
+    }
+    
+    /**
+     * Search a timetable, giving up after nodeLimit placements over all attempts
+     */
+    public Solution solve(long nodeLimit) {
+        nodes = 0;
+        for (Resource teacher : teachers.values()) {
+            for (int day = 0; day < DAYS; day++) {
+                teacher.dayHours[day] = (int) ((teacher.existingMinutes[day] + 59) / 60);
+            }
+        }
+        linkNeighbors();
+        
+        List<Long> overloadedTeachers = overloaded(teachers);
+        List<Long> overloadedClassrooms = overloaded(classrooms);
+        boolean feasible = overloadedTeachers.isEmpty() && overloadedClassrooms.isEmpty();
+        boolean solved = false;
+        boolean limitReached = false;
+        for (long cutoff = FIRST_CUTOFF; feasible && !solved; cutoff *= 2) {
+            attemptLimit = Math.min(nodeLimit, nodes + cutoff);
+            solved = search();
+            if (solved || nodes <= attemptLimit) {
+                // Solved, or the whole tree was explored within the cutoff: there is no timetable
+                break;
+            }
+            if (attemptLimit == nodeLimit) {
+                limitReached = true;
+                break;
+            }
+            nodes = attemptLimit;
+            randomized = true;
+            shuffleDays();
+        }
+        if (!solved) {
+            return new Solution(false, limitReached, nodes, List.of(), overloadedTeachers, overloadedClassrooms);
+        }
+        List<PlacedMeeting> meetings = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            int day = block.start / SLOTS_PER_DAY;
+            LocalTime start = LocalTime.of(SLOT_HOURS[block.start % SLOTS_PER_DAY], 0);
+            meetings.add(new PlacedMeeting(block.section.sectionId, day + 1, start, start.plusHours(block.hours)));
+        }
+        return new Solution(true, false, nodes, meetings, List.of(), List.of());
+    }
+    
+    private boolean search() {
+        Block block = mostConstrained();
+        if (block == null) {
+            return true;
+        }
+        for (int start : orderedStarts(block, domain(block))) {
+            if (++nodes > attemptLimit) {
+                return false;
+            }
+            place(block, start);
+            if (propagate(block) && search()) {
+                return true;
+            }
+            unplace(block);
+            if (nodes > attemptLimit) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Unplaced block with the fewest possible starts (ties: longer block, then more neighbors, then random
+     * after a restart), null once every block is placed
+     */
+    private Block mostConstrained() {
+        Block best = null;
+        long bestKey = Long.MAX_VALUE;
+        int ties = 0;
+        for (Block block : blocks) {
+            if (block.start >= 0) {
+                continue;
+            }
+            int size = Long.bitCount(domain(block));
+            if (size == 0) {
+                return block;
+            }
+            long key = ((long) size * 16 - block.hours) * 4096 - block.neighbors.length;
+            if (key < bestKey) {
+                best = block;
+                bestKey = key;
+                ties = 1;
+            } else if (key == bestKey && randomized && random.nextInt(++ties) == 0) {
+                best = block;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Starts still open to a block given what is placed so far
+     */
+    private long domain(Block block) {
+        long busy = (block.teacher != null ? block.teacher.busy : 0L) | (block.classroom != null ? block.classroom.busy : 0L);
+        long free = VALID_STARTS[block.hours] & ~block.section.days & ~conflictingStarts(busy, block.hours);
+        if (block.teacher != null) {
+            for (int day = 0; day < DAYS; day++) {
+                if (block.teacher.dayHours[day] + block.hours > block.teacher.maxDailyHours) {
+                    free &= ~DAY_MASKS[day];
+                }
+            }
+        }
+        if (block.previous != null && block.previous.start >= 0) {
+            free &= -1L << ((block.previous.start / SLOTS_PER_DAY + 1) * SLOTS_PER_DAY);
+        }
+        if (block.next != null && block.next.start >= 0) {
+            free &= (1L << ((block.next.start / SLOTS_PER_DAY) * SLOTS_PER_DAY)) - 1;
+        }
+        return free;
+    }
+    
+    /**
+     * Forward checking after a placement: every block it touches keeps at least one start,
+     * and its teacher and classroom keep enough free hours for the rest of their blocks
+     */
+    private boolean propagate(Block placed) {
+        for (Block neighbor : placed.neighbors) {
+            if (neighbor.start < 0 && domain(neighbor) == 0) {
+                return false;
+            }
+        }
+        return (placed.teacher == null || canFinish(placed.teacher))
+            && (placed.classroom == null || canFinish(placed.classroom));
+    }
+    
+    /**
+     * Hours still to place fit in the free slots of the week, within the daily limit
+     */
+    private static boolean canFinish(Resource resource) {
+        int capacity = 0;
+        for (int day = 0; day < DAYS; day++) {
+            int freeSlots = SLOTS_PER_DAY - Long.bitCount(resource.busy & DAY_MASKS[day]);
+            capacity += Math.max(0, Math.min(freeSlots, resource.maxDailyHours - resource.dayHours[day]));
+        }
+        return resource.pendingHours <= capacity;
+    }
+    
+    private void shuffleDays() {
+        for (int i = DAYS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int rank = dayRank[i];
+            dayRank[i] = dayRank[j];
+            dayRank[j] = rank;
+        }
+    }
+    
+    /**
+     * Starts of the domain, least loaded teacher day first, then least used classroom day,
+     * then day rank (shuffled on restart), then earliest
+     */
+    private int[] orderedStarts(Block block, long domain) {
+        int[] starts = new int[Long.bitCount(domain)];
+        long[] keys = new long[starts.length];
+        int count = 0;
+        for (long rest = domain; rest != 0; rest &= rest - 1) {
+            int start = Long.numberOfTrailingZeros(rest);
+            int day = start / SLOTS_PER_DAY;
+            long teacherLoad = block.teacher != null ? block.teacher.dayHours[day] : 0;
+            long classroomLoad = block.classroom != null ? Long.bitCount(block.classroom.busy & DAY_MASKS[day]) : 0;
+            long key = ((teacherLoad * 64 + classroomLoad) * DAYS + dayRank[day]) * 64 + start;
+            // Insertion sort, at most DAYS * SLOTS_PER_DAY starts
+            int i = count++;
+            while (i > 0 && keys[i - 1] > key) {
+                keys[i] = keys[i - 1];
+                starts[i] = starts[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            starts[i] = start;
+        }
+        return starts;
+    }
+    
+    private void place(Block block, int start) {
+        block.start = start;
+        long slots = ((1L << block.hours) - 1) << start;
+        int day = start / SLOTS_PER_DAY;
+        block.section.days |= DAY_MASKS[day];
+        if (block.teacher != null) {
+            block.teacher.busy |= slots;
+            block.teacher.dayHours[day] += block.hours;
+            block.teacher.pendingHours -= block.hours;
+        }
+        if (block.classroom != null) {
+            block.classroom.busy |= slots;
+            block.classroom.pendingHours -= block.hours;
+        }
+    }
+    
+    private void unplace(Block block) {
+        long slots = ((1L << block.hours) - 1) << block.start;
+        int day = block.start / SLOTS_PER_DAY;
+        block.section.days &= ~DAY_MASKS[day];
+        if (block.teacher != null) {
+            block.teacher.busy &= ~slots;
+            block.teacher.dayHours[day] -= block.hours;
+            block.teacher.pendingHours += block.hours;
+        }
+        if (block.classroom != null) {
+            block.classroom.busy &= ~slots;
+            block.classroom.pendingHours += block.hours;
+        }
+        block.start = -1;
+    }
+    
+    /**
+     * Blocks sharing a teacher, classroom or section constrain each other
+     */
+    private void linkNeighbors() {
+        Map<Object, List<Block>> groups = new HashMap<>();
+        for (Block block : blocks) {
+            groups.computeIfAbsent(block.section, k -> new ArrayList<>()).add(block);
+            if (block.teacher != null) {
+                groups.computeIfAbsent(block.teacher, k -> new ArrayList<>()).add(block);
+            }
+            if (block.classroom != null) {
+                groups.computeIfAbsent(block.classroom, k -> new ArrayList<>()).add(block);
+            }
+        }
+        for (Block block : blocks) {
+            Set<Block> neighbors = new LinkedHashSet<>(groups.get(block.section));
+            if (block.teacher != null) {
+                neighbors.addAll(groups.get(block.teacher));
+            }
+            if (block.classroom != null) {
+                neighbors.addAll(groups.get(block.classroom));
+            }
+            neighbors.remove(block);
+            block.neighbors = neighbors.toArray(Block[]::new);
+        }
+    }
+    
+    private static List<Long> overloaded(Map<Long, Resource> resources) {
+        return resources.entrySet().stream()
+            .filter(e -> !canFinish(e.getValue()))
+            .map(Map.Entry::getKey)
+            .sorted()
+            .toList();
+    }
+    
+    private static Resource resource(Map<Long, Resource> resources, Long id) {
+        return id == null ? null : resources.computeIfAbsent(id, k -> new Resource());
+    }
+    
+    /**
+     * Starts j such that a block of the given length starting at j overlaps a busy slot
+     */
+    private static long conflictingStarts(long busy, int hours) {
+        long conflicts = 0L;
+        for (int k = 0; k < hours; k++) {
+            conflicts |= busy >>> k;
+        }
+        return conflicts;
+    }
+    
+    /**
+     * Grid slots an arbitrary meeting overlaps (it may not be aligned on the hour)
+     */
+    private static long touchedSlots(int dayOfWeek, LocalTime start, LocalTime end) {
+        if (dayOfWeek < 1 || dayOfWeek > DAYS) {
+            return 0L;
+        }
+        long slots = 0L;
+        for (int i = 0; i < SLOTS_PER_DAY; i++) {
+            LocalTime slotStart = LocalTime.of(SLOT_HOURS[i], 0);
+            if (start.isBefore(slotStart.plusHours(1)) && end.isAfter(slotStart)) {
+                slots |= 1L << ((dayOfWeek - 1) * SLOTS_PER_DAY + i);
+            }
+        }
+        return slots;
+    }
+    
+    private static int[] slotHours() {
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = DAY_START.getHour(); hour < DAY_END.getHour(); hour++) {
+            LocalTime start = LocalTime.of(hour, 0);
+            if (!(start.isBefore(NoLunchHourValidator.LUNCH_END) && start.plusHours(1).isAfter(NoLunchHourValidator.LUNCH_START))) {
+                hours.add(hour);
+            }
+        }
+        return hours.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    private static long[] dayMasks() {
+        long[] masks = new long[DAYS];
+        for (int day = 0; day < DAYS; day++) {
+            masks[day] = ((1L << SLOTS_PER_DAY) - 1) << (day * SLOTS_PER_DAY);
+        }
+        return masks;
+    }
+    
+    /**
+     * For each block length, the starts whose hours are consecutive on one day (no lunch hour in between)
+     */
+    private static long[] validStarts() {
+        long[] valid = new long[SLOTS_PER_DAY + 1];
+        for (int hours = 1; hours <= SLOTS_PER_DAY; hours++) {
+            for (int day = 0; day < DAYS; day++) {
+                for (int i = 0; i + hours <= SLOTS_PER_DAY; i++) {
+                    if (SLOT_HOURS[i + hours - 1] == SLOT_HOURS[i] + hours - 1) {
+                        valid[hours] |= 1L << (day * SLOTS_PER_DAY + i);
+                    }
+                }
+            }
+        }
+        return valid;
+    }
+    
+    /**
+     * Weekly occupancy of a teacher or classroom
+     */
+    private static class Resource {
+        private long busy;
+        private int maxDailyHours = Integer.MAX_VALUE / 2;
+        private final long[] existingMinutes = new long[DAYS];
+        private final int[] dayHours = new int[DAYS];
+        private int pendingHours;
+    }
+    
+    /**
+     * Days already used by a section
+     */
+    private static class SectionState {
+        private final Long sectionId;
+        private long days;
+        
+        private SectionState(Long sectionId) {
+            this.sectionId = sectionId;
+        }
+    }
+    
+    /**
+     * One meeting to place: a run of consecutive hours on one day
+     */
+    private static class Block {
+        private final SectionState section;
+        private final Resource teacher;
+        private final Resource classroom;
+        private final int hours;
+        private Block previous;
+        private Block next;
+        private Block[] neighbors = new Block[0];
+        private int start = -1;
+        
+        private Block(SectionState section, Resource teacher, Resource classroom, int hours) {
+            this.section = section;
+            this.teacher = teacher;
+            this.classroom = classroom;
+            this.hours = hours;
+        }
+    }
+}
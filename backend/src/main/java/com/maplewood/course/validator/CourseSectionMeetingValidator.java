@@ -1,8 +1,12 @@
 package com.maplewood.course.validator;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.maplewood.common.metrics.ValidatorMetrics;
+import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.entity.CourseSectionMeeting;
 import com.maplewood.course.validator.courseSectionMeeting.CourseHoursTypeValidator;
 import com.maplewood.course.validator.courseSectionMeeting.HoursValidationValidator;
@@ -24,10 +28,18 @@ import com.maplewood.course.validator.courseSectionMeeting.UniquenessValidator;
  * 5. Hours Validation - Total meeting hours matches course.hoursPerWeek
  * 6. Schedule Conflicts - No teacher or classroom conflicts
  * 7. Teacher Daily Hours - Teacher daily hours <= maxDailyHours
+ * 
+ * Each validator call is timed by ValidatorMetrics (chain=meeting, chain=meetingPattern for whole weekly patterns)
  */
 @Component
 public class CourseSectionMeetingValidator {
     
+    private static final String METRICS_CHAIN = "meeting";
+    private static final String PATTERN_METRICS_CHAIN = "meetingPattern";
+    
+    @Autowired
+    private ValidatorMetrics validatorMetrics;
+    
     @Autowired
     private UniquenessValidator uniquenessValidator;
     
@@ -53,12 +65,27 @@ public class CourseSectionMeetingValidator {
      * Main validation method - delegates to all specialized validators
      */
     public void validate(CourseSectionMeeting meeting) {
-        uniquenessValidator.validate(meeting);
-        timeWindowValidator.validate(meeting);
-        noLunchHourValidator.validate(meeting);
-        courseHoursTypeValidator.validate(meeting);
-        hoursValidationValidator.validate(meeting);
-        scheduleConflictMeetingValidator.validate(meeting);
-        teacherDailyHoursValidator.validate(meeting);
+        validatorMetrics.time(METRICS_CHAIN, "uniqueness", () -> uniquenessValidator.validate(meeting));
+        validatorMetrics.time(METRICS_CHAIN, "timeWindow", () -> timeWindowValidator.validate(meeting));
+        validatorMetrics.time(METRICS_CHAIN, "noLunchHour", () -> noLunchHourValidator.validate(meeting));
+        validatorMetrics.time(METRICS_CHAIN, "courseHoursType", () -> courseHoursTypeValidator.validate(meeting));
+        validatorMetrics.time(METRICS_CHAIN, "hoursValidation", () -> hoursValidationValidator.validate(meeting));
+        validatorMetrics.time(METRICS_CHAIN, "scheduleConflict", () -> scheduleConflictMeetingValidator.validate(meeting));
+        validatorMetrics.time(METRICS_CHAIN, "teacherDailyHours", () -> teacherDailyHoursValidator.validate(meeting));
+    }
+    
+    /**
+     * Validate a section's whole weekly pattern, which replaces its current meetings
+     * Same rules, checked on the final pattern at once: against one load of the teacher's and classroom's
+     * schedules instead of once per meeting, and independent of the order of the meetings
+     */
+    public void validatePattern(CourseSection section, List<CourseSectionMeeting> meetings) {
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "uniqueness", () -> uniquenessValidator.validatePattern(meetings));
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "timeWindow", () -> meetings.forEach(timeWindowValidator::validate));
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "noLunchHour", () -> meetings.forEach(noLunchHourValidator::validate));
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "courseHoursType", () -> meetings.forEach(courseHoursTypeValidator::validate));
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "hoursValidation", () -> hoursValidationValidator.validatePattern(section, meetings));
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "scheduleConflict", () -> scheduleConflictMeetingValidator.validatePattern(section, meetings));
+        validatorMetrics.time(PATTERN_METRICS_CHAIN, "teacherDailyHours", () -> teacherDailyHoursValidator.validatePattern(section, meetings));
     }
 }
@@ -53,10 +53,30 @@ public class HoursValidationValidator {
         
         // Add new meeting duration
         long newMeetingMinutes = Duration.between(meeting.getStartTime(), meeting.getEndTime()).toMinutes();
-        long totalWithNew = totalMinutes + newMeetingMinutes;
+        checkTotal(totalMinutes + newMeetingMinutes, maxHoursPerWeek);
+    }
+    
+    /**
+     * Validate a section's whole weekly pattern: its meetings alone (no query), as they replace the current ones
+     */
+    public void validatePattern(CourseSection section, List<CourseSectionMeeting> meetings) {
+        if (section.getCourse() == null) {
+            throw new IllegalArgumentException("Section must have a course");
+        }
+        Integer maxHoursPerWeek = section.getCourse().getHoursPerWeek();
+        if (maxHoursPerWeek == null) {
+            throw new IllegalArgumentException("Course must have hoursPerWeek defined");
+        }
         
+        long totalMinutes = meetings.stream()
+            .mapToLong(m -> Duration.between(m.getStartTime(), m.getEndTime()).toMinutes())
+            .sum();
+        checkTotal(totalMinutes, maxHoursPerWeek);
+    }
+    
+    private static void checkTotal(long totalMinutes, int maxHoursPerWeek) {
         // Convert to hours
-        int totalHours = (int) Math.ceil(totalWithNew / 60.0);
+        int totalHours = (int) Math.ceil(totalMinutes / 60.0);
         
         if (totalHours > maxHoursPerWeek) {
             throw new IllegalArgumentException(
@@ -13,9 +13,12 @@ import com.maplewood.course.entity.CourseSectionMeeting;
 @Component
 public class NoLunchHourValidator {
     
+    public static final LocalTime LUNCH_START = LocalTime.of(12, 0);  // 12:00 PM
+    public static final LocalTime LUNCH_END = LocalTime.of(13, 0);    // 1:00 PM
+    
     public void validate(CourseSectionMeeting meeting) {
-        LocalTime lunchStart = LocalTime.of(12, 0);  // 12:00 PM
-        LocalTime lunchEnd = LocalTime.of(13, 0);    // 1:00 PM
+        LocalTime lunchStart = LUNCH_START;
+        LocalTime lunchEnd = LUNCH_END;
         
         LocalTime meetingStart = meeting.getStartTime();
         LocalTime meetingEnd = meeting.getEndTime();
@@ -6,67 +6,98 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.entity.CourseSectionMeeting;
-import com.maplewood.course.repository.CourseSectionMeetingRepository;
+import com.maplewood.course.service.ScheduleOccupancyIndex;
+import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Teacher;
 
 /**
  * Validator for schedule conflicts
  * Ensures teacher cannot teach 2 sections at same time
  * Ensures classroom cannot have 2 sections at same time
+ * Conflicts are scoped to the section's semester and answered by the occupancy index (no SQL)
  */
 @Component
 public class ScheduleConflictMeetingValidator {
     
     @Autowired
-    private CourseSectionMeetingRepository repository;
+    private ScheduleOccupancyIndex occupancyIndex;
     
     public void validate(CourseSectionMeeting meeting) {
         if (meeting.getSection() == null) {
             throw new IllegalArgumentException("Section must be provided");
         }
         
-        // Check teacher conflicts
-        Teacher teacher = meeting.getSection().getTeacher();
-        if (teacher != null) {
-            List<CourseSectionMeeting> teacherMeetings = repository.findBySection_Teacher(teacher);
-            // Exclude current meeting if updating
-            if (meeting.getId() != null) {
-                teacherMeetings = teacherMeetings.stream()
-                    .filter(m -> !m.getId().equals(meeting.getId()))
-                    .toList();
-            }
-            boolean hasConflict = teacherMeetings.stream()
-                .anyMatch(m -> m.overlaps(meeting));
-            
-            if (hasConflict) {
-                throw new ScheduleConflictException(
-                    "Teacher " + teacher.getFirstName() + " " + teacher.getLastName() + 
-                    " already has a conflicting meeting at this time"
-                );
-            }
+        CourseSection section = meeting.getSection();
+        if (section.getSemester() == null) {
+            throw new IllegalArgumentException("Section must have semester defined");
+        }
+        Long semesterId = section.getSemester().getId();
+        
+        // Check teacher conflicts (current meeting is excluded when updating)
+        Teacher teacher = section.getTeacher();
+        if (teacher != null && occupancyIndex.isTeacherBooked(
+                semesterId, teacher.getId(), meeting.getDayOfWeek(),
+                meeting.getStartTime(), meeting.getEndTime(), meeting.getId())) {
+            throw teacherConflict(teacher);
         }
         
         // Check classroom conflicts
-        if (meeting.getSection().getClassroom() != null) {
-            List<CourseSectionMeeting> classroomMeetings = repository.findBySection_Classroom(
-                meeting.getSection().getClassroom()
-            );
-            // Exclude current meeting if updating
-            if (meeting.getId() != null) {
-                classroomMeetings = classroomMeetings.stream()
-                    .filter(m -> !m.getId().equals(meeting.getId()))
-                    .toList();
+        Classroom classroom = section.getClassroom();
+        if (classroom != null && occupancyIndex.isClassroomBooked(
+                semesterId, classroom.getId(), meeting.getDayOfWeek(),
+                meeting.getStartTime(), meeting.getEndTime(), meeting.getId())) {
+            throw classroomConflict(classroom);
+        }
+    }
+    
+    /**
+     * Validate a section's whole weekly pattern: its meetings must not overlap each other,
+     * nor meetings of other sections (the section's current meetings are replaced, so they are ignored)
+     */
+    public void validatePattern(CourseSection section, List<CourseSectionMeeting> meetings) {
+        if (section.getSemester() == null) {
+            throw new IllegalArgumentException("Section must have semester defined");
+        }
+        Long semesterId = section.getSemester().getId();
+        Teacher teacher = section.getTeacher();
+        Classroom classroom = section.getClassroom();
+        
+        for (int i = 0; i < meetings.size(); i++) {
+            CourseSectionMeeting meeting = meetings.get(i);
+            for (CourseSectionMeeting other : meetings.subList(i + 1, meetings.size())) {
+                if (meeting.overlaps(other)) {
+                    throw new ScheduleConflictException(
+                        "Meetings of the pattern overlap on " + meeting.getDayOfWeekEnum() + 
+                        " (" + meeting.getStartTime() + " and " + other.getStartTime() + ")"
+                    );
+                }
             }
-            boolean hasConflict = classroomMeetings.stream()
-                .anyMatch(m -> m.overlaps(meeting));
-            
-            if (hasConflict) {
-                throw new ScheduleConflictException(
-                    "Classroom " + meeting.getSection().getClassroom().getName() + 
-                    " is already booked at this time"
-                );
+            if (teacher != null && occupancyIndex.isTeacherBookedOutsideSection(
+                    semesterId, teacher.getId(), meeting.getDayOfWeek(),
+                    meeting.getStartTime(), meeting.getEndTime(), section.getId())) {
+                throw teacherConflict(teacher);
+            }
+            if (classroom != null && occupancyIndex.isClassroomBookedOutsideSection(
+                    semesterId, classroom.getId(), meeting.getDayOfWeek(),
+                    meeting.getStartTime(), meeting.getEndTime(), section.getId())) {
+                throw classroomConflict(classroom);
             }
         }
     }
+    
+    private static ScheduleConflictException teacherConflict(Teacher teacher) {
+        return new ScheduleConflictException(
+            "Teacher " + teacher.getFirstName() + " " + teacher.getLastName() + 
+            " already has a conflicting meeting at this time"
+        );
+    }
+    
+    private static ScheduleConflictException classroomConflict(Classroom classroom) {
+        return new ScheduleConflictException(
+            "Classroom " + classroom.getName() + 
+            " is already booked at this time"
+        );
+    }
 }
@@ -2,11 +2,15 @@ package com.maplewood.course.validator.courseSectionMeeting;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.maplewood.common.enums.DayOfWeek;
 import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.entity.CourseSectionMeeting;
 import com.maplewood.course.repository.CourseSectionMeetingRepository;
 import com.maplewood.school.entity.Teacher;
@@ -48,14 +52,40 @@ public class TeacherDailyHoursValidator {
         
         // Add new meeting
         long newMeetingMinutes = Duration.between(meeting.getStartTime(), meeting.getEndTime()).toMinutes();
-        long totalWithNew = totalMinutesOnDay + newMeetingMinutes;
+        checkDay(totalMinutesOnDay + newMeetingMinutes, maxDaily, meeting.getDayOfWeekEnum());
+    }
+    
+    /**
+     * Validate a section's whole weekly pattern against one load of the teacher's other meetings
+     * (the section's current meetings are replaced, so they are not counted)
+     */
+    public void validatePattern(CourseSection section, List<CourseSectionMeeting> meetings) {
+        Teacher teacher = section.getTeacher();
+        if (teacher == null || teacher.getMaxDailyHours() == null || meetings.isEmpty()) {
+            return;  // No limit defined, or nothing to add
+        }
+        
+        // Minutes of the pattern per day, then what the teacher already teaches on those days
+        Map<Integer, Long> minutesByDay = new TreeMap<>();
+        meetings.forEach(m -> minutesByDay.merge(m.getDayOfWeek(), minutes(m), Long::sum));
+        repository.findBySection_TeacherAndSection_IdNot(teacher, section.getId()).stream()
+            .filter(m -> minutesByDay.containsKey(m.getDayOfWeek()))
+            .forEach(m -> minutesByDay.merge(m.getDayOfWeek(), minutes(m), Long::sum));
         
-        int totalHoursOnDay = (int) Math.ceil(totalWithNew / 60.0);
+        minutesByDay.forEach((day, total) -> checkDay(total, teacher.getMaxDailyHours(), DayOfWeek.fromDayValue(day)));
+    }
+    
+    private static long minutes(CourseSectionMeeting meeting) {
+        return Duration.between(meeting.getStartTime(), meeting.getEndTime()).toMinutes();
+    }
+    
+    private static void checkDay(long totalMinutes, int maxDaily, DayOfWeek day) {
+        int totalHoursOnDay = (int) Math.ceil(totalMinutes / 60.0);
         
         if (totalHoursOnDay > maxDaily) {
             throw new ScheduleConflictException(
                 "Teacher would exceed maximum daily hours (" + totalHoursOnDay + 
-                " > " + maxDaily + ") on " + meeting.getDayOfWeekEnum()
+                " > " + maxDaily + ") on " + day
             );
         }
     }
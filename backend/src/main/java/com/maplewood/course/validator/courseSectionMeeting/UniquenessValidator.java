@@ -1,6 +1,10 @@
 package com.maplewood.course.validator.courseSectionMeeting;
 
+import java.time.LocalTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -42,4 +46,20 @@ public class UniquenessValidator {
             );
         }
     }
+    
+    /**
+     * Validate a section's whole weekly pattern: no day/start time listed twice
+     * The section's current meetings are replaced, so only the pattern itself is checked
+     */
+    public void validatePattern(List<CourseSectionMeeting> meetings) {
+        Set<Map.Entry<Integer, LocalTime>> slots = new HashSet<>();
+        for (CourseSectionMeeting meeting : meetings) {
+            if (!slots.add(Map.entry(meeting.getDayOfWeek(), meeting.getStartTime()))) {
+                throw new IllegalArgumentException(
+                    "Meeting listed twice for this section on " + meeting.getDayOfWeekEnum() + 
+                    " at " + meeting.getStartTime()
+                );
+            }
+        }
+    }
 }
@@ -12,12 +12,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.maplewood.common.dto.BatchEnrollmentRequestDTO;
+import com.maplewood.common.dto.BatchEnrollmentResponseDTO;
 import com.maplewood.common.dto.CreateEnrollmentDTO;
 import com.maplewood.common.dto.EnrollmentDTO;
 import com.maplewood.common.dto.UpdateEnrollmentDTO;
+import com.maplewood.common.dto.WaitlistPositionDTO;
+import com.maplewood.enrollment.service.BatchEnrollmentService;
 import com.maplewood.enrollment.service.CurrentEnrollmentService;
+import com.maplewood.enrollment.service.SectionWaitlistService;
 
 import jakarta.validation.Valid;
 
@@ -32,6 +38,12 @@ public class CurrentEnrollmentController {
     @Autowired
     private CurrentEnrollmentService enrollmentService;
     
+    @Autowired
+    private BatchEnrollmentService batchEnrollmentService;
+    
+    @Autowired
+    private SectionWaitlistService waitlistService;
+    
     /**
      * POST /api/v1/enrollments
      * Create a new enrollment
@@ -50,6 +62,52 @@ public class CurrentEnrollmentController {
         return new ResponseEntity<>(enrollment, HttpStatus.CREATED);
     }
     
+    /**
+     * POST /api/v1/enrollments/batch
+     * Create many enrollments at once (cohort registration, imports)
+     * 
+     * Same validations as single enrollment, applied per item.
+     * Always 200: each item reports CREATED or FAILED with the matching error type
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchEnrollmentResponseDTO> createEnrollments(@Valid @RequestBody BatchEnrollmentRequestDTO request) {
+        BatchEnrollmentResponseDTO response = batchEnrollmentService.createEnrollments(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * POST /api/v1/enrollments/waitlist
+     * Join the waitlist of a full section
+     * 
+     * Same validations as enrollment, except capacity: the section must be full.
+     * The first eligible student of the queue is enrolled as soon as someone drops the section
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistPositionDTO> joinWaitlist(@Valid @RequestBody CreateEnrollmentDTO request) {
+        WaitlistPositionDTO position = waitlistService.join(request.sectionId(), request.studentId());
+        return new ResponseEntity<>(position, HttpStatus.CREATED);
+    }
+    
+    /**
+     * GET /api/v1/enrollments/waitlist?studentId=X&sectionId=Y
+     * Position of a student in a section's waitlist
+     */
+    @GetMapping("/waitlist")
+    public ResponseEntity<WaitlistPositionDTO> getWaitlistPosition(@RequestParam Long studentId, @RequestParam Long sectionId) {
+        WaitlistPositionDTO position = waitlistService.getPosition(sectionId, studentId);
+        return ResponseEntity.ok(position);
+    }
+    
+    /**
+     * DELETE /api/v1/enrollments/waitlist?studentId=X&sectionId=Y
+     * Leave a section's waitlist
+     */
+    @DeleteMapping("/waitlist")
+    public ResponseEntity<Void> leaveWaitlist(@RequestParam Long studentId, @RequestParam Long sectionId) {
+        waitlistService.leave(sectionId, studentId);
+        return ResponseEntity.noContent().build();
+    }
+    
     /**
      * PUT /api/v1/enrollments/{id}
      * Update an existing enrollment
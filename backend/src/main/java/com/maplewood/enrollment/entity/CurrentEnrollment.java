@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NamedEntityGraph;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.maplewood.common.enums.EnrollmentStatus;
@@ -13,6 +14,7 @@ import com.maplewood.student.entity.Student;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -24,8 +26,13 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@NamedEntityGraph(name = "CurrentEnrollment.withDetails", graph =
+    "student, semester, " +
+    "courseSection(course(specialization(roomType), prerequisite(specialization(roomType))), " +
+    "teacher(specialization(roomType)), classroom(roomType), semester)")
 @Table(name = "current_enrollments", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_section_id", "semester_id"}))
 @Data
@@ -37,15 +44,18 @@ public class CurrentEnrollment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "course_section_id", nullable = false)
     private CourseSection courseSection;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "semester_id", nullable = false)
     private Semester semester;
     
@@ -64,4 +74,17 @@ public class CurrentEnrollment {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CurrentEnrollment other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return CurrentEnrollment.class.hashCode();
+    }
 }
@@ -0,0 +1,67 @@
+package com.maplewood.enrollment.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.student.entity.Student;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A student waiting for a seat in a full section
+ * Entries of a section are served in ID order (first come, first served)
+ */
+@Entity
+@Table(name = "section_waitlist",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"course_section_id", "student_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionWaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_section_id", nullable = false)
+    private CourseSection courseSection;
+    
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof SectionWaitlistEntry other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return SectionWaitlistEntry.class.hashCode();
+    }
+}
@@ -1,8 +1,10 @@
 package com.maplewood.enrollment.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,13 +20,22 @@ import com.maplewood.student.entity.Student;
  * Repository for CurrentEnrollment entity
  * Provides database operations for student's current semester enrollments
  * Critical for enrollment validation (course limit, schedule conflicts, etc.)
+ * Listing finders fetch the CurrentEnrollment.withDetails graph, validation queries fetch only section and course
  */
 @Repository
 public interface CurrentEnrollmentRepository extends JpaRepository<CurrentEnrollment, Long> {
     
+    /**
+     * Enrollment by ID
+     */
+    @Override
+    @EntityGraph("CurrentEnrollment.withDetails")
+    Optional<CurrentEnrollment> findById(Long id);
+    
     /**
      * Find all enrollments for a student
      */
+    @EntityGraph("CurrentEnrollment.withDetails")
     List<CurrentEnrollment> findByStudent(Student student);
     
     /**
@@ -39,14 +50,29 @@ public interface CurrentEnrollmentRepository extends JpaRepository<CurrentEnroll
     @Query("SELECT COUNT(ce) FROM CurrentEnrollment ce WHERE ce.student.id = :studentId AND ce.courseSection.semester.id = :semesterId")
     long countByStudent_IdAndCourseSection_Semester_Id(@Param("studentId") Long studentId, @Param("semesterId") Long semesterId);
     
+    /**
+     * Find all enrollments for a student in a section's semester, with section and course fetched
+     * Single query used to build the enrollment validation context
+     */
+    @Query("SELECT ce FROM CurrentEnrollment ce JOIN FETCH ce.courseSection cs JOIN FETCH cs.course WHERE ce.student.id = :studentId AND cs.semester.id = :semesterId")
+    List<CurrentEnrollment> findWithSectionByStudent_IdAndCourseSection_Semester_Id(@Param("studentId") Long studentId, @Param("semesterId") Long semesterId);
+    
+    /**
+     * Same as above for many students at once (batch enrollment validation)
+     */
+    @Query("SELECT ce FROM CurrentEnrollment ce JOIN FETCH ce.courseSection cs JOIN FETCH cs.course WHERE ce.student.id IN :studentIds AND cs.semester.id = :semesterId")
+    List<CurrentEnrollment> findWithSectionByStudent_IdInAndCourseSection_Semester_Id(@Param("studentIds") Collection<Long> studentIds, @Param("semesterId") Long semesterId);
+    
     /**
      * Find all enrollments for a student in a specific semester
      */
+    @EntityGraph("CurrentEnrollment.withDetails")
     List<CurrentEnrollment> findByStudentAndSemester(Student student, Semester semester);
     
     /**
      * Find specific enrollment record
      */
+    @EntityGraph("CurrentEnrollment.withDetails")
     Optional<CurrentEnrollment> findByStudentAndCourseSection(Student student, CourseSection courseSection);
     
     /**
@@ -69,16 +95,19 @@ public interface CurrentEnrollmentRepository extends JpaRepository<CurrentEnroll
      * Get all active enrollments for a student in a semester
      */
     @Query("SELECT ce FROM CurrentEnrollment ce WHERE ce.student = :student AND ce.semester = :semester AND ce.status = :status")
+    @EntityGraph("CurrentEnrollment.withDetails")
     List<CurrentEnrollment> findByStudentAndSemesterAndStatus(@Param("student") Student student, @Param("semester") Semester semester, @Param("status") EnrollmentStatus status);
     
     /**
      * Find enrollments by status
      */
+    @EntityGraph("CurrentEnrollment.withDetails")
     List<CurrentEnrollment> findByStatus(EnrollmentStatus status);
     
     /**
      * Find all enrollments in a semester
      */
+    @EntityGraph("CurrentEnrollment.withDetails")
     List<CurrentEnrollment> findBySemester(Semester semester);
     
     /**
@@ -89,6 +118,7 @@ public interface CurrentEnrollmentRepository extends JpaRepository<CurrentEnroll
     /**
      * Find all enrollments for a specific course section
      */
+    @EntityGraph("CurrentEnrollment.withDetails")
     List<CurrentEnrollment> findByCourseSection(CourseSection courseSection);
     
     /**
@@ -0,0 +1,46 @@
+package com.maplewood.enrollment.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.maplewood.enrollment.entity.SectionWaitlistEntry;
+
+@Repository
+public interface SectionWaitlistRepository extends JpaRepository<SectionWaitlistEntry, Long> {
+    
+    /**
+     * Waitlist of a section in queue order (loads SectionWaitlistIndex, reads student IDs only)
+     */
+    List<SectionWaitlistEntry> findByCourseSection_IdOrderByIdAsc(Long sectionId);
+    
+    /**
+     * Waitlist of a section in queue order with students fetched (promotion validates each of them)
+     */
+    @Query("SELECT w FROM SectionWaitlistEntry w JOIN FETCH w.student WHERE w.courseSection.id = :sectionId ORDER BY w.id")
+    List<SectionWaitlistEntry> findWithStudentByCourseSection_Id(@Param("sectionId") Long sectionId);
+    
+    /**
+     * Entry of a student in a section's waitlist
+     */
+    Optional<SectionWaitlistEntry> findByCourseSection_IdAndStudent_Id(Long sectionId, Long studentId);
+    
+    /**
+     * Delete every entry of a student in one statement (student deleted)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SectionWaitlistEntry w WHERE w.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+    
+    /**
+     * Delete a section's whole waitlist in one statement (section deleted)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SectionWaitlistEntry w WHERE w.courseSection.id = :sectionId")
+    int deleteBySectionId(@Param("sectionId") Long sectionId);
+}
@@ -0,0 +1,233 @@
+package com.maplewood.enrollment.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maplewood.common.dto.BatchEnrollmentRequestDTO;
+import com.maplewood.common.dto.BatchEnrollmentResponseDTO;
+import com.maplewood.common.dto.BatchEnrollmentResultDTO;
+import com.maplewood.common.dto.CreateEnrollmentDTO;
+import com.maplewood.common.exception.DuplicateResourceException;
+import com.maplewood.common.exception.EnrollmentValidationException;
+import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.course.service.SectionAvailabilityStream;
+import com.maplewood.course.service.SectionSeatAllocator;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.mapper.CurrentEnrollmentMapper;
+import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
+import com.maplewood.enrollment.validator.EnrollmentValidationContextLoader;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentRepository;
+
+/**
+ * Service for bulk enrollment (cohort registration, nightly import)
+ *
+ * - Students, sections and validation state are loaded once for the whole batch
+ * - Items are grouped by section so each section's enrollmentCount is written once per chunk
+ * - Seats are claimed from SectionSeatAllocator, like single enrollments
+ * - Section groups are committed in chunks of CHUNK_SIZE items, one transaction per chunk
+ * - Every item gets its own result; a failed item never fails the batch
+ */
+@Service
+public class BatchEnrollmentService {
+    
+    static final int CHUNK_SIZE = 500;
+    
+    @Autowired
+    private CurrentEnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private CourseSectionRepository sectionRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CurrentEnrollmentValidator validator;
+    
+    @Autowired
+    private EnrollmentValidationContextLoader contextLoader;
+    
+    @Autowired
+    private SectionSeatAllocator seatAllocator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private SectionAvailabilityStream availabilityStream;
+    
+    /**
+     * Enrollment created in the current chunk, not yet committed
+     */
+    private record Pending(int index, CurrentEnrollment enrollment, EnrollmentValidationContext context) {}
+    
+    /**
+     * Create many enrollments, reporting success or failure per item
+     */
+    public BatchEnrollmentResponseDTO createEnrollments(BatchEnrollmentRequestDTO request) {
+        List<CreateEnrollmentDTO> items = request.enrollments();
+        BatchEnrollmentResultDTO[] results = new BatchEnrollmentResultDTO[items.size()];
+        
+        Map<Long, Student> students = studentRepository.findAllById(
+                items.stream().map(CreateEnrollmentDTO::studentId).collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, CourseSection> sections = sectionRepository.findForValidationByIdIn(
+                items.stream().map(CreateEnrollmentDTO::sectionId).collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(CourseSection::getId, Function.identity()));
+        
+        // Group resolvable items by section (request order kept inside each group)
+        Map<Long, List<Integer>> indexesBySection = new LinkedHashMap<>();
+        Map<Long, Set<Long>> studentIdsBySemester = new HashMap<>();
+        Map<Long, Set<Long>> sectionIdsBySemester = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            CreateEnrollmentDTO item = items.get(i);
+            CourseSection section = sections.get(item.sectionId());
+            if (!students.containsKey(item.studentId())) {
+                results[i] = failed(i, item, new IllegalArgumentException("Student not found with ID: " + item.studentId()));
+            } else if (section == null) {
+                results[i] = failed(i, item, new IllegalArgumentException("Section not found with ID: " + item.sectionId()));
+            } else if (section.getSemester() == null) {
+                results[i] = failed(i, item, new IllegalArgumentException("Section must have semester defined"));
+            } else {
+                Long semesterId = section.getSemester().getId();
+                indexesBySection.computeIfAbsent(section.getId(), k -> new ArrayList<>()).add(i);
+                studentIdsBySemester.computeIfAbsent(semesterId, k -> new HashSet<>()).add(item.studentId());
+                sectionIdsBySemester.computeIfAbsent(semesterId, k -> new HashSet<>()).add(section.getId());
+            }
+        }
+        
+        // Shared in-memory view: one validation context per student and semester
+        Map<Long, Map<Long, EnrollmentValidationContext>> contextsBySemester = new HashMap<>();
+        studentIdsBySemester.forEach((semesterId, studentIds) -> contextsBySemester.put(
+            semesterId, contextLoader.loadForStudents(studentIds, semesterId, sectionIdsBySemester.get(semesterId))));
+        
+        List<Long> chunk = new ArrayList<>();
+        int chunkItems = 0;
+        for (Map.Entry<Long, List<Integer>> group : indexesBySection.entrySet()) {
+            chunk.add(group.getKey());
+            chunkItems += group.getValue().size();
+            if (chunkItems >= CHUNK_SIZE) {
+                processChunk(chunk, indexesBySection, items, students, sections, contextsBySemester, results);
+                chunk = new ArrayList<>();
+                chunkItems = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, indexesBySection, items, students, sections, contextsBySemester, results);
+        }
+        
+        int created = (int) Arrays.stream(results)
+            .filter(r -> BatchEnrollmentResultDTO.CREATED.equals(r.status()))
+            .count();
+        return new BatchEnrollmentResponseDTO(items.size(), created, items.size() - created, Arrays.asList(results));
+    }
+    
+    /**
+     * Validate and save the items of a few section groups in one transaction
+     * If the transaction fails, every item of the chunk fails and its seats go back to the allocator
+     */
+    private void processChunk(List<Long> sectionIds,
+                              Map<Long, List<Integer>> indexesBySection,
+                              List<CreateEnrollmentDTO> items,
+                              Map<Long, Student> students,
+                              Map<Long, CourseSection> sections,
+                              Map<Long, Map<Long, EnrollmentValidationContext>> contextsBySemester,
+                              BatchEnrollmentResultDTO[] results) {
+        List<Pending> pending = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Fresh sections so capacity validation sees the committed count
+                Map<Long, CourseSection> managed = sectionRepository.findForValidationByIdIn(sectionIds).stream()
+                    .collect(Collectors.toMap(CourseSection::getId, Function.identity()));
+                
+                for (Long sectionId : sectionIds) {
+                    CourseSection section = managed.getOrDefault(sectionId, sections.get(sectionId));
+                    Map<Long, EnrollmentValidationContext> contexts = contextsBySemester.get(section.getSemester().getId());
+                    
+                    for (int index : indexesBySection.get(sectionId)) {
+                        CreateEnrollmentDTO item = items.get(index);
+                        CurrentEnrollment enrollment = CurrentEnrollmentMapper.toEntityFromCreate(
+                            item, students.get(item.studentId()), section);
+                        EnrollmentValidationContext context = contexts.get(item.studentId());
+                        try {
+                            validator.validate(enrollment, context.forSection(section));
+                        } catch (RuntimeException e) {
+                            results[index] = failed(index, item, e);
+                            continue;
+                        }
+                        if (!seatAllocator.tryReserve(sectionId)) {
+                            results[index] = failed(index, item, new ScheduleConflictException(
+                                "Section has reached maximum capacity (" + section.getCapacity() + " students)"));
+                            continue;
+                        }
+                        context.recordEnrollment(enrollment);
+                        pending.add(new Pending(index, enrollment, context));
+                    }
+                }
+                
+                enrollmentRepository.saveAll(pending.stream().map(Pending::enrollment).toList());
+                pending.stream()
+                    .collect(Collectors.groupingBy(p -> p.enrollment().getCourseSection().getId(), Collectors.counting()))
+                    .forEach((sectionId, count) -> {
+                        if (sectionRepository.adjustEnrollmentCount(sectionId, count.intValue()) == 0) {
+                            throw new ScheduleConflictException(
+                                "Section " + sectionId + " has no room left for " + count + " more students");
+                        }
+                        availabilityStream.publishAfterCommit(sectionId);
+                    });
+                catalogVersions.bump(CatalogResource.SECTIONS);
+            });
+            pending.forEach(p -> results[p.index()] = BatchEnrollmentResultDTO.created(
+                p.index(), items.get(p.index()), p.enrollment().getId()));
+        } catch (RuntimeException e) {
+            pending.forEach(p -> {
+                p.context().forgetEnrollment(p.enrollment());
+                results[p.index()] = failed(p.index(), items.get(p.index()), e);
+            });
+        }
+    }
+    
+    /**
+     * Failed result with the same error type GlobalExceptionHandler would report for a single enrollment
+     */
+    private static BatchEnrollmentResultDTO failed(int index, CreateEnrollmentDTO item, RuntimeException e) {
+        String errorType;
+        if (e instanceof EnrollmentValidationException validation) {
+            errorType = validation.getErrorType();
+        } else if (e instanceof DuplicateResourceException) {
+            errorType = "Duplicate Resource";
+        } else if (e instanceof ScheduleConflictException) {
+            errorType = "Schedule Conflict";
+        } else if (e instanceof ResourceNotFoundException) {
+            errorType = "Resource Not Found";
+        } else if (e instanceof IllegalArgumentException) {
+            errorType = "Invalid Argument";
+        } else {
+            errorType = "Internal Server Error";
+        }
+        return BatchEnrollmentResultDTO.failed(index, item, errorType, e.getMessage());
+    }
+}
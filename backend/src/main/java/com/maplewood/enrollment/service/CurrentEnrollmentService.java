@@ -10,9 +10,12 @@ import com.maplewood.common.dto.CreateEnrollmentDTO;
 import com.maplewood.common.dto.EnrollmentDTO;
 import com.maplewood.common.dto.UpdateEnrollmentDTO;
 import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.repository.CourseSectionRepository;
-import com.maplewood.course.service.CourseSectionService;
+import com.maplewood.course.service.SectionAvailabilityStream;
+import com.maplewood.course.service.SectionSeatAllocator;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
 import com.maplewood.enrollment.mapper.CurrentEnrollmentMapper;
 import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
@@ -20,8 +23,6 @@ import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
 import com.maplewood.student.entity.Student;
 import com.maplewood.student.repository.StudentRepository;
 
-import jakarta.persistence.OptimisticLockException;
-
 /**
  * Service for managing current semester enrollments
  * Handles enrollment creation, updates, and retrieval with validation
@@ -36,7 +37,7 @@ public class CurrentEnrollmentService {
     private CourseSectionRepository sectionRepository;
     
     @Autowired
-    private CourseSectionService courseSectionService;
+    private SectionSeatAllocator seatAllocator;
     
     @Autowired
     private StudentRepository studentRepository;
@@ -44,69 +45,72 @@ public class CurrentEnrollmentService {
     @Autowired
     private CurrentEnrollmentValidator validator;
     
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private SectionWaitlistService waitlistService;
+    
+    @Autowired
+    private SectionAvailabilityStream availabilityStream;
+    
     /**
      * Create a new enrollment from DTO
      * Validates prerequisites, capacity, schedule conflicts, etc.
-     * Handles concurrent enrollments with optimistic locking + retry
      * 
-     * If 2+ students enroll simultaneously at capacity 1:
-     * - Both pass validation (both see capacity = 1, enrollment_count = 0)
-     * - First student saves → enrollment_count = 1, version = 2
-     * - Second student retries → validation fails (capacity now exceeded)
+     * Concurrent enrollments are arbitrated by SectionSeatAllocator:
+     * - Each request claims a seat from the section's atomic counter before writing
+     * - Once seats run out, later requests fail right away with "section full"
+     * - The count is written with an atomic UPDATE, so there is no optimistic lock to retry
+     * - If the transaction rolls back, the seat goes back to the counter
      */
     @Transactional
     public EnrollmentDTO createEnrollmentFromDTO(CreateEnrollmentDTO createDTO) {
-        return createEnrollmentWithRetry(createDTO, 0);
-    }
-    
-    /**
-     * Recursive retry logic for enrollment creation
-     * Max 3 retries to handle transient OptimisticLockException
-     */
-    private EnrollmentDTO createEnrollmentWithRetry(CreateEnrollmentDTO createDTO, int attempt) {
-        final int MAX_RETRIES = 3;
+        Student student = studentRepository.findById(createDTO.studentId())
+            .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + createDTO.studentId()));
         
-        try {
-            // Load dependencies (fresh from DB each retry)
-            Student student = studentRepository.findById(createDTO.studentId())
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + createDTO.studentId()));
-            
-            CourseSection section = sectionRepository.findById(createDTO.sectionId())
-                .orElseThrow(() -> new IllegalArgumentException("Section not found with ID: " + createDTO.sectionId()));
-            
-            // Create entity from DTO
-            CurrentEnrollment enrollment = CurrentEnrollmentMapper.toEntityFromCreate(createDTO, student, section);
-            
-            // Validate all business rules (may fail if another student enrolled simultaneously)
-            validator.validate(enrollment);
-            
-            // Save enrollment first
-            CurrentEnrollment saved = enrollmentRepository.save(enrollment);
-            
-            // Increment section enrollment count (triggers version update for optimistic locking)
-            section.setEnrollmentCount(section.getEnrollmentCount() + 1);
-            sectionRepository.save(section);  // Version incremented here
-            
-            return CurrentEnrollmentMapper.toDTO(saved);
-            
-        } catch (OptimisticLockException e) {
-            // Version conflict: another transaction modified CourseSection
-            if (attempt < MAX_RETRIES) {
-                // Retry with fresh data
-                return createEnrollmentWithRetry(createDTO, attempt + 1);
-            } else {
-                // Max retries exceeded
-                throw new ScheduleConflictException(
-                    "Section became unavailable. Too many concurrent enrollments. Please try again."
-                );
-            }
+        CourseSection section = sectionRepository.findWithDetailsById(createDTO.sectionId())
+            .orElseThrow(() -> new IllegalArgumentException("Section not found with ID: " + createDTO.sectionId()));
+        
+        // Full section: answer right away, without running the validation queries
+        if (seatAllocator.getFreeSeats(section.getId()) <= 0) {
+            throw sectionFull(section);
+        }
+        
+        // Create entity from DTO
+        CurrentEnrollment enrollment = CurrentEnrollmentMapper.toEntityFromCreate(createDTO, student, section);
+        
+        // Validate all business rules
+        validator.validate(enrollment);
+        
+        // Claim a seat (authoritative capacity check under concurrency)
+        if (!seatAllocator.tryReserve(section.getId())) {
+            throw sectionFull(section);
+        }
+        
+        CurrentEnrollment saved = enrollmentRepository.save(enrollment);
+        if (sectionRepository.adjustEnrollmentCount(section.getId(), 1) == 0) {
+            // Capacity lowered by a change the allocator has not seen yet: the UPDATE refused the seat
+            throw sectionFull(section);
         }
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        availabilityStream.publishAfterCommit(section.getId());
+        section.setEnrollmentCount(section.getEnrollmentCount() + 1);  // Reflect in response (entity is detached now)
+        
+        return CurrentEnrollmentMapper.toDTO(saved);
+    }
+    
+    private static ScheduleConflictException sectionFull(CourseSection section) {
+        return new ScheduleConflictException(
+            "Section has reached maximum capacity (" + section.getCapacity() + " students)"
+        );
     }
     
     /**
      * Update an existing enrollment
      * Can update grade after semester ends
      */
+    @Transactional
     public EnrollmentDTO updateEnrollmentFromDTO(Long enrollmentId, UpdateEnrollmentDTO updateDTO) {
         CurrentEnrollment enrollment = enrollmentRepository.findById(enrollmentId)
             .orElseThrow(() -> new IllegalArgumentException("Enrollment not found with ID: " + enrollmentId));
@@ -154,16 +158,25 @@ public class CurrentEnrollmentService {
     
     /**
      * Delete an enrollment (student dropping a course)
+     * Promotes the first eligible student of the section's waitlist in the same transaction
      */
     @Transactional
     public void deleteEnrollment(Long enrollmentId) {
         CurrentEnrollment enrollment = enrollmentRepository.findById(enrollmentId)
             .orElseThrow(() -> new IllegalArgumentException("Enrollment not found with ID: " + enrollmentId));
         
+        Long sectionId = enrollment.getCourseSection().getId();
         enrollmentRepository.delete(enrollment);
-
+        
         // Decrement section enrollment count
-        courseSectionService.decrementEnrollmentCount(enrollment.getCourseSection().getId());
+        sectionRepository.adjustEnrollmentCount(sectionId, -1);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        availabilityStream.publishAfterCommit(sectionId);
+        
+        // The seat goes to the head of the waitlist right away, otherwise it is free again once the drop commits
+        if (!waitlistService.promoteNext(sectionId)) {
+            seatAllocator.releaseAfterCommit(sectionId);
+        }
     }
     
     /**
@@ -175,7 +188,7 @@ public class CurrentEnrollmentService {
             Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found"));
             
-            CourseSection section = sectionRepository.findById(sectionId)
+            CourseSection section = sectionRepository.findForValidationById(sectionId)
                 .orElseThrow(() -> new IllegalArgumentException("Section not found"));
             
             CurrentEnrollment enrollment = new CurrentEnrollment();
@@ -0,0 +1,82 @@
+package com.maplewood.enrollment.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.maplewood.common.dto.CourseSectionDTO;
+import com.maplewood.common.dto.EligibleSectionsDTO;
+import com.maplewood.common.dto.IneligibleSectionDTO;
+import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.mapper.CourseSectionMapper;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
+import com.maplewood.enrollment.validator.EnrollmentValidationContextLoader;
+import com.maplewood.enrollment.validator.EnrollmentViolation;
+import com.maplewood.school.entity.Semester;
+import com.maplewood.school.service.ActiveSemesterHolder;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentRepository;
+
+/**
+ * Service for the student course picker
+ * Evaluates every active-semester section for one student in a single pass:
+ * student, sections, history, current schedule and meetings are loaded once,
+ * then each section runs through the enrollment rules in memory
+ */
+@Service
+public class EligibleSectionService {
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ActiveSemesterHolder activeSemesterHolder;
+    
+    @Autowired
+    private CourseSectionRepository sectionRepository;
+    
+    @Autowired
+    private EnrollmentValidationContextLoader contextLoader;
+    
+    @Autowired
+    private CurrentEnrollmentValidator validator;
+    
+    /**
+     * Get eligible sections of the active semester, plus a reason code for each ineligible one
+     */
+    public EligibleSectionsDTO getEligibleSections(Long studentId) {
+        Student student = studentRepository.findById(studentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Student", studentId));
+        Semester activeSemester = activeSemesterHolder.get()
+            .orElseThrow(() -> new IllegalArgumentException("No active semester found"));
+        
+        List<CourseSection> sections = sectionRepository.findWithDetailsBySemesterId(activeSemester.getId());
+        EnrollmentValidationContext context = contextLoader.loadForStudents(
+                Set.of(studentId), activeSemester.getId(), sections.stream().map(CourseSection::getId).toList())
+            .get(studentId);
+        
+        List<CourseSectionDTO> eligible = new ArrayList<>();
+        List<IneligibleSectionDTO> ineligible = new ArrayList<>();
+        for (CourseSection section : sections) {
+            CurrentEnrollment candidate = new CurrentEnrollment();
+            candidate.setStudent(student);
+            candidate.setCourseSection(section);
+            
+            EnrollmentViolation violation = validator.check(candidate, context.forSection(section));
+            if (violation == null) {
+                eligible.add(CourseSectionMapper.toDTO(section));
+            } else {
+                ineligible.add(new IneligibleSectionDTO(
+                    CourseSectionMapper.toDTO(section), violation.reasonCode(), violation.message()));
+            }
+        }
+        return new EligibleSectionsDTO(studentId, activeSemester.getId(), eligible, ineligible);
+    }
+}
@@ -0,0 +1,143 @@
+package com.maplewood.enrollment.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.util.TransactionCallbacks;
+import com.maplewood.enrollment.entity.SectionWaitlistEntry;
+import com.maplewood.enrollment.repository.SectionWaitlistRepository;
+
+/**
+ * In-memory copy of the section waitlists, one queue per section
+ *
+ * Answers "is anyone waiting" (every drop asks) and "which position" without a query
+ * Queues are loaded lazily from section_waitlist and follow committed changes only:
+ * - addAfterCommit/removeAfterCommit apply once the transaction that wrote the row commits
+ * - removeStudentAfterCommit/removeSectionAfterCommit follow a deleted student or section the same way
+ * - a queue that is not loaded ignores them, the next load reads the committed rows
+ * Loading and applying run under the map's per-key lock, so a change committing during a load is not lost
+ */
+@Component
+public class SectionWaitlistIndex {
+    
+    @Autowired
+    private SectionWaitlistRepository waitlistRepository;
+    
+    private final ConcurrentHashMap<Long, Queue> queues = new ConcurrentHashMap<>();
+    
+    /**
+     * Position of a student in a section's queue
+     *
+     * @param position 1 for the head of the queue
+     */
+    public record Position(int position, int size) {}
+    
+    /**
+     * True if nobody waits for the section
+     */
+    public boolean isEmpty(Long sectionId) {
+        return queue(sectionId).size() == 0;
+    }
+    
+    /**
+     * Position of a student in a section's queue, null if the student is not waiting
+     */
+    public Position positionOf(Long sectionId, Long studentId) {
+        return queue(sectionId).positionOf(studentId);
+    }
+    
+    /**
+     * Add an entry once the current transaction commits
+     */
+    public void addAfterCommit(SectionWaitlistEntry entry) {
+        Long sectionId = entry.getCourseSection().getId();
+        Long studentId = entry.getStudent().getId();
+        TransactionCallbacks.afterCommit(
+            () -> queues.computeIfPresent(sectionId, (id, queue) -> queue.add(entry.getId(), studentId)));
+    }
+    
+    /**
+     * Remove an entry once the current transaction commits
+     */
+    public void removeAfterCommit(SectionWaitlistEntry entry) {
+        Long sectionId = entry.getCourseSection().getId();
+        TransactionCallbacks.afterCommit(
+            () -> queues.computeIfPresent(sectionId, (id, queue) -> queue.remove(entry.getId())));
+    }
+    
+    /**
+     * Remove every entry of a student once the current transaction commits
+     */
+    public void removeStudentAfterCommit(Long studentId) {
+        TransactionCallbacks.afterCommit(() -> queues.keySet().forEach(
+            sectionId -> queues.computeIfPresent(sectionId, (id, queue) -> queue.removeStudent(studentId))));
+    }
+    
+    /**
+     * Forget a section's queue once the current transaction commits
+     */
+    public void removeSectionAfterCommit(Long sectionId) {
+        TransactionCallbacks.afterCommit(() -> queues.remove(sectionId));
+    }
+    
+    private Queue queue(Long sectionId) {
+        return queues.computeIfAbsent(sectionId, this::load);
+    }
+    
+    private Queue load(Long sectionId) {
+        Queue queue = new Queue();
+        for (SectionWaitlistEntry entry : waitlistRepository.findByCourseSection_IdOrderByIdAsc(sectionId)) {
+            queue.add(entry.getId(), entry.getStudent().getId());
+        }
+        return queue;
+    }
+    
+    /**
+     * Entries of one section, ordered by entry ID (commits may be applied out of order)
+     * Adding and removing are O(log n), emptiness O(1); a position counts the entries ahead, O(n)
+     */
+    private static final class Queue {
+        
+        private final TreeMap<Long, Long> studentByEntryId = new TreeMap<>();
+        private final Map<Long, Long> entryIdByStudent = new HashMap<>();
+        
+        synchronized Queue add(Long entryId, Long studentId) {
+            studentByEntryId.put(entryId, studentId);
+            entryIdByStudent.put(studentId, entryId);
+            return this;
+        }
+        
+        synchronized Queue remove(Long entryId) {
+            Long studentId = studentByEntryId.remove(entryId);
+            if (studentId != null) {
+                entryIdByStudent.remove(studentId, entryId);
+            }
+            return this;
+        }
+        
+        synchronized Queue removeStudent(Long studentId) {
+            Long entryId = entryIdByStudent.remove(studentId);
+            if (entryId != null) {
+                studentByEntryId.remove(entryId);
+            }
+            return this;
+        }
+        
+        synchronized int size() {
+            return studentByEntryId.size();
+        }
+        
+        synchronized Position positionOf(Long studentId) {
+            Long entryId = entryIdByStudent.get(studentId);
+            if (entryId == null) {
+                return null;
+            }
+            return new Position(studentByEntryId.headMap(entryId).size() + 1, studentByEntryId.size());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.maplewood.enrollment.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maplewood.common.dto.WaitlistPositionDTO;
+import com.maplewood.common.enums.EnrollmentStatus;
+import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.course.service.SectionSeatAllocator;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.entity.SectionWaitlistEntry;
+import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.enrollment.repository.SectionWaitlistRepository;
+import com.maplewood.enrollment.service.SectionWaitlistIndex.Position;
+import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
+import com.maplewood.enrollment.validator.EnrollmentValidationContextLoader;
+import com.maplewood.enrollment.validator.EnrollmentViolation;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service for section waitlists
+ *
+ * Students join the waitlist of a full section instead of retrying the enrollment until a seat frees up:
+ * a drop hands its seat to the head of the queue in the same transaction (promoteNext), so the seat
+ * never becomes visible to other requests; seats added by a capacity increase go to the queue the same way (promote)
+ *
+ * Metrics: maplewood.enrollment.waitlist.promotions{outcome=enrolled|dropped}
+ * (dropped: the entry no longer passed the enrollment rules and left the queue)
+ */
+@Service
+public class SectionWaitlistService {
+    
+    @Autowired
+    private SectionWaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private SectionWaitlistIndex waitlistIndex;
+    
+    @Autowired
+    private CurrentEnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private CourseSectionRepository sectionRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SectionSeatAllocator seatAllocator;
+    
+    @Autowired
+    private CurrentEnrollmentValidator validator;
+    
+    @Autowired
+    private EnrollmentValidationContextLoader contextLoader;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    /**
+     * Put a student at the end of a full section's waitlist
+     * Every enrollment rule but capacity must already pass; the position is read once the entry is committed
+     */
+    public WaitlistPositionDTO join(Long sectionId, Long studentId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new IllegalArgumentException("Student not found with ID: " + studentId));
+            
+            CourseSection section = sectionRepository.findForValidationById(sectionId)
+                .orElseThrow(() -> new IllegalArgumentException("Section not found with ID: " + sectionId));
+            
+            if (seatAllocator.getFreeSeats(sectionId) > 0) {
+                throw new IllegalArgumentException("Section still has free seats, enroll directly");
+            }
+            if (waitlistRepository.findByCourseSection_IdAndStudent_Id(sectionId, studentId).isPresent()) {
+                throw new IllegalArgumentException("Student is already on the waitlist of this section");
+            }
+            
+            validator.validateExceptCapacity(newEnrollment(student, section));
+            
+            SectionWaitlistEntry entry = new SectionWaitlistEntry();
+            entry.setCourseSection(section);
+            entry.setStudent(student);
+            waitlistIndex.addAfterCommit(waitlistRepository.save(entry));
+        });
+        return getPosition(sectionId, studentId);
+    }
+    
+    /**
+     * Take a student off a section's waitlist
+     */
+    @Transactional
+    public void leave(Long sectionId, Long studentId) {
+        SectionWaitlistEntry entry = waitlistRepository.findByCourseSection_IdAndStudent_Id(sectionId, studentId)
+            .orElseThrow(() -> notWaiting(sectionId, studentId));
+        waitlistRepository.delete(entry);
+        waitlistIndex.removeAfterCommit(entry);
+    }
+    
+    /**
+     * Take a deleted student off every waitlist, in the deleting transaction
+     * section_waitlist has no foreign keys: without this the rows would keep a queue non-empty
+     * and count in every position behind them
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeStudent(Long studentId) {
+        waitlistRepository.deleteByStudentId(studentId);
+        waitlistIndex.removeStudentAfterCommit(studentId);
+    }
+    
+    /**
+     * Delete a deleted section's waitlist, in the deleting transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSection(Long sectionId) {
+        waitlistRepository.deleteBySectionId(sectionId);
+        waitlistIndex.removeSectionAfterCommit(sectionId);
+    }
+    
+    /**
+     * Position of a student in a section's waitlist (served from SectionWaitlistIndex)
+     */
+    public WaitlistPositionDTO getPosition(Long sectionId, Long studentId) {
+        Position position = waitlistIndex.positionOf(sectionId, studentId);
+        if (position == null) {
+            throw notWaiting(sectionId, studentId);
+        }
+        return new WaitlistPositionDTO(sectionId, studentId, position.position(), position.size());
+    }
+    
+    /**
+     * Give a just freed seat to the first waiting student who still passes every enrollment rule
+     * Runs inside the drop's transaction, after enrollment_count was decremented; entries failing another rule
+     * than capacity (enrolled elsewhere meanwhile, new schedule conflict, ...) are removed on the way
+     * Only rule violations drop an entry: any other error (database failure, ...) propagates and rolls the drop
+     * back, so every student keeps their place
+     *
+     * @return true if a student got the seat, false if the seat is free for anyone
+     */
+    public boolean promoteNext(Long sectionId) {
+        // Common case: nobody waits, no query
+        if (waitlistIndex.isEmpty(sectionId)) {
+            return false;
+        }
+        CourseSection section = sectionRepository.findForValidationById(sectionId)
+            .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+        
+        for (SectionWaitlistEntry entry : waitlistRepository.findWithStudentByCourseSection_Id(sectionId)) {
+            CurrentEnrollment enrollment = newEnrollment(entry.getStudent(), section);
+            EnrollmentViolation violation = validator.check(enrollment, contextLoader.load(enrollment));
+            if (violation != null && CurrentEnrollmentValidator.SECTION_FULL.equals(violation.reasonCode())) {
+                // Capacity was lowered below the enrollment count: no seat to hand over, everyone keeps their place
+                return false;
+            }
+            if (violation == null && sectionRepository.adjustEnrollmentCount(sectionId, 1) == 0) {
+                // The capacity guard of the UPDATE refused the seat: same as SECTION_FULL
+                return false;
+            }
+            
+            waitlistRepository.delete(entry);
+            waitlistIndex.removeAfterCommit(entry);
+            if (violation != null) {
+                meterRegistry.counter("maplewood.enrollment.waitlist.promotions", "outcome", "dropped").increment();
+                continue;
+            }
+            
+            enrollmentRepository.save(enrollment);
+            catalogVersions.bump(CatalogResource.SECTIONS);
+            meterRegistry.counter("maplewood.enrollment.waitlist.promotions", "outcome", "enrolled").increment();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Give new seats (raised capacity) to waiting students, one promoteNext per seat
+     * Runs inside the capacity change's transaction; stops early once nobody eligible waits
+     *
+     * @return number of students enrolled
+     */
+    public int promote(Long sectionId, int seats) {
+        int promoted = 0;
+        while (promoted < seats && promoteNext(sectionId)) {
+            promoted++;
+        }
+        return promoted;
+    }
+    
+    private static CurrentEnrollment newEnrollment(Student student, CourseSection section) {
+        CurrentEnrollment enrollment = new CurrentEnrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourseSection(section);
+        enrollment.setSemester(section.getSemester());
+        enrollment.setStatus(EnrollmentStatus.ENROLLED);
+        return enrollment;
+    }
+    
+    private static ResourceNotFoundException notWaiting(Long sectionId, Long studentId) {
+        return new ResourceNotFoundException(
+            "Student " + studentId + " is not on the waitlist of section " + sectionId
+        );
+    }
+}
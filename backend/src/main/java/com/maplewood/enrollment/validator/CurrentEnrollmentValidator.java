@@ -1,8 +1,14 @@
 package com.maplewood.enrollment.validator;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.maplewood.common.exception.DuplicateResourceException;
+import com.maplewood.common.exception.EnrollmentValidationException;
+import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.common.metrics.ValidatorMetrics;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
 import com.maplewood.enrollment.validator.enrollment.AlreadyCompletedValidator;
 import com.maplewood.enrollment.validator.enrollment.CapacityValidator;
@@ -24,10 +30,30 @@ import com.maplewood.enrollment.validator.enrollment.ScheduleConflictEnrollmentV
  * 5. Course Limit - Student not exceeding 5 courses per semester
  * 6. Prerequisites - Student has passed all required prerequisites
  * 7. Schedule Conflicts - No overlap between enrolled meetings
+ * 
+ * Student state is loaded once into an EnrollmentValidationContext and shared by all validators
+ * Each validator call is timed by ValidatorMetrics (chain=enrollment)
  */
 @Component
 public class CurrentEnrollmentValidator {
     
+    // Reason codes of check(), validators throwing EnrollmentValidationException report their own error type
+    public static final String ALREADY_ENROLLED_IN_COURSE = "ALREADY_ENROLLED_IN_COURSE";
+    public static final String COURSE_ALREADY_COMPLETED = "COURSE_ALREADY_COMPLETED";
+    public static final String GRADE_LEVEL_NOT_ALLOWED = "GRADE_LEVEL_NOT_ALLOWED";
+    public static final String SECTION_FULL = "SECTION_FULL";
+    public static final String COURSE_LIMIT_REACHED = "COURSE_LIMIT_REACHED";
+    public static final String PREREQUISITE_NOT_MET = "PREREQUISITE_NOT_MET";
+    public static final String SCHEDULE_CONFLICT = "SCHEDULE_CONFLICT";
+    
+    private static final String METRICS_CHAIN = "enrollment";
+    
+    @Autowired
+    private EnrollmentValidationContextLoader contextLoader;
+    
+    @Autowired
+    private ValidatorMetrics validatorMetrics;
+    
     @Autowired
     private DuplicateCourseValidator duplicateCourseValidator;
     
@@ -53,12 +79,65 @@ public class CurrentEnrollmentValidator {
      * Main validation method - delegates to all specialized validators
      */
     public void validate(CurrentEnrollment enrollment) {
-        duplicateCourseValidator.validate(enrollment);
-        alreadyCompletedValidator.validate(enrollment);
-        gradeLevelValidator.validate(enrollment);
-        capacityValidator.validate(enrollment);
-        courseLimitValidator.validate(enrollment);
-        prerequisiteValidator.validate(enrollment);
-        scheduleConflictEnrollmentValidator.validate(enrollment);
+        validate(enrollment, contextLoader.load(enrollment));
+    }
+    
+    /**
+     * Validate against an already loaded context
+     */
+    public void validate(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
+        for (Rule rule : rules(enrollment, context)) {
+            run(rule);
+        }
+    }
+    
+    /**
+     * Validate every rule but capacity (joining the waitlist of a full section)
+     */
+    public void validateExceptCapacity(CurrentEnrollment enrollment) {
+        for (Rule rule : rules(enrollment, contextLoader.load(enrollment))) {
+            if (!SECTION_FULL.equals(rule.reasonCode())) {
+                run(rule);
+            }
+        }
+    }
+    
+    /**
+     * Run the same validations without throwing on broken rules (other errors propagate)
+     * @return the first rule the enrollment breaks, or null if it is valid
+     */
+    public EnrollmentViolation check(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
+        for (Rule rule : rules(enrollment, context)) {
+            try {
+                run(rule);
+            } catch (EnrollmentValidationException e) {
+                return new EnrollmentViolation(e.getErrorType(), e.getMessage());
+            } catch (ScheduleConflictException | DuplicateResourceException | IllegalArgumentException e) {
+                // Business exceptions of the validators; anything else is a failure, not a broken rule
+                return new EnrollmentViolation(rule.reasonCode(), e.getMessage());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * One validation step: reason code reported by check(), metrics name, validator call
+     */
+    private record Rule(String reasonCode, String name, Runnable validation) {}
+    
+    private List<Rule> rules(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
+        return List.of(
+            new Rule(ALREADY_ENROLLED_IN_COURSE, "duplicateCourse", () -> duplicateCourseValidator.validate(enrollment, context)),
+            new Rule(COURSE_ALREADY_COMPLETED, "alreadyCompleted", () -> alreadyCompletedValidator.validate(enrollment, context)),
+            new Rule(GRADE_LEVEL_NOT_ALLOWED, "gradeLevel", () -> gradeLevelValidator.validate(enrollment)),
+            new Rule(SECTION_FULL, "capacity", () -> capacityValidator.validate(enrollment)),
+            new Rule(COURSE_LIMIT_REACHED, "courseLimit", () -> courseLimitValidator.validate(enrollment, context)),
+            new Rule(PREREQUISITE_NOT_MET, "prerequisite", () -> prerequisiteValidator.validate(enrollment, context)),
+            new Rule(SCHEDULE_CONFLICT, "scheduleConflict", () -> scheduleConflictEnrollmentValidator.validate(enrollment, context))
+        );
+    }
+    
+    private void run(Rule rule) {
+        validatorMetrics.time(METRICS_CHAIN, rule.name(), rule.validation());
     }
 }
@@ -0,0 +1,93 @@
+package com.maplewood.enrollment.validator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.maplewood.course.entity.Course;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+
+import lombok.Getter;
+
+/**
+ * Snapshot of everything the enrollment validators need for one student and semester
+ * Loaded once by EnrollmentValidationContextLoader so validators never hit the database
+ */
+@Getter
+public class EnrollmentValidationContext {
+    
+    private final CourseSection section;
+    private final Set<Long> passedCourseIds;
+    private final List<CurrentEnrollment> semesterEnrollments;
+    private final Map<Long, List<CourseSectionMeeting>> meetingsBySectionId;
+    
+    public EnrollmentValidationContext(CourseSection section,
+                                       Set<Long> passedCourseIds,
+                                       List<CurrentEnrollment> semesterEnrollments,
+                                       Map<Long, List<CourseSectionMeeting>> meetingsBySectionId) {
+        this.section = section;
+        this.passedCourseIds = passedCourseIds;
+        this.semesterEnrollments = semesterEnrollments;
+        this.meetingsBySectionId = meetingsBySectionId;
+    }
+    
+    /**
+     * Same student snapshot, validating another target section
+     * The section's meetings must already be in meetingsBySectionId
+     */
+    public EnrollmentValidationContext forSection(CourseSection otherSection) {
+        return new EnrollmentValidationContext(otherSection, passedCourseIds, semesterEnrollments, meetingsBySectionId);
+    }
+    
+    /**
+     * Add an enrollment made during the current batch so later items see it
+     */
+    public void recordEnrollment(CurrentEnrollment enrollment) {
+        semesterEnrollments.add(enrollment);
+    }
+    
+    /**
+     * Undo recordEnrollment (batch chunk rolled back)
+     */
+    public void forgetEnrollment(CurrentEnrollment enrollment) {
+        semesterEnrollments.removeIf(e -> e == enrollment);
+    }
+    
+    /**
+     * Check if the student has passed a course
+     */
+    public boolean hasPassed(Course course) {
+        return course != null && passedCourseIds.contains(course.getId());
+    }
+    
+    /**
+     * Check if the student is already enrolled in a course (any section) this semester
+     */
+    public boolean isEnrolledInCourse(Course course) {
+        return semesterEnrollments.stream()
+            .anyMatch(e -> e.getCourseSection().getCourse().getId().equals(course.getId()));
+    }
+    
+    /**
+     * Number of enrollments the student holds this semester
+     */
+    public int countSemesterEnrollments() {
+        return semesterEnrollments.size();
+    }
+    
+    /**
+     * Meetings of a section (empty if none scheduled)
+     */
+    public List<CourseSectionMeeting> getMeetings(CourseSection courseSection) {
+        return meetingsBySectionId.getOrDefault(courseSection.getId(), List.of());
+    }
+    
+    /**
+     * Meetings of the section being enrolled in
+     */
+    public List<CourseSectionMeeting> getSectionMeetings() {
+        return getMeetings(section);
+    }
+}
@@ -0,0 +1,131 @@
+package com.maplewood.enrollment.validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.enums.CourseHistoryStatus;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.course.repository.CourseSectionMeetingRepository;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentCourseHistoryRepository;
+
+/**
+ * Builds an EnrollmentValidationContext in three queries:
+ * 1. Passed course IDs of the student
+ * 2. Student's enrollments in the section's semester (with section and course)
+ * 3. Meetings of the target section and of every enrolled section
+ */
+@Component
+public class EnrollmentValidationContextLoader {
+    
+    private static final int IN_CHUNK_SIZE = 500;
+    
+    @Autowired
+    private StudentCourseHistoryRepository courseHistoryRepository;
+    
+    @Autowired
+    private CurrentEnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private CourseSectionMeetingRepository meetingRepository;
+    
+    /**
+     * Load the validation snapshot for an enrollment request
+     */
+    public EnrollmentValidationContext load(CurrentEnrollment enrollment) {
+        Student student = enrollment.getStudent();
+        CourseSection section = enrollment.getCourseSection();
+        if (student == null || section == null) {
+            throw new IllegalArgumentException("Student and section must be provided");
+        }
+        
+        Set<Long> passedCourseIds = new HashSet<>(
+            courseHistoryRepository.findCourseIdsByStudentIdAndStatus(student.getId(), CourseHistoryStatus.PASSED)
+        );
+        
+        // Missing semester is reported by the validators, nothing to load
+        List<CurrentEnrollment> semesterEnrollments = section.getSemester() == null
+            ? new ArrayList<>()
+            : new ArrayList<>(enrollmentRepository.findWithSectionByStudent_IdAndCourseSection_Semester_Id(
+                student.getId(), section.getSemester().getId()));
+        
+        List<Long> sectionIds = new ArrayList<>();
+        if (section.getId() != null) {
+            sectionIds.add(section.getId());
+        }
+        semesterEnrollments.forEach(e -> sectionIds.add(e.getCourseSection().getId()));
+        
+        Map<Long, List<CourseSectionMeeting>> meetingsBySectionId = sectionIds.isEmpty()
+            ? Map.of()
+            : meetingRepository.findBySection_IdIn(sectionIds).stream()
+                .collect(Collectors.groupingBy(m -> m.getSection().getId()));
+        
+        return new EnrollmentValidationContext(section, passedCourseIds, semesterEnrollments, meetingsBySectionId);
+    }
+    
+    /**
+     * Load snapshots for many students in one semester (batch enrollment)
+     * Same three queries as load(), with IN lists split into chunks of IN_CHUNK_SIZE
+     * Returned contexts have no target section: use forSection() per item
+     * 
+     * @param targetSectionIds sections the batch enrolls into (their meetings are preloaded)
+     * @return context per student ID
+     */
+    public Map<Long, EnrollmentValidationContext> loadForStudents(Collection<Long> studentIds, Long semesterId,
+                                                                   Collection<Long> targetSectionIds) {
+        Map<Long, Set<Long>> passedByStudent = new HashMap<>();
+        Map<Long, List<CurrentEnrollment>> enrollmentsByStudent = new HashMap<>();
+        studentIds.forEach(id -> {
+            passedByStudent.put(id, new HashSet<>());
+            enrollmentsByStudent.put(id, new ArrayList<>());
+        });
+        
+        Set<Long> sectionIds = new HashSet<>(targetSectionIds);
+        for (List<Long> chunk : partition(studentIds)) {
+            courseHistoryRepository.findStudentCourseIdsByStudentIdsAndStatus(chunk, CourseHistoryStatus.PASSED)
+                .forEach(row -> passedByStudent.get((Long) row[0]).add((Long) row[1]));
+            
+            enrollmentRepository.findWithSectionByStudent_IdInAndCourseSection_Semester_Id(chunk, semesterId)
+                .forEach(e -> {
+                    enrollmentsByStudent.get(e.getStudent().getId()).add(e);
+                    sectionIds.add(e.getCourseSection().getId());
+                });
+        }
+        
+        // Meetings map is shared by all contexts (read-only during the batch)
+        Map<Long, List<CourseSectionMeeting>> meetingsBySectionId = new HashMap<>();
+        for (List<Long> chunk : partition(sectionIds)) {
+            meetingRepository.findBySection_IdIn(chunk)
+                .forEach(m -> meetingsBySectionId.computeIfAbsent(m.getSection().getId(), k -> new ArrayList<>()).add(m));
+        }
+        
+        Map<Long, EnrollmentValidationContext> contexts = new HashMap<>();
+        studentIds.forEach(id -> contexts.put(id, new EnrollmentValidationContext(
+            null, passedByStudent.get(id), enrollmentsByStudent.get(id), meetingsBySectionId)));
+        return contexts;
+    }
+    
+    /**
+     * Split IDs into chunks that stay well under SQLite's bound-parameter limit
+     */
+    private static List<List<Long>> partition(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += IN_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(all.size(), i + IN_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,8 @@
+package com.maplewood.enrollment.validator;
+
+/**
+ * First enrollment rule a student/section pair fails, as reported by CurrentEnrollmentValidator.check()
+ * reasonCode is stable for clients, message is the validator's human-readable explanation
+ */
+public record EnrollmentViolation(String reasonCode, String message) {
+}
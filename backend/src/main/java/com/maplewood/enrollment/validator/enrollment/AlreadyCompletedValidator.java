@@ -1,12 +1,10 @@
 package com.maplewood.enrollment.validator.enrollment;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.exception.EnrollmentValidationException;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.student.repository.StudentCourseHistoryRepository;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
 
 /**
  * Validator to ensure student hasn't already completed this course
@@ -15,10 +13,7 @@ import com.maplewood.student.repository.StudentCourseHistoryRepository;
 @Component
 public class AlreadyCompletedValidator {
     
-    @Autowired
-    private StudentCourseHistoryRepository courseHistoryRepository;
-    
-    public void validate(CurrentEnrollment enrollment) {
+    public void validate(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
         if (enrollment.getStudent() == null || enrollment.getCourseSection() == null) {
             throw new IllegalArgumentException("Student and section must be provided");
         }
@@ -28,11 +23,7 @@ public class AlreadyCompletedValidator {
         }
         
         // Check if student has already passed this course
-        boolean alreadyPassed = courseHistoryRepository.existsByStudentAndCourseAndStatus(
-            enrollment.getStudent(),
-            enrollment.getCourseSection().getCourse(),
-            CourseHistoryStatus.PASSED
-        );
+        boolean alreadyPassed = context.hasPassed(enrollment.getCourseSection().getCourse());
         
         if (alreadyPassed) {
             throw new EnrollmentValidationException(
@@ -1,11 +1,10 @@
 package com.maplewood.enrollment.validator.enrollment;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.maplewood.common.exception.ScheduleConflictException;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
 
 /**
  * Validator for course enrollment limits
@@ -14,10 +13,7 @@ import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
 @Component
 public class CourseLimitValidator {
     
-    @Autowired
-    private CurrentEnrollmentRepository enrollmentRepository;
-    
-    public void validate(CurrentEnrollment enrollment) {
+    public void validate(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
         if (enrollment.getStudent() == null || enrollment.getCourseSection() == null) {
             throw new IllegalArgumentException("Student and section must be provided");
         }
@@ -26,10 +22,7 @@ public class CourseLimitValidator {
             throw new IllegalArgumentException("Section must have semester defined");
         }
         
-        long currentCourses = enrollmentRepository.countByStudent_IdAndCourseSection_Semester_Id(
-            enrollment.getStudent().getId(),
-            enrollment.getCourseSection().getSemester().getId()
-        );
+        long currentCourses = context.countSemesterEnrollments();
         
         if (currentCourses >= 5) {
             throw new ScheduleConflictException(
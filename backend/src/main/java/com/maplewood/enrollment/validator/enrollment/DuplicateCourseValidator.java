@@ -1,11 +1,10 @@
 package com.maplewood.enrollment.validator.enrollment;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.maplewood.common.exception.DuplicateResourceException;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
 
 /**
  * Validator for duplicate course enrollment
@@ -14,10 +13,7 @@ import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
 @Component
 public class DuplicateCourseValidator {
     
-    @Autowired
-    private CurrentEnrollmentRepository enrollmentRepository;
-    
-    public void validate(CurrentEnrollment enrollment) {
+    public void validate(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
         if (enrollment.getStudent() == null || enrollment.getStudent().getId() == null) {
             throw new IllegalArgumentException("Student must be provided");
         }
@@ -31,13 +27,7 @@ public class DuplicateCourseValidator {
             throw new IllegalArgumentException("Section must have semester defined");
         }
         
-        long courseCount = enrollmentRepository.countByStudent_IdAndCourse_IdAndSemester_Id(
-            enrollment.getStudent().getId(),
-            enrollment.getCourseSection().getCourse().getId(),
-            enrollment.getCourseSection().getSemester().getId()
-        );
-        
-        if (courseCount > 0) {
+        if (context.isEnrolledInCourse(enrollment.getCourseSection().getCourse())) {
             throw new DuplicateResourceException(
                 "Already enrolled in " + enrollment.getCourseSection().getCourse().getName() + 
                  " in this semester. Cannot take the same course twice per semester."
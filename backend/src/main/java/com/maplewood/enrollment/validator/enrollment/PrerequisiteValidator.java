@@ -1,13 +1,11 @@
 package com.maplewood.enrollment.validator.enrollment;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.exception.EnrollmentValidationException;
 import com.maplewood.course.entity.Course;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.student.repository.StudentCourseHistoryRepository;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
 
 /**
  * Validator for prerequisite requirements
@@ -17,10 +15,7 @@ import com.maplewood.student.repository.StudentCourseHistoryRepository;
 @Component
 public class PrerequisiteValidator {
     
-    @Autowired
-    private StudentCourseHistoryRepository courseHistoryRepository;
-    
-    public void validate(CurrentEnrollment enrollment) {
+    public void validate(CurrentEnrollment enrollment, EnrollmentValidationContext context) {
         if (enrollment.getStudent() == null || enrollment.getCourseSection() == null) {
             throw new IllegalArgumentException("Student and section must be provided");
         }
@@ -36,11 +31,7 @@ public class PrerequisiteValidator {
         }
         
         // Check if student has passed the prerequisite
-        boolean hasPrerequisite = courseHistoryRepository.existsByStudentAndCourseAndStatus(
-            enrollment.getStudent(),
-            course.getPrerequisite(),
-            CourseHistoryStatus.PASSED
-        );
+        boolean hasPrerequisite = context.hasPassed(course.getPrerequisite());
         
         if (!hasPrerequisite) {
             throw new EnrollmentValidationException(
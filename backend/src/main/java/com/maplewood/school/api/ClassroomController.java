@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,9 +17,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.maplewood.common.dto.ClassroomDTO;
 import com.maplewood.common.mapper.ClassroomMapper;
+import com.maplewood.common.util.NdjsonWriter;
+import com.maplewood.common.web.CatalogEtag;
+import com.maplewood.common.web.CatalogResource;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.service.ClassroomService;
 
@@ -36,10 +41,14 @@ public class ClassroomController {
     @Autowired
     private ClassroomService classroomService;
     
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    
     /**
      * GET all classrooms
      */
     @GetMapping
+    @CatalogEtag(CatalogResource.CLASSROOMS)
     public ResponseEntity<List<ClassroomDTO>> getAllClassrooms() {
         return ResponseEntity.ok(classroomService.getAllClassrooms()
             .stream()
@@ -47,10 +56,20 @@ public class ClassroomController {
             .collect(Collectors.toList()));
     }
     
+    /**
+     * GET all classrooms as NDJSON (Accept: application/x-ndjson), one classroom per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllClassrooms() {
+        return ndjsonWriter.stream(sink -> classroomService.forEachClassroom(
+            classroom -> sink.accept(ClassroomMapper.toDTO(classroom))));
+    }
+    
     /**
      * GET classroom by ID
      */
     @GetMapping("/{id}")
+    @CatalogEtag(CatalogResource.CLASSROOMS)
     public ResponseEntity<ClassroomDTO> getClassroomById(@PathVariable Long id) {
         return ResponseEntity.ok(ClassroomMapper.toDTO(classroomService.getClassroomById(id)));
     }
@@ -59,6 +78,7 @@ public class ClassroomController {
      * GET classroom by name
      */
     @GetMapping("/search/name")
+    @CatalogEtag(CatalogResource.CLASSROOMS)
     public ResponseEntity<ClassroomDTO> getClassroomByName(@RequestParam String name) {
         return ResponseEntity.ok(ClassroomMapper.toDTO(classroomService.getClassroomByName(name)));
     }
@@ -67,6 +87,7 @@ public class ClassroomController {
      * GET classrooms by room type
      */
     @GetMapping("/room-type/{roomTypeId}")
+    @CatalogEtag(CatalogResource.CLASSROOMS)
     public ResponseEntity<List<ClassroomDTO>> getClassroomsByRoomType(@PathVariable Long roomTypeId) {
         return ResponseEntity.ok(classroomService.getClassroomsByRoomType(roomTypeId)
             .stream()
@@ -78,6 +99,7 @@ public class ClassroomController {
      * GET classrooms by floor
      */
     @GetMapping("/floor/{floor}")
+    @CatalogEtag(CatalogResource.CLASSROOMS)
     public ResponseEntity<List<ClassroomDTO>> getClassroomsByFloor(@PathVariable Integer floor) {
         return ResponseEntity.ok(classroomService.getClassroomsByFloor(floor)
             .stream()
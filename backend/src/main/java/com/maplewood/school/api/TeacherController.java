@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,9 +17,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.maplewood.common.dto.TeacherDTO;
 import com.maplewood.common.mapper.TeacherMapper;
+import com.maplewood.common.util.NdjsonWriter;
+import com.maplewood.common.web.CatalogEtag;
+import com.maplewood.common.web.CatalogResource;
 import com.maplewood.school.entity.Teacher;
 import com.maplewood.school.service.TeacherService;
 
@@ -36,10 +41,14 @@ public class TeacherController {
     @Autowired
     private TeacherService teacherService;
     
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    
     /**
      * GET all teachers
      */
     @GetMapping
+    @CatalogEtag(CatalogResource.TEACHERS)
     public ResponseEntity<List<TeacherDTO>> getAllTeachers() {
         return ResponseEntity.ok(teacherService.getAllTeachers()
             .stream()
@@ -47,10 +56,20 @@ public class TeacherController {
             .collect(Collectors.toList()));
     }
     
+    /**
+     * GET all teachers as NDJSON (Accept: application/x-ndjson), one teacher per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTeachers() {
+        return ndjsonWriter.stream(sink -> teacherService.forEachTeacher(
+            teacher -> sink.accept(TeacherMapper.toDTO(teacher))));
+    }
+    
     /**
      * GET teacher by ID
      */
     @GetMapping("/{id}")
+    @CatalogEtag(CatalogResource.TEACHERS)
     public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id) {
         return ResponseEntity.ok(TeacherMapper.toDTO(teacherService.getTeacherById(id)));
     }
@@ -59,6 +78,7 @@ public class TeacherController {
      * GET teacher by email
      */
     @GetMapping("/search/email")
+    @CatalogEtag(CatalogResource.TEACHERS)
     public ResponseEntity<TeacherDTO> getTeacherByEmail(@RequestParam String email) {
         return ResponseEntity.ok(TeacherMapper.toDTO(teacherService.getTeacherByEmail(email)));
     }
@@ -67,6 +87,7 @@ public class TeacherController {
      * GET teachers by specialization
      */
     @GetMapping("/specialization/{specializationId}")
+    @CatalogEtag(CatalogResource.TEACHERS)
     public ResponseEntity<List<TeacherDTO>> getTeachersBySpecialization(@PathVariable Long specializationId) {
         return ResponseEntity.ok(teacherService.getTeachersBySpecialization(specializationId)
             .stream()
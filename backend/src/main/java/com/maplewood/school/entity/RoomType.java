@@ -1,5 +1,8 @@
 package com.maplewood.school.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -12,6 +15,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "room_types")
 @Data
 @NoArgsConstructor
@@ -28,4 +32,17 @@ public class RoomType {
     
     @Column(columnDefinition = "TEXT")
     private String description;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof RoomType other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return RoomType.class.hashCode();
+    }
 }
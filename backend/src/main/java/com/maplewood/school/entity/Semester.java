@@ -53,4 +53,17 @@ public class Semester {
     
     @Column(name = "created_at", updatable = false, insertable = false)
     private String createdAt;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Semester other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Semester.class.hashCode();
+    }
 }
@@ -1,23 +1,63 @@
 package com.maplewood.school.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.RoomType;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for Classroom entity
  * Provides database operations for classrooms
+ * Finders returning classrooms fetch the Classroom.withRoomType graph in the same query
  */
 @Repository
 public interface ClassroomRepository extends JpaRepository<Classroom, Long> {
     
+    /**
+     * All classrooms (query result cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Classroom.withRoomType")
+    List<Classroom> findAll();
+    
+    /**
+     * Classroom by ID
+     * A query rather than find(): find() answered from the second-level cache ignores the entity graph
+     */
+    @Override
+    @Query("SELECT c FROM Classroom c WHERE c.id = :id")
+    @EntityGraph("Classroom.withRoomType")
+    Optional<Classroom> findById(@Param("id") Long id);
+    
+    /**
+     * All classrooms through a forward-only cursor, for streamed exports
+     * Read-only and not collected: the caller iterates inside a transaction and closes the stream
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Classroom c ORDER BY c.id")
+    @EntityGraph("Classroom.withRoomType")
+    Stream<Classroom> streamAll();
+    
     /**
      * Find classroom by name
      */
+    @EntityGraph("Classroom.withRoomType")
     Classroom findByName(String name);
     
     /**
@@ -28,15 +68,19 @@ public interface ClassroomRepository extends JpaRepository<Classroom, Long> {
     /**
      * Find all classrooms of a specific room type
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Classroom.withRoomType")
     List<Classroom> findByRoomType(RoomType roomType);
     
     /**
      * Find all classrooms on a specific floor
      */
+    @EntityGraph("Classroom.withRoomType")
     List<Classroom> findByFloor(Integer floor);
     
     /**
      * Find classrooms with capacity >= specified amount
      */
+    @EntityGraph("Classroom.withRoomType")
     List<Classroom> findByCapacityGreaterThanEqual(Integer capacity);
 }
@@ -1,10 +1,16 @@
 package com.maplewood.school.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.maplewood.school.entity.RoomType;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for RoomType entity
  * Provides database operations for room types (Lab, Classroom, Auditorium, etc.)
@@ -12,9 +18,17 @@ import com.maplewood.school.entity.RoomType;
 @Repository
 public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
     
+    /**
+     * All room types (query result cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RoomType> findAll();
+    
     /**
      * Find room type by name
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     RoomType findByName(String name);
     
     /**
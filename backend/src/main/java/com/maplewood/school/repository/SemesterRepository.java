@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.maplewood.common.enums.SemesterName;
@@ -31,6 +34,15 @@ public interface SemesterRepository extends JpaRepository<Semester, Long> {
      */
     Optional<Semester> findByIsActive(Boolean isActive);
     
+    /**
+     * Make one semester the only active one in a single UPDATE
+     * Only rows whose flag actually changes are written
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Semester s SET s.isActive = CASE WHEN s.id = :id THEN true ELSE false END " +
+           "WHERE s.id = :id OR s.isActive = true")
+    int activateOnly(@Param("id") Long id);
+    
     /**
      * Find semester by name and order in year
      */
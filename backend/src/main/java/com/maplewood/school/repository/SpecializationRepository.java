@@ -1,23 +1,51 @@
 package com.maplewood.school.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.maplewood.school.entity.RoomType;
 import com.maplewood.school.entity.Specialization;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for Specialization entity
  * Provides database operations for specializations (Math, Science, English, etc.)
+ * Finders returning specializations fetch the Specialization.withRoomType graph in the same query
  */
 @Repository
 public interface SpecializationRepository extends JpaRepository<Specialization, Long> {
     
+    /**
+     * All specializations (query result cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Specialization.withRoomType")
+    List<Specialization> findAll();
+    
+    /**
+     * Specialization by ID
+     * A query rather than find(): find() answered from the second-level cache ignores the entity graph
+     */
+    @Override
+    @Query("SELECT s FROM Specialization s WHERE s.id = :id")
+    @EntityGraph("Specialization.withRoomType")
+    Optional<Specialization> findById(@Param("id") Long id);
+    
     /**
      * Find specialization by name
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Specialization.withRoomType")
     Specialization findByName(String name);
     
     /**
@@ -28,5 +56,7 @@ public interface SpecializationRepository extends JpaRepository<Specialization,
     /**
      * Find all specializations for a specific room type
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Specialization.withRoomType")
     List<Specialization> findByRoomType(RoomType roomType);
 }
@@ -1,23 +1,63 @@
 package com.maplewood.school.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.maplewood.school.entity.Specialization;
 import com.maplewood.school.entity.Teacher;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for Teacher entity
  * Provides database operations for teachers
+ * Finders returning teachers fetch the Teacher.withSpecialization graph in the same query
  */
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     
+    /**
+     * All teachers (query result cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Teacher.withSpecialization")
+    List<Teacher> findAll();
+    
+    /**
+     * Teacher by ID
+     * A query rather than find(): find() answered from the second-level cache ignores the entity graph
+     */
+    @Override
+    @Query("SELECT t FROM Teacher t WHERE t.id = :id")
+    @EntityGraph("Teacher.withSpecialization")
+    Optional<Teacher> findById(@Param("id") Long id);
+    
+    /**
+     * All teachers through a forward-only cursor, for streamed exports
+     * Read-only and not collected: the caller iterates inside a transaction and closes the stream
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Teacher t ORDER BY t.id")
+    @EntityGraph("Teacher.withSpecialization")
+    Stream<Teacher> streamAll();
+    
     /**
      * Find teacher by email
      */
+    @EntityGraph("Teacher.withSpecialization")
     Teacher findByEmail(String email);
     
     /**
@@ -28,15 +68,19 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     /**
      * Find all teachers in a specific specialization
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Teacher.withSpecialization")
     List<Teacher> findBySpecialization(Specialization specialization);
     
     /**
      * Find all teachers by first and last name
      */
+    @EntityGraph("Teacher.withSpecialization")
     List<Teacher> findByFirstNameAndLastName(String firstName, String lastName);
     
     /**
      * Find teacher by full name (first + last)
      */
+    @EntityGraph("Teacher.withSpecialization")
     Teacher findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName);
 }
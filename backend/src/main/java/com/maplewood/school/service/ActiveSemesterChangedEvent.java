@@ -0,0 +1,8 @@
+package com.maplewood.school.service;
+
+/**
+ * Published by SemesterService whenever the active semester may have changed
+ * (semester activated, created active, updated or deleted)
+ */
+public record ActiveSemesterChangedEvent(Long semesterId) {
+}
@@ -0,0 +1,57 @@
+package com.maplewood.school.service;
+
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.maplewood.school.entity.Semester;
+import com.maplewood.school.repository.SemesterRepository;
+
+/**
+ * In-memory copy of the active semester, read on nearly every catalog and enrollment path
+ * Loaded on first use and reloaded only when SemesterService publishes ActiveSemesterChangedEvent
+ * (after the change commits), so hot paths no longer query semesters
+ */
+@Component
+public class ActiveSemesterHolder {
+    
+    @Autowired
+    private SemesterRepository semesterRepository;
+    
+    private volatile Optional<Semester> activeSemester;  // null until first load
+    
+    // Not a monitor: a virtual thread waiting for a connection while holding one would pin its carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    
+    /**
+     * Get the active semester, empty if none is active
+     */
+    public Optional<Semester> get() {
+        Optional<Semester> current = activeSemester;
+        return current != null ? current : refresh();
+    }
+    
+    /**
+     * Reload after a semester change has been committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActiveSemesterChanged(ActiveSemesterChangedEvent event) {
+        refresh();
+    }
+    
+    /**
+     * Reload the active semester from the database
+     */
+    public Optional<Semester> refresh() {
+        refreshLock.lock();
+        try {
+            activeSemester = semesterRepository.findByIsActive(true);
+            return activeSemester;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
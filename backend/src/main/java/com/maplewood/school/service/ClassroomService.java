@@ -1,16 +1,24 @@
 package com.maplewood.school.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.util.EntityStreams;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.RoomType;
 import com.maplewood.school.repository.ClassroomRepository;
 import com.maplewood.school.repository.RoomTypeRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 /**
  * Service for Classroom operations
  * Handles CRUD operations for classrooms
@@ -24,6 +32,12 @@ public class ClassroomService {
     @Autowired
     private RoomTypeRepository roomTypeRepository;
     
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get all classrooms
      */
@@ -31,6 +45,14 @@ public class ClassroomService {
         return classroomRepository.findAll();
     }
     
+    /**
+     * Hand every classroom to the action, one at a time from a database cursor (streamed exports)
+     */
+    @Transactional(readOnly = true)
+    public void forEachClassroom(Consumer<Classroom> action) {
+        EntityStreams.forEachCleared(classroomRepository.streamAll(), entityManager, action);
+    }
+    
     /**
      * Get classroom by ID
      */
@@ -76,12 +98,15 @@ public class ClassroomService {
         RoomType roomType = roomTypeRepository.findById(classroom.getRoomType().getId())
             .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
         classroom.setRoomType(roomType);
-        return classroomRepository.save(classroom);
+        Classroom saved = classroomRepository.save(classroom);
+        catalogVersions.bump(CatalogResource.CLASSROOMS);
+        return saved;
     }
     
     /**
      * Update classroom
      */
+    @Transactional
     public Classroom updateClassroom(Long id, Classroom classroomDetails) {
         Classroom classroom = getClassroomById(id);
         classroom.setName(classroomDetails.getName());
@@ -93,7 +118,9 @@ public class ClassroomService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
             classroom.setRoomType(roomType);
         }
-        return classroomRepository.save(classroom);
+        Classroom saved = classroomRepository.save(classroom);
+        catalogVersions.bump(CatalogResource.CLASSROOMS);
+        return saved;
     }
     
     /**
@@ -102,5 +129,6 @@ public class ClassroomService {
     public void deleteClassroom(Long id) {
         Classroom classroom = getClassroomById(id);
         classroomRepository.delete(classroom);
+        catalogVersions.bump(CatalogResource.CLASSROOMS);
     }
 }
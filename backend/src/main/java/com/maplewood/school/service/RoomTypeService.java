@@ -7,6 +7,9 @@ import org.springframework.stereotype.Service;
 
 import com.maplewood.common.exception.DuplicateResourceException;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.service.CourseCatalog;
 import com.maplewood.school.entity.RoomType;
 import com.maplewood.school.repository.RoomTypeRepository;
 
@@ -20,6 +23,12 @@ public class RoomTypeService {
     @Autowired
     private RoomTypeRepository roomTypeRepository;
     
+    @Autowired
+    private CourseCatalog courseCatalog;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
     /**
      * Get all room types
      */
@@ -53,7 +62,9 @@ public class RoomTypeService {
         if (roomTypeRepository.existsByName(roomType.getName())) {
             throw new DuplicateResourceException("RoomType", "name", roomType.getName());
         }
-        return roomTypeRepository.save(roomType);
+        RoomType saved = roomTypeRepository.save(roomType);
+        bumpEmbeddingCollections();
+        return saved;
     }
     
     /**
@@ -63,7 +74,9 @@ public class RoomTypeService {
         RoomType roomType = getRoomTypeById(id);
         roomType.setName(roomTypeDetails.getName());
         roomType.setDescription(roomTypeDetails.getDescription());
-        return roomTypeRepository.save(roomType);
+        RoomType saved = roomTypeRepository.save(roomType);
+        bumpEmbeddingCollections();
+        return saved;
     }
     
     /**
@@ -72,5 +85,17 @@ public class RoomTypeService {
     public void deleteRoomType(Long id) {
         RoomType roomType = getRoomTypeById(id);
         roomTypeRepository.delete(roomType);
+        bumpEmbeddingCollections();
+    }
+    
+    /**
+     * Classrooms show their room type, courses and teachers through their specialization
+     * (section ETags cover all three)
+     */
+    private void bumpEmbeddingCollections() {
+        courseCatalog.reloadAfterCommit();
+        catalogVersions.bump(CatalogResource.CLASSROOMS);
+        catalogVersions.bump(CatalogResource.COURSES);
+        catalogVersions.bump(CatalogResource.TEACHERS);
     }
 }
@@ -3,15 +3,20 @@ package com.maplewood.school.service;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.maplewood.common.enums.SemesterName;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.school.repository.SemesterRepository;
 
 /**
  * Service for Semester operations
  * Handles CRUD operations for semesters and active semester management
+ * Every change that may move the active semester publishes ActiveSemesterChangedEvent
  */
 @Service
 public class SemesterService {
@@ -19,6 +24,15 @@ public class SemesterService {
     @Autowired
     private SemesterRepository semesterRepository;
     
+    @Autowired
+    private ActiveSemesterHolder activeSemesterHolder;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
     /**
      * Get all semesters
      */
@@ -53,10 +67,10 @@ public class SemesterService {
     }
     
     /**
-     * Get active semester
+     * Get active semester (served from ActiveSemesterHolder)
      */
     public Semester getActiveSemester() {
-        Optional<Semester> semester = semesterRepository.findByIsActive(true);
+        Optional<Semester> semester = activeSemesterHolder.get();
         if (!semester.isPresent()) {
             throw new ResourceNotFoundException("No active semester found");
         }
@@ -71,7 +85,12 @@ public class SemesterService {
         if (existing.isPresent()) {
             throw new IllegalArgumentException("Semester " + semester.getName() + " " + semester.getYear() + " already exists");
         }
-        return semesterRepository.save(semester);
+        Semester saved = semesterRepository.save(semester);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        if (Boolean.TRUE.equals(saved.getIsActive())) {
+            eventPublisher.publishEvent(new ActiveSemesterChangedEvent(saved.getId()));
+        }
+        return saved;
     }
     
     /**
@@ -85,27 +104,24 @@ public class SemesterService {
         semester.setStartDate(semesterDetails.getStartDate());
         semester.setEndDate(semesterDetails.getEndDate());
         semester.setIsActive(semesterDetails.getIsActive());
-        return semesterRepository.save(semester);
+        Semester saved = semesterRepository.save(semester);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        eventPublisher.publishEvent(new ActiveSemesterChangedEvent(saved.getId()));
+        return saved;
     }
     
     /**
-     * Set semester as active (deactivates others)
+     * Set semester as active (deactivates others in the same UPDATE)
      */
+    @Transactional
     public Semester setAsActive(Long id) {
-        Semester semester = getSemesterById(id);
-        
-        // Deactivate all other semesters
-        List<Semester> allSemesters = getAllSemesters();
-        for (Semester s : allSemesters) {
-            if (!s.getId().equals(id) && s.getIsActive() != null && s.getIsActive()) {
-                s.setIsActive(false);
-                semesterRepository.save(s);
-            }
+        if (!semesterRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Semester", id);
         }
-        
-        // Activate this semester
-        semester.setIsActive(true);
-        return semesterRepository.save(semester);
+        semesterRepository.activateOnly(id);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        eventPublisher.publishEvent(new ActiveSemesterChangedEvent(id));
+        return getSemesterById(id);
     }
     
     /**
@@ -114,5 +130,7 @@ public class SemesterService {
     public void deleteSemester(Long id) {
         Semester semester = getSemesterById(id);
         semesterRepository.delete(semester);
+        catalogVersions.bump(CatalogResource.SECTIONS);
+        eventPublisher.publishEvent(new ActiveSemesterChangedEvent(id));
     }
 }
@@ -4,9 +4,13 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.maplewood.common.exception.DuplicateResourceException;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.service.CourseCatalog;
 import com.maplewood.school.entity.RoomType;
 import com.maplewood.school.entity.Specialization;
 import com.maplewood.school.repository.RoomTypeRepository;
@@ -25,6 +29,12 @@ public class SpecializationService {
     @Autowired
     private RoomTypeRepository roomTypeRepository;
     
+    @Autowired
+    private CourseCatalog courseCatalog;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
     /**
      * Get all specializations
      */
@@ -72,12 +82,15 @@ public class SpecializationService {
                 .orElseThrow(() -> new ResourceNotFoundException("RoomType", specialization.getRoomType().getId()));
             specialization.setRoomType(roomType);
         }
-        return specializationRepository.save(specialization);
+        Specialization saved = specializationRepository.save(specialization);
+        bumpEmbeddingCollections();
+        return saved;
     }
     
     /**
      * Update specialization
      */
+    @Transactional
     public Specialization updateSpecialization(Long id, Specialization specializationDetails) {
         Specialization specialization = getSpecializationById(id);
         specialization.setName(specializationDetails.getName());
@@ -87,7 +100,9 @@ public class SpecializationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room type not found"));
             specialization.setRoomType(roomType);
         }
-        return specializationRepository.save(specialization);
+        Specialization saved = specializationRepository.save(specialization);
+        bumpEmbeddingCollections();
+        return saved;
     }
     
     /**
@@ -96,5 +111,15 @@ public class SpecializationService {
     public void deleteSpecialization(Long id) {
         Specialization specialization = getSpecializationById(id);
         specializationRepository.delete(specialization);
+        bumpEmbeddingCollections();
+    }
+    
+    /**
+     * Courses and teachers show their specialization
+     */
+    private void bumpEmbeddingCollections() {
+        courseCatalog.reloadAfterCommit();
+        catalogVersions.bump(CatalogResource.COURSES);
+        catalogVersions.bump(CatalogResource.TEACHERS);
     }
 }
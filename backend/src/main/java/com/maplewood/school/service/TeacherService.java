@@ -1,16 +1,24 @@
 package com.maplewood.school.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.util.EntityStreams;
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
 import com.maplewood.school.entity.Specialization;
 import com.maplewood.school.entity.Teacher;
 import com.maplewood.school.repository.SpecializationRepository;
 import com.maplewood.school.repository.TeacherRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 /**
  * Service for Teacher operations
  * Handles CRUD operations for teachers
@@ -24,6 +32,12 @@ public class TeacherService {
     @Autowired
     private SpecializationRepository specializationRepository;
     
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get all teachers
      */
@@ -31,6 +45,14 @@ public class TeacherService {
         return teacherRepository.findAll();
     }
     
+    /**
+     * Hand every teacher to the action, one at a time from a database cursor (streamed exports)
+     */
+    @Transactional(readOnly = true)
+    public void forEachTeacher(Consumer<Teacher> action) {
+        EntityStreams.forEachCleared(teacherRepository.streamAll(), entityManager, action);
+    }
+    
     /**
      * Get teacher by ID
      */
@@ -69,12 +91,15 @@ public class TeacherService {
         Specialization specialization = specializationRepository.findById(teacher.getSpecialization().getId())
             .orElseThrow(() -> new ResourceNotFoundException("Specialization not found"));
         teacher.setSpecialization(specialization);
-        return teacherRepository.save(teacher);
+        Teacher saved = teacherRepository.save(teacher);
+        catalogVersions.bump(CatalogResource.TEACHERS);
+        return saved;
     }
     
     /**
      * Update teacher
      */
+    @Transactional
     public Teacher updateTeacher(Long id, Teacher teacherDetails) {
         Teacher teacher = getTeacherById(id);
         teacher.setFirstName(teacherDetails.getFirstName());
@@ -86,7 +111,9 @@ public class TeacherService {
                 .orElseThrow(() -> new ResourceNotFoundException("Specialization not found"));
             teacher.setSpecialization(specialization);
         }
-        return teacherRepository.save(teacher);
+        Teacher saved = teacherRepository.save(teacher);
+        catalogVersions.bump(CatalogResource.TEACHERS);
+        return saved;
     }
     
     /**
@@ -95,5 +122,6 @@ public class TeacherService {
     public void deleteTeacher(Long id) {
         Teacher teacher = getTeacherById(id);
         teacherRepository.delete(teacher);
+        catalogVersions.bump(CatalogResource.TEACHERS);
     }
 }
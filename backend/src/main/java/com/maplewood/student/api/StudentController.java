@@ -19,10 +19,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.maplewood.common.dto.AcademicMetricsDTO;
+import com.maplewood.common.dto.CursorPageDTO;
+import com.maplewood.common.dto.EligibleSectionsDTO;
 import com.maplewood.common.dto.StudentDTO;
 import com.maplewood.common.enums.StudentStatus;
 import com.maplewood.common.mapper.StudentMapper;
+import com.maplewood.common.util.KeysetCursor;
+import com.maplewood.enrollment.service.EligibleSectionService;
 import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentCreditTotals;
 import com.maplewood.student.service.AcademicMetricsService;
 import com.maplewood.student.service.StudentService;
 
@@ -43,19 +48,35 @@ public class StudentController {
     @Autowired
     private AcademicMetricsService academicMetricsService;
     
+    @Autowired
+    private EligibleSectionService eligibleSectionService;
+    
     /**
      * Enrich StudentDTO with academic metrics
      */
     private StudentDTO enrichWithMetrics(Student entity) {
         StudentDTO dto = StudentMapper.toDTO(entity);
-        AcademicMetricsService.AcademicMetrics metrics = academicMetricsService.getMetrics(entity);
-        dto.setAcademicMetrics(new AcademicMetricsDTO(
+        dto.setAcademicMetrics(toMetricsDTO(academicMetricsService.getMetrics(entity)));
+        return dto;
+    }
+    
+    /**
+     * Build StudentDTO from a listing row, metrics come from the sums already in the row
+     */
+    private StudentDTO enrichWithMetrics(StudentCreditTotals row) {
+        StudentDTO dto = StudentMapper.toDTO(row.student());
+        dto.setAcademicMetrics(toMetricsDTO(
+            academicMetricsService.getMetrics(row.attemptedCredits(), row.earnedCredits())));
+        return dto;
+    }
+    
+    private static AcademicMetricsDTO toMetricsDTO(AcademicMetricsService.AcademicMetrics metrics) {
+        return new AcademicMetricsDTO(
             metrics.getGpa(), 
             metrics.getCreditsEarned(),
             metrics.getRemainingCreditsToGraduate(),
             metrics.isGraduated()
-        ));
-        return dto;
+        );
     }
     
     /**
@@ -63,11 +84,27 @@ public class StudentController {
      */
     @GetMapping
     public ResponseEntity<Page<StudentDTO>> getAllStudents(Pageable pageable) {
-        Page<StudentDTO> studentPage = studentService.getAllStudents(pageable)
+        Page<StudentDTO> studentPage = studentService.getAllStudentsWithCreditTotals(pageable)
             .map(this::enrichWithMetrics);
         return ResponseEntity.ok(studentPage);
     }
     
+    /**
+     * Get students by keyset pagination, ordered by last name (no total count)
+     * Start with an empty after= and pass each page's nextCursor until it is null
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<StudentDTO>> getStudentsAfter(
+        @RequestParam String after,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        KeysetCursor position = KeysetCursor.decode(after);
+        return ResponseEntity.ok(KeysetCursor.page(size,
+            limit -> studentService.getStudentsAfter(position, limit),
+            student -> new KeysetCursor(student.getLastName(), student.getId()),
+            this::enrichWithMetrics));
+    }
+    
     /**
      * Get student by ID
      */
@@ -77,6 +114,14 @@ public class StudentController {
         return ResponseEntity.ok(enrichWithMetrics(student));
     }
     
+    /**
+     * Get active-semester sections the student can enroll in, with a reason code for every other section
+     */
+    @GetMapping("/{id}/eligible-sections")
+    public ResponseEntity<EligibleSectionsDTO> getEligibleSections(@PathVariable Long id) {
+        return ResponseEntity.ok(eligibleSectionService.getEligibleSections(id));
+    }
+    
     /**
      * Get student by email
      */
@@ -116,7 +161,7 @@ public class StudentController {
     @GetMapping("/grade-level/{gradeLevel}")
     public ResponseEntity<List<StudentDTO>> getStudentsByGradeLevel(@PathVariable Integer gradeLevel) {
         return ResponseEntity.ok(
-            studentService.getStudentsByGradeLevel(gradeLevel).stream()
+            studentService.getStudentsByGradeLevelWithCreditTotals(gradeLevel).stream()
                 .map(this::enrichWithMetrics)
                 .toList()
         );
@@ -128,7 +173,7 @@ public class StudentController {
     @GetMapping("/status/{status}")
     public ResponseEntity<List<StudentDTO>> getStudentsByStatus(@PathVariable StudentStatus status) {
         return ResponseEntity.ok(
-            studentService.getStudentsByStatus(status).stream()
+            studentService.getStudentsByStatusWithCreditTotals(status).stream()
                 .map(this::enrichWithMetrics)
                 .toList()
         );
@@ -6,17 +6,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.maplewood.common.dto.CursorPageDTO;
 import com.maplewood.common.dto.StudentCourseHistoryDTO;
 import com.maplewood.common.mapper.StudentCourseHistoryMapper;
 import com.maplewood.common.util.DTOConverter;
+import com.maplewood.common.util.KeysetCursor;
+import com.maplewood.common.util.NdjsonWriter;
 import com.maplewood.student.entity.Student;
 import com.maplewood.student.entity.StudentCourseHistory;
 import com.maplewood.student.service.StudentCourseHistoryService;
@@ -38,6 +44,9 @@ public class StudentCourseHistoryController {
     @Autowired
     private StudentService studentService;
     
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+    
     /**
      * Get all course histories (global)
      */
@@ -46,6 +55,15 @@ public class StudentCourseHistoryController {
         return ResponseEntity.ok(DTOConverter.convertList(courseHistoryService.getAllCourseHistories(), StudentCourseHistoryMapper::toDTO));
     }
     
+    /**
+     * Stream all course histories (global) as NDJSON (Accept: application/x-ndjson), one record per line
+     */
+    @GetMapping(value = "/_all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCourseHistories() {
+        return ndjsonWriter.stream(sink -> courseHistoryService.forEachCourseHistory(
+            history -> sink.accept(StudentCourseHistoryMapper.toDTO(history))));
+    }
+    
     /**
      * Get course history by ID
      */
@@ -69,6 +87,24 @@ public class StudentCourseHistoryController {
         return ResponseEntity.ok(courseHistoryService.getCourseHistoryByStudent(student, pageable).map(StudentCourseHistoryMapper::toDTO));
     }
     
+    /**
+     * Get a student's courses by keyset pagination, ordered by semester (no total count)
+     * Start with an empty after= and pass each page's nextCursor until it is null
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<StudentCourseHistoryDTO>> getCourseHistoryByStudentAfter(
+        @PathVariable Long studentId,
+        @RequestParam String after,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        Student student = studentService.getStudentById(studentId);
+        KeysetCursor position = KeysetCursor.decode(after);
+        return ResponseEntity.ok(KeysetCursor.page(size,
+            limit -> courseHistoryService.getCourseHistoryByStudentAfter(student, position, limit),
+            history -> new KeysetCursor(String.valueOf(history.getSemester().getId()), history.getId()),
+            StudentCourseHistoryMapper::toDTO));
+    }
+    
     /**
      * Get all passed courses for a student (for prerequisite validation)
      */
@@ -71,4 +71,17 @@ public class Student {
     public String getFullName() {
         return firstName + " " + lastName;
     }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Student other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Student.class.hashCode();
+    }
 }
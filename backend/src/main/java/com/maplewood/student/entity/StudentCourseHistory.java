@@ -3,6 +3,7 @@ package com.maplewood.student.entity;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NamedEntityGraph;
 
 import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.course.entity.Course;
@@ -10,6 +11,7 @@ import com.maplewood.school.entity.Semester;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -21,8 +23,11 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@NamedEntityGraph(name = "StudentCourseHistory.withDetails", graph =
+    "student, semester, course(specialization(roomType), prerequisite(specialization(roomType)))")
 @Table(name = "student_course_history", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "semester_id"}))
 @Data
@@ -34,15 +39,18 @@ public class StudentCourseHistory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
     
-    @ManyToOne(optional = false)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "semester_id", nullable = false)
     private Semester semester;
     
@@ -53,4 +61,17 @@ public class StudentCourseHistory {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof StudentCourseHistory other && id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return StudentCourseHistory.class.hashCode();
+    }
 }
@@ -1,12 +1,18 @@
 package com.maplewood.student.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,32 +22,84 @@ import com.maplewood.school.entity.Semester;
 import com.maplewood.student.entity.Student;
 import com.maplewood.student.entity.StudentCourseHistory;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for StudentCourseHistory entity
  * Provides database operations for student course history tracking
  * Critical for prerequisite validation, credit calculations, and academic record management
+ * Finders returning records fetch the StudentCourseHistory.withDetails graph, validation reads IDs and sums only
  */
 @Repository
 public interface StudentCourseHistoryRepository extends JpaRepository<StudentCourseHistory, Long> {
     
+    /**
+     * All course history records
+     */
+    @Override
+    @EntityGraph("StudentCourseHistory.withDetails")
+    List<StudentCourseHistory> findAll();
+    
+    /**
+     * Course history record by ID
+     */
+    @Override
+    @EntityGraph("StudentCourseHistory.withDetails")
+    Optional<StudentCourseHistory> findById(Long id);
+    
+    /**
+     * All course history records through a forward-only cursor, for streamed exports
+     * Read-only and not collected: the caller iterates inside a transaction and closes the stream
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM StudentCourseHistory h ORDER BY h.id")
+    @EntityGraph("StudentCourseHistory.withDetails")
+    Stream<StudentCourseHistory> streamAll();
+    
     /**
      * Find all courses taken by a student with pagination
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     Page<StudentCourseHistory> findByStudent(Student student, Pageable pageable);
     
+    /**
+     * First keyset page of a student's courses, ordered by (semester, id), no count query
+     */
+    @Query("SELECT h FROM StudentCourseHistory h WHERE h.student = :student ORDER BY h.semester.id, h.id")
+    @EntityGraph("StudentCourseHistory.withDetails")
+    List<StudentCourseHistory> findFirstPageByStudent(@Param("student") Student student, Limit limit);
+    
+    /**
+     * Next keyset page of a student's courses: after (semesterId, id)
+     */
+    @Query("SELECT h FROM StudentCourseHistory h WHERE h.student = :student " +
+           "AND (h.semester.id > :semesterId OR (h.semester.id = :semesterId AND h.id > :id)) " +
+           "ORDER BY h.semester.id, h.id")
+    @EntityGraph("StudentCourseHistory.withDetails")
+    List<StudentCourseHistory> findPageByStudentAfter(@Param("student") Student student,
+                                                      @Param("semesterId") Long semesterId,
+                                                      @Param("id") Long id,
+                                                      Limit limit);
+    
     /**
      * Find all courses taken by a student
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findByStudent(Student student);
     
     /**
      * Find all courses a student has PASSED (for prerequisite validation)
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findByStudentAndStatus(Student student, CourseHistoryStatus status);
     
     /**
      * Find specific course history record for a student
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     Optional<StudentCourseHistory> findByStudentAndCourse(Student student, Course course);
     
     /**
@@ -50,24 +108,55 @@ public interface StudentCourseHistoryRepository extends JpaRepository<StudentCou
     @Query("SELECT COUNT(sch) > 0 FROM StudentCourseHistory sch WHERE sch.student = :student AND sch.course = :course AND sch.status = :status")
     boolean existsByStudentAndCourseAndStatus(@Param("student") Student student, @Param("course") Course course, @Param("status") CourseHistoryStatus status);
     
+    /**
+     * Get IDs of courses a student has in a given status (e.g. PASSED, for enrollment validation)
+     */
+    @Query("SELECT DISTINCT sch.course.id FROM StudentCourseHistory sch WHERE sch.student.id = :studentId AND sch.status = :status")
+    List<Long> findCourseIdsByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") CourseHistoryStatus status);
+    
+    /**
+     * Credit totals per student: [studentId, attempted credits, earned (PASSED) credits]
+     * Single aggregate query used to warm up the academic metrics cache
+     */
+    @Query("SELECT sch.student.id, SUM(c.credits), SUM(CASE WHEN sch.status = :passed THEN c.credits ELSE 0 END) " +
+           "FROM StudentCourseHistory sch JOIN sch.course c GROUP BY sch.student.id")
+    List<Object[]> sumCreditsByStudent(@Param("passed") CourseHistoryStatus passed);
+    
+    /**
+     * Credit totals for one student: [studentId, attempted credits, earned (PASSED) credits], empty if no history
+     */
+    @Query("SELECT sch.student.id, SUM(c.credits), SUM(CASE WHEN sch.status = :passed THEN c.credits ELSE 0 END) " +
+           "FROM StudentCourseHistory sch JOIN sch.course c WHERE sch.student.id = :studentId GROUP BY sch.student.id")
+    List<Object[]> sumCreditsByStudentId(@Param("studentId") Long studentId, @Param("passed") CourseHistoryStatus passed);
+    
+    /**
+     * Get (studentId, courseId) pairs for many students in a given status (batch enrollment validation)
+     */
+    @Query("SELECT sch.student.id, sch.course.id FROM StudentCourseHistory sch WHERE sch.student.id IN :studentIds AND sch.status = :status")
+    List<Object[]> findStudentCourseIdsByStudentIdsAndStatus(@Param("studentIds") Collection<Long> studentIds, @Param("status") CourseHistoryStatus status);
+    
     /**
      * Find all courses taken in a specific semester
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findByStudentAndSemester(Student student, Semester semester);
     
     /**
      * Find courses by semester and status
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findByStudentAndSemesterAndStatus(Student student, Semester semester, CourseHistoryStatus status);
     
     /**
      * Get all students who took a specific course
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findByCourse(Course course);
     
     /**
      * Get all students who have PASSED a specific course
      */
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findByCourseAndStatus(Course course, CourseHistoryStatus status);
     
     /**
@@ -84,5 +173,6 @@ public interface StudentCourseHistoryRepository extends JpaRepository<StudentCou
      * Find courses a student has FAILED (for retry eligibility)
      */
     @Query("SELECT sch FROM StudentCourseHistory sch WHERE sch.student = :student AND sch.status = :status")
+    @EntityGraph("StudentCourseHistory.withDetails")
     List<StudentCourseHistory> findFailedCoursesByStudent(@Param("student") Student student, @Param("status") CourseHistoryStatus status);
 }
@@ -0,0 +1,12 @@
+package com.maplewood.student.repository;
+
+import java.math.BigDecimal;
+
+import com.maplewood.student.entity.Student;
+
+/**
+ * Student row joined to its credit sums, built by the listing queries of StudentRepository
+ * Sums are null when the student has no course history
+ */
+public record StudentCreditTotals(Student student, BigDecimal attemptedCredits, BigDecimal earnedCredits) {
+}
@@ -3,10 +3,15 @@ package com.maplewood.student.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.enums.StudentStatus;
 import com.maplewood.student.entity.Student;
 
@@ -17,6 +22,48 @@ import com.maplewood.student.entity.Student;
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
     
+    /**
+     * Shared select of the listing queries: student joined to attempted and earned (PASSED) credits
+     */
+    String WITH_CREDIT_TOTALS =
+        "SELECT new com.maplewood.student.repository.StudentCreditTotals(s, SUM(c.credits), " +
+        "SUM(CASE WHEN sch.status = :passed THEN c.credits ELSE 0 END)) " +
+        "FROM Student s LEFT JOIN StudentCourseHistory sch ON sch.student = s LEFT JOIN sch.course c ";
+    
+    /**
+     * Page of students with their credit sums, one round trip
+     */
+    @Query(value = WITH_CREDIT_TOTALS + "GROUP BY s",
+           countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentCreditTotals> findAllWithCreditTotals(@Param("passed") CourseHistoryStatus passed, Pageable pageable);
+    
+    /**
+     * First keyset page of students, ordered by (lastName, id), no count query
+     */
+    @Query("SELECT s FROM Student s ORDER BY s.lastName, s.id")
+    List<Student> findFirstPage(Limit limit);
+    
+    /**
+     * Next keyset page: students after (lastName, id), seeking on idx_students_last_name
+     */
+    @Query("SELECT s FROM Student s WHERE s.lastName > :lastName OR (s.lastName = :lastName AND s.id > :id) " +
+           "ORDER BY s.lastName, s.id")
+    List<Student> findPageAfter(@Param("lastName") String lastName, @Param("id") Long id, Limit limit);
+    
+    /**
+     * Students of a grade level with their credit sums, one round trip
+     */
+    @Query(WITH_CREDIT_TOTALS + "WHERE s.gradeLevel = :gradeLevel GROUP BY s")
+    List<StudentCreditTotals> findByGradeLevelWithCreditTotals(@Param("gradeLevel") Integer gradeLevel,
+                                                              @Param("passed") CourseHistoryStatus passed);
+    
+    /**
+     * Students in a status with their credit sums, one round trip
+     */
+    @Query(WITH_CREDIT_TOTALS + "WHERE s.status = :status GROUP BY s")
+    List<StudentCreditTotals> findByStatusWithCreditTotals(@Param("status") StudentStatus status,
+                                                          @Param("passed") CourseHistoryStatus passed);
+    
     /**
      * Find student by email
      */
@@ -0,0 +1,139 @@
+package com.maplewood.student.service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.maplewood.common.enums.CourseHistoryStatus;
+import com.maplewood.common.util.TransactionCallbacks;
+import com.maplewood.student.repository.StudentCourseHistoryRepository;
+
+/**
+ * Running credit sums per student, the only inputs academic metrics need
+ *
+ * Warmed up at startup with one aggregate query. StudentCourseHistoryService evicts a student
+ * once a change to their history commits, and the next read reloads them from the database,
+ * so the totals never depend on credits sent by a client or on when a reload overlapped a commit
+ *
+ * Every eviction bumps version; a load or warm-up that overlapped one is not cached
+ */
+@Component
+public class AcademicMetricsCache {
+    
+    @Autowired
+    private StudentCourseHistoryRepository courseHistoryRepository;
+    
+    private final Map<Long, CreditTotals> totalsByStudent = new ConcurrentHashMap<>();
+    
+    /**
+     * Students evicted since the last warm-up (a missing entry no longer means "no history")
+     */
+    private final Set<Long> evicted = ConcurrentHashMap.newKeySet();
+    
+    private volatile boolean warmedUp = false;
+    
+    private long version;
+    
+    /**
+     * Attempted and earned (PASSED) credits of one student
+     */
+    public record CreditTotals(BigDecimal attempted, BigDecimal earned) {
+        
+        public static final CreditTotals ZERO = new CreditTotals(BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+    
+    /**
+     * (Re)load all totals with one aggregate query
+     * Also used when course credits change
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        while (true) {
+            long seen = version();
+            Map<Long, CreditTotals> fresh = new HashMap<>();
+            courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED)
+                .forEach(row -> fresh.put((Long) row[0], toTotals(row)));
+            synchronized (this) {
+                if (version != seen) {
+                    continue;
+                }
+                totalsByStudent.clear();
+                totalsByStudent.putAll(fresh);
+                evicted.clear();
+                warmedUp = true;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Reload all totals once the current transaction commits (course credits changed)
+     */
+    public void warmUpAfterCommit() {
+        TransactionCallbacks.afterCommit(this::warmUp);
+    }
+    
+    /**
+     * Get totals of a student
+     * After warm-up a student without entry has no history unless evicted; otherwise load on demand
+     */
+    public CreditTotals getTotals(Long studentId) {
+        CreditTotals totals = totalsByStudent.get(studentId);
+        if (totals != null) {
+            return totals;
+        }
+        if (warmedUp && !evicted.contains(studentId)) {
+            return CreditTotals.ZERO;
+        }
+        long seen = version();
+        CreditTotals loaded = load(studentId);
+        synchronized (this) {
+            if (version == seen) {
+                totalsByStudent.put(studentId, loaded);
+                evicted.remove(studentId);
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Drop a student's totals once the current transaction (which changed their history) commits
+     */
+    public void evictAfterCommit(Long studentId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                version++;
+                totalsByStudent.remove(studentId);
+                evicted.add(studentId);
+            }
+        });
+    }
+    
+    private synchronized long version() {
+        return version;
+    }
+    
+    private CreditTotals load(Long studentId) {
+        List<Object[]> rows = courseHistoryRepository.sumCreditsByStudentId(studentId, CourseHistoryStatus.PASSED);
+        return rows.isEmpty() ? CreditTotals.ZERO : toTotals(rows.get(0));
+    }
+    
+    private static CreditTotals toTotals(Object[] row) {
+        return new CreditTotals(toBigDecimal(row[1]), toBigDecimal(row[2]));
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
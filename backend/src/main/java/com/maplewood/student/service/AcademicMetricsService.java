@@ -1,5 +1,6 @@
 package com.maplewood.student.service;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,8 @@ import com.maplewood.student.repository.StudentCourseHistoryRepository;
 /**
  * Service for calculating academic metrics for students
  * Calculates GPA and total credits earned from course history
+ * getMetrics() reads running credit sums from AcademicMetricsCache (no history queries)
+ * or takes sums already aggregated by a listing query
  */
 @Service
 public class AcademicMetricsService {
@@ -22,6 +25,9 @@ public class AcademicMetricsService {
     @Autowired
     private StudentCourseHistoryRepository courseHistoryRepository;
     
+    @Autowired
+    private AcademicMetricsCache metricsCache;
+    
     /**
      * Calculate total credits earned (sum of all PASSED courses)
      */
@@ -77,12 +83,7 @@ public class AcademicMetricsService {
             }
         }
         
-        if (totalCreditsAttempted == 0) {
-            return 0.0;
-        }
-        
-        double gpa = (totalCreditsEarned / totalCreditsAttempted) * 4.0;
-        return Math.round(gpa * 100.0) / 100.0;
+        return gpa(totalCreditsEarned, totalCreditsAttempted);
     }
     
     /**
@@ -96,21 +97,50 @@ public class AcademicMetricsService {
      * Calculate remaining credits needed to graduate
      */
     public double calculateRemainingCreditsToGraduate(Student student) {
-        double creditsEarned = calculateCreditsEarned(student);
-        double remaining = GRADUATION_REQUIREMENT - creditsEarned;
-        return remaining > 0 ? Math.round(remaining * 100.0) / 100.0 : 0.0;
+        return remainingCredits(calculateCreditsEarned(student));
     }
     
     /**
      * Get all academic metrics for a student
      */
     public AcademicMetrics getMetrics(Student student) {
-        double gpa = calculateGPA(student);
-        double creditsEarned = calculateCreditsEarned(student);
-        double remaining = calculateRemainingCreditsToGraduate(student);
-        boolean graduated = isGraduated(student);
+        if (student == null || student.getId() == null) {
+            return new AcademicMetrics(0.0, 0.0, GRADUATION_REQUIREMENT, false);
+        }
+        
+        AcademicMetricsCache.CreditTotals totals = metricsCache.getTotals(student.getId());
+        return getMetrics(totals.attempted(), totals.earned());
+    }
+    
+    /**
+     * Get all academic metrics from attempted and earned credit sums (null sums count as 0)
+     */
+    public AcademicMetrics getMetrics(BigDecimal attemptedCredits, BigDecimal earnedCredits) {
+        double creditsEarned = earnedCredits != null ? earnedCredits.doubleValue() : 0.0;
+        double creditsAttempted = attemptedCredits != null ? attemptedCredits.doubleValue() : 0.0;
         
-        return new AcademicMetrics(gpa, creditsEarned, remaining, graduated);
+        return new AcademicMetrics(
+            gpa(creditsEarned, creditsAttempted),
+            creditsEarned,
+            remainingCredits(creditsEarned),
+            creditsEarned >= GRADUATION_REQUIREMENT
+        );
+    }
+    
+    /**
+     * GPA = (credits earned / credits attempted) × 4.0, rounded to 2 decimals
+     */
+    private static double gpa(double creditsEarned, double creditsAttempted) {
+        if (creditsAttempted == 0) {
+            return 0.0;
+        }
+        double gpa = (creditsEarned / creditsAttempted) * 4.0;
+        return Math.round(gpa * 100.0) / 100.0;
+    }
+    
+    private static double remainingCredits(double creditsEarned) {
+        double remaining = GRADUATION_REQUIREMENT - creditsEarned;
+        return remaining > 0 ? Math.round(remaining * 100.0) / 100.0 : 0.0;
     }
     
     /**
@@ -1,21 +1,29 @@
 package com.maplewood.student.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.exception.DuplicateResourceException;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.util.EntityStreams;
+import com.maplewood.common.util.KeysetCursor;
 import com.maplewood.course.entity.Course;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.student.entity.Student;
 import com.maplewood.student.entity.StudentCourseHistory;
 import com.maplewood.student.repository.StudentCourseHistoryRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 /**
  * Service for StudentCourseHistory entity
  * Handles CRUD operations and academic record management
@@ -26,6 +34,12 @@ public class StudentCourseHistoryService {
     @Autowired
     private StudentCourseHistoryRepository studentCourseHistoryRepository;
     
+    @Autowired
+    private AcademicMetricsCache metricsCache;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get all student course histories
      */
@@ -33,6 +47,14 @@ public class StudentCourseHistoryService {
         return studentCourseHistoryRepository.findAll();
     }
     
+    /**
+     * Hand every course history record to the action, one at a time from a database cursor (streamed exports)
+     */
+    @Transactional(readOnly = true)
+    public void forEachCourseHistory(Consumer<StudentCourseHistory> action) {
+        EntityStreams.forEachCleared(studentCourseHistoryRepository.streamAll(), entityManager, action);
+    }
+    
     /**
      * Get course history by ID
      */
@@ -47,6 +69,16 @@ public class StudentCourseHistoryService {
         return studentCourseHistoryRepository.findByStudent(student, pageable);
     }
     
+    /**
+     * Keyset page of a student's courses ordered by (semester, id), after a position (null: first page)
+     */
+    @Transactional(readOnly = true)
+    public List<StudentCourseHistory> getCourseHistoryByStudentAfter(Student student, KeysetCursor after, int limit) {
+        return after == null
+            ? studentCourseHistoryRepository.findFirstPageByStudent(student, Limit.of(limit))
+            : studentCourseHistoryRepository.findPageByStudentAfter(student, after.keyAsLong(), after.id(), Limit.of(limit));
+    }
+    
     /**
      * Get all courses taken by a student
     /**
@@ -100,29 +132,36 @@ public class StudentCourseHistoryService {
             throw new DuplicateResourceException("StudentCourseHistory", "studentId/courseId", history.getStudent().getId() + "/" + history.getCourse().getId());
         }
         
-        return studentCourseHistoryRepository.save(history);
+        StudentCourseHistory saved = studentCourseHistoryRepository.save(history);
+        metricsCache.evictAfterCommit(saved.getStudent().getId());
+        return saved;
     }
     
     /**
      * Update course history
      */
+    @Transactional
     public StudentCourseHistory updateCourseHistory(Long id, StudentCourseHistory historyDetails) {
         StudentCourseHistory history = getCourseHistoryById(id);
+        CourseHistoryStatus previousStatus = history.getStatus();
         
         if (historyDetails.getStatus() != null) {
             history.setStatus(historyDetails.getStatus());
         }
         
-        return studentCourseHistoryRepository.save(history);
+        StudentCourseHistory saved = studentCourseHistoryRepository.save(history);
+        if (previousStatus != saved.getStatus()) {
+            metricsCache.evictAfterCommit(saved.getStudent().getId());
+        }
+        return saved;
     }
     
     /**
      * Delete course history
      */
     public void deleteCourseHistory(Long id) {
-        if (!studentCourseHistoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("StudentCourseHistory", id);
-        }
-        studentCourseHistoryRepository.deleteById(id);
+        StudentCourseHistory history = getCourseHistoryById(id);
+        studentCourseHistoryRepository.delete(history);
+        metricsCache.evictAfterCommit(history.getStudent().getId());
     }
 }
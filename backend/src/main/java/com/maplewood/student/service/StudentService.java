@@ -3,14 +3,20 @@ package com.maplewood.student.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.enums.StudentStatus;
 import com.maplewood.common.exception.DuplicateResourceException;
 import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.util.KeysetCursor;
+import com.maplewood.enrollment.service.SectionWaitlistService;
 import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentCreditTotals;
 import com.maplewood.student.repository.StudentRepository;
 
 /**
@@ -23,16 +29,39 @@ public class StudentService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private SectionWaitlistService waitlistService;
+    
     /**
      * Get all students with pagination
      */
+    @Transactional(readOnly = true)
     public Page<Student> getAllStudents(Pageable pageable) {
         return studentRepository.findAll(pageable);
     }
     
+    /**
+     * Get all students with pagination, joined to their credit sums
+     */
+    @Transactional(readOnly = true)
+    public Page<StudentCreditTotals> getAllStudentsWithCreditTotals(Pageable pageable) {
+        return studentRepository.findAllWithCreditTotals(CourseHistoryStatus.PASSED, pageable);
+    }
+    
+    /**
+     * Keyset page of students ordered by (lastName, id), after a position (null: first page)
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsAfter(KeysetCursor after, int limit) {
+        return after == null
+            ? studentRepository.findFirstPage(Limit.of(limit))
+            : studentRepository.findPageAfter(after.key(), after.id(), Limit.of(limit));
+    }
+    
     /**
      * Get all students
      */
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
@@ -40,6 +69,7 @@ public class StudentService {
     /**
      * Get student by ID
      */
+    @Transactional(readOnly = true)
     public Student getStudentById(Long id) {
         return studentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Student", id));
@@ -48,6 +78,7 @@ public class StudentService {
     /**
      * Get student by email
      */
+    @Transactional(readOnly = true)
     public Student getStudentByEmail(String email) {
         return studentRepository.findByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "email", email));
@@ -56,6 +87,7 @@ public class StudentService {
     /**
      * Get student by first and last name
      */
+    @Transactional(readOnly = true)
     public Student getStudentByName(String firstName, String lastName) {
         return studentRepository.findByFirstNameAndLastName(firstName, lastName)
             .orElseThrow(() -> new ResourceNotFoundException("Student", "name", firstName + " " + lastName));
@@ -64,6 +96,7 @@ public class StudentService {
     /**
      * Get students by first name
      */
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByFirstName(String firstName) {
         return studentRepository.findByFirstNameIgnoreCase(firstName);
     }
@@ -71,17 +104,35 @@ public class StudentService {
     /**
      * Get students by grade level
      */
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByGradeLevel(Integer gradeLevel) {
         return studentRepository.findByGradeLevel(gradeLevel);
     }
     
+    /**
+     * Get students by grade level, joined to their credit sums
+     */
+    @Transactional(readOnly = true)
+    public List<StudentCreditTotals> getStudentsByGradeLevelWithCreditTotals(Integer gradeLevel) {
+        return studentRepository.findByGradeLevelWithCreditTotals(gradeLevel, CourseHistoryStatus.PASSED);
+    }
+    
     /**
      * Get students by status
      */
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByStatus(StudentStatus status) {
         return studentRepository.findByStatus(status);
     }
     
+    /**
+     * Get students by status, joined to their credit sums
+     */
+    @Transactional(readOnly = true)
+    public List<StudentCreditTotals> getStudentsByStatusWithCreditTotals(StudentStatus status) {
+        return studentRepository.findByStatusWithCreditTotals(status, CourseHistoryStatus.PASSED);
+    }
+    
     /**
      * Create new student
      */
@@ -127,12 +178,14 @@ public class StudentService {
     }
     
     /**
-     * Delete student
+     * Delete student, taking them off every section waitlist
      */
+    @Transactional
     public void deleteStudent(Long id) {
         if (!studentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Student", id);
         }
+        waitlistService.removeStudent(id);
         studentRepository.deleteById(id);
     }
 }
@@ -0,0 +1,213 @@
+-- Schema of maplewood_school.sqlite before migrations were introduced
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), new ones are created from it
+
+CREATE TABLE IF NOT EXISTS room_types (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    description TEXT
+);
+
+CREATE TABLE IF NOT EXISTS specializations (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    room_type_id INTEGER,
+    description TEXT,
+    FOREIGN KEY (room_type_id) REFERENCES room_types(id)
+);
+
+CREATE TABLE IF NOT EXISTS teachers (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    specialization_id INTEGER NOT NULL,
+    email VARCHAR(100) UNIQUE,
+    max_daily_hours INTEGER DEFAULT 4 CHECK (max_daily_hours <= 4),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (specialization_id) REFERENCES specializations(id)
+);
+
+CREATE TABLE IF NOT EXISTS classrooms (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    room_type_id INTEGER NOT NULL,
+    capacity INTEGER DEFAULT 10 CHECK (capacity <= 10),
+    equipment TEXT,
+    floor INTEGER,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (room_type_id) REFERENCES room_types(id)
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    code VARCHAR(10) NOT NULL UNIQUE,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    credits DECIMAL(3,1) NOT NULL CHECK (credits > 0),
+    hours_per_week INTEGER NOT NULL CHECK (hours_per_week BETWEEN 2 AND 6),
+    specialization_id INTEGER NOT NULL,
+    prerequisite_id INTEGER,
+    course_type VARCHAR(20) NOT NULL CHECK (course_type IN ('core', 'elective')),
+    grade_level_min INTEGER CHECK (grade_level_min BETWEEN 9 AND 12),
+    grade_level_max INTEGER CHECK (grade_level_max BETWEEN 9 AND 12),
+    -- Semester order: 1=Fall courses, 2=Spring courses
+    semester_order INTEGER NOT NULL CHECK (semester_order IN (1, 2)),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (specialization_id) REFERENCES specializations(id),
+    FOREIGN KEY (prerequisite_id) REFERENCES courses(id),
+    CHECK (grade_level_max >= grade_level_min)
+);
+
+CREATE TABLE IF NOT EXISTS semesters (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name VARCHAR(20) NOT NULL,
+    year INTEGER NOT NULL,
+    -- Semester order within academic year: 1=Fall, 2=Spring
+    order_in_year INTEGER NOT NULL CHECK (order_in_year IN (1, 2)),
+    start_date DATE,
+    end_date DATE,
+    is_active BOOLEAN DEFAULT FALSE,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(name, year),
+    CHECK (
+        (name = 'Fall' AND order_in_year = 1) OR
+        (name = 'Spring' AND order_in_year = 2)
+    )
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) UNIQUE,
+    grade_level INTEGER NOT NULL CHECK (grade_level BETWEEN 9 AND 12),
+    enrollment_year INTEGER NOT NULL,
+    expected_graduation_year INTEGER,
+    status VARCHAR(20) DEFAULT 'active' CHECK (status IN ('active', 'inactive', 'graduated')),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    gpa DECIMAL(3,2) DEFAULT 0.00 NOT NULL,
+    total_credits_completed INT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS student_course_history (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    student_id INTEGER NOT NULL,
+    course_id INTEGER NOT NULL,
+    semester_id INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('passed', 'failed')),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    grade VARCHAR(2),
+    FOREIGN KEY (student_id) REFERENCES students(id),
+    FOREIGN KEY (course_id) REFERENCES courses(id),
+    FOREIGN KEY (semester_id) REFERENCES semesters(id),
+    UNIQUE(student_id, course_id, semester_id)
+);
+
+CREATE TABLE IF NOT EXISTS course_sections (
+    id INTEGER,
+    capacity INTEGER NOT NULL CHECK ((capacity <= 10)),
+    created_at TIMESTAMP NOT NULL,
+    enrollment_count INTEGER DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    classroom_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    semester_id BIGINT NOT NULL,
+    teacher_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS course_section_meetings (
+    id INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    day_of_week INTEGER NOT NULL CHECK ((day_of_week >= 1) AND (day_of_week <= 5)),
+    end_time TIME(0) NOT NULL,
+    start_time TIME(0) NOT NULL,
+    updated_at TIMESTAMP,
+    section_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS current_enrollments (
+    id INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    grade VARCHAR(2),
+    status VARCHAR(20) DEFAULT 'enrolled' NOT NULL CHECK ((status IN ('withdrawn', 'enrolled'))),
+    updated_at TIMESTAMP,
+    course_section_id BIGINT NOT NULL,
+    semester_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_courses_prerequisite ON courses(prerequisite_id);
+CREATE INDEX IF NOT EXISTS idx_courses_semester_order ON courses(semester_order);
+CREATE INDEX IF NOT EXISTS idx_courses_specialization ON courses(specialization_id);
+CREATE INDEX IF NOT EXISTS idx_semesters_order_year ON semesters(order_in_year, year);
+CREATE INDEX IF NOT EXISTS idx_student_course_history_course ON student_course_history(course_id);
+CREATE INDEX IF NOT EXISTS idx_student_course_history_semester ON student_course_history(semester_id);
+CREATE INDEX IF NOT EXISTS idx_student_course_history_student ON student_course_history(student_id);
+CREATE INDEX IF NOT EXISTS idx_students_grade_level ON students(grade_level);
+CREATE INDEX IF NOT EXISTS idx_teachers_specialization ON teachers(specialization_id);
+
+CREATE TRIGGER IF NOT EXISTS enforce_prerequisite_completion
+    BEFORE INSERT ON student_course_history
+    FOR EACH ROW
+BEGIN
+    SELECT CASE
+        WHEN (
+            SELECT c.prerequisite_id FROM courses c WHERE c.id = NEW.course_id
+        ) IS NOT NULL AND NOT EXISTS (
+            SELECT 1 FROM student_course_history sch
+            WHERE sch.student_id = NEW.student_id
+            AND sch.course_id = (SELECT c.prerequisite_id FROM courses c WHERE c.id = NEW.course_id)
+            AND sch.status = 'passed'
+        )
+        THEN RAISE(ABORT, 'Student must pass prerequisite course before enrolling in this course.')
+    END;
+END;
+
+CREATE TRIGGER IF NOT EXISTS prevent_duplicate_passed_course
+    BEFORE INSERT ON student_course_history
+    FOR EACH ROW
+    WHEN NEW.status = 'passed'
+BEGIN
+    SELECT CASE
+        WHEN EXISTS (
+            SELECT 1 FROM student_course_history sch
+            WHERE sch.student_id = NEW.student_id
+            AND sch.course_id = NEW.course_id
+            AND sch.status = 'passed'
+        )
+        THEN RAISE(ABORT, 'Student has already passed this course.')
+    END;
+END;
+
+CREATE TRIGGER IF NOT EXISTS enforce_prerequisite_semester_order
+    BEFORE INSERT ON courses
+    FOR EACH ROW
+    WHEN NEW.prerequisite_id IS NOT NULL
+BEGIN
+    SELECT CASE
+        WHEN (
+            SELECT c1.grade_level_min FROM courses c1 WHERE c1.id = NEW.prerequisite_id
+        ) = NEW.grade_level_min AND (
+            SELECT c1.semester_order FROM courses c1 WHERE c1.id = NEW.prerequisite_id
+        ) > NEW.semester_order
+        THEN RAISE(ABORT, 'Course cannot be scheduled before its prerequisite within the same grade level.')
+    END;
+END;
+
+CREATE TRIGGER IF NOT EXISTS enforce_prerequisite_semester_order_update
+    BEFORE UPDATE ON courses
+    FOR EACH ROW
+    WHEN NEW.prerequisite_id IS NOT NULL
+BEGIN
+    SELECT CASE
+        WHEN (
+            SELECT c1.grade_level_min FROM courses c1 WHERE c1.id = NEW.prerequisite_id
+        ) = NEW.grade_level_min AND (
+            SELECT c1.semester_order FROM courses c1 WHERE c1.id = NEW.prerequisite_id
+        ) > NEW.semester_order
+        THEN RAISE(ABORT, 'Course cannot be scheduled before its prerequisite within the same grade level.')
+    END;
+END;
@@ -0,0 +1,58 @@
+-- Covering indexes for the repository queries that run on every enrollment and schedule check
+-- Column order: equality columns first, then the columns the query reads, so SQLite answers from the index alone
+
+-- current_enrollments
+-- existsByStudent_IdAndCourseSection_Id, findByStudentAndCourseSection, countBy...Semester_Id (joined via course_sections)
+CREATE INDEX IF NOT EXISTS idx_current_enrollments_student_section
+    ON current_enrollments(student_id, course_section_id, status);
+-- findByStudentAndSemester, countByStudentAndSemesterAndStatus, hasActiveEnrollments, countDistinctCoursesForStudent
+CREATE INDEX IF NOT EXISTS idx_current_enrollments_student_semester
+    ON current_enrollments(student_id, semester_id, status, course_section_id);
+-- findByCourseSection, countByCourseSection
+CREATE INDEX IF NOT EXISTS idx_current_enrollments_section
+    ON current_enrollments(course_section_id, status);
+-- findBySemester
+CREATE INDEX IF NOT EXISTS idx_current_enrollments_semester
+    ON current_enrollments(semester_id, status);
+-- findByStatus
+CREATE INDEX IF NOT EXISTS idx_current_enrollments_status
+    ON current_enrollments(status);
+
+-- course_section_meetings
+-- findBySection, findBySection_IdIn, countBySection, existsBySection_IdAndDayOfWeekAndStartTime
+CREATE INDEX IF NOT EXISTS idx_course_section_meetings_section_day
+    ON course_section_meetings(section_id, day_of_week, start_time, end_time);
+-- findByDayOfWeek, findByDay, findConflictingMeetings, findMeetingsByTimeRange
+CREATE INDEX IF NOT EXISTS idx_course_section_meetings_day_time
+    ON course_section_meetings(day_of_week, start_time, end_time, section_id);
+
+-- course_sections (joined by the meeting and enrollment queries above)
+-- findBySection_Teacher, findBySection_TeacherAndDayOfWeek
+CREATE INDEX IF NOT EXISTS idx_course_sections_teacher
+    ON course_sections(teacher_id);
+-- findBySection_Classroom
+CREATE INDEX IF NOT EXISTS idx_course_sections_classroom
+    ON course_sections(classroom_id);
+-- sections of a semester, open-seat EXISTS check per course
+CREATE INDEX IF NOT EXISTS idx_course_sections_semester_course
+    ON course_sections(semester_id, course_id, enrollment_count, capacity);
+
+-- student_course_history
+-- findByStudentAndCourse, existsByStudentAndCourseAndStatus, prerequisite triggers
+CREATE INDEX IF NOT EXISTS idx_student_course_history_student_course_status
+    ON student_course_history(student_id, course_id, status);
+-- findByStudentAndStatus, findCourseIdsByStudentIdAndStatus, countByStudentAndStatus, credit sums
+CREATE INDEX IF NOT EXISTS idx_student_course_history_student_status_course
+    ON student_course_history(student_id, status, course_id);
+-- findByStudentAndSemester, findByStudentAndSemesterAndStatus, countByStudentAndSemester
+CREATE INDEX IF NOT EXISTS idx_student_course_history_student_semester
+    ON student_course_history(student_id, semester_id, status);
+-- findByCourse, findByCourseAndStatus
+CREATE INDEX IF NOT EXISTS idx_student_course_history_course_status
+    ON student_course_history(course_id, status);
+
+-- Single-column indexes now covered by the prefixes above
+DROP INDEX IF EXISTS idx_student_course_history_student;
+DROP INDEX IF EXISTS idx_student_course_history_course;
+
+ANALYZE;
@@ -0,0 +1,13 @@
+-- Indexes for keyset (cursor) pagination: each listing seeks on (sort key, id)
+-- SQLite appends the rowid (id) to every index entry, so a one-column index already orders by (sort key, id)
+
+-- students?after=: (last_name, id)
+CREATE INDEX IF NOT EXISTS idx_students_last_name
+    ON students(last_name);
+
+-- course-sections?after=: (semester_id, id)
+CREATE INDEX IF NOT EXISTS idx_course_sections_semester
+    ON course_sections(semester_id);
+
+-- students/{id}/course-history?after=: (semester_id, id) within a student; idx_student_course_history_student_semester
+-- already seeks on (student_id, semester_id), only the rows of one semester get sorted by id
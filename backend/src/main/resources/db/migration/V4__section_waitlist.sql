@@ -0,0 +1,17 @@
+-- Waitlist of full sections: one row per (section, student), served first come first served
+-- The row id gives the order: SQLite appends it to every index entry, so the section index lists a queue in order
+
+CREATE TABLE IF NOT EXISTS section_waitlist (
+    id INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    course_section_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (course_section_id, student_id),
+    FOREIGN KEY (course_section_id) REFERENCES course_sections(id),
+    FOREIGN KEY (student_id) REFERENCES students(id)
+);
+
+-- findByCourseSection_IdOrderByIdAsc, findWithStudentByCourseSection_Id: (course_section_id, id)
+CREATE INDEX IF NOT EXISTS idx_section_waitlist_section
+    ON section_waitlist(course_section_id);
@@ -0,0 +1,67 @@
+package com.maplewood.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.maplewood.common.dto.CursorPageDTO;
+
+/**
+ * Unit tests for KeysetCursor
+ * Ensures cursors survive the round trip through the URL and pages fetch one extra row instead of counting
+ */
+@DisplayName("Keyset Cursor Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should decode what encode produced, including keys containing the separator")
+    void testRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor("O'Neil: Jr", 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(7L, KeysetCursor.decode(new KeysetCursor("7", 3L).encode()).keyAsLong());
+    }
+
+    @Test
+    @DisplayName("Should start from the first page on an empty cursor and reject tampered ones")
+    void testDecodeEmptyAndInvalid() {
+        assertNull(KeysetCursor.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> new KeysetCursor("Smith", 1L).keyAsLong());
+    }
+
+    @Test
+    @DisplayName("Should fetch one row more than the page size and point nextCursor at the last row returned")
+    void testPageWithNext() {
+        List<Integer> limits = new ArrayList<>();
+
+        CursorPageDTO<String> page = KeysetCursor.page(3,
+            limit -> { limits.add(limit); return IntStream.rangeClosed(1, limit).boxed().toList(); },
+            row -> new KeysetCursor("k" + row, row),
+            row -> "row" + row);
+
+        assertEquals(List.of(4), limits);
+        assertEquals(List.of("row1", "row2", "row3"), page.content());
+        assertEquals(new KeysetCursor("k3", 3L), KeysetCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should end the listing when the extra row is missing and clamp the page size")
+    void testLastPageAndClamp() {
+        CursorPageDTO<Integer> last = KeysetCursor.page(5, limit -> List.of(1, 2), row -> new KeysetCursor("k", row), row -> row);
+        CursorPageDTO<Integer> huge = KeysetCursor.page(1_000_000, limit -> List.<Integer>of(), row -> new KeysetCursor("k", row), row -> row);
+
+        assertEquals(List.of(1, 2), last.content());
+        assertNull(last.nextCursor());
+        assertEquals(KeysetCursor.MAX_SIZE, huge.size());
+    }
+}
@@ -0,0 +1,91 @@
+package com.maplewood.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.inOrder;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Unit tests for NdjsonWriter and EntityStreams
+ * Ensures exports are written one JSON document per line and the persistence context never accumulates rows
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NDJSON Streaming Tests")
+class NdjsonWriterTest {
+
+    @Spy
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private NdjsonWriter ndjsonWriter;
+
+    @Test
+    @DisplayName("Should write one JSON document per line, each terminated by a newline")
+    void shouldWriteOneDocumentPerLine() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = ndjsonWriter.stream(sink -> {
+            sink.accept(Map.of("id", 1));
+            sink.accept(Map.of("id", 2));
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should not run the producer until the body is written")
+    void shouldProduceLazily() {
+        AtomicBoolean produced = new AtomicBoolean();
+
+        ndjsonWriter.stream(sink -> produced.set(true));
+
+        assertFalse(produced.get());
+    }
+
+    @Test
+    @DisplayName("Should clear the persistence context after each entity and close the stream")
+    void shouldClearAfterEachEntityAndClose() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<String> rows = Stream.of("a", "b").onClose(() -> closed.set(true));
+        List<String> seen = new ArrayList<>();
+
+        EntityStreams.forEachCleared(rows, entityManager, row -> {
+            seen.add(row);
+            entityManager.contains(row);
+        });
+
+        InOrder order = inOrder(entityManager);
+        order.verify(entityManager).contains("a");
+        order.verify(entityManager).clear();
+        order.verify(entityManager).contains("b");
+        order.verify(entityManager).clear();
+        assertEquals(List.of("a", "b"), seen);
+        assertTrue(closed.get());
+    }
+}
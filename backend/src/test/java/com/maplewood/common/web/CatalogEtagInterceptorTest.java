@@ -0,0 +1,133 @@
+package com.maplewood.common.web;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Unit tests for CatalogVersions and CatalogEtagInterceptor
+ * Ensures unchanged catalog collections are answered with 304 before the handler runs,
+ * and that a change only shows in the ETag once it is committed
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Catalog ETag Tests")
+class CatalogEtagInterceptorTest {
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @InjectMocks
+    private CatalogEtagInterceptor interceptor;
+
+    @SuppressWarnings("unused")
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 and skip the handler")
+    void preHandle_ShouldReturn304_WhenEtagMatches() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get(), first, handler("sections")));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest revalidation = get();
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(revalidation, second, handler("sections")));
+        assertEquals(304, second.getStatus());
+        assertEquals(etag, second.getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache", second.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    @DisplayName("Should run the handler once an embedded collection changed")
+    void preHandle_ShouldRunHandler_AfterEmbeddedCollectionChanged() throws Exception {
+        String etag = catalogVersions.etag(CatalogResource.SECTIONS);
+        catalogVersions.bump(CatalogResource.TEACHERS);
+
+        MockHttpServletRequest revalidation = get();
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(revalidation, response, handler("sections")));
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should leave handlers without @CatalogEtag alone")
+    void preHandle_ShouldIgnoreUnannotatedHandlers() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(get(), response, handler("uncached")));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should change only the ETags of the bumped collection and of those embedding it")
+    void etag_ShouldFollowEmbeddedCollections() {
+        String teachers = catalogVersions.etag(CatalogResource.TEACHERS);
+        String sections = catalogVersions.etag(CatalogResource.SECTIONS);
+
+        catalogVersions.bump(CatalogResource.CLASSROOMS);
+
+        assertEquals(teachers, catalogVersions.etag(CatalogResource.TEACHERS));
+        assertNotEquals(sections, catalogVersions.etag(CatalogResource.SECTIONS));
+    }
+
+    @Test
+    @DisplayName("Should move the version only when the transaction commits")
+    void bump_ShouldWaitForCommit() {
+        String before = catalogVersions.etag(CatalogResource.COURSES);
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogVersions.bump(CatalogResource.COURSES);
+        assertEquals(before, catalogVersions.etag(CatalogResource.COURSES));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(before, catalogVersions.etag(CatalogResource.COURSES));
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/v1/course-sections");
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        Method method = Handlers.class.getDeclaredMethod(name);
+        return new HandlerMethod(new Handlers(), method);
+    }
+
+    static class Handlers {
+
+        @CatalogEtag(CatalogResource.SECTIONS)
+        String sections() {
+            return "sections";
+        }
+
+        String uncached() {
+            return "uncached";
+        }
+    }
+}
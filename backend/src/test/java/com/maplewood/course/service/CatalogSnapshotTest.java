@@ -0,0 +1,102 @@
+package com.maplewood.course.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.maplewood.common.dto.CourseDTO;
+import com.maplewood.common.dto.SpecializationDTO;
+import com.maplewood.common.enums.CourseType;
+
+/**
+ * Unit tests for CatalogSnapshot
+ * Ensures the indexes answer like the course queries they replace and changes never touch an existing snapshot
+ */
+@DisplayName("Catalog Snapshot Tests")
+class CatalogSnapshotTest {
+
+    private static final SpecializationDTO MATH = new SpecializationDTO(1L, "Mathematics", null, null);
+    private static final SpecializationDTO SCIENCE = new SpecializationDTO(2L, "Science", null, null);
+
+    @Test
+    @DisplayName("Should index courses by type, specialization, semester and every grade of their range")
+    void search_ShouldCombineIndexes() {
+        // Arrange
+        CourseDTO algebra = course(1L, "MAT101", MATH, CourseType.CORE, 9, 10, 1);
+        CourseDTO geometry = course(2L, "MAT102", MATH, CourseType.CORE, 10, 11, 2);
+        CourseDTO biology = course(3L, "SCI101", SCIENCE, CourseType.ELECTIVE, 9, 12, 1);
+        CatalogSnapshot snapshot = new CatalogSnapshot(List.of(biology, geometry, algebra));
+
+        // Act & Assert
+        assertEquals(List.of(algebra, geometry, biology), snapshot.getAll());
+        assertEquals(List.of(algebra, geometry), snapshot.getBySpecialization(1L));
+        assertEquals(List.of(biology), snapshot.getByType(CourseType.ELECTIVE));
+        assertEquals(List.of(geometry, biology), snapshot.getByGradeLevel(11));
+        assertEquals(List.of(), snapshot.getByGradeLevel(8));
+        assertEquals(List.of(algebra, biology), snapshot.search(null, null, 10, 1));
+        assertEquals(List.of(algebra), snapshot.search(1L, CourseType.CORE, 9, null));
+        assertSame(geometry, snapshot.getByCode("MAT102"));
+    }
+
+    @Test
+    @DisplayName("Should return new snapshots on change and refresh the prerequisite embedded by dependents")
+    void with_ShouldCopyOnWrite_AndRefreshDependents() {
+        // Arrange: Geometry requires Algebra
+        CourseDTO algebra = course(1L, "MAT101", MATH, CourseType.CORE, 9, 10, 1);
+        CourseDTO geometry = new CourseDTO(2L, "MAT102", null, null, null, null, MATH, algebra, "CORE", 10, 11, 2, null);
+        CatalogSnapshot before = new CatalogSnapshot(List.of(algebra, geometry));
+
+        // Act: Algebra moves to the Spring semester, then is deleted
+        CatalogSnapshot updated = before.with(course(1L, "MAT101", MATH, CourseType.CORE, 9, 10, 2));
+        CatalogSnapshot deleted = updated.without(1L);
+
+        // Assert
+        assertEquals(List.of(geometry), before.getBySemesterOrder(2));
+        assertEquals(2, updated.getById(2L).prerequisite().semesterOrder());
+        assertEquals(2, updated.getBySemesterOrder(2).size());
+        assertNull(deleted.getById(1L));
+        assertNull(deleted.getById(2L).prerequisite());
+        assertEquals(List.of(), deleted.getWithPrerequisites());
+        assertEquals(1, before.getById(2L).prerequisite().semesterOrder());
+    }
+
+    @Test
+    @DisplayName("Should page and sort by any comparable property path, rejecting the others")
+    void page_ShouldSortAndSlice() {
+        // Arrange
+        List<CourseDTO> courses = List.of(
+            course(1L, "MAT101", MATH, CourseType.CORE, 9, 10, 1),
+            course(2L, "ENG101", MATH, CourseType.CORE, 9, 10, 1),
+            course(3L, "SCI101", SCIENCE, CourseType.CORE, 9, 10, 1));
+
+        // Act
+        Page<CourseDTO> page = CatalogSnapshot.page(courses, PageRequest.of(0, 2, Sort.by("code")));
+        Page<CourseDTO> last = CatalogSnapshot.page(courses, PageRequest.of(1, 2));
+        Page<CourseDTO> nested = CatalogSnapshot.page(courses, PageRequest.of(0, 3,
+            Sort.by(Sort.Order.desc("specialization.name"), Sort.Order.asc("code"))));
+
+        // Assert
+        assertEquals(List.of("ENG101", "MAT101"), page.map(CourseDTO::code).getContent());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(3L), last.map(CourseDTO::id).getContent());
+        assertEquals(List.of("SCI101", "ENG101", "MAT101"), nested.map(CourseDTO::code).getContent());
+        assertThrows(IllegalArgumentException.class,
+            () -> CatalogSnapshot.page(courses, PageRequest.of(0, 2, Sort.by("unknown"))));
+        assertThrows(IllegalArgumentException.class,
+            () -> CatalogSnapshot.page(courses, PageRequest.of(0, 2, Sort.by("specialization"))));
+    }
+
+    private static CourseDTO course(Long id, String code, SpecializationDTO specialization, CourseType type,
+                                    int gradeLevelMin, int gradeLevelMax, int semesterOrder) {
+        return new CourseDTO(id, code, null, null, null, null, specialization, null, type.name(),
+            gradeLevelMin, gradeLevelMax, semesterOrder, null);
+    }
+}
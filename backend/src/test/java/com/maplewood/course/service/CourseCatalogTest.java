@@ -0,0 +1,116 @@
+package com.maplewood.course.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.course.entity.Course;
+import com.maplewood.course.repository.CourseRepository;
+
+/**
+ * Unit tests for CourseCatalog
+ * Ensures the snapshot follows committed changes only, reloading one course or the whole catalog
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Course Catalog Tests")
+class CourseCatalogTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private CourseCatalog catalog;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload a changed course once its transaction commits, and only that course")
+    void courseChangedAfterCommit_ShouldReloadCourse_AfterCommit() {
+        // Arrange
+        when(courseRepository.findAll()).thenReturn(List.of(course(1L, "Algebra"), course(2L, "Biology")));
+        CatalogSnapshot loaded = catalog.get();
+        when(courseRepository.findAllById(any())).thenReturn(List.of(course(1L, "Algebra I")));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act: The update is only visible once it commits
+        catalog.courseChangedAfterCommit(1L);
+        CatalogSnapshot beforeCommit = catalog.get();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        CatalogSnapshot afterCommit = catalog.get();
+
+        // Assert
+        assertSame(loaded, beforeCommit);
+        assertEquals("Algebra I", afterCommit.getById(1L).name());
+        assertSame(loaded.getById(2L), afterCommit.getById(2L));
+        assertSame(afterCommit, catalog.get());
+        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot when the transaction rolls back")
+    void courseChangedAfterCommit_ShouldNotReload_OnRollback() {
+        // Arrange
+        when(courseRepository.findAll()).thenReturn(List.of(course(1L, "Algebra")));
+        CatalogSnapshot loaded = catalog.get();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        catalog.courseChangedAfterCommit(1L);
+        catalog.reloadAfterCommit();
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertSame(loaded, catalog.get());
+        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should reload the whole catalog after a specialization or room type change commits")
+    void reloadAfterCommit_ShouldReloadAll() {
+        // Arrange
+        when(courseRepository.findAll())
+            .thenReturn(List.of(course(1L, "Algebra")))
+            .thenReturn(List.of(course(1L, "Algebra"), course(2L, "Biology")));
+        catalog.get();
+
+        // Act: No transaction, the change applies now
+        catalog.reloadAfterCommit();
+        CatalogSnapshot reloaded = catalog.get();
+
+        // Assert
+        assertEquals(2, reloaded.getAll().size());
+        assertEquals("Biology", reloaded.getById(2L).name());
+        verify(courseRepository, times(2)).findAll();
+    }
+
+    private static Course course(Long id, String name) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCode("C" + id);
+        course.setName(name);
+        return course;
+    }
+}
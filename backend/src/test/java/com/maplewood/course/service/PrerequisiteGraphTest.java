@@ -0,0 +1,132 @@
+package com.maplewood.course.service;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.course.repository.CourseRepository;
+
+/**
+ * Unit tests for PrerequisiteGraph
+ * Tests chain and dependent lookups, cycle detection, unlocked courses and changes racing a rebuild
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Prerequisite Graph Tests")
+class PrerequisiteGraphTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private PrerequisiteGraph graph;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        // 1 <- 2 <- 3, 1 <- 4, 5 standalone
+        when(courseRepository.findPrerequisiteLinks()).thenReturn(List.of(
+            new Object[]{1L, null},
+            new Object[]{2L, 1L},
+            new Object[]{3L, 2L},
+            new Object[]{4L, 1L},
+            new Object[]{5L, null}
+        ));
+        graph.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should return full prerequisite chain root first")
+    void getPrerequisiteIds_ShouldReturnChainRootFirst() {
+        assertEquals(List.of(1L, 2L), graph.getPrerequisiteIds(3L));
+        assertEquals(List.of(), graph.getPrerequisiteIds(1L));
+    }
+
+    @Test
+    @DisplayName("Should return direct and transitive dependents")
+    void getDependentIds_ShouldReturnDirectAndTransitive() {
+        assertEquals(Set.of(2L, 4L), Set.copyOf(graph.getDependentIds(1L)));
+        assertEquals(Set.of(2L, 3L, 4L), graph.getAllDependentIds(1L));
+        assertEquals(Set.of(), graph.getAllDependentIds(5L));
+    }
+
+    @Test
+    @DisplayName("Should detect cycles including self-reference")
+    void wouldCreateCycle_ShouldDetectCycles() {
+        assertTrue(graph.wouldCreateCycle(1L, 3L));
+        assertTrue(graph.wouldCreateCycle(2L, 2L));
+        assertFalse(graph.wouldCreateCycle(3L, 4L));
+        assertFalse(graph.wouldCreateCycle(1L, null));
+    }
+
+    @Test
+    @DisplayName("Should unlock dependents of passed courses that are not passed yet")
+    void getUnlockedCourseIds_ShouldReturnDependentsOfPassedCourses() {
+        assertEquals(Set.of(4L, 3L), graph.getUnlockedCourseIds(List.of(1L, 2L)));
+        assertEquals(Set.of(), graph.getUnlockedCourseIds(List.of(5L)));
+    }
+
+    @Test
+    @DisplayName("Should update closure when a prerequisite changes or a course is removed")
+    void update_ShouldRecomputeClosure() {
+        // Act: 4 now requires 3, then 2 is deleted
+        graph.update(4L, 3L);
+        assertEquals(List.of(1L, 2L, 3L), graph.getPrerequisiteIds(4L));
+
+        graph.remove(2L);
+
+        // Assert: 3 lost its prerequisite, 1 has no dependents left
+        assertEquals(List.of(3L), graph.getPrerequisiteIds(4L));
+        assertEquals(Set.of(), graph.getAllDependentIds(1L));
+    }
+
+    @Test
+    @DisplayName("Should apply a change only once its transaction commits")
+    void update_ShouldWaitForCommit_WhenTransactionActive() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            graph.update(4L, 3L);
+
+            // Assert: Unchanged until commit, then applied
+            assertEquals(List.of(1L), graph.getPrerequisiteIds(4L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(1L, 2L, 3L), graph.getPrerequisiteIds(4L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should query again instead of losing a change committed during a rebuild")
+    void rebuild_ShouldKeepChange_WhenCommittedDuringQuery() {
+        // Arrange: The first query returns links read before 4 -> 3 was committed
+        List<Object[]> before = List.of(new Object[]{1L, null}, new Object[]{3L, null}, new Object[]{4L, 1L});
+        List<Object[]> after = List.of(new Object[]{1L, null}, new Object[]{3L, null}, new Object[]{4L, 3L});
+        when(courseRepository.findPrerequisiteLinks())
+            .thenAnswer(invocation -> {
+                graph.update(4L, 3L);
+                return before;
+            })
+            .thenReturn(after);
+
+        // Act
+        graph.rebuild();
+
+        // Assert
+        assertEquals(List.of(3L), graph.getPrerequisiteIds(4L));
+    }
+}
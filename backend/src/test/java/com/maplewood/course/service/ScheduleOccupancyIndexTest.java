@@ -0,0 +1,172 @@
+package com.maplewood.course.service;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.common.enums.DayOfWeek;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.entity.CourseSectionMeeting;
+import com.maplewood.course.repository.CourseSectionMeetingRepository;
+import com.maplewood.school.entity.Classroom;
+import com.maplewood.school.entity.Semester;
+import com.maplewood.school.entity.Teacher;
+
+/**
+ * Unit tests for ScheduleOccupancyIndex
+ * Tests that changes wait for their transaction to commit and that a rebuild keeps changes applied meanwhile
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Schedule Occupancy Index Tests")
+class ScheduleOccupancyIndexTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+
+    @Mock
+    private CourseSectionMeetingRepository meetingRepository;
+
+    @InjectMocks
+    private ScheduleOccupancyIndex occupancyIndex;
+
+    private CourseSection section;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        Classroom classroom = new Classroom();
+        classroom.setId(1L);
+
+        section = new CourseSection();
+        section.setId(1L);
+        section.setSemester(semester);
+        section.setTeacher(teacher);
+        section.setClassroom(classroom);
+    }
+
+    @SuppressWarnings("unused")
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should book a meeting's slots only once its transaction commits")
+    void addAfterCommit_ShouldWaitForCommit_WhenTransactionActive() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        occupancyIndex.addAfterCommit(createMeeting(1L, NINE, TEN));
+
+        // Assert: Free until commit, booked after
+        assertFalse(occupancyIndex.isTeacherBooked(1L, 1L, 1, NINE, TEN, null));
+        commit();
+        assertTrue(occupancyIndex.isTeacherBooked(1L, 1L, 1, NINE, TEN, null));
+    }
+
+    @Test
+    @DisplayName("Should leave slots untouched when the transaction rolls back")
+    void reindexSectionAfterCommit_ShouldKeepSlots_WhenRolledBack() {
+        // Arrange: The section meets 9-10, the new pattern would move it to 10-11
+        occupancyIndex.add(createMeeting(1L, NINE, TEN));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act: Rollback, no afterCommit callback
+        occupancyIndex.reindexSectionAfterCommit(1L, List.of(createMeeting(2L, TEN, LocalTime.of(11, 0))));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Assert
+        assertTrue(occupancyIndex.isClassroomBooked(1L, 1L, 1, NINE, TEN, null));
+        assertFalse(occupancyIndex.isClassroomBooked(1L, 1L, 1, TEN, LocalTime.of(11, 0), null));
+    }
+
+    @Test
+    @DisplayName("Should swap a section's slots for its new pattern once the transaction commits")
+    void reindexSectionAfterCommit_ShouldReplaceSlots_WhenCommitted() {
+        // Arrange: The section meets 9-10, the new pattern moves it to 10-11
+        occupancyIndex.add(createMeeting(1L, NINE, TEN));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        occupancyIndex.reindexSectionAfterCommit(1L, List.of(createMeeting(2L, TEN, LocalTime.of(11, 0))));
+
+        // Assert: Old pattern until commit, new pattern after
+        assertTrue(occupancyIndex.isClassroomBooked(1L, 1L, 1, NINE, TEN, null));
+        commit();
+        assertFalse(occupancyIndex.isClassroomBooked(1L, 1L, 1, NINE, TEN, null));
+        assertTrue(occupancyIndex.isClassroomBooked(1L, 1L, 1, TEN, LocalTime.of(11, 0), null));
+    }
+
+    @Test
+    @DisplayName("Should free a deleted section's slots only once the transaction commits")
+    void removeSectionAfterCommit_ShouldWaitForCommit_WhenTransactionActive() {
+        // Arrange
+        occupancyIndex.add(createMeeting(1L, NINE, TEN));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        occupancyIndex.removeSectionAfterCommit(1L);
+
+        // Assert
+        assertTrue(occupancyIndex.isTeacherBooked(1L, 1L, 1, NINE, TEN, null));
+        commit();
+        assertFalse(occupancyIndex.isTeacherBooked(1L, 1L, 1, NINE, TEN, null));
+    }
+
+    @Test
+    @DisplayName("Should query again instead of losing a change applied during a rebuild")
+    void rebuild_ShouldKeepChange_WhenAppliedDuringQuery() {
+        // Arrange: The first query runs before meeting 2 is committed, the second after
+        CourseSectionMeeting first = createMeeting(1L, NINE, TEN);
+        CourseSectionMeeting second = createMeeting(2L, TEN, LocalTime.of(11, 0));
+        when(meetingRepository.findAllWithSection())
+            .thenAnswer(invocation -> {
+                occupancyIndex.addAfterCommit(second);
+                return List.of(first);
+            })
+            .thenReturn(List.of(first, second));
+
+        // Act
+        occupancyIndex.rebuild();
+
+        // Assert
+        assertTrue(occupancyIndex.isTeacherBooked(1L, 1L, 1, NINE, TEN, null));
+        assertTrue(occupancyIndex.isTeacherBooked(1L, 1L, 1, TEN, LocalTime.of(11, 0), null));
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private CourseSectionMeeting createMeeting(Long id, LocalTime start, LocalTime end) {
+        CourseSectionMeeting meeting = new CourseSectionMeeting();
+        meeting.setId(id);
+        meeting.setSection(section);
+        meeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
+        meeting.setStartTime(start);
+        meeting.setEndTime(end);
+        return meeting;
+    }
+}
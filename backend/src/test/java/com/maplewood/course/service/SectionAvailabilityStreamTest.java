@@ -0,0 +1,189 @@
+package com.maplewood.course.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.maplewood.common.dto.SectionAvailabilityDTO;
+import com.maplewood.course.repository.CourseSectionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Unit tests for SectionAvailabilityStream
+ * Ensures changes are coalesced per client, a slow client does not hold back the others,
+ * and nothing is read when nobody listens
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Section Availability Stream Tests")
+class SectionAvailabilityStreamTest {
+
+    @Mock
+    private CourseSectionRepository sectionRepository;
+
+    @Spy
+    private JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SectionAvailabilityStream stream;
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    @Test
+    @DisplayName("Should merge the events a slow client missed while the others get every one")
+    void flush_ShouldCoalesceForSlowClient_WithoutDelayingOthers() throws Exception {
+        // Arrange: The slow client blocks on its first event
+        CountDownLatch slowClientReading = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(slowClientReading);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        stream.subscribe(slow);
+        stream.subscribe(fast);
+        when(sectionRepository.findAvailabilityByIdIn(any()))
+            .thenReturn(List.of(new SectionAvailabilityDTO(1L, 28, 30)))
+            .thenReturn(List.of(new SectionAvailabilityDTO(1L, 29, 30)))
+            .thenReturn(List.of(new SectionAvailabilityDTO(1L, 30, 30)));
+
+        // Act: Three enrollments, one flush each, the fast client reads each event before the next flush
+        for (int i = 1; i <= 3; i++) {
+            stream.publishAfterCommit(1L);
+            stream.flush();
+            fast.awaitEvents(i);
+            slow.awaitEvents(1);
+        }
+        slowClientReading.countDown();
+        slow.awaitEvents(2);
+
+        // Assert
+        assertEquals(List.of(event(28), event(29), event(30)), fast.events);
+        assertEquals(List.of(event(28), event(30)), slow.events);
+    }
+
+    @Test
+    @DisplayName("Should not send sections whose values did not move")
+    void flush_ShouldSkipUnchangedSections() throws Exception {
+        // Arrange: A drop immediately followed by a waitlist promotion leaves the count where it was
+        RecordingEmitter client = new RecordingEmitter(null);
+        stream.subscribe(client);
+        when(sectionRepository.findAvailabilityByIdIn(any()))
+            .thenReturn(List.of(new SectionAvailabilityDTO(1L, 30, 30)))
+            .thenReturn(List.of(new SectionAvailabilityDTO(1L, 30, 30), new SectionAvailabilityDTO(2L, 12, 25)));
+
+        // Act
+        stream.publishAfterCommit(1L);
+        stream.flush();
+        client.awaitEvents(1);
+        stream.publishAfterCommit(1L);
+        stream.publishAfterCommit(2L);
+        stream.flush();
+        client.awaitEvents(2);
+
+        // Assert
+        assertEquals(List.of(event(30), "[{\"sectionId\":2,\"enrollmentCount\":12,\"capacity\":25}]"), client.events);
+    }
+
+    @Test
+    @DisplayName("Should not query anything when nobody listens")
+    void flush_ShouldNotQuery_WithoutSubscribers() {
+        // Act
+        stream.publishAfterCommit(1L);
+        stream.flush();
+
+        // Assert
+        verify(sectionRepository, never()).findAvailabilityByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should close a stream whose send fails unexpectedly")
+    void flush_ShouldCompleteWithError_WhenSendFails() throws Exception {
+        // Arrange
+        CountDownLatch failed = new CountDownLatch(1);
+        SseEmitter broken = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                throw new UnsupportedOperationException("Broken converter");
+            }
+
+            @Override
+            public void completeWithError(Throwable ex) {
+                failed.countDown();
+            }
+        };
+        stream.subscribe(broken);
+        when(sectionRepository.findAvailabilityByIdIn(any())).thenReturn(List.of(new SectionAvailabilityDTO(1L, 28, 30)));
+
+        // Act
+        stream.publishAfterCommit(1L);
+        stream.flush();
+
+        // Assert: The stream is closed and dropped, later changes are not even read
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        stream.publishAfterCommit(1L);
+        stream.flush();
+        verify(sectionRepository, times(1)).findAvailabilityByIdIn(any());
+    }
+
+    private static String event(int enrollmentCount) {
+        return "[{\"sectionId\":1,\"enrollmentCount\":" + enrollmentCount + ",\"capacity\":30}]";
+    }
+
+    /**
+     * Emitter keeping the data of each event, optionally blocking on the first send until released
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendReleased;
+
+        RecordingEmitter(CountDownLatch firstSendReleased) {
+            this.firstSendReleased = firstSendReleased;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            builder.build().stream()
+                .filter(part -> part.getData() instanceof String data && data.startsWith("["))
+                .forEach(part -> events.add((String) part.getData()));
+            if (firstSendReleased != null && events.size() == 1) {
+                try {
+                    firstSendReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(events.size() >= count, "Events received: " + events);
+        }
+    }
+}
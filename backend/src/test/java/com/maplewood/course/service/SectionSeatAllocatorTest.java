@@ -0,0 +1,275 @@
+package com.maplewood.course.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SectionSeatAllocator
+ * Ensures a section is never overbooked under concurrent enrollment and seats are reconciled on rollback/drop
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Section Seat Allocator Tests")
+class SectionSeatAllocatorTest {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+    private static final int CAPACITY = 10;
+
+    @Mock
+    private CourseSectionRepository courseSectionRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SectionSeatAllocator allocator;
+
+    private CourseSection section;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        section = new CourseSection();
+        section.setId(1L);
+        section.setCapacity(CAPACITY);
+        section.setEnrollmentCount(0);
+    }
+
+    @SuppressWarnings("unused")
+    @AfterEach
+    void tearDown() {
+        endTransaction();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly capacity seats to 500 concurrent requests within bounded latency")
+    void tryReserve_ShouldNeverOverbook_Under500ConcurrentRequests() throws Exception {
+        // Arrange: One 10-seat section, 500 requests released at the same instant
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<Long>> latencies = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            latencies.add(executor.submit(() -> {
+                start.await();
+                beginTransaction();
+                try {
+                    long begin = System.nanoTime();
+                    if (allocator.tryReserve(1L)) {
+                        granted.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                    return System.nanoTime() - begin;
+                } finally {
+                    endTransaction();
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        long maxLatencyNanos = 0;
+        for (Future<Long> latency : latencies) {
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert: No overbooking, every loser gets a definite answer, counter loaded once
+        assertEquals(CAPACITY, granted.get());
+        assertEquals(CONCURRENT_REQUESTS - CAPACITY, rejected.get());
+        assertEquals(0, allocator.getFreeSeats(1L));
+        assertTrue(maxLatencyNanos < TimeUnit.SECONDS.toNanos(1),
+            "Slowest reservation took " + TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos) + " ms");
+        verify(courseSectionRepository, times(1)).findById(1L);
+        assertEquals(CAPACITY, reservations("granted"));
+        assertEquals(CONCURRENT_REQUESTS - CAPACITY, reservations("full"));
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when section already full in database")
+    void tryReserve_ShouldReject_WhenSectionFull() {
+        // Arrange: 10/10 enrolled
+        section.setEnrollmentCount(CAPACITY);
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        beginTransaction();
+
+        // Act & Assert
+        assertFalse(allocator.tryReserve(1L));
+    }
+
+    @Test
+    @DisplayName("Should refuse to reserve outside a transaction, where the seat could never be given back")
+    void tryReserve_ShouldThrow_WithoutTransaction() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> allocator.tryReserve(1L));
+    }
+
+    @Test
+    @DisplayName("Should not count an in-flight reservation as free when the counter is reloaded")
+    void invalidate_ShouldSubtractInFlightReservations() {
+        // Arrange: One seat left, reserved by an enrollment that has not committed
+        section.setEnrollmentCount(CAPACITY - 1);
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        beginTransaction();
+        assertTrue(allocator.tryReserve(1L));
+
+        // Act: Reload from the committed count (still CAPACITY - 1)
+        allocator.invalidate(1L);
+
+        // Assert
+        assertEquals(0, allocator.getFreeSeats(1L));
+        assertFalse(allocator.tryReserve(1L));
+    }
+
+    @Test
+    @DisplayName("Should never over-count a reservation committing during a reload, and reload once it completed")
+    void invalidate_ShouldReloadAgain_WhenReservationCommitsDuringLoad() {
+        // Arrange: Reservation committing, the database already shows it, its afterCompletion has not run yet
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        beginTransaction();
+        assertTrue(allocator.tryReserve(1L));
+        List<TransactionSynchronization> reservation = TransactionSynchronizationManager.getSynchronizations();
+        reservation.forEach(s -> s.beforeCommit(false));
+        section.setEnrollmentCount(1);
+
+        // Act: Reload inside the commit window, then after it
+        allocator.invalidate(1L);
+        int duringCommit = allocator.getFreeSeats(1L);
+        reservation.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        int afterCommit = allocator.getFreeSeats(1L);
+
+        // Assert: Counted twice during the window (one seat short), exact once the commit completed
+        assertEquals(CAPACITY - 2, duringCommit);
+        assertEquals(CAPACITY - 1, afterCommit);
+        verify(courseSectionRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not free a dropped seat twice when the counter is reloaded before the release")
+    void invalidate_ShouldNotCountDropTwice_WhenReloadedBeforeRelease() {
+        // Arrange: Section full, drop committed in the database, its release has not run yet
+        section.setEnrollmentCount(CAPACITY);
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        beginTransaction();
+        allocator.releaseAfterCommit(1L);
+        List<TransactionSynchronization> drop = TransactionSynchronizationManager.getSynchronizations();
+        drop.forEach(s -> s.beforeCommit(false));
+        section.setEnrollmentCount(CAPACITY - 1);
+
+        // Act
+        allocator.invalidate(1L);
+        int duringCommit = allocator.getFreeSeats(1L);
+        drop.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        int afterCommit = allocator.getFreeSeats(1L);
+
+        // Assert
+        assertEquals(0, duringCommit);
+        assertEquals(1, afterCommit);
+    }
+
+    @Test
+    @DisplayName("Should return seat when enrollment transaction rolls back")
+    void tryReserve_ShouldReleaseSeat_OnRollback() {
+        // Arrange: One seat left, reservation made inside a transaction
+        section.setEnrollmentCount(CAPACITY - 1);
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        beginTransaction();
+
+        // Act
+        assertTrue(allocator.tryReserve(1L));
+        assertFalse(allocator.tryReserve(1L));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(1, allocator.getFreeSeats(1L));
+        assertEquals(1, meterRegistry.get("maplewood.enrollment.seat.rollbacks").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep seat when enrollment transaction commits")
+    void tryReserve_ShouldKeepSeat_OnCommit() {
+        // Arrange
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        beginTransaction();
+
+        // Act
+        assertTrue(allocator.tryReserve(1L));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertEquals(CAPACITY - 1, allocator.getFreeSeats(1L));
+    }
+
+    @Test
+    @DisplayName("Should free seat only after drop commits")
+    void releaseAfterCommit_ShouldFreeSeat_OnlyAfterCommit() {
+        // Arrange: Section full
+        section.setEnrollmentCount(CAPACITY);
+        when(courseSectionRepository.findById(1L)).thenReturn(Optional.of(section));
+        assertEquals(0, allocator.getFreeSeats(1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act: Drop inside a transaction
+        allocator.releaseAfterCommit(1L);
+        assertEquals(0, allocator.getFreeSeats(1L));
+        List<TransactionSynchronization> drop = TransactionSynchronizationManager.getSynchronizations();
+        drop.forEach(s -> s.beforeCommit(false));
+        drop.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertEquals(1, allocator.getFreeSeats(1L));
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private double reservations(String outcome) {
+        return meterRegistry.get("maplewood.enrollment.seat.reservations").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,146 @@
+package com.maplewood.course.service;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.maplewood.course.service.TimetableSolver.PlacedMeeting;
+import com.maplewood.course.service.TimetableSolver.SectionDemand;
+import com.maplewood.course.service.TimetableSolver.Solution;
+
+/**
+ * Unit tests for TimetableSolver
+ * Ensures generated timetables satisfy every meeting rule, respect what is already booked,
+ * and that a realistic semester is solved within seconds
+ */
+@DisplayName("Timetable Solver Tests")
+class TimetableSolverTest {
+
+    private static final long NODE_LIMIT = 1_000_000;
+    private static final int MAX_DAILY_HOURS = 4;
+
+    @Test
+    @DisplayName("Should schedule a 200-section semester within seconds, every rule satisfied")
+    void solve_ShouldScheduleRealisticSemester() {
+        List<SectionDemand> demands = semester(200, 50, 60, new Random(42));
+        TimetableSolver solver = solverFor(demands);
+
+        Solution solution = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> solver.solve(NODE_LIMIT));
+
+        assertTrue(solution.solved());
+        assertRulesHold(demands, solution.meetings(), Map.of());
+    }
+
+    @Test
+    @DisplayName("Should keep clear of booked slots and count existing hours against the daily limit")
+    void solve_ShouldRespectExistingMeetings() {
+        // Teacher 1 teaches 3h on Monday already, classroom 1 is booked all of Tuesday morning
+        List<SectionDemand> demands = List.of(new SectionDemand(1L, 1L, 1L, 6), new SectionDemand(2L, 2L, 1L, 4));
+        TimetableSolver solver = solverFor(demands);
+        solver.book(1L, 2L, 1, LocalTime.of(8, 0), LocalTime.of(11, 0));
+        solver.countTeacherMinutes(1L, 1, 180);
+        solver.book(null, 1L, 2, LocalTime.of(8, 0), LocalTime.of(12, 0));
+
+        Solution solution = solver.solve(NODE_LIMIT);
+
+        assertTrue(solution.solved());
+        assertRulesHold(demands, solution.meetings(), Map.of(1L, new int[]{3, 0, 0, 0, 0}));
+        assertTrue(solution.meetings().stream()
+            .noneMatch(m -> m.sectionId() == 1L && m.dayOfWeek() == 1 && m.startTime().isBefore(LocalTime.of(11, 0))));
+        assertTrue(solution.meetings().stream()
+            .noneMatch(m -> m.dayOfWeek() == 2 && m.startTime().isBefore(LocalTime.of(12, 0))));
+    }
+
+    @Test
+    @DisplayName("Should report an impossible semester without hitting the node limit")
+    void solve_ShouldProveInfeasibility() {
+        // 6h/day for 5 days is more than a 4h/day teacher can ever teach
+        List<SectionDemand> demands = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            demands.add(new SectionDemand(id, 1L, id, 6));
+        }
+
+        Solution solution = solverFor(demands).solve(NODE_LIMIT);
+
+        assertFalse(solution.solved());
+        assertFalse(solution.nodeLimitReached());
+        assertTrue(solution.meetings().isEmpty());
+        assertEquals(List.of(1L), solution.overloadedTeacherIds());
+    }
+
+    private static TimetableSolver solverFor(List<SectionDemand> demands) {
+        TimetableSolver solver = new TimetableSolver();
+        for (SectionDemand demand : demands) {
+            solver.limitTeacher(demand.teacherId(), MAX_DAILY_HOURS);
+            solver.addSection(demand);
+        }
+        return solver;
+    }
+
+    /**
+     * Sections with the catalog's hour mix (core 4-6h, elective 2-4h), each teacher given at most 18h a week
+     */
+    private static List<SectionDemand> semester(int sections, int teachers, int classrooms, Random random) {
+        int[] hourMix = {2, 3, 3, 4, 4, 4, 4, 5, 5, 6, 6};
+        int[] teacherLoad = new int[teachers];
+        List<SectionDemand> demands = new ArrayList<>();
+        for (int i = 0; i < sections; i++) {
+            int hours = hourMix[random.nextInt(hourMix.length)];
+            int teacher = random.nextInt(teachers);
+            while (teacherLoad[teacher] + hours > 18) {
+                teacher = (teacher + 1) % teachers;
+            }
+            teacherLoad[teacher] += hours;
+            demands.add(new SectionDemand((long) i + 1, (long) teacher + 1, (long) random.nextInt(classrooms) + 1, hours));
+        }
+        return demands;
+    }
+
+    private static void assertRulesHold(List<SectionDemand> demands, List<PlacedMeeting> meetings, Map<Long, int[]> existingHours) {
+        Map<Long, SectionDemand> byId = new HashMap<>();
+        demands.forEach(d -> byId.put(d.sectionId(), d));
+        Map<Long, Integer> weeklyHours = new HashMap<>();
+        Map<Long, int[]> teacherDailyHours = new HashMap<>();
+        Set<String> sectionDays = new HashSet<>();
+        Set<String> teacherHours = new HashSet<>();
+        Set<String> classroomHours = new HashSet<>();
+
+        for (PlacedMeeting meeting : meetings) {
+            SectionDemand demand = byId.get(meeting.sectionId());
+            assertFalse(meeting.startTime().isBefore(LocalTime.of(8, 0)));
+            assertFalse(meeting.endTime().isAfter(LocalTime.of(17, 0)));
+            assertFalse(meeting.startTime().isBefore(LocalTime.of(13, 0)) && meeting.endTime().isAfter(LocalTime.of(12, 0)),
+                "Meeting over lunch: " + meeting);
+            assertTrue(sectionDays.add(meeting.sectionId() + "@" + meeting.dayOfWeek()), "Two meetings a day: " + meeting);
+
+            int hours = (int) Duration.between(meeting.startTime(), meeting.endTime()).toHours();
+            weeklyHours.merge(meeting.sectionId(), hours, Integer::sum);
+            teacherDailyHours.computeIfAbsent(demand.teacherId(),
+                t -> existingHours.getOrDefault(t, new int[5]).clone())[meeting.dayOfWeek() - 1] += hours;
+            for (int h = meeting.startTime().getHour(); h < meeting.endTime().getHour(); h++) {
+                String slot = meeting.dayOfWeek() + "/" + h;
+                assertTrue(teacherHours.add(demand.teacherId() + "@" + slot), "Teacher double-booked: " + meeting);
+                assertTrue(classroomHours.add(demand.classroomId() + "@" + slot), "Classroom double-booked: " + meeting);
+            }
+        }
+        demands.forEach(d -> assertEquals(d.hoursPerWeek(), weeklyHours.get(d.sectionId()), "Hours of section " + d.sectionId()));
+        teacherDailyHours.values().forEach(days -> {
+            for (int day : days) {
+                assertTrue(day <= MAX_DAILY_HOURS, "Teacher over the daily limit");
+            }
+        });
+    }
+}
@@ -158,4 +158,45 @@ class HoursValidationTest {
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(meeting));
     }
+
+    @Test
+    @DisplayName("Should check a weekly pattern on its own, ignoring the meetings it replaces")
+    void validatePattern_ShouldPass_WhenPatternMatchesHours() {
+        // Arrange: The section already has 4 hours, the pattern replacing them has 4 hours too
+        CourseSectionMeeting existingMeeting = meetingOn(DayOfWeek.FRIDAY, LocalTime.of(8, 0), LocalTime.of(12, 0));
+        when(repository.findBySection(section)).thenReturn(List.of(existingMeeting));
+
+        List<CourseSectionMeeting> pattern = List.of(
+            meetingOn(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)),
+            meetingOn(DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+            meetingOn(DayOfWeek.FRIDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validatePattern(section, pattern));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when a weekly pattern exceeds the course hours")
+    void validatePattern_ShouldThrowException_WhenPatternExceedsHours() {
+        // Arrange: 3 + 2 = 5 hours for a 4-hour course
+        List<CourseSectionMeeting> pattern = List.of(
+            meetingOn(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(11, 0)),
+            meetingOn(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(10, 0)));
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            validator.validatePattern(section, pattern);
+        });
+
+        assertTrue(ex.getMessage().contains("(5)"));
+    }
+
+    private CourseSectionMeeting meetingOn(DayOfWeek day, LocalTime start, LocalTime end) {
+        CourseSectionMeeting patternMeeting = new CourseSectionMeeting();
+        patternMeeting.setSection(section);
+        patternMeeting.setDayOfWeekEnum(day);
+        patternMeeting.setStartTime(start);
+        patternMeeting.setEndTime(end);
+        return patternMeeting;
+    }
 }
@@ -11,8 +11,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.maplewood.common.enums.CourseType;
@@ -21,8 +20,9 @@ import com.maplewood.common.exception.ScheduleConflictException;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.entity.CourseSectionMeeting;
-import com.maplewood.course.repository.CourseSectionMeetingRepository;
+import com.maplewood.course.service.ScheduleOccupancyIndex;
 import com.maplewood.school.entity.Classroom;
+import com.maplewood.school.entity.Semester;
 import com.maplewood.school.entity.Teacher;
 
 /**
@@ -33,8 +33,8 @@ import com.maplewood.school.entity.Teacher;
 @DisplayName("Meeting Schedule Conflict Validation Tests")
 class ScheduleConflictMeetingValidatorTest {
 
-    @Mock(strictness = Mock.Strictness.LENIENT)
-    private CourseSectionMeetingRepository repository;
+    @Spy
+    private ScheduleOccupancyIndex occupancyIndex = new ScheduleOccupancyIndex();
 
     @InjectMocks
     private ScheduleConflictMeetingValidator validator;
@@ -44,6 +44,7 @@ class ScheduleConflictMeetingValidatorTest {
     private Course course;
     private Teacher teacher;
     private Classroom classroom;
+    private Semester semester;
 
     @SuppressWarnings("unused")
     @BeforeEach
@@ -63,11 +64,15 @@ class ScheduleConflictMeetingValidatorTest {
         classroom.setId(1L);
         classroom.setName("A101");
 
+        semester = new Semester();
+        semester.setId(1L);
+
         section = new CourseSection();
         section.setId(1L);
         section.setCourse(course);
         section.setTeacher(teacher);
         section.setClassroom(classroom);
+        section.setSemester(semester);
 
         meeting = new CourseSectionMeeting();
         meeting.setSection(section);
@@ -76,13 +81,47 @@ class ScheduleConflictMeetingValidatorTest {
         meeting.setEndTime(LocalTime.of(10, 0));
     }
 
+    /**
+     * Index an existing meeting of another section
+     */
+    private CourseSectionMeeting book(Long id, Teacher sectionTeacher, Classroom sectionClassroom, Semester sectionSemester,
+                                      LocalTime start, LocalTime end) {
+        CourseSection otherSection = new CourseSection();
+        otherSection.setId(100L + id);
+        otherSection.setCourse(course);
+        otherSection.setTeacher(sectionTeacher);
+        otherSection.setClassroom(sectionClassroom);
+        otherSection.setSemester(sectionSemester);
+
+        CourseSectionMeeting existing = new CourseSectionMeeting();
+        existing.setId(id);
+        existing.setSection(otherSection);
+        existing.setDayOfWeekEnum(DayOfWeek.MONDAY);
+        existing.setStartTime(start);
+        existing.setEndTime(end);
+        occupancyIndex.add(existing);
+        return existing;
+    }
+
+    private Classroom otherClassroom() {
+        Classroom other = new Classroom();
+        other.setId(2L);
+        other.setName("B202");
+        return other;
+    }
+
+    private Teacher otherTeacher() {
+        Teacher other = new Teacher();
+        other.setId(2L);
+        other.setFirstName("Mr.");
+        other.setLastName("Jones");
+        return other;
+    }
+
     @Test
     @DisplayName("Should pass when teacher has no schedule conflicts")
     void validateScheduleConflict_ShouldPass_WhenTeacherNoConflict() {
-        // Arrange: No conflicting meetings at same time
-        when(repository.findBySection_TeacherAndDayOfWeek(teacher, DayOfWeek.MONDAY.getDayValue()))
-            .thenReturn(List.of());
-
+        // Arrange: Nothing booked
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(meeting));
     }
@@ -90,15 +129,8 @@ class ScheduleConflictMeetingValidatorTest {
     @Test
     @DisplayName("Should throw exception when teacher has conflicting meeting at same time")
     void validateScheduleConflict_ShouldThrowException_WhenTeacherHasConflict() {
-        // Arrange: Teacher has meeting from 9:30-10:30 (overlaps with 9:00-10:00)
-        CourseSectionMeeting conflictingMeeting = new CourseSectionMeeting();
-        conflictingMeeting.setId(2L);
-        conflictingMeeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
-        conflictingMeeting.setStartTime(LocalTime.of(9, 30));
-        conflictingMeeting.setEndTime(LocalTime.of(10, 30));
-
-        when(repository.findBySection_Teacher(teacher))
-            .thenReturn(List.of(conflictingMeeting));
+        // Arrange: Teacher has meeting from 9:30-10:30 (overlaps with 9:00-10:00) in another room
+        book(2L, teacher, otherClassroom(), semester, LocalTime.of(9, 30), LocalTime.of(10, 30));
 
         // Act & Assert
         ScheduleConflictException ex = assertThrows(ScheduleConflictException.class, () -> {
@@ -111,8 +143,8 @@ class ScheduleConflictMeetingValidatorTest {
     @Test
     @DisplayName("Should pass when classroom has no schedule conflicts")
     void validateScheduleConflict_ShouldPass_WhenClassroomNoConflict() {
-        // Arrange: Classroom is free at this time
-        when(repository.findBySection_Classroom(classroom)).thenReturn(List.of());
+        // Arrange: Classroom is free at this time, only another room is booked
+        book(3L, otherTeacher(), otherClassroom(), semester, LocalTime.of(9, 0), LocalTime.of(10, 0));
 
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(meeting));
@@ -121,15 +153,8 @@ class ScheduleConflictMeetingValidatorTest {
     @Test
     @DisplayName("Should throw exception when classroom is booked at same time")
     void validateScheduleConflict_ShouldThrowException_WhenClassroomBooked() {
-        // Arrange: Classroom booked for 9:15-10:15 (overlaps with 9:00-10:00)
-        CourseSectionMeeting conflictingMeeting = new CourseSectionMeeting();
-        conflictingMeeting.setId(3L);
-        conflictingMeeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
-        conflictingMeeting.setStartTime(LocalTime.of(9, 15));
-        conflictingMeeting.setEndTime(LocalTime.of(10, 15));
-
-        when(repository.findBySection_Classroom(classroom))
-            .thenReturn(List.of(conflictingMeeting));
+        // Arrange: Classroom booked for 9:15-10:15 (overlaps with 9:00-10:00) by another teacher
+        book(3L, otherTeacher(), classroom, semester, LocalTime.of(9, 15), LocalTime.of(10, 15));
 
         // Act & Assert
         ScheduleConflictException ex = assertThrows(ScheduleConflictException.class, () -> {
@@ -142,10 +167,8 @@ class ScheduleConflictMeetingValidatorTest {
     @Test
     @DisplayName("Should pass when both teacher and classroom are free")
     void validateScheduleConflict_ShouldPass_WhenBothFree() {
-        // Arrange: No conflicts for either teacher or classroom
-        when(repository.findBySection_TeacherAndDayOfWeek(teacher, DayOfWeek.MONDAY.getDayValue()))
-            .thenReturn(List.of());
-        when(repository.findBySection_Classroom(classroom)).thenReturn(List.of());
+        // Arrange: Back-to-back meeting ending exactly when the new one starts
+        book(4L, teacher, classroom, semester, LocalTime.of(8, 0), LocalTime.of(9, 0));
 
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(meeting));
@@ -155,18 +178,88 @@ class ScheduleConflictMeetingValidatorTest {
     @DisplayName("Should pass when meeting times do not overlap")
     void validateScheduleConflict_ShouldPass_WhenNoTimeOverlap() {
         // Arrange: Existing meeting is 13:00-14:00, new is 9:00-10:00 (no overlap)
-        CourseSectionMeeting laterMeeting = new CourseSectionMeeting();
-        laterMeeting.setId(4L);
-        laterMeeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
-        laterMeeting.setStartTime(LocalTime.of(13, 0));
-        laterMeeting.setEndTime(LocalTime.of(14, 0));
+        book(4L, teacher, classroom, semester, LocalTime.of(13, 0), LocalTime.of(14, 0));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validate(meeting));
+    }
+
+    @Test
+    @DisplayName("Should pass when the overlapping meeting belongs to another semester")
+    void validateScheduleConflict_ShouldPass_WhenOtherSemester() {
+        // Arrange: Same teacher and room, same time, but a past semester
+        Semester pastSemester = new Semester();
+        pastSemester.setId(2L);
+        book(5L, teacher, classroom, pastSemester, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validate(meeting));
+    }
 
-        when(repository.findBySection_TeacherAndDayOfWeek(teacher, DayOfWeek.MONDAY.getDayValue()))
-            .thenReturn(List.of(laterMeeting));
-        when(repository.findBySection_Classroom(classroom))
-            .thenReturn(List.of(laterMeeting));
+    @Test
+    @DisplayName("Should pass when updating a meeting in place")
+    void validateScheduleConflict_ShouldPass_WhenUpdatingSameMeeting() {
+        // Arrange: The meeting itself is indexed at 9:00-10:00 and is moved to 9:30-10:30
+        meeting.setId(6L);
+        occupancyIndex.add(meeting);
+        meeting.setStartTime(LocalTime.of(9, 30));
+        meeting.setEndTime(LocalTime.of(10, 30));
 
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(meeting));
     }
+
+    @Test
+    @DisplayName("Should ignore the section's own meetings when checking the pattern replacing them")
+    void validatePattern_ShouldPass_WhenOnlyOwnMeetingsOverlap() {
+        // Arrange: The section's current MONDAY 9:00-10:00 meeting is indexed
+        meeting.setId(6L);
+        occupancyIndex.add(meeting);
+
+        List<CourseSectionMeeting> pattern = List.of(meetingOn(LocalTime.of(9, 0), LocalTime.of(11, 0)));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validatePattern(section, pattern));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the pattern's teacher is booked by another section")
+    void validatePattern_ShouldThrowException_WhenTeacherBookedElsewhere() {
+        // Arrange
+        book(2L, teacher, otherClassroom(), semester, LocalTime.of(10, 30), LocalTime.of(11, 30));
+
+        List<CourseSectionMeeting> pattern = List.of(meetingOn(LocalTime.of(9, 0), LocalTime.of(11, 0)));
+
+        // Act & Assert
+        ScheduleConflictException ex = assertThrows(ScheduleConflictException.class, () -> {
+            validator.validatePattern(section, pattern);
+        });
+
+        assertTrue(ex.getMessage().contains("Teacher"));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when meetings of the pattern overlap each other")
+    void validatePattern_ShouldThrowException_WhenPatternOverlapsItself() {
+        // Arrange
+        List<CourseSectionMeeting> pattern = List.of(
+            meetingOn(LocalTime.of(9, 0), LocalTime.of(11, 0)),
+            meetingOn(LocalTime.of(10, 0), LocalTime.of(11, 0)));
+
+        // Act & Assert
+        ScheduleConflictException ex = assertThrows(ScheduleConflictException.class, () -> {
+            validator.validatePattern(section, pattern);
+        });
+
+        assertTrue(ex.getMessage().contains("overlap"));
+    }
+
+    private CourseSectionMeeting meetingOn(LocalTime start, LocalTime end) {
+        CourseSectionMeeting patternMeeting = new CourseSectionMeeting();
+        patternMeeting.setSection(section);
+        patternMeeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
+        patternMeeting.setStartTime(start);
+        patternMeeting.setEndTime(end);
+        return patternMeeting;
+    }
 }
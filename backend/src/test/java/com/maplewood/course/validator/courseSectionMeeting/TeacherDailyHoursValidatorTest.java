@@ -174,4 +174,47 @@ class TeacherDailyHoursValidatorTest {
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(meeting));
     }
+
+    @Test
+    @DisplayName("Should add up a weekly pattern per day with the teacher's other meetings")
+    void validatePattern_ShouldThrowException_WhenPatternDayExceedsLimit() {
+        // Arrange: Teacher has 1 hour on MONDAY in another section, the pattern adds 2 + 2 on MONDAY
+        CourseSectionMeeting otherSectionMeeting = meetingOn(DayOfWeek.MONDAY, LocalTime.of(16, 0), LocalTime.of(17, 0));
+        when(repository.findBySection_TeacherAndSection_IdNot(teacher, section.getId()))
+            .thenReturn(List.of(otherSectionMeeting));
+
+        List<CourseSectionMeeting> pattern = List.of(
+            meetingOn(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(10, 0)),
+            meetingOn(DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(15, 0)));
+
+        // Act & Assert
+        ScheduleConflictException ex = assertThrows(ScheduleConflictException.class, () -> {
+            validator.validatePattern(section, pattern);
+        });
+
+        assertTrue(ex.getMessage().contains("(5 > 4)"));
+    }
+
+    @Test
+    @DisplayName("Should pass a weekly pattern when the teacher's other meetings are on other days")
+    void validatePattern_ShouldPass_WhenOtherMeetingsOnOtherDays() {
+        // Arrange: Teacher already teaches 4 hours on TUESDAY, the pattern only uses MONDAY
+        CourseSectionMeeting otherSectionMeeting = meetingOn(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(12, 0));
+        when(repository.findBySection_TeacherAndSection_IdNot(teacher, section.getId()))
+            .thenReturn(List.of(otherSectionMeeting));
+
+        List<CourseSectionMeeting> pattern = List.of(meetingOn(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validatePattern(section, pattern));
+    }
+
+    private CourseSectionMeeting meetingOn(DayOfWeek day, LocalTime start, LocalTime end) {
+        CourseSectionMeeting patternMeeting = new CourseSectionMeeting();
+        patternMeeting.setSection(section);
+        patternMeeting.setDayOfWeekEnum(day);
+        patternMeeting.setStartTime(start);
+        patternMeeting.setEndTime(end);
+        return patternMeeting;
+    }
 }
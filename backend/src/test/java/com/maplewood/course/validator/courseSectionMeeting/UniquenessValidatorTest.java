@@ -113,4 +113,30 @@ class UniquenessValidatorTest {
         // Act & Assert - should not throw (self is filtered out)
         assertDoesNotThrow(() -> validator.validate(meeting));
     }
+
+    @Test
+    @DisplayName("Should throw exception when a weekly pattern lists the same day and start time twice")
+    void validatePattern_ShouldThrowException_WhenSlotListedTwice() {
+        // Arrange
+        List<CourseSectionMeeting> pattern = List.of(
+            meetingOn(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+            meetingOn(DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+            meetingOn(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            validator.validatePattern(pattern);
+        });
+
+        assertTrue(ex.getMessage().contains("MONDAY"));
+    }
+
+    private CourseSectionMeeting meetingOn(DayOfWeek day, LocalTime start, LocalTime end) {
+        CourseSectionMeeting patternMeeting = new CourseSectionMeeting();
+        patternMeeting.setSection(section);
+        patternMeeting.setDayOfWeekEnum(day);
+        patternMeeting.setStartTime(start);
+        patternMeeting.setEndTime(end);
+        return patternMeeting;
+    }
 }
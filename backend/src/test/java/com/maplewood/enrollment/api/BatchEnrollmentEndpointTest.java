@@ -0,0 +1,161 @@
+package com.maplewood.enrollment.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.maplewood.common.dto.BatchEnrollmentRequestDTO;
+import com.maplewood.common.dto.BatchEnrollmentResponseDTO;
+import com.maplewood.common.dto.BatchEnrollmentResultDTO;
+import com.maplewood.common.dto.CreateEnrollmentDTO;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * End-to-end tests of POST /api/v1/enrollments/batch against a copy of the real database
+ * Ensures failed items are reported next to the created ones and only the created ones are committed
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Batch Enrollment Endpoint Tests")
+class BatchEnrollmentEndpointTest {
+
+    private static final Path DATABASE = copyDatabase();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private JdbcTemplate jdbc;
+
+    private long sectionId;
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + DATABASE);
+    }
+
+    @AfterAll
+    static void deleteDatabase() throws IOException {
+        Files.deleteIfExists(DATABASE);
+    }
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        // Arrange: A fresh course without prerequisite or meetings, one section, two students with no history
+        jdbc = new JdbcTemplate(dataSource);
+        long suffix = System.nanoTime() % 100000;
+        jdbc.update("INSERT INTO courses (code, name, credits, hours_per_week, specialization_id, course_type, "
+            + "grade_level_min, grade_level_max, semester_order) "
+            + "VALUES (?, 'Batch', 1.0, 2, (SELECT MIN(id) FROM specializations), 'core', 9, 12, 1)",
+            "BE" + suffix);
+        long courseId = jdbc.queryForObject("SELECT MAX(id) FROM courses", Long.class);
+        jdbc.update("INSERT INTO course_sections (capacity, created_at, enrollment_count, version, classroom_id, "
+            + "course_id, semester_id, teacher_id) VALUES (10, CURRENT_TIMESTAMP, 0, 0, (SELECT MIN(id) FROM classrooms), "
+            + "?, (SELECT id FROM semesters WHERE is_active = 1), (SELECT MIN(id) FROM teachers))",
+            courseId);
+        sectionId = jdbc.queryForObject("SELECT MAX(id) FROM course_sections", Long.class);
+        studentIds.clear();
+        for (int i = 0; i < 2; i++) {
+            jdbc.update("INSERT INTO students (first_name, last_name, email, grade_level, enrollment_year, status) "
+                + "VALUES ('Batch', 'Test', ?, 10, 2024, 'active')", "batch" + suffix + "." + i + "@test.local");
+            studentIds.add(jdbc.queryForObject("SELECT MAX(id) FROM students", Long.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return 200 with one result per item and commit only the created enrollments")
+    void createEnrollments_ShouldCommitValidItems_WhenSomeItemsFail() throws Exception {
+        // Arrange: The third item repeats the first, the fourth names an unknown student
+        BatchEnrollmentRequestDTO request = new BatchEnrollmentRequestDTO(List.of(
+            new CreateEnrollmentDTO(studentIds.get(0), sectionId),
+            new CreateEnrollmentDTO(studentIds.get(1), sectionId),
+            new CreateEnrollmentDTO(studentIds.get(0), sectionId),
+            new CreateEnrollmentDTO(Long.MAX_VALUE, sectionId)));
+
+        // Act
+        HttpResponse<String> response = post(jsonMapper.writeValueAsString(request));
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        BatchEnrollmentResponseDTO body = jsonMapper.readValue(response.body(), BatchEnrollmentResponseDTO.class);
+        assertEquals(4, body.total());
+        assertEquals(2, body.created());
+        assertEquals(2, body.failed());
+        assertEquals(BatchEnrollmentResultDTO.CREATED, body.results().get(0).status());
+        assertNotNull(body.results().get(0).enrollmentId());
+        assertEquals(BatchEnrollmentResultDTO.CREATED, body.results().get(1).status());
+        assertEquals(BatchEnrollmentResultDTO.FAILED, body.results().get(2).status());
+        assertEquals(BatchEnrollmentResultDTO.FAILED, body.results().get(3).status());
+        assertEquals("Invalid Argument", body.results().get(3).errorType());
+
+        int rows = jdbc.queryForObject(
+            "SELECT COUNT(*) FROM current_enrollments WHERE course_section_id = ?", Integer.class, sectionId);
+        int enrollmentCount = jdbc.queryForObject(
+            "SELECT enrollment_count FROM course_sections WHERE id = ?", Integer.class, sectionId);
+        assertEquals(2, rows);
+        assertEquals(2, enrollmentCount);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty batch")
+    void createEnrollments_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        // Act
+        HttpResponse<String> response = post("{\"enrollments\":[]}");
+
+        // Assert
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Enrollments cannot be empty"));
+    }
+
+    private HttpResponse<String> post(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/enrollments/batch"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Path copyDatabase() {
+        try {
+            Path copy = Files.createTempFile("maplewood-batch", ".sqlite");
+            Files.copy(Paths.get("../maplewood_school.sqlite"), copy, StandardCopyOption.REPLACE_EXISTING);
+            return copy;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
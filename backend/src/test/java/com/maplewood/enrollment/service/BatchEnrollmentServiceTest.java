@@ -0,0 +1,264 @@
+package com.maplewood.enrollment.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maplewood.common.dto.BatchEnrollmentRequestDTO;
+import com.maplewood.common.dto.BatchEnrollmentResponseDTO;
+import com.maplewood.common.dto.BatchEnrollmentResultDTO;
+import com.maplewood.common.dto.CreateEnrollmentDTO;
+import com.maplewood.common.exception.EnrollmentValidationException;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.course.service.SectionAvailabilityStream;
+import com.maplewood.course.service.SectionSeatAllocator;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
+import com.maplewood.enrollment.validator.EnrollmentValidationContext;
+import com.maplewood.enrollment.validator.EnrollmentValidationContextLoader;
+import com.maplewood.school.entity.Semester;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentRepository;
+
+/**
+ * Unit tests for BatchEnrollmentService
+ * Ensures every item gets its own result, a failed item never fails the batch
+ * and a chunk whose transaction fails reports all of its items as failed
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Batch Enrollment Service Tests")
+class BatchEnrollmentServiceTest {
+
+    @Mock
+    private CurrentEnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseSectionRepository sectionRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CurrentEnrollmentValidator validator;
+
+    @Mock
+    private EnrollmentValidationContextLoader contextLoader;
+
+    @Mock
+    private SectionSeatAllocator seatAllocator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @Mock
+    private SectionAvailabilityStream availabilityStream;
+
+    @InjectMocks
+    private BatchEnrollmentService batchService;
+
+    private final Map<Long, EnrollmentValidationContext> contexts = new HashMap<>();
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        List<CourseSection> sections = List.of(section(1L, semester), section(2L, semester));
+
+        runTransactions();
+        when(studentRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 99L || id >= 1000L).map(BatchEnrollmentServiceTest::student).toList();
+        });
+        when(sectionRepository.findForValidationByIdIn(anyCollection())).thenReturn(sections);
+        when(contextLoader.loadForStudents(anyCollection(), eq(1L), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> contexts.put(id,
+                new EnrollmentValidationContext(null, new HashSet<>(), new ArrayList<>(), new HashMap<>())));
+            return contexts;
+        });
+    }
+
+    @Test
+    @DisplayName("Should report each item in request order and create the valid ones")
+    void createEnrollments_ShouldReportEachItem_WhenSomeItemsFail() {
+        // Arrange: Student 8 fails validation, student 9 finds the section full
+        when(seatAllocator.tryReserve(1L))
+            .thenReturn(true)
+            .thenReturn(false);
+        doAnswer(invocation -> {
+            CurrentEnrollment enrollment = invocation.getArgument(0);
+            if (enrollment.getStudent().getId().equals(8L)) {
+                throw new EnrollmentValidationException(CurrentEnrollmentValidator.PREREQUISITE_NOT_MET, "Prerequisite not met");
+            }
+            return null;
+        }).when(validator).validate(any(CurrentEnrollment.class), any());
+        savedWithIds();
+        when(sectionRepository.adjustEnrollmentCount(1L, 1)).thenReturn(1);
+
+        // Act
+        BatchEnrollmentResponseDTO response = batchService.createEnrollments(request(
+            new CreateEnrollmentDTO(7L, 1L),
+            new CreateEnrollmentDTO(99L, 1L),
+            new CreateEnrollmentDTO(7L, 99L),
+            new CreateEnrollmentDTO(8L, 1L),
+            new CreateEnrollmentDTO(9L, 1L)));
+
+        // Assert
+        assertEquals(5, response.total());
+        assertEquals(1, response.created());
+        assertEquals(4, response.failed());
+        List<BatchEnrollmentResultDTO> results = response.results();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+        assertEquals(BatchEnrollmentResultDTO.CREATED, results.get(0).status());
+        assertEquals(100L, results.get(0).enrollmentId());
+        assertNull(results.get(0).errorType());
+        assertEquals("Invalid Argument", results.get(1).errorType());
+        assertEquals("Invalid Argument", results.get(2).errorType());
+        assertEquals(CurrentEnrollmentValidator.PREREQUISITE_NOT_MET, results.get(3).errorType());
+        assertEquals("Schedule Conflict", results.get(4).errorType());
+        assertEquals(9L, results.get(4).studentId());
+        verify(enrollmentRepository).saveAll(argThat(hasSize(1)));
+        verify(availabilityStream).publishAfterCommit(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail every item of a chunk and forget its enrollments when the chunk's transaction fails")
+    void createEnrollments_ShouldFailWholeChunk_WhenCountUpdateIsRefused() {
+        // Arrange: Both sections share one chunk, section 2's count update is refused
+        when(seatAllocator.tryReserve(anyLong())).thenReturn(true);
+        savedWithIds();
+        when(sectionRepository.adjustEnrollmentCount(anyLong(), anyInt()))
+            .thenAnswer(invocation -> invocation.getArgument(0).equals(2L) ? 0 : 1);
+
+        // Act
+        BatchEnrollmentResponseDTO response = batchService.createEnrollments(request(
+            new CreateEnrollmentDTO(7L, 1L),
+            new CreateEnrollmentDTO(8L, 2L)));
+
+        // Assert: Nothing reported as created, later items would not see the rolled-back enrollments
+        assertEquals(0, response.created());
+        assertEquals(2, response.failed());
+        response.results().forEach(result -> {
+            assertEquals(BatchEnrollmentResultDTO.FAILED, result.status());
+            assertEquals("Schedule Conflict", result.errorType());
+            assertNull(result.enrollmentId());
+        });
+        assertTrue(contexts.get(7L).getSemesterEnrollments().isEmpty());
+        assertTrue(contexts.get(8L).getSemesterEnrollments().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep a committed chunk when a later chunk fails")
+    void createEnrollments_ShouldKeepEarlierChunk_WhenLaterChunkFails() {
+        // Arrange: CHUNK_SIZE items fill the first chunk (section 1), one more item goes to section 2
+        List<CreateEnrollmentDTO> items = new ArrayList<>(LongStream
+            .range(1000L, 1000L + BatchEnrollmentService.CHUNK_SIZE)
+            .mapToObj(studentId -> new CreateEnrollmentDTO(studentId, 1L))
+            .toList());
+        items.add(new CreateEnrollmentDTO(7L, 2L));
+        when(seatAllocator.tryReserve(anyLong())).thenReturn(true);
+        savedWithIds();
+        when(sectionRepository.adjustEnrollmentCount(1L, BatchEnrollmentService.CHUNK_SIZE)).thenReturn(1);
+        when(enrollmentRepository.saveAll(argThat(hasSize(1))))
+            .thenThrow(new IllegalStateException("database is locked"));
+
+        // Act
+        BatchEnrollmentResponseDTO response = batchService.createEnrollments(
+            new BatchEnrollmentRequestDTO(items));
+
+        // Assert
+        assertEquals(BatchEnrollmentService.CHUNK_SIZE, response.created());
+        assertEquals(1, response.failed());
+        BatchEnrollmentResultDTO last = response.results().get(BatchEnrollmentService.CHUNK_SIZE);
+        assertEquals(BatchEnrollmentResultDTO.FAILED, last.status());
+        assertEquals("Internal Server Error", last.errorType());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(sectionRepository, never()).adjustEnrollmentCount(eq(2L), anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static ArgumentMatcher<Iterable<CurrentEnrollment>> hasSize(int size) {
+        return enrollments -> enrollments instanceof Collection<?> collection && collection.size() == size;
+    }
+
+    /**
+     * saveAll assigns IDs from 100 on, like the database would
+     */
+    private void savedWithIds() {
+        when(enrollmentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<CurrentEnrollment> enrollments = invocation.getArgument(0);
+            long id = 100L;
+            for (CurrentEnrollment enrollment : enrollments) {
+                enrollment.setId(id++);
+            }
+            return enrollments;
+        });
+    }
+
+    private static BatchEnrollmentRequestDTO request(CreateEnrollmentDTO... items) {
+        return new BatchEnrollmentRequestDTO(List.of(items));
+    }
+
+    private static CourseSection section(Long id, Semester semester) {
+        CourseSection section = new CourseSection();
+        section.setId(id);
+        section.setSemester(semester);
+        section.setCapacity(1000);
+        section.setEnrollmentCount(0);
+        return section;
+    }
+
+    private static Student student(Long id) {
+        Student student = new Student();
+        student.setId(id);
+        return student;
+    }
+}
@@ -0,0 +1,168 @@
+package com.maplewood.enrollment.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.maplewood.common.dto.CreateEnrollmentDTO;
+import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.course.service.SectionSeatAllocator;
+
+/**
+ * Concurrency test of CurrentEnrollmentService against a copy of the real database
+ * Ensures concurrent enrollments never take more seats than the section's capacity, even while
+ * the seat counter is invalidated and reloaded with reservations in flight
+ */
+@SpringBootTest
+@DisplayName("Current Enrollment Concurrency Tests")
+class CurrentEnrollmentConcurrencyTest {
+
+    private static final int CAPACITY = 4;
+    private static final int STUDENTS = 40;
+    private static final int ATTEMPTS = 20;
+
+    private static final Path DATABASE = copyDatabase();
+
+    @Autowired
+    private CurrentEnrollmentService enrollmentService;
+
+    @Autowired
+    private SectionSeatAllocator seatAllocator;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    private long sectionId;
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + DATABASE);
+    }
+
+    @AfterAll
+    static void deleteDatabase() throws IOException {
+        Files.deleteIfExists(DATABASE);
+    }
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        // Arrange: A fresh course without prerequisite or meetings, one section, students with no history
+        jdbc = new JdbcTemplate(dataSource);
+        long suffix = System.nanoTime() % 100000;
+        jdbc.update("INSERT INTO courses (code, name, credits, hours_per_week, specialization_id, course_type, "
+            + "grade_level_min, grade_level_max, semester_order) "
+            + "VALUES (?, 'Concurrency', 1.0, 2, (SELECT MIN(id) FROM specializations), 'core', 9, 12, 1)",
+            "CC" + suffix);
+        long courseId = jdbc.queryForObject("SELECT MAX(id) FROM courses", Long.class);
+        jdbc.update("INSERT INTO course_sections (capacity, created_at, enrollment_count, version, classroom_id, "
+            + "course_id, semester_id, teacher_id) VALUES (?, CURRENT_TIMESTAMP, 0, 0, (SELECT MIN(id) FROM classrooms), "
+            + "?, (SELECT id FROM semesters WHERE is_active = 1), (SELECT MIN(id) FROM teachers))",
+            CAPACITY, courseId);
+        sectionId = jdbc.queryForObject("SELECT MAX(id) FROM course_sections", Long.class);
+        for (int i = 0; i < STUDENTS; i++) {
+            jdbc.update("INSERT INTO students (first_name, last_name, email, grade_level, enrollment_year, status) "
+                + "VALUES ('Load', 'Test', ?, 10, 2024, 'active')", "load" + suffix + "." + i + "@test.local");
+            studentIds.add(jdbc.queryForObject("SELECT MAX(id) FROM students", Long.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should enroll exactly capacity students out of 40 concurrent requests while the counter is reloaded")
+    void createEnrollment_ShouldNeverExceedCapacity_UnderConcurrency() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+
+        // Reloads the counter over and over while reservations are in flight
+        Thread invalidator = new Thread(() -> {
+            while (running.get()) {
+                seatAllocator.invalidate(sectionId);
+                Thread.onSpinWait();
+            }
+        });
+
+        List<Future<?>> requests = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            requests.add(executor.submit(() -> {
+                start.await();
+                // Retry database lock errors: only "section full" or success is a final answer
+                for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                    try {
+                        enrollmentService.createEnrollmentFromDTO(new CreateEnrollmentDTO(studentId, sectionId));
+                        enrolled.incrementAndGet();
+                        return null;
+                    } catch (ScheduleConflictException e) {
+                        full.incrementAndGet();
+                        return null;
+                    } catch (RuntimeException e) {
+                        Thread.sleep(10);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        invalidator.start();
+        start.countDown();
+        for (Future<?> request : requests) {
+            request.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        invalidator.join();
+        executor.shutdown();
+
+        // Assert: Capacity reached and never exceeded, count and rows agree, counter matches the database
+        int rows = jdbc.queryForObject(
+            "SELECT COUNT(*) FROM current_enrollments WHERE course_section_id = ?", Integer.class, sectionId);
+        int enrollmentCount = jdbc.queryForObject(
+            "SELECT enrollment_count FROM course_sections WHERE id = ?", Integer.class, sectionId);
+        assertEquals(CAPACITY, enrolled.get());
+        assertEquals(STUDENTS - CAPACITY, full.get());
+        assertEquals(CAPACITY, rows);
+        assertEquals(CAPACITY, enrollmentCount);
+        seatAllocator.invalidate(sectionId);
+        assertEquals(0, seatAllocator.getFreeSeats(sectionId));
+    }
+
+    private static Path copyDatabase() {
+        try {
+            Path copy = Files.createTempFile("maplewood-concurrency", ".sqlite");
+            Files.copy(Paths.get("../maplewood_school.sqlite"), copy, StandardCopyOption.REPLACE_EXISTING);
+            return copy;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.maplewood.enrollment.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.enrollment.entity.SectionWaitlistEntry;
+import com.maplewood.enrollment.repository.SectionWaitlistRepository;
+import com.maplewood.enrollment.service.SectionWaitlistIndex.Position;
+import com.maplewood.student.entity.Student;
+
+/**
+ * Unit tests for SectionWaitlistIndex
+ * Ensures queues keep first come, first served order and only follow committed changes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Section Waitlist Index Tests")
+class SectionWaitlistIndexTest {
+
+    @Mock
+    private SectionWaitlistRepository waitlistRepository;
+
+    @InjectMocks
+    private SectionWaitlistIndex index;
+
+    @SuppressWarnings("unused")
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report positions in entry order, loading the queue once")
+    void positionOf_ShouldFollowEntryOrder() {
+        // Arrange: Students 7, 3, 9 joined in that order
+        when(waitlistRepository.findByCourseSection_IdOrderByIdAsc(1L))
+            .thenReturn(List.of(entry(10L, 7L), entry(11L, 3L), entry(12L, 9L)));
+
+        // Act
+        Position head = index.positionOf(1L, 7L);
+        Position last = index.positionOf(1L, 9L);
+
+        // Assert
+        assertEquals(new Position(1, 3), head);
+        assertEquals(new Position(3, 3), last);
+        assertNull(index.positionOf(1L, 4L));
+        verify(waitlistRepository, times(1)).findByCourseSection_IdOrderByIdAsc(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply changes only once their transaction commits")
+    void addAfterCommit_ShouldApply_OnlyAfterCommit() {
+        // Arrange: Empty queue already loaded
+        when(waitlistRepository.findByCourseSection_IdOrderByIdAsc(1L)).thenReturn(List.of());
+        assertTrue(index.isEmpty(1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act: Join inside a transaction
+        index.addAfterCommit(entry(10L, 7L));
+        assertTrue(index.isEmpty(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertFalse(index.isEmpty(1L));
+        assertEquals(new Position(1, 1), index.positionOf(1L, 7L));
+    }
+
+    @Test
+    @DisplayName("Should keep entry order when commits are applied out of order")
+    void addAfterCommit_ShouldKeepEntryOrder_WhenCommitsInterleave() {
+        // Arrange
+        when(waitlistRepository.findByCourseSection_IdOrderByIdAsc(1L)).thenReturn(List.of(entry(10L, 7L)));
+        assertEquals(new Position(1, 1), index.positionOf(1L, 7L));
+
+        // Act: Entry 12 commits before entry 11, then the head leaves
+        index.addAfterCommit(entry(12L, 9L));
+        index.addAfterCommit(entry(11L, 3L));
+        index.removeAfterCommit(entry(10L, 7L));
+
+        // Assert
+        assertEquals(new Position(1, 2), index.positionOf(1L, 3L));
+        assertEquals(new Position(2, 2), index.positionOf(1L, 9L));
+        assertNull(index.positionOf(1L, 7L));
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted student from every queue and forget a deleted section once committed")
+    void removeStudentAfterCommit_ShouldShiftPositions() {
+        // Arrange
+        when(waitlistRepository.findByCourseSection_IdOrderByIdAsc(1L))
+            .thenReturn(List.of(entry(10L, 7L), entry(11L, 3L)))
+            .thenReturn(List.of());
+        assertEquals(new Position(2, 2), index.positionOf(1L, 3L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act: Student 7 is deleted, then the section
+        index.removeStudentAfterCommit(7L);
+        Position beforeCommit = index.positionOf(1L, 3L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Position afterCommit = index.positionOf(1L, 3L);
+        TransactionSynchronizationManager.clearSynchronization();
+        index.removeSectionAfterCommit(1L);
+
+        // Assert: The forgotten queue is reloaded from the committed rows
+        assertEquals(new Position(2, 2), beforeCommit);
+        assertEquals(new Position(1, 1), afterCommit);
+        assertTrue(index.isEmpty(1L));
+        verify(waitlistRepository, times(2)).findByCourseSection_IdOrderByIdAsc(1L);
+    }
+
+    private static SectionWaitlistEntry entry(Long id, Long studentId) {
+        CourseSection section = new CourseSection();
+        section.setId(1L);
+        Student student = new Student();
+        student.setId(studentId);
+        SectionWaitlistEntry entry = new SectionWaitlistEntry();
+        entry.setId(id);
+        entry.setCourseSection(section);
+        entry.setStudent(student);
+        return entry;
+    }
+}
@@ -0,0 +1,383 @@
+package com.maplewood.enrollment.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.maplewood.common.dto.WaitlistPositionDTO;
+import com.maplewood.common.exception.ResourceNotFoundException;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.course.repository.CourseSectionRepository;
+import com.maplewood.course.service.SectionSeatAllocator;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.entity.SectionWaitlistEntry;
+import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
+import com.maplewood.enrollment.repository.SectionWaitlistRepository;
+import com.maplewood.enrollment.service.SectionWaitlistIndex.Position;
+import com.maplewood.enrollment.validator.CurrentEnrollmentValidator;
+import com.maplewood.enrollment.validator.EnrollmentValidationContextLoader;
+import com.maplewood.enrollment.validator.EnrollmentViolation;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.repository.StudentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SectionWaitlistService
+ * Ensures students join and leave in order and a freed seat goes to the first waiting student still eligible
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Section Waitlist Service Tests")
+class SectionWaitlistServiceTest {
+
+    @Mock
+    private SectionWaitlistRepository waitlistRepository;
+
+    @Mock
+    private SectionWaitlistIndex waitlistIndex;
+
+    @Mock
+    private CurrentEnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseSectionRepository sectionRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private SectionSeatAllocator seatAllocator;
+
+    @Mock
+    private CurrentEnrollmentValidator validator;
+
+    @Mock
+    private EnrollmentValidationContextLoader contextLoader;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SectionWaitlistService waitlistService;
+
+    private CourseSection section;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        section = new CourseSection();
+        section.setId(1L);
+        section.setCapacity(1);
+        section.setEnrollmentCount(1);
+    }
+
+    @Test
+    @DisplayName("Should queue an eligible student of a full section and return the position")
+    void join_ShouldSaveEntry_WhenSectionIsFull() {
+        // Arrange
+        runTransactions();
+        Student student = student(7L);
+        when(studentRepository.findById(7L)).thenReturn(Optional.of(student));
+        when(sectionRepository.findForValidationById(1L)).thenReturn(Optional.of(section));
+        when(seatAllocator.getFreeSeats(1L)).thenReturn(0);
+        when(waitlistRepository.findByCourseSection_IdAndStudent_Id(1L, 7L)).thenReturn(Optional.empty());
+        when(waitlistRepository.save(any(SectionWaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(waitlistIndex.positionOf(1L, 7L)).thenReturn(new Position(2, 2));
+
+        // Act
+        WaitlistPositionDTO position = waitlistService.join(1L, 7L);
+
+        // Assert
+        assertEquals(2, position.position());
+        assertEquals(2, position.waitlistSize());
+        verify(validator).validateExceptCapacity(any(CurrentEnrollment.class));
+        ArgumentCaptor<SectionWaitlistEntry> saved = ArgumentCaptor.forClass(SectionWaitlistEntry.class);
+        verify(waitlistRepository).save(saved.capture());
+        assertSame(student, saved.getValue().getStudent());
+        verify(waitlistIndex).addAfterCommit(saved.getValue());
+    }
+
+    @Test
+    @DisplayName("Should refuse to queue a student while the section has free seats")
+    void join_ShouldThrow_WhenSectionHasFreeSeats() {
+        // Arrange
+        runTransactions();
+        when(studentRepository.findById(7L)).thenReturn(Optional.of(student(7L)));
+        when(sectionRepository.findForValidationById(1L)).thenReturn(Optional.of(section));
+        when(seatAllocator.getFreeSeats(1L)).thenReturn(1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.join(1L, 7L));
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse to queue a student twice")
+    void join_ShouldThrow_WhenAlreadyWaiting() {
+        // Arrange
+        runTransactions();
+        when(studentRepository.findById(7L)).thenReturn(Optional.of(student(7L)));
+        when(sectionRepository.findForValidationById(1L)).thenReturn(Optional.of(section));
+        when(seatAllocator.getFreeSeats(1L)).thenReturn(0);
+        when(waitlistRepository.findByCourseSection_IdAndStudent_Id(1L, 7L))
+            .thenReturn(Optional.of(entry(10L, student(7L))));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.join(1L, 7L));
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should delete the entry and drop it from the index when a student leaves")
+    void leave_ShouldDeleteEntry() {
+        // Arrange
+        SectionWaitlistEntry entry = entry(10L, student(7L));
+        when(waitlistRepository.findByCourseSection_IdAndStudent_Id(1L, 7L)).thenReturn(Optional.of(entry));
+
+        // Act
+        waitlistService.leave(1L, 7L);
+
+        // Assert
+        verify(waitlistRepository).delete(entry);
+        verify(waitlistIndex).removeAfterCommit(entry);
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the student is not waiting")
+    void leave_ShouldThrow_WhenNotWaiting() {
+        // Arrange
+        when(waitlistRepository.findByCourseSection_IdAndStudent_Id(1L, 7L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.leave(1L, 7L));
+        verify(waitlistRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Should delete a deleted student's entries and drop them from the index")
+    void removeStudent_ShouldDeleteEntries() {
+        // Act
+        waitlistService.removeStudent(7L);
+
+        // Assert
+        verify(waitlistRepository).deleteByStudentId(7L);
+        verify(waitlistIndex).removeStudentAfterCommit(7L);
+    }
+
+    @Test
+    @DisplayName("Should delete a deleted section's waitlist and drop its queue")
+    void removeSection_ShouldDeleteWaitlist() {
+        // Act
+        waitlistService.removeSection(1L);
+
+        // Assert
+        verify(waitlistRepository).deleteBySectionId(1L);
+        verify(waitlistIndex).removeSectionAfterCommit(1L);
+    }
+
+    @Test
+    @DisplayName("Should not query anything when nobody waits")
+    void promoteNext_ShouldReturnFalse_WhenWaitlistIsEmpty() {
+        // Arrange
+        when(waitlistIndex.isEmpty(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertFalse(waitlistService.promoteNext(1L));
+        verifyNoInteractions(sectionRepository, waitlistRepository, enrollmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should enroll the head of the queue and leave the others waiting")
+    void promoteNext_ShouldEnrollHeadOfQueue() {
+        // Arrange
+        Student first = student(7L);
+        SectionWaitlistEntry head = entry(10L, first);
+        SectionWaitlistEntry next = entry(11L, student(3L));
+        arrangeQueue(head, next);
+        when(validator.check(any(), any())).thenReturn(null);
+        when(sectionRepository.adjustEnrollmentCount(1L, 1)).thenReturn(1);
+
+        // Act
+        boolean promoted = waitlistService.promoteNext(1L);
+
+        // Assert
+        assertTrue(promoted);
+        ArgumentCaptor<CurrentEnrollment> enrolled = ArgumentCaptor.forClass(CurrentEnrollment.class);
+        verify(enrollmentRepository).save(enrolled.capture());
+        assertSame(first, enrolled.getValue().getStudent());
+        verify(sectionRepository).adjustEnrollmentCount(1L, 1);
+        verify(waitlistRepository).delete(head);
+        verify(waitlistRepository, never()).delete(next);
+        assertEquals(1.0, meterRegistry.counter("maplewood.enrollment.waitlist.promotions", "outcome", "enrolled").count());
+    }
+
+    @Test
+    @DisplayName("Should drop students who no longer pass the rules and promote the next one")
+    void promoteNext_ShouldSkipIneligible_AndPromoteNext() {
+        // Arrange: The head enrolled in a conflicting section meanwhile
+        SectionWaitlistEntry head = entry(10L, student(7L));
+        Student second = student(3L);
+        SectionWaitlistEntry next = entry(11L, second);
+        arrangeQueue(head, next);
+        when(validator.check(any(), any()))
+            .thenReturn(new EnrollmentViolation(CurrentEnrollmentValidator.SCHEDULE_CONFLICT, "Conflict"))
+            .thenReturn(null);
+        when(sectionRepository.adjustEnrollmentCount(1L, 1)).thenReturn(1);
+
+        // Act
+        boolean promoted = waitlistService.promoteNext(1L);
+
+        // Assert
+        assertTrue(promoted);
+        verify(waitlistRepository).delete(head);
+        verify(waitlistIndex).removeAfterCommit(head);
+        verify(waitlistRepository).delete(next);
+        ArgumentCaptor<CurrentEnrollment> enrolled = ArgumentCaptor.forClass(CurrentEnrollment.class);
+        verify(enrollmentRepository).save(enrolled.capture());
+        assertSame(second, enrolled.getValue().getStudent());
+        assertEquals(1.0, meterRegistry.counter("maplewood.enrollment.waitlist.promotions", "outcome", "dropped").count());
+    }
+
+    @Test
+    @DisplayName("Should keep everyone waiting when the section is still full")
+    void promoteNext_ShouldKeepQueue_WhenSectionIsFull() {
+        // Arrange
+        SectionWaitlistEntry head = entry(10L, student(7L));
+        arrangeQueue(head);
+        when(validator.check(any(), any()))
+            .thenReturn(new EnrollmentViolation(CurrentEnrollmentValidator.SECTION_FULL, "Full"));
+
+        // Act & Assert
+        assertFalse(waitlistService.promoteNext(1L));
+        verify(waitlistRepository, never()).delete(any());
+        verify(enrollmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep everyone waiting when the enrollment count update refuses the seat")
+    void promoteNext_ShouldKeepQueue_WhenCountUpdateIsRefused() {
+        // Arrange: Capacity lowered by a concurrent change
+        SectionWaitlistEntry head = entry(10L, student(7L));
+        arrangeQueue(head);
+        when(validator.check(any(), any())).thenReturn(null);
+        when(sectionRepository.adjustEnrollmentCount(1L, 1)).thenReturn(0);
+
+        // Act & Assert
+        assertFalse(waitlistService.promoteNext(1L));
+        verify(waitlistRepository, never()).delete(any());
+        verify(enrollmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should propagate an unexpected error and keep the entry in the queue")
+    void promoteNext_ShouldPropagate_WhenCheckFails() {
+        // Arrange
+        SectionWaitlistEntry head = entry(10L, student(7L));
+        arrangeQueue(head);
+        when(validator.check(any(), any())).thenThrow(new IllegalStateException("Connection lost"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> waitlistService.promoteNext(1L));
+        verify(waitlistRepository, never()).delete(any());
+        verify(waitlistIndex, never()).removeAfterCommit(any());
+        verify(sectionRepository, never()).adjustEnrollmentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should promote one waiting student per new seat and no more")
+    void promote_ShouldStopAtNewSeats() {
+        // Arrange: Three students wait, capacity is raised by two
+        SectionWaitlistEntry first = entry(10L, student(7L));
+        SectionWaitlistEntry second = entry(11L, student(3L));
+        SectionWaitlistEntry third = entry(12L, student(9L));
+        when(waitlistIndex.isEmpty(1L)).thenReturn(false);
+        when(sectionRepository.findForValidationById(1L)).thenReturn(Optional.of(section));
+        when(waitlistRepository.findWithStudentByCourseSection_Id(1L))
+            .thenReturn(List.of(first, second, third))
+            .thenReturn(List.of(second, third));
+        when(validator.check(any(), any())).thenReturn(null);
+        when(sectionRepository.adjustEnrollmentCount(1L, 1)).thenReturn(1);
+
+        // Act
+        int promoted = waitlistService.promote(1L, 2);
+
+        // Assert
+        assertEquals(2, promoted);
+        verify(waitlistRepository).delete(first);
+        verify(waitlistRepository).delete(second);
+        verify(waitlistRepository, never()).delete(third);
+        verify(enrollmentRepository, times(2)).save(any(CurrentEnrollment.class));
+    }
+
+    @Test
+    @DisplayName("Should stop promoting once nobody eligible waits")
+    void promote_ShouldStop_WhenQueueRunsOut() {
+        // Arrange
+        when(waitlistIndex.isEmpty(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(0, waitlistService.promote(1L, 3));
+        verify(enrollmentRepository, never()).save(any());
+    }
+
+    private void arrangeQueue(SectionWaitlistEntry... entries) {
+        when(waitlistIndex.isEmpty(1L)).thenReturn(false);
+        when(sectionRepository.findForValidationById(1L)).thenReturn(Optional.of(section));
+        when(waitlistRepository.findWithStudentByCourseSection_Id(1L)).thenReturn(List.of(entries));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private SectionWaitlistEntry entry(Long id, Student student) {
+        SectionWaitlistEntry entry = new SectionWaitlistEntry();
+        entry.setId(id);
+        entry.setCourseSection(section);
+        entry.setStudent(student);
+        return entry;
+    }
+
+    private static Student student(Long id) {
+        Student student = new Student();
+        student.setId(id);
+        return student;
+    }
+}
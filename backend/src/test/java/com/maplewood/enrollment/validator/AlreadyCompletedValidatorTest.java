@@ -1,6 +1,9 @@
 package com.maplewood.enrollment.validator;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,11 +13,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.enums.EnrollmentStatus;
 import com.maplewood.common.enums.SemesterName;
 import com.maplewood.common.exception.EnrollmentValidationException;
@@ -26,7 +26,6 @@ import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.school.entity.Teacher;
 import com.maplewood.student.entity.Student;
-import com.maplewood.student.repository.StudentCourseHistoryRepository;
 
 /**
  * Unit tests for AlreadyCompletedValidator
@@ -36,9 +35,6 @@ import com.maplewood.student.repository.StudentCourseHistoryRepository;
 @DisplayName("Already Completed Course Validation Tests")
 class AlreadyCompletedValidatorTest {
 
-    @Mock
-    private StudentCourseHistoryRepository courseHistoryRepository;
-
     @InjectMocks
     private AlreadyCompletedValidator validator;
 
@@ -117,12 +113,11 @@ class AlreadyCompletedValidatorTest {
     @DisplayName("Should throw EnrollmentValidationException when course already passed")
     void validate_ShouldThrowException_WhenAlreadyPassed() {
         // Arrange: Student already passed this course
-        when(courseHistoryRepository.existsByStudentAndCourseAndStatus(
-                student, course, CourseHistoryStatus.PASSED))
-            .thenReturn(true);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(course.getId()), List.of(), Map.of());
 
         EnrollmentValidationException ex = assertThrows(EnrollmentValidationException.class, () -> {
-            validator.validate(enrollment);
+            validator.validate(enrollment, context);
         });
         
         assertEquals("COURSE_ALREADY_COMPLETED", ex.getErrorType());
@@ -132,10 +127,9 @@ class AlreadyCompletedValidatorTest {
     @DisplayName("Should pass validation when course not yet completed")
     void validate_ShouldPass_WhenNotCompleted() {
         // Arrange: Student has not passed this course
-        when(courseHistoryRepository.existsByStudentAndCourseAndStatus(
-                student, course, CourseHistoryStatus.PASSED))
-            .thenReturn(false);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(), List.of(), Map.of());
 
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 }
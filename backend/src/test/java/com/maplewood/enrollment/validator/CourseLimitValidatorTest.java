@@ -1,6 +1,10 @@
 package com.maplewood.enrollment.validator;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -10,8 +14,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.maplewood.common.enums.EnrollmentStatus;
@@ -20,7 +22,6 @@ import com.maplewood.common.exception.ScheduleConflictException;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
 import com.maplewood.enrollment.validator.enrollment.CourseLimitValidator;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
@@ -35,9 +36,6 @@ import com.maplewood.student.entity.Student;
 @DisplayName("Course Limit Validation Tests")
 class CourseLimitValidatorTest {
 
-    @Mock
-    private CurrentEnrollmentRepository enrollmentRepository;
-
     @InjectMocks
     private CourseLimitValidator validator;
 
@@ -112,18 +110,36 @@ class CourseLimitValidatorTest {
         enrollment.setStatus(EnrollmentStatus.ENROLLED);
     }
 
+    /**
+     * Context where the student already holds the given number of courses this semester
+     */
+    private EnrollmentValidationContext contextWithCourses(int count) {
+        List<CurrentEnrollment> existing = LongStream.rangeClosed(1, count)
+            .mapToObj(i -> {
+                Course enrolledCourse = new Course();
+                enrolledCourse.setId(200L + i);
+                CourseSection enrolledSection = new CourseSection();
+                enrolledSection.setId(100L + i);
+                enrolledSection.setCourse(enrolledCourse);
+                enrolledSection.setSemester(semester);
+                CurrentEnrollment existingEnrollment = new CurrentEnrollment();
+                existingEnrollment.setCourseSection(enrolledSection);
+                return existingEnrollment;
+            })
+            .toList();
+        return new EnrollmentValidationContext(section, Set.of(), existing, Map.of());
+    }
+
     @Test
     @DisplayName("Should throw ScheduleConflictException when student at course limit")
     @SuppressWarnings("unused")
     void validate_ShouldThrowException_WhenAtLimit() {
         // Arrange: Student already enrolled in 5 courses
-        when(enrollmentRepository.countByStudent_IdAndCourseSection_Semester_Id(
-                student.getId(), semester.getId()))
-            .thenReturn(5L);  // Already at limit
+        EnrollmentValidationContext context = contextWithCourses(5);  // Already at limit
 
         // Act & Assert
         ScheduleConflictException exception = assertThrows(ScheduleConflictException.class, () -> {
-            validator.validate(enrollment);
+            validator.validate(enrollment, context);
         });
         assertNotNull(exception);
     }
@@ -132,23 +148,19 @@ class CourseLimitValidatorTest {
     @DisplayName("Should pass validation when under course limit")
     void validate_ShouldPass_WhenUnderLimit() {
         // Arrange: Student has 3 courses
-        when(enrollmentRepository.countByStudent_IdAndCourseSection_Semester_Id(
-                student.getId(), semester.getId()))
-            .thenReturn(3L);  // Under limit
+        EnrollmentValidationContext context = contextWithCourses(3);  // Under limit
 
         // Act & Assert
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 
     @Test
     @DisplayName("Should pass validation when at exactly 4 courses")
     void validate_ShouldPass_WhenAt4Courses() {
         // Arrange: Student has 4 courses (can add 1 more)
-        when(enrollmentRepository.countByStudent_IdAndCourseSection_Semester_Id(
-                student.getId(), semester.getId()))
-            .thenReturn(4L);
+        EnrollmentValidationContext context = contextWithCourses(4);
 
         // Act & Assert
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 }
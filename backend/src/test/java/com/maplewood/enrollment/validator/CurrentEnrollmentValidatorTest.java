@@ -0,0 +1,180 @@
+package com.maplewood.enrollment.validator;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.maplewood.common.exception.EnrollmentValidationException;
+import com.maplewood.common.exception.ScheduleConflictException;
+import com.maplewood.common.metrics.ValidatorMetrics;
+import com.maplewood.course.entity.CourseSection;
+import com.maplewood.enrollment.entity.CurrentEnrollment;
+import com.maplewood.enrollment.validator.enrollment.AlreadyCompletedValidator;
+import com.maplewood.enrollment.validator.enrollment.CapacityValidator;
+import com.maplewood.enrollment.validator.enrollment.CourseLimitValidator;
+import com.maplewood.enrollment.validator.enrollment.DuplicateCourseValidator;
+import com.maplewood.enrollment.validator.enrollment.GradeLevelValidator;
+import com.maplewood.enrollment.validator.enrollment.PrerequisiteValidator;
+import com.maplewood.enrollment.validator.enrollment.ScheduleConflictEnrollmentValidator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for CurrentEnrollmentValidator.check() and validateExceptCapacity()
+ * Ensures the first broken rule is reported with its reason code instead of thrown
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Enrollment Eligibility Check Tests")
+class CurrentEnrollmentValidatorTest {
+
+    @Mock
+    private DuplicateCourseValidator duplicateCourseValidator;
+
+    @Mock
+    private AlreadyCompletedValidator alreadyCompletedValidator;
+
+    @Mock
+    private GradeLevelValidator gradeLevelValidator;
+
+    @Mock
+    private CapacityValidator capacityValidator;
+
+    @Mock
+    private CourseLimitValidator courseLimitValidator;
+
+    @Mock
+    private PrerequisiteValidator prerequisiteValidator;
+
+    @Mock
+    private ScheduleConflictEnrollmentValidator scheduleConflictEnrollmentValidator;
+
+    @Mock
+    private EnrollmentValidationContextLoader contextLoader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ValidatorMetrics validatorMetrics = new ValidatorMetrics();
+
+    @InjectMocks
+    private CurrentEnrollmentValidator validator;
+
+    private CurrentEnrollment enrollment;
+    private EnrollmentValidationContext context;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(validatorMetrics, "meterRegistry", meterRegistry);
+        CourseSection section = new CourseSection();
+        section.setId(1L);
+        enrollment = new CurrentEnrollment();
+        enrollment.setCourseSection(section);
+        context = new EnrollmentValidationContext(section, Set.of(), new ArrayList<>(), Map.of());
+    }
+
+    @Test
+    @DisplayName("Should return null when every rule passes")
+    void check_ShouldReturnNull_WhenEligible() {
+        assertNull(validator.check(enrollment, context));
+    }
+
+    @Test
+    @DisplayName("Should report rule code for validators throwing generic exceptions")
+    void check_ShouldReportRuleCode_WhenSectionFull() {
+        // Arrange
+        doThrow(new ScheduleConflictException("Section has reached maximum capacity (30 students)"))
+            .when(capacityValidator).validate(enrollment);
+
+        // Act
+        EnrollmentViolation violation = validator.check(enrollment, context);
+
+        // Assert: Later rules are not evaluated
+        assertEquals(CurrentEnrollmentValidator.SECTION_FULL, violation.reasonCode());
+        assertEquals("Section has reached maximum capacity (30 students)", violation.message());
+        verify(courseLimitValidator, never()).validate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep error type of EnrollmentValidationException as reason code")
+    void check_ShouldUseErrorType_WhenPrerequisiteMissing() {
+        // Arrange
+        doThrow(new EnrollmentValidationException("PREREQUISITE_NOT_MET", "Prerequisite not completed: Algebra I"))
+            .when(prerequisiteValidator).validate(enrollment, context);
+
+        // Act
+        EnrollmentViolation violation = validator.check(enrollment, context);
+
+        // Assert
+        assertEquals("PREREQUISITE_NOT_MET", violation.reasonCode());
+    }
+
+    @Test
+    @DisplayName("Should propagate errors that are not broken rules")
+    void check_ShouldPropagate_WhenValidatorFails() {
+        // Arrange
+        doThrow(new IllegalStateException("Connection lost"))
+            .when(courseLimitValidator).validate(enrollment, context);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> validator.check(enrollment, context));
+    }
+
+    @Test
+    @DisplayName("Should skip only the capacity rule when validating a waitlist join")
+    void validateExceptCapacity_ShouldIgnoreCapacity_WhenSectionFull() {
+        // Arrange
+        when(contextLoader.load(enrollment)).thenReturn(context);
+        lenient().doThrow(new ScheduleConflictException("Section has reached maximum capacity (30 students)"))
+            .when(capacityValidator).validate(enrollment);
+
+        // Act
+        validator.validateExceptCapacity(enrollment);
+
+        // Assert: Rules after capacity still ran
+        verify(capacityValidator, never()).validate(any());
+        verify(scheduleConflictEnrollmentValidator).validate(enrollment, context);
+    }
+
+    @Test
+    @DisplayName("Should time each validator with its outcome")
+    void validate_ShouldRecordTimerPerValidator() {
+        // Arrange
+        doThrow(new EnrollmentValidationException("PREREQUISITE_NOT_MET", "Prerequisite not completed: Algebra I"))
+            .when(prerequisiteValidator).validate(enrollment, context);
+
+        // Act
+        assertThrows(EnrollmentValidationException.class, () -> validator.validate(enrollment, context));
+
+        // Assert: Rules before the failing one passed, the failing one is rejected, later ones never ran
+        assertEquals(1, timerCount("capacity", "passed"));
+        assertEquals(1, timerCount("prerequisite", "rejected"));
+        assertNull(meterRegistry.find(ValidatorMetrics.TIMER_NAME).tag("validator", "scheduleConflict").timer());
+    }
+
+    private long timerCount(String validatorName, String outcome) {
+        return meterRegistry.get(ValidatorMetrics.TIMER_NAME)
+            .tags("chain", "enrollment", "validator", validatorName, "outcome", outcome)
+            .timer()
+            .count();
+    }
+}
@@ -1,6 +1,9 @@
 package com.maplewood.enrollment.validator;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -10,8 +13,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.maplewood.common.enums.EnrollmentStatus;
@@ -20,7 +21,6 @@ import com.maplewood.common.exception.DuplicateResourceException;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
 import com.maplewood.enrollment.validator.enrollment.DuplicateCourseValidator;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
@@ -35,9 +35,6 @@ import com.maplewood.student.entity.Student;
 @DisplayName("Duplicate Course Validation Tests")
 class DuplicateEnrollmentValidatorTest {
 
-    @Mock
-    private CurrentEnrollmentRepository enrollmentRepository;
-
     @InjectMocks
     private DuplicateCourseValidator validator;
 
@@ -112,17 +109,33 @@ class DuplicateEnrollmentValidatorTest {
         enrollment.setStatus(EnrollmentStatus.ENROLLED);
     }
 
+    /**
+     * Existing enrollment of the student in a section of the given course
+     */
+    private CurrentEnrollment enrolledIn(Long courseId) {
+        Course enrolledCourse = new Course();
+        enrolledCourse.setId(courseId);
+        CourseSection enrolledSection = new CourseSection();
+        enrolledSection.setId(100L + courseId);
+        enrolledSection.setCourse(enrolledCourse);
+        enrolledSection.setSemester(semester);
+        CurrentEnrollment existing = new CurrentEnrollment();
+        existing.setStudent(student);
+        existing.setCourseSection(enrolledSection);
+        existing.setSemester(semester);
+        return existing;
+    }
+
     @Test
     @DisplayName("Should throw DuplicateResourceException when student already enrolled")
     void validate_ShouldThrowException_WhenAlreadyEnrolled() {
         // Arrange: Student already enrolled in this course this semester
-        when(enrollmentRepository.countByStudent_IdAndCourse_IdAndSemester_Id(
-                student.getId(), course.getId(), semester.getId()))
-            .thenReturn(1L);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(), List.of(enrolledIn(course.getId())), Map.of());
 
         // Act & Assert
         DuplicateResourceException ex = assertThrows(DuplicateResourceException.class, () -> {
-            validator.validate(enrollment);
+            validator.validate(enrollment, context);
         });
         
         assertTrue(ex.getMessage().contains("Already enrolled"));
@@ -132,11 +145,10 @@ class DuplicateEnrollmentValidatorTest {
     @DisplayName("Should pass validation when student not enrolled in course")
     void validate_ShouldPass_WhenNotDuplicate() {
         // Arrange: Student not enrolled
-        when(enrollmentRepository.countByStudent_IdAndCourse_IdAndSemester_Id(
-                student.getId(), course.getId(), semester.getId()))
-            .thenReturn(0L);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(), List.of(enrolledIn(200L)), Map.of());
 
         // Act & Assert - should not throw
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 }
@@ -1,6 +1,9 @@
 package com.maplewood.enrollment.validator;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,11 +13,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.maplewood.common.enums.CourseHistoryStatus;
 import com.maplewood.common.enums.EnrollmentStatus;
 import com.maplewood.common.enums.SemesterName;
 import com.maplewood.common.exception.EnrollmentValidationException;
@@ -26,7 +26,6 @@ import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
 import com.maplewood.school.entity.Teacher;
 import com.maplewood.student.entity.Student;
-import com.maplewood.student.repository.StudentCourseHistoryRepository;
 
 /**
  * Unit tests for PrerequisiteValidator
@@ -36,9 +35,6 @@ import com.maplewood.student.repository.StudentCourseHistoryRepository;
 @DisplayName("Prerequisite Validation Tests")
 class PrerequisiteValidatorTest {
 
-    @Mock
-    private StudentCourseHistoryRepository courseHistoryRepository;
-
     @InjectMocks
     private PrerequisiteValidator validator;
 
@@ -117,13 +113,12 @@ class PrerequisiteValidatorTest {
     @DisplayName("Should throw EnrollmentValidationException when prerequisite not met")
     void validate_ShouldThrowException_WhenPrerequisiteNotMet() {
         // Arrange: Course requires prerequisite, but student hasn't passed it
-        when(courseHistoryRepository.existsByStudentAndCourseAndStatus(
-                student, prerequisite, CourseHistoryStatus.PASSED))
-            .thenReturn(false);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(), List.of(), Map.of());
 
         // Act & Assert
         EnrollmentValidationException ex = assertThrows(EnrollmentValidationException.class, () -> {
-            validator.validate(enrollment);
+            validator.validate(enrollment, context);
         });
         
         assertEquals("PREREQUISITE_NOT_MET", ex.getErrorType());
@@ -133,12 +128,11 @@ class PrerequisiteValidatorTest {
     @DisplayName("Should pass validation when prerequisite is met")
     void validate_ShouldPass_WhenPrerequisiteMet() {
         // Arrange: Student has passed the prerequisite
-        when(courseHistoryRepository.existsByStudentAndCourseAndStatus(
-                student, prerequisite, CourseHistoryStatus.PASSED))
-            .thenReturn(true);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(prerequisite.getId()), List.of(), Map.of());
 
         // Act & Assert
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 
     @Test
@@ -146,8 +140,10 @@ class PrerequisiteValidatorTest {
     void validate_ShouldPass_WhenNoCoursePrerequisite() {
         // Arrange: Course has no prerequisite
         course.setPrerequisite(null);
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(), List.of(), Map.of());
 
         // Act & Assert
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 }
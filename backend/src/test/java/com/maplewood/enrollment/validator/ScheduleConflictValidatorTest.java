@@ -3,6 +3,8 @@ package com.maplewood.enrollment.validator;
 import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -12,8 +14,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.maplewood.common.enums.DayOfWeek;
@@ -23,9 +23,7 @@ import com.maplewood.common.exception.ScheduleConflictException;
 import com.maplewood.course.entity.Course;
 import com.maplewood.course.entity.CourseSection;
 import com.maplewood.course.entity.CourseSectionMeeting;
-import com.maplewood.course.repository.CourseSectionMeetingRepository;
 import com.maplewood.enrollment.entity.CurrentEnrollment;
-import com.maplewood.enrollment.repository.CurrentEnrollmentRepository;
 import com.maplewood.enrollment.validator.enrollment.ScheduleConflictEnrollmentValidator;
 import com.maplewood.school.entity.Classroom;
 import com.maplewood.school.entity.Semester;
@@ -40,12 +38,6 @@ import com.maplewood.student.entity.Student;
 @DisplayName("Schedule Conflict Validation Tests")
 class ScheduleConflictValidatorTest {
 
-    @Mock
-    private CurrentEnrollmentRepository enrollmentRepository;
-
-    @Mock
-    private CourseSectionMeetingRepository meetingRepository;
-
     @InjectMocks
     private ScheduleConflictEnrollmentValidator validator;
 
@@ -147,18 +139,16 @@ class ScheduleConflictValidatorTest {
         CurrentEnrollment existingEnrollment = new CurrentEnrollment();
         existingEnrollment.setCourseSection(existingSection);
         
-        when(enrollmentRepository.findByStudent(student))
-            .thenReturn(List.of(existingEnrollment));
-        
-        when(meetingRepository.findBySection(section))
-            .thenReturn(List.of(newMeeting));
-        
-        when(meetingRepository.findBySection(existingSection))
-            .thenReturn(List.of(existingMeeting));
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section,
+            Set.of(),
+            List.of(existingEnrollment),
+            Map.of(section.getId(), List.of(newMeeting), existingSection.getId(), List.of(existingMeeting))
+        );
 
         // Act & Assert
         ScheduleConflictException exception = assertThrows(ScheduleConflictException.class, () -> {
-            validator.validate(enrollment);
+            validator.validate(enrollment, context);
         });
         assertNotNull(exception);
     }
@@ -166,22 +156,45 @@ class ScheduleConflictValidatorTest {
     @Test
     @DisplayName("Should pass validation when no schedule conflicts")
     void validate_ShouldPass_WhenNoConflicts() {
-        // Arrange: Valid scenario with no schedule conflicts
-        when(meetingRepository.findBySection(section))
-            .thenReturn(List.of());
+        // Arrange: Existing course meets on Monday afternoon, new one on Monday morning
+        CourseSectionMeeting newMeeting = new CourseSectionMeeting();
+        newMeeting.setSection(section);
+        newMeeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
+        newMeeting.setStartTime(LocalTime.of(9, 0));
+        newMeeting.setEndTime(LocalTime.of(10, 0));
+
+        CourseSection existingSection = new CourseSection();
+        existingSection.setId(2L);
+        existingSection.setSemester(semester);
+
+        CourseSectionMeeting existingMeeting = new CourseSectionMeeting();
+        existingMeeting.setSection(existingSection);
+        existingMeeting.setDayOfWeekEnum(DayOfWeek.MONDAY);
+        existingMeeting.setStartTime(LocalTime.of(13, 0));
+        existingMeeting.setEndTime(LocalTime.of(14, 0));
+
+        CurrentEnrollment existingEnrollment = new CurrentEnrollment();
+        existingEnrollment.setCourseSection(existingSection);
+
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section,
+            Set.of(),
+            List.of(existingEnrollment),
+            Map.of(section.getId(), List.of(newMeeting), existingSection.getId(), List.of(existingMeeting))
+        );
 
         // Act & Assert
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 
     @Test
     @DisplayName("Should pass validation when no new meetings scheduled")
     void validate_ShouldPass_WhenNoNewMeetings() {
         // Arrange: New section has no meetings
-        when(meetingRepository.findBySection(section))
-            .thenReturn(List.of());
+        EnrollmentValidationContext context = new EnrollmentValidationContext(
+            section, Set.of(), List.of(), Map.of());
 
         // Act & Assert
-        assertDoesNotThrow(() -> validator.validate(enrollment));
+        assertDoesNotThrow(() -> validator.validate(enrollment, context));
     }
 }
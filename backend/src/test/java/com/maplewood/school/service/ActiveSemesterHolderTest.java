@@ -0,0 +1,92 @@
+package com.maplewood.school.service;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.maplewood.school.entity.Semester;
+import com.maplewood.school.repository.SemesterRepository;
+
+/**
+ * Unit tests for ActiveSemesterHolder
+ * Ensures the active semester is queried once and reloaded only on change events
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Active Semester Holder Tests")
+class ActiveSemesterHolderTest {
+
+    @Mock
+    private SemesterRepository semesterRepository;
+
+    @InjectMocks
+    private ActiveSemesterHolder holder;
+
+    private Semester fall;
+    private Semester spring;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        fall = new Semester();
+        fall.setId(1L);
+        spring = new Semester();
+        spring.setId(2L);
+    }
+
+    @Test
+    @DisplayName("Should query the active semester only once")
+    void get_ShouldLoadOnce() {
+        // Arrange
+        when(semesterRepository.findByIsActive(true)).thenReturn(Optional.of(fall));
+
+        // Act
+        holder.get();
+        holder.get();
+        Optional<Semester> active = holder.get();
+
+        // Assert
+        assertEquals(fall, active.orElseThrow());
+        verify(semesterRepository, times(1)).findByIsActive(true);
+    }
+
+    @Test
+    @DisplayName("Should reload after an active semester change event")
+    void onActiveSemesterChanged_ShouldReload() {
+        // Arrange: Fall active, then Spring activated
+        when(semesterRepository.findByIsActive(true))
+            .thenReturn(Optional.of(fall))
+            .thenReturn(Optional.of(spring));
+        holder.get();
+
+        // Act
+        holder.onActiveSemesterChanged(new ActiveSemesterChangedEvent(2L));
+
+        // Assert
+        assertEquals(spring, holder.get().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should remember that no semester is active")
+    void get_ShouldCacheEmpty_WhenNoActiveSemester() {
+        // Arrange
+        when(semesterRepository.findByIsActive(true)).thenReturn(Optional.empty());
+
+        // Act
+        holder.get();
+
+        // Assert
+        assertTrue(holder.get().isEmpty());
+        verify(semesterRepository, times(1)).findByIsActive(true);
+    }
+}
@@ -0,0 +1,69 @@
+package com.maplewood.school.service;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.service.CourseCatalog;
+import com.maplewood.school.entity.RoomType;
+import com.maplewood.school.repository.RoomTypeRepository;
+
+/**
+ * Unit tests for RoomTypeService
+ * Ensures a room type change invalidates the ETags and the course catalog snapshot that show it
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Room Type Service Tests")
+class RoomTypeServiceTest {
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private CourseCatalog courseCatalog;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @InjectMocks
+    private RoomTypeService roomTypeService;
+
+    @Test
+    @DisplayName("Should change the ETags of classrooms, courses, teachers and sections and reload the catalog on update")
+    void updateRoomType_ShouldBumpEmbeddingCollections() {
+        // Arrange
+        RoomType roomType = new RoomType();
+        roomType.setId(1L);
+        roomType.setName("classroom");
+        when(roomTypeRepository.findById(1L)).thenReturn(Optional.of(roomType));
+        when(roomTypeRepository.save(any(RoomType.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String classrooms = catalogVersions.etag(CatalogResource.CLASSROOMS);
+        String courses = catalogVersions.etag(CatalogResource.COURSES);
+        String teachers = catalogVersions.etag(CatalogResource.TEACHERS);
+        String sections = catalogVersions.etag(CatalogResource.SECTIONS);
+
+        // Act
+        RoomType renamed = new RoomType();
+        renamed.setName("lecture room");
+        roomTypeService.updateRoomType(1L, renamed);
+
+        // Assert
+        assertNotEquals(classrooms, catalogVersions.etag(CatalogResource.CLASSROOMS));
+        assertNotEquals(courses, catalogVersions.etag(CatalogResource.COURSES));
+        assertNotEquals(teachers, catalogVersions.etag(CatalogResource.TEACHERS));
+        assertNotEquals(sections, catalogVersions.etag(CatalogResource.SECTIONS));
+        verify(courseCatalog).reloadAfterCommit();
+    }
+}
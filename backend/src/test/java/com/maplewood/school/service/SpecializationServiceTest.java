@@ -0,0 +1,69 @@
+package com.maplewood.school.service;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.maplewood.common.web.CatalogResource;
+import com.maplewood.common.web.CatalogVersions;
+import com.maplewood.course.service.CourseCatalog;
+import com.maplewood.school.entity.Specialization;
+import com.maplewood.school.repository.RoomTypeRepository;
+import com.maplewood.school.repository.SpecializationRepository;
+
+/**
+ * Unit tests for SpecializationService
+ * Ensures a specialization change invalidates the ETags and the course catalog snapshot that show it
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Specialization Service Tests")
+class SpecializationServiceTest {
+
+    @Mock
+    private SpecializationRepository specializationRepository;
+
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private CourseCatalog courseCatalog;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @InjectMocks
+    private SpecializationService specializationService;
+
+    @Test
+    @DisplayName("Should change the course and teacher ETags and reload the catalog on update")
+    void updateSpecialization_ShouldBumpEmbeddingCollections() {
+        // Arrange
+        Specialization specialization = new Specialization();
+        specialization.setId(1L);
+        specialization.setName("Mathematics");
+        when(specializationRepository.findById(1L)).thenReturn(Optional.of(specialization));
+        when(specializationRepository.save(any(Specialization.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String courses = catalogVersions.etag(CatalogResource.COURSES);
+        String teachers = catalogVersions.etag(CatalogResource.TEACHERS);
+
+        // Act
+        Specialization renamed = new Specialization();
+        renamed.setName("Math");
+        specializationService.updateSpecialization(1L, renamed);
+
+        // Assert
+        assertNotEquals(courses, catalogVersions.etag(CatalogResource.COURSES));
+        assertNotEquals(teachers, catalogVersions.etag(CatalogResource.TEACHERS));
+        verify(courseCatalog).reloadAfterCommit();
+    }
+}
@@ -0,0 +1,186 @@
+package com.maplewood.student.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.maplewood.common.enums.CourseHistoryStatus;
+import com.maplewood.student.repository.StudentCourseHistoryRepository;
+
+/**
+ * Unit tests for AcademicMetricsCache
+ * Tests warm-up from the aggregate query, eviction on history changes and loads racing an eviction
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AcademicMetricsCache Tests")
+class AcademicMetricsCacheTest {
+
+    @Mock
+    private StudentCourseHistoryRepository courseHistoryRepository;
+
+    @InjectMocks
+    private AcademicMetricsCache metricsCache;
+
+    @Test
+    @DisplayName("Should load all totals with one aggregate query on warm-up")
+    void warmUp_ShouldLoadTotalsFromAggregateQuery() {
+        // Arrange: 9 credits attempted, 8 earned
+        when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("9"), new BigDecimal("8")}));
+
+        // Act
+        metricsCache.warmUp();
+        AcademicMetricsCache.CreditTotals totals = metricsCache.getTotals(1L);
+
+        // Assert
+        assertEquals(new BigDecimal("9"), totals.attempted());
+        assertEquals(new BigDecimal("8"), totals.earned());
+        verify(courseHistoryRepository, times(1)).sumCreditsByStudent(CourseHistoryStatus.PASSED);
+    }
+
+    @Test
+    @DisplayName("Should return zero totals without querying for unknown student after warm-up")
+    void getTotals_ShouldReturnZero_WhenStudentHasNoHistory() {
+        // Arrange
+        when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED)).thenReturn(List.of());
+        metricsCache.warmUp();
+
+        // Act
+        AcademicMetricsCache.CreditTotals totals = metricsCache.getTotals(2L);
+
+        // Assert
+        assertEquals(AcademicMetricsCache.CreditTotals.ZERO, totals);
+        verify(courseHistoryRepository, never()).sumCreditsByStudentId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted student from the database on the next read")
+    void evictAfterCommit_ShouldReloadStudent_WhenRead() {
+        // Arrange: 3 credits earned at warm-up, 6 stored once the new record commits
+        when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("3"), new BigDecimal("3")}));
+        when(courseHistoryRepository.sumCreditsByStudentId(1L, CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("6"), new BigDecimal("6")}));
+        metricsCache.warmUp();
+
+        // Act
+        metricsCache.evictAfterCommit(1L);
+
+        // Assert: Loaded once, then served from the cache
+        assertEquals(new BigDecimal("6"), metricsCache.getTotals(1L).earned());
+        assertEquals(new BigDecimal("6"), metricsCache.getTotals(1L).earned());
+        verify(courseHistoryRepository, times(1)).sumCreditsByStudentId(1L, CourseHistoryStatus.PASSED);
+    }
+
+    @Test
+    @DisplayName("Should reload a student without history once a first record is evicted for them")
+    void evictAfterCommit_ShouldReload_WhenStudentHadNoHistory() {
+        // Arrange
+        when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED)).thenReturn(List.of());
+        when(courseHistoryRepository.sumCreditsByStudentId(2L, CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{2L, new BigDecimal("1"), new BigDecimal("1")}));
+        metricsCache.warmUp();
+
+        // Act
+        metricsCache.evictAfterCommit(2L);
+
+        // Assert
+        assertEquals(new BigDecimal("1"), metricsCache.getTotals(2L).earned());
+    }
+
+    @Test
+    @DisplayName("Should keep the totals until the transaction commits")
+    void evictAfterCommit_ShouldWaitForCommit_WhenTransactionActive() {
+        // Arrange
+        when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("3"), new BigDecimal("3")}));
+        metricsCache.warmUp();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            metricsCache.evictAfterCommit(1L);
+
+            // Assert: Committed totals until commit, reloaded after
+            assertEquals(new BigDecimal("3"), metricsCache.getTotals(1L).earned());
+            verify(courseHistoryRepository, never()).sumCreditsByStudentId(anyLong(), any());
+            when(courseHistoryRepository.sumCreditsByStudentId(1L, CourseHistoryStatus.PASSED)).thenReturn(List.of());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(AcademicMetricsCache.CreditTotals.ZERO, metricsCache.getTotals(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that overlapped an eviction")
+    void getTotals_ShouldNotCacheLoad_WhenEvictedDuringQuery() {
+        // Arrange: The first load reads the history before the change commits
+        when(courseHistoryRepository.sumCreditsByStudentId(1L, CourseHistoryStatus.PASSED))
+            .thenAnswer(invocation -> {
+                metricsCache.evictAfterCommit(1L);
+                return List.<Object[]>of(new Object[]{1L, new BigDecimal("3"), new BigDecimal("3")});
+            })
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("6"), new BigDecimal("6")}));
+
+        // Act
+        metricsCache.getTotals(1L);
+        AcademicMetricsCache.CreditTotals totals = metricsCache.getTotals(1L);
+
+        // Assert: The second read queried again and saw the change
+        assertEquals(new BigDecimal("6"), totals.earned());
+        verify(courseHistoryRepository, times(2)).sumCreditsByStudentId(1L, CourseHistoryStatus.PASSED);
+    }
+
+    @Test
+    @DisplayName("Should reload on commit instead of during the transaction")
+    void warmUpAfterCommit_ShouldWaitForCommit_WhenTransactionActive() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            metricsCache.warmUpAfterCommit();
+
+            // Assert
+            verify(courseHistoryRepository, never()).sumCreditsByStudent(any());
+            when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED)).thenReturn(List.of());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(courseHistoryRepository, times(1)).sumCreditsByStudent(CourseHistoryStatus.PASSED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should query again instead of caching sums that overlapped an eviction")
+    void warmUp_ShouldQueryAgain_WhenEvictedDuringQuery() {
+        // Arrange: The first sums are read before the passed course is committed, the second after
+        when(courseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED))
+            .thenAnswer(invocation -> {
+                metricsCache.evictAfterCommit(1L);
+                return List.of();
+            })
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("3"), new BigDecimal("3")}));
+
+        // Act
+        metricsCache.warmUp();
+
+        // Assert
+        assertEquals(new BigDecimal("3"), metricsCache.getTotals(1L).earned());
+        verify(courseHistoryRepository, times(2)).sumCreditsByStudent(CourseHistoryStatus.PASSED);
+    }
+}
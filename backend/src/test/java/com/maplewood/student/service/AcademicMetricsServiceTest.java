@@ -37,6 +37,9 @@ class AcademicMetricsServiceTest {
     @Mock
     private StudentCourseHistoryRepository courseHistoryRepository;
 
+    @Mock
+    private AcademicMetricsCache metricsCache;
+
     @InjectMocks
     private AcademicMetricsService metricsService;
 
@@ -461,4 +464,40 @@ class AcademicMetricsServiceTest {
         history.setStatus(status);
         return history;
     }
+
+    // ============ GET METRICS (CACHED) ============
+
+    @Test
+    @DisplayName("Should build metrics from cached credit totals without history queries")
+    void getMetrics_ShouldUseCachedTotals() {
+        // Arrange: 9 credits attempted, 7 earned
+        when(metricsCache.getTotals(1L))
+            .thenReturn(new AcademicMetricsCache.CreditTotals(new BigDecimal("9"), new BigDecimal("7")));
+
+        // Act
+        AcademicMetricsService.AcademicMetrics metrics = metricsService.getMetrics(student);
+
+        // Assert: GPA = 7/9 * 4 = 3.11
+        assertEquals(3.11, metrics.getGpa());
+        assertEquals(7.0, metrics.getCreditsEarned());
+        assertEquals(23.0, metrics.getRemainingCreditsToGraduate());
+        assertFalse(metrics.isGraduated());
+        verify(courseHistoryRepository, never()).findByStudent(any(Student.class));
+    }
+
+    @Test
+    @DisplayName("Should build metrics from listing sums, treating missing history as zero")
+    void getMetrics_FromSums_ShouldHandleNullSums() {
+        // Act
+        AcademicMetricsService.AcademicMetrics withHistory =
+            metricsService.getMetrics(new BigDecimal("4"), new BigDecimal("2.5"));
+        AcademicMetricsService.AcademicMetrics withoutHistory = metricsService.getMetrics(null, null);
+
+        // Assert: GPA = 2.5/4 * 4 = 2.5
+        assertEquals(2.5, withHistory.getGpa());
+        assertEquals(27.5, withHistory.getRemainingCreditsToGraduate());
+        assertEquals(0.0, withoutHistory.getGpa());
+        assertEquals(30.0, withoutHistory.getRemainingCreditsToGraduate());
+        verify(metricsCache, never()).getTotals(any());
+    }
 }
@@ -0,0 +1,76 @@
+package com.maplewood.student.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.maplewood.common.enums.CourseHistoryStatus;
+import com.maplewood.course.entity.Course;
+import com.maplewood.student.entity.Student;
+import com.maplewood.student.entity.StudentCourseHistory;
+import com.maplewood.student.repository.StudentCourseHistoryRepository;
+
+/**
+ * Unit tests for StudentCourseHistoryService
+ * Ensures the cached credit totals follow the database, not the course sent with a new record
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Student Course History Service Tests")
+class StudentCourseHistoryServiceTest {
+
+    @Mock
+    private StudentCourseHistoryRepository studentCourseHistoryRepository;
+
+    private final AcademicMetricsCache metricsCache = new AcademicMetricsCache();
+
+    @InjectMocks
+    private StudentCourseHistoryService historyService;
+
+    @SuppressWarnings("unused")
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(metricsCache, "courseHistoryRepository", studentCourseHistoryRepository);
+        ReflectionTestUtils.setField(historyService, "metricsCache", metricsCache);
+    }
+
+    @Test
+    @DisplayName("Should count the stored course credits, not the credits sent with the course")
+    void createCourseHistory_ShouldUseStoredCredits_WhenRequestCreditsDiffer() {
+        // Arrange: 3 credits earned so far; the request claims the new course is worth 100, it is stored as 3
+        when(studentCourseHistoryRepository.sumCreditsByStudent(CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{200L, new BigDecimal("3"), new BigDecimal("3")}));
+        metricsCache.warmUp();
+
+        Student student = new Student();
+        student.setId(200L);
+        Course course = new Course();
+        course.setId(58L);
+        course.setCredits(new BigDecimal("100"));
+        StudentCourseHistory history = new StudentCourseHistory();
+        history.setStudent(student);
+        history.setCourse(course);
+        history.setStatus(CourseHistoryStatus.PASSED);
+        when(studentCourseHistoryRepository.existsByStudentAndCourseAndStatus(student, course, CourseHistoryStatus.PASSED))
+            .thenReturn(false);
+        when(studentCourseHistoryRepository.save(any(StudentCourseHistory.class))).thenReturn(history);
+        when(studentCourseHistoryRepository.sumCreditsByStudentId(200L, CourseHistoryStatus.PASSED))
+            .thenReturn(List.<Object[]>of(new Object[]{200L, new BigDecimal("6"), new BigDecimal("6")}));
+
+        // Act
+        historyService.createCourseHistory(history);
+
+        // Assert
+        assertEquals(new BigDecimal("6"), metricsCache.getTotals(200L).earned());
+    }
+}